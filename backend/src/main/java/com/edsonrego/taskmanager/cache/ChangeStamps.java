@@ -0,0 +1,151 @@
+package com.edsonrego.taskmanager.cache;
+
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🏷️ ChangeStamps
+ *
+ * Contadores em memória que mudam a cada escrita confirmada e geram os ETags das listagens
+ * (GET /api/tasks, /api/tasks/search, /api/users, /api/reports/summary).
+ *
+ * - Tarefas: contador global + um por responsável (a busca "minhas tarefas" só muda
+ *   quando as tarefas daquele usuário mudam)
+ * - Alterações de usuário mudam tudo que exibe o responsável
+ * - O ID da inicialização entra no ETag: reiniciar o processo invalida todos os ETags antigos
+ * - Reatribuição (A → B): mudam os contadores de A e de B (a tarefa sai da busca de A)
+ * - Correções do resumo sem escrita em tarefas (TaskSummaryReconciler) mudam só o dos relatórios
+ * - ⚠️ Os contadores são por processo: com várias instâncias, uma escrita na X não muda os
+ *   ETags da Y, que continuaria respondendo 304 com a lista velha a cada requisição que caísse
+ *   nela. Nesse cenário use app.etag.collections.enabled=false: as listagens deixam de emitir
+ *   e conferir ETag (sempre 200). Os ETags por linha (versão no banco) continuam valendo.
+ */
+@Component
+public class ChangeStamps {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final boolean collectionTags;
+
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong reports = new AtomicLong();
+    // 🔸 Alterações sem responsável conhecido (ex.: DELETE em lote) afetam todas as buscas por responsável
+    private final AtomicLong anyResponsible = new AtomicLong();
+    private final Map<Long, AtomicLong> byResponsible = new ConcurrentHashMap<>();
+
+    public ChangeStamps() {
+        this(true);
+    }
+
+    @Autowired
+    public ChangeStamps(@Value("${app.etag.collections.enabled:true}") boolean collectionTags) {
+        this.collectionTags = collectionTags;
+    }
+
+    // ============================================================
+    // 🏷️ ETags
+    // ============================================================
+
+    /**
+     * 🔹 false = listagens sem ETag (os controllers não chamam checkNotModified com os carimbos abaixo).
+     */
+    public boolean collectionTagsEnabled() {
+        return collectionTags;
+    }
+
+    public String tasksTag() {
+        return tag("tasks", tasks.get() + "." + users.get());
+    }
+
+    public String tasksTag(Long responsibleId) {
+        if (responsibleId == null) return tasksTag();
+        AtomicLong own = byResponsible.get(responsibleId);
+        return tag("tasks-u" + responsibleId,
+                (own != null ? own.get() : 0L) + "." + anyResponsible.get() + "." + users.get());
+    }
+
+    public String usersTag() {
+        return tag("users", Long.toString(users.get()));
+    }
+
+    // 🔸 Os relatórios são calculados sobre tarefas e usuários
+    public String reportsTag() {
+        return tag("reports", tasks.get() + "." + users.get() + "." + reports.get());
+    }
+
+    // 🔹 ETag de uma linha: versão da tarefa + versão do responsável (exibido junto)
+    public static String taskTag(Long id, Long version, Long responsibleVersion) {
+        return "\"task-" + id + "-" + nz(version) + "." + nz(responsibleVersion) + "\"";
+    }
+
+    /**
+     * 🔎 Versão da tarefa contida em um ETag gerado por taskTag (null se não for um ETag desta tarefa).
+     */
+    public static Long taskVersion(Long id, String etag) {
+        String prefix = "\"task-" + id + "-";
+        if (etag == null || !etag.startsWith(prefix) || !etag.endsWith("\"")) return null;
+        String stamp = etag.substring(prefix.length(), etag.length() - 1);
+        int dot = stamp.indexOf('.');
+        try {
+            return Long.parseLong(dot >= 0 ? stamp.substring(0, dot) : stamp);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static String userTag(Long id, Long version) {
+        return "\"user-" + id + "-" + nz(version) + "\"";
+    }
+
+    private String tag(String scope, String stamp) {
+        return "\"" + scope + "-" + bootId + "-" + stamp + "\"";
+    }
+
+    private static long nz(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    // ============================================================
+    // 🔄 Manutenção
+    // ============================================================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        tasks.incrementAndGet();
+        if (event.getResponsibleId() != null) {
+            bump(event.getResponsibleId());
+        } else {
+            anyResponsible.incrementAndGet();
+        }
+        if (event.getPreviousResponsibleId() != null) {
+            bump(event.getPreviousResponsibleId());
+        }
+    }
+
+    private void bump(Long responsibleId) {
+        byResponsible.computeIfAbsent(responsibleId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * 👤 Chamado pelo UserService após salvar/remover um usuário.
+     */
+    public void usersChanged() {
+        users.incrementAndGet();
+    }
+
+    /**
+     * 📊 Chamado quando os números dos relatórios mudam sem escrita em tarefas/usuários
+     *   (ex.: linhas de task_summary corrigidas pelo TaskSummaryReconciler).
+     */
+    public void reportsChanged() {
+        reports.incrementAndGet();
+    }
+}
@@ -0,0 +1,154 @@
+package com.edsonrego.taskmanager.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 🧊 Cache em memória, limitado por tamanho e com expiração por entrada.
+ *
+ * - Cada entrada expira no instante informado (ex.: "exp" do JWT ou TTL fixo)
+ * - Ao atingir o limite, remove primeiro as expiradas e depois ~10% das demais
+ * - Sem locks globais: baseado em ConcurrentHashMap
+ * - Mantém contadores de hits, misses, evictions e tempo de carga
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    public ExpiringCache(int maxSize, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * 🔍 Retorna o valor em cache (ou null se ausente/expirado).
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > clock.getAsLong()) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 📥 Armazena o valor até o instante (epoch millis) informado.
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (value == null || expiresAtMillis <= clock.getAsLong()) return;
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * ⚙️ Busca no cache; em caso de miss executa o loader e guarda o resultado.
+     * Um loader que retorna null não é cacheado.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader, ToLongFunction<? super V> expiresAt) {
+        V cached = get(key);
+        if (cached != null) return cached;
+
+        long start = System.nanoTime();
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } finally {
+            loads.increment();
+            loadTimeNanos.add(System.nanoTime() - start);
+        }
+        if (loaded != null) {
+            put(key, loaded, expiresAt.applyAsLong(loaded));
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super V> predicate) {
+        entries.values().removeIf(e -> predicate.test(e.value));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    // 🔸 Remove expiradas; se ainda estiver cheio, descarta ~10% das entradas
+    private void makeRoom() {
+        long now = clock.getAsLong();
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        int target = maxSize - Math.max(1, maxSize / 10);
+        it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public int size() { return entries.size(); }
+    public long hitCount() { return hits.sum(); }
+    public long missCount() { return misses.sum(); }
+    public long evictionCount() { return evictions.sum(); }
+    public long loadCount() { return loads.sum(); }
+    public long totalLoadTimeNanos() { return loadTimeNanos.sum(); }
+
+    /**
+     * 📈 Registra os contadores no Micrometer com a tag cache=&lt;name&gt;.
+     */
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("app.cache.hits", this, ExpiringCache::hitCount)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("app.cache.misses", this, ExpiringCache::missCount)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("app.cache.evictions", this, ExpiringCache::evictionCount)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("app.cache.loads", this, ExpiringCache::loadCount)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("app.cache.load.time", this, c -> c.totalLoadTimeNanos() / 1_000_000.0)
+                .tag("cache", name).baseUnit("milliseconds").register(registry);
+        Gauge.builder("app.cache.size", this, ExpiringCache::size)
+                .tag("cache", name).register(registry);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
@@ -0,0 +1,83 @@
+package com.edsonrego.taskmanager.cache;
+
+import com.edsonrego.taskmanager.config.SecondLevelCacheConfig;
+import com.edsonrego.taskmanager.model.Task;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 🗃️ SecondLevelCache
+ *
+ * Invalidação explícita e métricas do cache de segundo nível (ver SecondLevelCacheConfig).
+ *
+ * - Escritas via entidade (save) atualizam o cache pelo próprio Hibernate (READ_WRITE);
+ *   DELETE/UPDATE em JPQL invalidam a região inteira da entidade alterada
+ * - Remover um usuário muda as tarefas dele no banco (FK ON DELETE SET NULL) sem passar
+ *   pelo Hibernate: a região de tarefas é esvaziada aqui (User fica no UserCache, não aqui)
+ * - Métricas app.cache.* com tag cache=hibernate.&lt;região&gt; (/actuator/metrics)
+ */
+@Component
+public class SecondLevelCache implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final boolean tasksEnabled;
+    private final boolean queriesEnabled;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory,
+                            @Value("${app.cache.second-level.enabled:false}") boolean enabled,
+                            @Value("${app.cache.second-level.tasks.enabled:false}") boolean tasksEnabled,
+                            @Value("${app.cache.second-level.queries.enabled:false}") boolean queriesEnabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.tasksEnabled = enabled && tasksEnabled;
+        this.queriesEnabled = enabled && queriesEnabled;
+    }
+
+    /**
+     * 🧹 Chamado pelo UserService após remover um usuário.
+     */
+    public void userDeleted(Long id) {
+        if (tasksEnabled) entityManagerFactory.getCache().evict(Task.class);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) return;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<String> regions = new ArrayList<>();
+        if (tasksEnabled) regions.add(SecondLevelCacheConfig.TASKS_REGION);
+        if (queriesEnabled) regions.add(SecondLevelCacheConfig.QUERY_REGION);
+
+        for (String region : regions) {
+            String tag = "hibernate." + region;
+            FunctionCounter.builder("app.cache.hits", statistics, s -> stat(s, region, CacheRegionStatistics::getHitCount))
+                    .tag("cache", tag).register(registry);
+            FunctionCounter.builder("app.cache.misses", statistics, s -> stat(s, region, CacheRegionStatistics::getMissCount))
+                    .tag("cache", tag).register(registry);
+            FunctionCounter.builder("app.cache.puts", statistics, s -> stat(s, region, CacheRegionStatistics::getPutCount))
+                    .tag("cache", tag).register(registry);
+            Gauge.builder("app.cache.size", statistics, s -> stat(s, region, CacheRegionStatistics::getElementCountInMemory))
+                    .tag("cache", tag).register(registry);
+        }
+    }
+
+    // 🔸 Regiões sem uso ainda não têm estatísticas (e o JCache pode não informar o tamanho: -1)
+    private static double stat(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? Math.max(0, value.applyAsDouble(regionStatistics)) : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.edsonrego.taskmanager.cache;
+
+import com.edsonrego.taskmanager.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 👤 UserCache
+ *
+ * Cache em memória das linhas de usuário lidas por e-mail e por ID.
+ * Usado pelo UserService, que invalida as entradas de forma síncrona em save/delete.
+ *
+ * - Guarda uma cópia da entidade e devolve sempre uma nova cópia
+ *   (quem altera o objeto retornado não contamina o cache)
+ * - Limitado por tamanho (app.cache.users.max-size) e TTL (app.cache.users.ttl)
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final ExpiringCache<String, User> byEmail;
+    private final ExpiringCache<Long, User> byId;
+
+    public UserCache(@Value("${app.cache.users.enabled:true}") boolean enabled,
+                     @Value("${app.cache.users.max-size:1000}") int maxSize,
+                     @Value("${app.cache.users.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.byEmail = new ExpiringCache<>(maxSize);
+        this.byId = new ExpiringCache<>(maxSize);
+    }
+
+    public Optional<User> findByEmail(String email, Function<String, Optional<User>> loader) {
+        if (!enabled) return loader.apply(email);
+        return lookup(byEmail, email, loader);
+    }
+
+    public Optional<User> findById(Long id, Function<Long, Optional<User>> loader) {
+        if (!enabled) return loader.apply(id);
+        return lookup(byId, id, loader);
+    }
+
+    /**
+     * 🧹 Remove todas as entradas do usuário (por ID e por qualquer e-mail antigo/novo).
+     */
+    public void invalidate(Long id, String email) {
+        if (id != null) {
+            byId.invalidate(id);
+            byEmail.invalidateIf(u -> Objects.equals(u.getId(), id));
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    public void clear() {
+        byEmail.clear();
+        byId.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byEmail.bindTo(registry, "users.by-email");
+        byId.bindTo(registry, "users.by-id");
+    }
+
+    private <K> Optional<User> lookup(ExpiringCache<K, User> cache, K key, Function<K, Optional<User>> loader) {
+        User cached = cache.getOrLoad(key, k -> loader.apply(k).map(UserCache::copyOf).orElse(null), u -> expiry());
+        return Optional.ofNullable(cached).map(UserCache::copyOf);
+    }
+
+    private long expiry() {
+        return System.currentTimeMillis() + ttlMillis;
+    }
+
+    // 🔸 Cópia rasa: todos os campos de User são imutáveis ou primitivos
+    private static User copyOf(User source) {
+        User copy = new User(source.getFirstName(), source.getLastName(), source.getEmail(), source.getPassword());
+        copy.setId(source.getId());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setTokenEpoch(source.getTokenEpoch());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
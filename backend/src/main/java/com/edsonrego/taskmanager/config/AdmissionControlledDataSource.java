@@ -0,0 +1,149 @@
+package com.edsonrego.taskmanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🚦 AdmissionControlledDataSource
+ *
+ * Controle de admissão na frente do pool (Hikari): no máximo "permits" conexões emprestadas
+ * ao mesmo tempo; as demais threads aguardam em fila FIFO (semáforo justo).
+ *
+ * - Com virtual threads a espera é barata (a thread é desmontada), sem disputar o getConnection
+ * - Espera acima de "timeout" → DbAdmissionRejectedException (503 + Retry-After)
+ * - A vaga é devolvida no close() da conexão (uma única vez)
+ * - Métricas app.db.admission.* (em uso, aguardando, rejeitadas, tempo de espera)
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+    private volatile Timer waitTimer;
+
+    public AdmissionControlledDataSource(DataSource target, int maxPermits, Duration timeout) {
+        super(target);
+        this.maxPermits = Math.max(1, maxPermits);
+        this.permits = new Semaphore(this.maxPermits, true);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DbAdmissionRejectedException("Interrupted while waiting for a database connection");
+        }
+        Timer timer = waitTimer;
+        if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new DbAdmissionRejectedException("Timed out waiting for a database connection ("
+                    + maxPermits + " in use, " + permits.getQueueLength() + " waiting)");
+        }
+    }
+
+    // 🔹 Proxy só para interceptar close(): o resto vai direto à conexão do pool
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    return method.invoke(connection);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    if (released.compareAndSet(false, true)) permits.release();
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.db.admission.in-use", this, AdmissionControlledDataSource::getInUse)
+                .register(registry);
+        Gauge.builder("app.db.admission.waiting", this, AdmissionControlledDataSource::getWaiting)
+                .register(registry);
+        Gauge.builder("app.db.admission.permits", this, AdmissionControlledDataSource::getMaxPermits)
+                .register(registry);
+        FunctionCounter.builder("app.db.admission.rejected", rejected, LongAdder::sum)
+                .register(registry);
+        waitTimer = Timer.builder("app.db.admission.wait")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.edsonrego.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * 🗄️ Detecta o banco em uso (PostgreSQL em produção, H2 no desktop/testes).
+ */
+public final class DatabaseProduct {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseProduct.class);
+
+    private DatabaseProduct() {
+    }
+
+    public static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("⚠️ Could not detect database product, assuming a non-PostgreSQL database: {}", e.getMessage());
+            return false;
+        }
+    }
+}
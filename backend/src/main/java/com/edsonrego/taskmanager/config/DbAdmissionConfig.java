@@ -0,0 +1,61 @@
+package com.edsonrego.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 🚦 Controle de admissão de conexões ao banco (app.db.admission).
+ *
+ * Envolve o DataSource (Hikari) em um AdmissionControlledDataSource com tantas vagas quanto
+ * o maximum-pool-size: sob carga (principalmente com spring.threads.virtual.enabled=true)
+ * as requisições esperam em fila no semáforo em vez de estourar o connection-timeout do pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class DbAdmissionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DbAdmissionConfig.class);
+
+    // 🔸 static: BeanPostProcessor é criado antes dos demais beans da configuração
+    @Bean
+    public static BeanPostProcessor dbAdmissionPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("app.db.admission.permits", Integer.class, 0);
+                Duration timeout = environment.getProperty("app.db.admission.timeout", Duration.class, Duration.ZERO);
+
+                // 🔹 0 = valores do próprio pool
+                if (bean instanceof HikariDataSource hikari) {
+                    if (permits <= 0) permits = hikari.getMaximumPoolSize();
+                    if (timeout.isZero()) timeout = Duration.ofMillis(hikari.getConnectionTimeout());
+                }
+                if (permits <= 0) permits = 10;
+                if (timeout.isZero()) timeout = Duration.ofSeconds(30);
+
+                log.info("🚦 Controle de admissão do banco: {} vagas, espera máxima {}", permits, timeout);
+                return new AdmissionControlledDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionControlledDataSource admission) admission.bindTo(registry);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.edsonrego.taskmanager.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * ⛔ Lançada quando a espera por uma vaga de conexão (AdmissionControlledDataSource) expira.
+ * Convertida em 503 + Retry-After pelo ApiExceptionHandler.
+ */
+public class DbAdmissionRejectedException extends SQLTransientConnectionException {
+
+    public DbAdmissionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.edsonrego.taskmanager.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔢 H2TaskSequenceAligner
+ *
+ * No perfil h2 (ddl-auto: update, sem Flyway) a sequence tasks_id_seq é criada
+ * pelo Hibernate começando em 1, mas bancos antigos já têm tarefas com ID IDENTITY.
+ * Reposiciona a sequence acima do maior ID na inicialização (equivalente à V13 do PostgreSQL).
+ */
+@Component
+@Profile("h2")
+@DependsOn("entityManagerFactory")
+public class H2TaskSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(H2TaskSequenceAligner.class);
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public H2TaskSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        long restartWith = (maxId != null ? maxId : 0) + ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_id_seq RESTART WITH " + restartWith);
+        log.debug("🔢 tasks_id_seq reposicionada em {}", restartWith);
+    }
+}
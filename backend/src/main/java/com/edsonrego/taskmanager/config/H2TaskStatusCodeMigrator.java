@@ -0,0 +1,58 @@
+package com.edsonrego.taskmanager.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔤 H2TaskStatusCodeMigrator
+ *
+ * No perfil h2 (ddl-auto: update, sem Flyway) bancos antigos ainda guardam
+ * execution_status/task_situation por extenso ("PENDING", "not delayed"...).
+ * Reescreve essas linhas para os códigos de 1 caractere na inicialização
+ * (equivalente à V15 do PostgreSQL), para que os filtros por igualdade as encontrem.
+ */
+@Component
+@Profile("h2")
+@DependsOn("entityManagerFactory")
+public class H2TaskStatusCodeMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(H2TaskStatusCodeMigrator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public H2TaskStatusCodeMigrator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void migrate() {
+        int statuses = jdbcTemplate.update("""
+                UPDATE tasks SET execution_status =
+                    CASE UPPER(TRIM(execution_status))
+                        WHEN 'DONE' THEN 'D'
+                        WHEN 'CANCELLED' THEN 'C'
+                        ELSE 'P'
+                    END
+                 WHERE execution_status IS NULL OR LENGTH(execution_status) > 1""");
+
+        int situations = jdbcTemplate.update("""
+                UPDATE tasks SET task_situation =
+                    CASE UPPER(REPLACE(TRIM(task_situation), '_', ' '))
+                        WHEN 'OPEN' THEN 'O'
+                        WHEN 'CLOSED' THEN 'C'
+                        WHEN 'DELAYED' THEN 'L'
+                        WHEN 'NOT DELAYED' THEN 'N'
+                        ELSE NULL
+                    END
+                 WHERE LENGTH(task_situation) > 1""");
+
+        if (statuses + situations > 0) {
+            log.info("🔤 Status/situação convertidos para códigos: {} / {} tarefas", statuses, situations);
+        }
+    }
+}
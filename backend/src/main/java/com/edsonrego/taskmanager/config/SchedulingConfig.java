@@ -0,0 +1,12 @@
+package com.edsonrego.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * ⏰ Habilita os jobs @Scheduled (cada job tem seu próprio app.<job>.enabled).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
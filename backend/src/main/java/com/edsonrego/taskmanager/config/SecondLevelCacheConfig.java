@@ -0,0 +1,106 @@
+package com.edsonrego.taskmanager.config;
+
+import com.edsonrego.taskmanager.model.Task;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 🗃️ Cache de segundo nível do Hibernate (JCache + Ehcache 3 em memória).
+ *
+ * app.cache.second-level.enabled=true liga o cache:
+ * - Região "tasks": entidade Task, só com app.cache.second-level.tasks.enabled=true
+ * - Consultas de listagem/busca de tarefas: só com app.cache.second-level.queries.enabled=true
+ *
+ * Cada região tem limite de entradas e TTL próprios. O CacheManager é criado aqui (URI única por
+ * contexto) e entregue ao Hibernate; estatísticas em /actuator/metrics (ver SecondLevelCache).
+ *
+ * User não tem região: o UserCache já guarda as linhas de usuário (por e-mail e por ID).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    public static final String TASKS_REGION = "tasks";
+    public static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cache.second-level.enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.second-level.tasks.enabled:false}") boolean tasksEnabled,
+            @Value("${app.cache.second-level.tasks.max-size:10000}") long tasksMaxSize,
+            @Value("${app.cache.second-level.tasks.ttl:5m}") Duration tasksTtl,
+            @Value("${app.cache.second-level.queries.enabled:false}") boolean queriesEnabled,
+            @Value("${app.cache.second-level.queries.max-size:500}") long queriesMaxSize,
+            @Value("${app.cache.second-level.queries.ttl:1m}") Duration queriesTtl) {
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = getClass().getClassLoader();
+        // 🔸 URI própria: vários contextos Spring na mesma JVM (testes) não compartilham regiões
+        CacheManager manager = provider.getCacheManager(
+                URI.create("urn:taskmanager:second-level:" + UUID.randomUUID()), new DefaultConfiguration(classLoader));
+
+        if (tasksEnabled) createRegion(manager, TASKS_REGION, tasksMaxSize, tasksTtl);
+        if (queriesEnabled) {
+            createRegion(manager, QUERY_REGION, queriesMaxSize, queriesTtl);
+            // 🔸 Marcas de última escrita por tabela: sem TTL, senão resultados antigos voltariam a valer
+            createRegion(manager, TIMESTAMPS_REGION, 10_000, null);
+        }
+
+        log.info("🗃️ Cache de segundo nível ativo: tasks={}, consultas={}", tasksEnabled, queriesEnabled);
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(
+            ObjectProvider<CacheManager> hibernateCacheManager,
+            @Value("${app.cache.second-level.tasks.enabled:false}") boolean tasksEnabled,
+            @Value("${app.cache.second-level.queries.enabled:false}") boolean queriesEnabled) {
+        return properties -> {
+            CacheManager manager = hibernateCacheManager.getIfAvailable();
+            if (manager == null) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", manager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put(AvailableSettings.USE_QUERY_CACHE, queriesEnabled);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // 🔹 Task entra no cache por configuração (sem @Cache na entidade)
+            if (tasksEnabled) {
+                properties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + Task.class.getName(),
+                        "read-write," + TASKS_REGION);
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager manager, String name, long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> config = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ttl != null ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl) : ExpiryPolicyBuilder.noExpiration());
+        manager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(config));
+    }
+}
@@ -1,15 +1,19 @@
 package com.edsonrego.taskmanager.config;
 
+import com.edsonrego.taskmanager.security.CostAwareBCryptPasswordEncoder;
 import com.edsonrego.taskmanager.security.JwtAuthenticationFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import jakarta.servlet.DispatcherType;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
@@ -28,13 +32,14 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter) throws Exception {
 
         // 🔸 Custom handlers for unauthorized and forbidden responses
         AuthenticationEntryPoint entryPoint = (request, response, authException) -> {
-            System.out.println("🔴 401 Unauthorized: " + authException.getMessage() +
-                    " | URI=" + request.getRequestURI());
+            log.debug("🔴 401 Unauthorized: {} | URI={}", authException.getMessage(), request.getRequestURI());
             response.setStatus(401);
             try (PrintWriter w = response.getWriter()) {
                 w.write("Unauthorized");
@@ -42,8 +47,7 @@ public class SecurityConfig {
         };
 
         AccessDeniedHandler accessDeniedHandler = (request, response, ex) -> {
-            System.out.println("🟠 403 Forbidden: " + ex.getMessage() +
-                    " | URI=" + request.getRequestURI());
+            log.debug("🟠 403 Forbidden: {} | URI={}", ex.getMessage(), request.getRequestURI());
             response.setStatus(403);
             try (PrintWriter w = response.getWriter()) {
                 w.write("Forbidden");
@@ -64,8 +68,8 @@ public class SecurityConfig {
                             "http://127.0.0.1:5173"
                     ));
                     config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-                    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-                    config.setExposedHeaders(List.of("Authorization"));
+                    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "If-None-Match", "If-Match", "Last-Event-ID"));
+                    config.setExposedHeaders(List.of("Authorization", "ETag", "Location", "Retry-After"));
                     config.setAllowCredentials(true);
                     config.setMaxAge(3600L);
                     return config;
@@ -76,6 +80,9 @@ public class SecurityConfig {
                         // Permite pré-flight CORS e páginas estáticas
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // 🔸 Fim de respostas assíncronas (SSE, exportação): a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 🔓 Libera acesso às páginas estáticas do React
                         .requestMatchers("/", "/index.html", "/assets/**", "/favicon.ico").permitAll()
 
@@ -109,9 +116,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * 🔐 BCrypt com custo configurável (app.security.bcrypt-strength).
+     * Hashes com custo diferente são refeitos no próximo login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new CostAwareBCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -0,0 +1,38 @@
+package com.edsonrego.taskmanager.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBodyReturnValueHandler;
+
+/**
+ * 🚰 StreamingResponseEntityHandler
+ *
+ * O Spring só reconhece StreamingResponseBody pelo tipo declarado (ResponseEntity&lt;StreamingResponseBody&gt;).
+ * Endpoints que declaram ResponseEntity&lt;?&gt; (400/204 em String, streaming no caso normal) teriam o lambda
+ * serializado como "{}". Este handler decide pelo valor devolvido: corpo StreamingResponseBody → streaming
+ * assíncrono; qualquer outro corpo segue o tratamento padrão.
+ */
+public class StreamingResponseEntityHandler implements AsyncHandlerMethodReturnValueHandler {
+
+    private final StreamingResponseBodyReturnValueHandler delegate = new StreamingResponseBodyReturnValueHandler();
+
+    @Override
+    public boolean isAsyncReturnValue(Object returnValue, MethodParameter returnType) {
+        return returnValue instanceof ResponseEntity<?> entity && entity.getBody() instanceof StreamingResponseBody;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return ResponseEntity.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+    }
+}
@@ -2,13 +2,16 @@ package com.edsonrego.taskmanager.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * 🌐 WebConfig
  *
- * Configuração adicional de CORS e MVC.
+ * Configuração adicional de CORS e MVC (retorno em streaming).
  * Mantém compatibilidade total com o SecurityConfig (sem conflito).
  * Esta configuração é aplicada em controladores REST e endpoints públicos.
  */
@@ -25,12 +28,18 @@ public class WebConfig {
                                 "http://localhost:5173",
                                 "http://127.0.0.1:5173" // ✅ adicionado para compatibilidade com testes locais
                         )
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowedHeaders("Authorization", "Content-Type")
-                        .exposedHeaders("Authorization")
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                        .allowedHeaders("Authorization", "Content-Type", "If-None-Match", "If-Match", "Last-Event-ID")
+                        .exposedHeaders("Authorization", "ETag", "Location", "Retry-After")
                         .allowCredentials(true)
                         .maxAge(3600); // ✅ cache das preflight requests (melhor performance)
             }
+
+            // 🚰 ResponseEntity<?> com corpo StreamingResponseBody (export, paged=false) → streaming
+            @Override
+            public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+                handlers.add(new StreamingResponseEntityHandler());
+            }
         };
     }
 }
@@ -0,0 +1,65 @@
+package com.edsonrego.taskmanager.controller;
+
+import com.edsonrego.taskmanager.config.DbAdmissionRejectedException;
+import com.edsonrego.taskmanager.security.PasswordHashingRejectedException;
+import com.edsonrego.taskmanager.service.ReportJobRejectedException;
+import com.edsonrego.taskmanager.service.TaskExportRejectedException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * 🚦 Tratamento centralizado de exceções da API.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * ⛔ Pool de hashing saturado → 503 rápido com Retry-After.
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<?> handleHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Server busy, please retry shortly."));
+    }
+
+    /**
+     * ⛔ Fila de jobs de relatório cheia → 503 com Retry-After.
+     */
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<?> handleReportJobRejected(ReportJobRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too many reports running, please retry shortly."));
+    }
+
+    /**
+     * ⛔ Vagas de exportação / listagem em streaming ocupadas → 503 com Retry-After.
+     */
+    @ExceptionHandler(TaskExportRejectedException.class)
+    public ResponseEntity<?> handleExportRejected(TaskExportRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too many exports running, please retry shortly."));
+    }
+
+    /**
+     * ⛔ Fila de conexões do banco (controle de admissão) expirou → 503 com Retry-After.
+     *   Outras falhas de conexão seguem o tratamento padrão.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<?> handleDbAdmissionRejected(RuntimeException e) {
+        if (!(NestedExceptionUtils.getRootCause(e) instanceof DbAdmissionRejectedException)) throw e;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Server busy, please retry shortly."));
+    }
+}
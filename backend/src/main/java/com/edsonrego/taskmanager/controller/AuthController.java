@@ -41,6 +41,9 @@ public class AuthController {
             return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
         }
 
+        // 🔹 Rehash transparente se o custo do BCrypt foi alterado
+        userService.upgradePasswordHashIfNeeded(user, password);
+
         // 🔹 Gera o token JWT
         String token = jwtService.generateToken(user);
 
@@ -1,9 +1,19 @@
 package com.edsonrego.taskmanager.controller;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.dto.ReportJob;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.service.ReportJobService;
 import com.edsonrego.taskmanager.service.ReportService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -13,18 +23,32 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ChangeStamps changeStamps;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportJobService reportJobService, ChangeStamps changeStamps) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
+        this.changeStamps = changeStamps;
     }
 
     /**
      * 📊 Retorna o resumo consolidado de tarefas por usuário.
-     * Dados vêm da view "vw_tasks_summary".
+     * Dados vêm de task_summary (contadores por usuário mantidos por trigger, ver ReportService).
+     * ?engine=sql|jvm escolhe o motor de cálculo (padrão: app.reports.engine).
+     * 🏷️ ETag pelo carimbo de tarefas/usuários: 304 sem consultar a view.
+     * ✍️ Linhas tipadas escritas campo a campo no JsonGenerator (ReportRow), sem Map por linha.
      */
     @GetMapping("/summary")
-    public ResponseEntity<?> getSummary() {
-        List<Map<String, Object>> summary = reportService.getSummary();
+    public ResponseEntity<?> getSummary(@RequestParam(required = false) String engine, WebRequest webRequest) {
+        if (changeStamps.collectionTagsEnabled() && webRequest.checkNotModified(changeStamps.reportsTag())) return null;
+
+        List<TaskSummaryRow> summary;
+        try {
+            summary = engine != null ? reportService.getSummary(engine) : reportService.getSummary();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         if (summary == null || summary.isEmpty()) {
             return ResponseEntity.noContent().build();
@@ -34,18 +58,57 @@ public class ReportController {
     }
 
     /**
-     * 🔄 Recalcula e retorna as taxas de conclusão de tarefas.
-     * Executa a stored procedure "recalculate_completion_rate()".
+     * 📈 Tendências por data de vencimento: um bucket por dia, semana (ISO) ou mês, com contagens,
+     * completion_rate e delay_rate. Lidas de task_rollups (contadores por bucket mantidos por trigger).
+     * ?granularity=day|week|month (padrão week), ?from/?to (ISO, padrão: último ano), ?userId opcional.
      */
-    @PostMapping("/recalculate")
-    public ResponseEntity<?> recalculateCompletion() {
-        List<Map<String, Object>> updatedMetrics = reportService.recalculateCompletion();
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(@RequestParam(required = false) String granularity,
+                                       @RequestParam(required = false) String from,
+                                       @RequestParam(required = false) String to,
+                                       @RequestParam(required = false) Long userId) {
+        try {
+            return ResponseEntity.ok(reportService.getTrends(
+                    TrendGranularity.from(granularity), parseDate(from), parseDate(to), userId));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body("Invalid date format. Use ISO format (e.g., 2025-10-21).");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
-        if (updatedMetrics == null || updatedMetrics.isEmpty()) {
-            return ResponseEntity.status(204).body("No data returned from recalculation.");
+    /**
+     * 🔄 Recalcula as taxas de conclusão de tarefas em segundo plano.
+     * Executa a stored procedure "recalculate_completion_rate()" (ou o motor jvm) no pool de relatórios:
+     * 202 + Location do job (pedidos simultâneos recebem o mesmo job); fila cheia → 503.
+     */
+    @PostMapping("/recalculate")
+    public ResponseEntity<?> recalculateCompletion(@RequestParam(required = false) String engine) {
+        ReportJob job;
+        try {
+            job = reportJobService.submitCompletionRecalculation(engine);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(job);
+    }
 
-        return ResponseEntity.ok(updatedMetrics);
+    /**
+     * 🧾 Situação (e resultado, quando concluído) de um job de relatório.
+     * Enquanto não termina, Retry-After sugere o próximo polling; expirado/desconhecido → 404.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJob> getJob(@PathVariable String id) {
+        return reportJobService.find(id)
+                .map(job -> job.isFinished()
+                        ? ResponseEntity.ok(job)
+                        : ResponseEntity.ok()
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(reportJobService.getRetryAfterSeconds()))
+                                .body(job))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -62,4 +125,8 @@ public class ReportController {
                     .body(Map.of("status", "ERROR", "message", e.getMessage()));
         }
     }
+
+    private static LocalDate parseDate(String value) {
+        return (value != null && !value.isBlank()) ? LocalDate.parse(value) : null;
+    }
 }
@@ -1,18 +1,43 @@
 package com.edsonrego.taskmanager.controller;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.dto.BulkTaskRequest;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
 import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
 import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.security.JwtService;
+import com.edsonrego.taskmanager.service.TaskBulkService;
+import com.edsonrego.taskmanager.service.TaskCursor;
+import com.edsonrego.taskmanager.service.TaskExportService;
 import com.edsonrego.taskmanager.service.TaskService;
+import com.edsonrego.taskmanager.service.TaskSyncService;
 import com.edsonrego.taskmanager.service.UserService;
+import com.edsonrego.taskmanager.stream.TaskChangeStream;
+import com.edsonrego.taskmanager.stream.TaskStreamFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -20,12 +45,36 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:5173")
 public class TaskController {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskController.class);
+
     private final TaskService taskService;
     private final UserService userService;
+    private final TaskExportService taskExportService;
+    private final TaskBulkService taskBulkService;
+    private final ChangeStamps changeStamps;
+    private final TaskChangeStream taskChangeStream;
+    private final TaskSyncService taskSyncService;
+    private final JwtService jwtService;
+    private final Duration streamTokenTtl;
 
-    public TaskController(TaskService taskService, UserService userService) {
+    public TaskController(TaskService taskService,
+                          UserService userService,
+                          TaskExportService taskExportService,
+                          TaskBulkService taskBulkService,
+                          ChangeStamps changeStamps,
+                          TaskChangeStream taskChangeStream,
+                          TaskSyncService taskSyncService,
+                          JwtService jwtService,
+                          @Value("${app.stream.token-ttl:60s}") Duration streamTokenTtl) {
         this.taskService = taskService;
         this.userService = userService;
+        this.taskExportService = taskExportService;
+        this.taskBulkService = taskBulkService;
+        this.changeStamps = changeStamps;
+        this.taskChangeStream = taskChangeStream;
+        this.taskSyncService = taskSyncService;
+        this.jwtService = jwtService;
+        this.streamTokenTtl = streamTokenTtl;
     }
 
     @GetMapping
@@ -34,20 +83,48 @@ public class TaskController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(defaultValue = "false") boolean paged
+            @RequestParam(defaultValue = "false") boolean paged,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest webRequest
     ) {
-        Sort sort = direction.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        // 🏷️ If-None-Match igual ao carimbo atual → 304 sem consultar nem serializar
+        if (changeStamps.collectionTagsEnabled() && webRequest.checkNotModified(changeStamps.tasksTag())) return null;
+
+        // ⏩ Modo cursor: "?cursor=" inicia, "?cursor=<nextCursor>" continua
+        if (cursor != null) {
+            return cursorPage(new TaskFilter(), sortBy, direction, cursor, size, count);
+        }
+
+        try {
+            if (!paged) {
+                // 🚰 Lista completa em streaming (ordem de sortBy; campo desconhecido → id)
+                return streamJson(sortBy, direction,
+                        (sort, desc, out) -> taskExportService.writeJsonArray(new TaskFilter(), sort, desc, out));
+            }
+
+            CountMode countMode = CountMode.from(count);
+            Sort sort = direction.equalsIgnoreCase("desc")
+                    ? Sort.by(sortBy).descending()
+                    : Sort.by(sortBy).ascending();
 
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return !paged
-                ? ResponseEntity.ok(taskService.findAllPaged(Pageable.unpaged()).getContent())
-                : ResponseEntity.ok(taskService.findAllPaged(pageable));
+            Pageable pageable = PageRequest.of(page, size, sort);
+            // 📄 count=none|estimated: sem o COUNT(*) da Page (scroll infinito / botão "próxima")
+            return countMode == CountMode.EXACT
+                    ? ResponseEntity.ok(taskService.findAllPaged(pageable))
+                    : ResponseEntity.ok(taskService.findAllSlice(pageable, countMode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, WebRequest webRequest) {
+        // 🏷️ ETag = versão da linha (consulta só as versões; 304 não carrega a tarefa)
+        Optional<String> etag = taskService.findEntityTag(id);
+        if (etag.isEmpty()) return ResponseEntity.status(404).body("Task not found");
+        if (webRequest.checkNotModified(etag.get())) return null;
+
         return taskService.findById(id)
                 .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(404).body("Task not found"));
@@ -63,7 +140,7 @@ public class TaskController {
         }
 
         if (authentication == null || !authentication.isAuthenticated()) {
-            System.out.println("⚠️ Authentication missing or invalid!");
+            log.warn("⚠️ Authentication missing or invalid!");
             return ResponseEntity.status(401).body("User not authenticated.");
         }
 
@@ -72,41 +149,93 @@ public class TaskController {
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found: " + email));
 
         task.setResponsible(responsibleUser);
-        if (task.getExecutionStatus() != null)
-            task.setExecutionStatus(task.getExecutionStatus().toUpperCase());
         if (task.getCreationDate() == null)
             task.setCreationDate(LocalDate.now());
 
         Task saved = taskService.save(task);
-        System.out.println("💾 Task created successfully by " + responsibleUser.getEmail());
+        log.debug("💾 Task created successfully by {}", responsibleUser.getEmail());
         return ResponseEntity.ok(saved);
     }
 
+    /**
+     * 📦 Criação, alteração parcial e remoção em lote.
+     *   Corpo: { "create": [...], "update": [{ "id": 1, ... }], "delete": [1, 2] }
+     *   Retorna um resultado por item (CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, FAILED).
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkTasks(@RequestBody BulkTaskRequest request, Authentication authentication) {
+        User defaultResponsible = (authentication != null && authentication.isAuthenticated())
+                ? userService.findByEmail(authentication.getName()).orElse(null)
+                : null;
+        try {
+            return ResponseEntity.ok(taskBulkService.execute(request, defaultResponsible));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(413).body(e.getMessage());
+        }
+    }
+
+    /**
+     * ✏️ Alteração parcial. Com If-Match, responde 412 se a tarefa mudou desde a leitura
+     *   (a versão carregada também protege o UPDATE contra escritas concorrentes).
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody Task updatedTask) {
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody Task updatedTask, WebRequest webRequest) {
         Optional<Task> existing = taskService.findById(id);
         if (existing.isEmpty()) {
             return ResponseEntity.status(404).body("Task not found");
         }
 
         Task task = existing.get();
-        if (updatedTask.getPlannedDescription() != null)
-            task.setPlannedDescription(updatedTask.getPlannedDescription());
-        if (updatedTask.getExecutedDescription() != null)
-            task.setExecutedDescription(updatedTask.getExecutedDescription());
-        if (updatedTask.getExecutionStatus() != null)
-            task.setExecutionStatus(updatedTask.getExecutionStatus());
-        if (updatedTask.getTaskSituation() != null)
-            task.setTaskSituation(updatedTask.getTaskSituation());
-        if (updatedTask.getDueDate() != null)
-            task.setDueDate(updatedTask.getDueDate());
+        if (webRequest.checkNotModified(TaskService.entityTag(task))) return null;
 
-        Task saved = taskService.save(task);
-        return ResponseEntity.ok(saved);
+        TaskService.applyChanges(task, updatedTask);
+
+        try {
+            Task saved = taskService.save(task);
+            return ResponseEntity.ok().eTag(TaskService.entityTag(saved)).body(saved);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Task was modified by another request.");
+        }
+    }
+
+    /**
+     * ✏️ Alteração parcial em um único UPDATE (só as colunas enviadas, sem SELECT prévio).
+     *   If-Match com o ETag da tarefa vira "AND version = ?" no próprio UPDATE (412 se mudou).
+     *   Retorna { "updated": linhas }.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @RequestBody Task changes,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.isBlank() && !"*".equals(ifMatch.trim())) {
+            expectedVersion = ChangeStamps.taskVersion(id, ifMatch.trim());
+            if (expectedVersion == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("If-Match does not match this task.");
+            }
+        }
+
+        int rows;
+        try {
+            rows = taskService.patch(id, changes, expectedVersion);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        if (rows == 0) {
+            // 🔸 Só no caminho de falha: distingue "não existe" de "versão diferente"
+            return expectedVersion != null && taskService.existsById(id)
+                    ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Task was modified by another request.")
+                    : ResponseEntity.status(404).body("Task not found");
+        }
+        return ResponseEntity.ok(Map.of("updated", rows));
     }
 
     /**
      * 🔎 Busca tarefas considerando apenas a data (ignorando hora)
+     *   creationDate/dueDate = dia exato; createdFrom/createdTo, dueFrom/dueTo = faixas de dias
+     *   (inclusivas); overdueAsOf = vencidas antes do dia e ainda não concluídas.
+     *   paged=true com count=none|estimated devolve só "hasNext" (e total aproximado), sem COUNT(*).
+     *   No H2, count=estimated só tem total sem filtros ou só com responsibleId; nos demais, total null.
      */
     @GetMapping("/search")
     public ResponseEntity<?> searchTasks(
@@ -117,30 +246,53 @@ public class TaskController {
             @RequestParam(required = false) String dueDate,
             @RequestParam(required = false) Long id,
             @RequestParam(required = false) String description,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo,
+            @RequestParam(required = false) String dueFrom,
+            @RequestParam(required = false) String dueTo,
+            @RequestParam(required = false) String overdueAsOf,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(defaultValue = "false") boolean paged
+            @RequestParam(defaultValue = "false") boolean paged,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest webRequest
     ) {
+        // 🏷️ Com responsibleId, o carimbo é o do responsável: escritas de outros usuários não invalidam
+        if (changeStamps.collectionTagsEnabled()
+                && webRequest.checkNotModified(changeStamps.tasksTag(responsibleId))) return null;
+
         try {
-            LocalDate creation = (creationDate != null && !creationDate.isBlank())
-                    ? LocalDate.parse(creationDate)
-                    : null;
-            LocalDate due = (dueDate != null && !dueDate.isBlank())
-                    ? LocalDate.parse(dueDate)
-                    : null;
+            TaskFilter filter = buildFilter(status, situation, responsibleId, creationDate, dueDate, id, description,
+                    createdFrom, createdTo, dueFrom, dueTo, overdueAsOf);
+
+            if (cursor != null) {
+                return cursorPage(filter, sortBy, direction, cursor, size, count);
+            }
+
+            if (!paged) {
+                // 🚰 Lista completa em streaming, no formato da Page não paginada
+                if (!taskExportService.hasTasks(filter)) return ResponseEntity.noContent().build();
+                return streamJson(sortBy, direction,
+                        (sort, desc, out) -> taskExportService.writeJsonPage(filter, sort, desc, out));
+            }
 
             Sort sort = direction.equalsIgnoreCase("desc")
                     ? Sort.by(sortBy).descending()
                     : Sort.by(sortBy).ascending();
 
-            Pageable pageable = paged ? PageRequest.of(page, size, sort) : Pageable.unpaged();
+            Pageable pageable = PageRequest.of(page, size, sort);
 
-            var results = taskService.searchTasksPaged(
-                    status, situation, responsibleId,
-                    creation, due, id, description, pageable
-            );
+            CountMode countMode = CountMode.from(count);
+            if (countMode != CountMode.EXACT) {
+                var slice = taskService.searchTasksSlice(filter, pageable, countMode);
+                if (slice.getContent().isEmpty()) return ResponseEntity.noContent().build();
+                return ResponseEntity.ok(slice);
+            }
+
+            var results = taskService.searchTasksPaged(filter, pageable);
 
             if (results.isEmpty()) return ResponseEntity.noContent().build();
             return ResponseEntity.ok(results);
@@ -148,16 +300,216 @@ public class TaskController {
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest()
                     .body("Invalid date format. Use ISO format (e.g., 2025-10-21).");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonStreamWriter {
+        void write(String sortBy, boolean descending, OutputStream out) throws IOException;
+    }
+
+    /**
+     * 🚰 Resposta JSON em streaming (paged=false): a vaga é reservada antes de responder
+     *   (sem vaga → 503) e devolvida ao fim da escrita.
+     *   Como a listagem não paginada sempre aceitou qualquer sortBy, campo fora de Task ordena por id.
+     */
+    private ResponseEntity<?> streamJson(String sortBy, String direction, JsonStreamWriter writer) {
+        String sort = TaskExportService.sortableOrId(sortBy);
+        boolean desc = direction.equalsIgnoreCase("desc");
+        TaskExportService.Slot slot = taskExportService.reserve();
+        StreamingResponseBody body = out -> {
+            try (slot) {
+                writer.write(sort, desc, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * ⏩ Paginação por cursor (keyset) — sortBy: id, dueDate ou creationDate.
+     *   count=none dispensa o COUNT(*) da consulta; count=estimated devolve um total aproximado.
+     */
+    private ResponseEntity<?> cursorPage(TaskFilter filter, String sortBy, String direction,
+                                         String cursor, int size, String count) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasksByCursor(
+                    filter, sortBy, direction.equalsIgnoreCase("desc"), cursor, size,
+                    CountMode.from(count)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 🏅 Busca textual por relevância em plannedDescription (caixa de busca do frontend).
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<?> searchTasksByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body("Search text is required.");
+        }
+        var results = taskService.searchByText(q, Math.min(Math.max(limit, 1), 100));
+        if (results.isEmpty()) return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * 📤 Exportação em streaming (NDJSON ou CSV) com os mesmos filtros de /search.
+     *   Substitui o paged=false para grandes volumes: memória constante no servidor.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String situation,
+            @RequestParam(required = false) Long responsibleId,
+            @RequestParam(required = false) String creationDate,
+            @RequestParam(required = false) String dueDate,
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo,
+            @RequestParam(required = false) String dueFrom,
+            @RequestParam(required = false) String dueTo,
+            @RequestParam(required = false) String overdueAsOf,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        try {
+            TaskFilter filter = buildFilter(status, situation, responsibleId, creationDate, dueDate, id, description,
+                    createdFrom, createdTo, dueFrom, dueTo, overdueAsOf);
+            TaskExportService.Format exportFormat = TaskExportService.Format.from(format);
+            TaskCursor.requireSortable(sortBy);
+            boolean desc = direction.equalsIgnoreCase("desc");
+
+            TaskExportService.Slot slot = taskExportService.reserve();
+            StreamingResponseBody body = out -> {
+                try (slot) {
+                    taskExportService.export(filter, sortBy, desc, exportFormat, out);
+                }
+            };
+
+            String extension = exportFormat == TaskExportService.Format.CSV ? "csv" : "ndjson";
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + extension + "\"")
+                    .body(body);
+
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body("Invalid date format. Use ISO format (e.g., 2025-10-21).");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 🔁 Sincronização incremental: tarefas criadas/alteradas e IDs removidos depois de "since".
+     *   since=0 traz a carga inicial; repetir com "next" enquanto hasMore; reset=true → recomeçar em 0.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getTaskChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(taskSyncService.changesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 📡 Alterações de tarefas em tempo real (Server-Sent Events), no lugar do polling de GET /api/tasks.
+     *   Filtros opcionais: responsibleId, status, situation, description (contém).
+     *   O cliente deve abrir o stream antes de carregar a lista; em "reset", recarrega a lista.
+     *   Reconexões enviam Last-Event-ID e recebem o que perderam.
+     *   Autenticação: header Bearer ou, no EventSource do navegador (sem headers),
+     *   ?access_token= com um token de POST /api/tasks/stream/token. Esse token expira em
+     *   app.stream.token-ttl: quando o EventSource falhar ao reconectar, o cliente pede outro token
+     *   e abre um novo EventSource com ?lastEventId= (o último id recebido).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamTasks(
+            @RequestParam(required = false) Long responsibleId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String situation,
+            @RequestParam(required = false) String description,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam
+    ) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        TaskStreamFilter filter;
+        try {
+            filter = new TaskStreamFilter(responsibleId, ExecutionStatus.from(status), TaskSituation.from(situation), description);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        return taskChangeStream.subscribe(filter, lastEventId)
+                .<ResponseEntity<?>>map(emitter -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .header("X-Accel-Buffering", "no") // 🔸 Proxies (nginx) não devem acumular o stream
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .body("Too many open task streams."));
+    }
+
+    /**
+     * 🎫 Token de curta duração para abrir GET /api/tasks/stream?access_token=... (só vale lá).
+     */
+    @PostMapping("/stream/token")
+    public ResponseEntity<?> streamToken(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(401).body("User not authenticated.");
+        }
+        Optional<User> user = userService.findByEmail(authentication.getName());
+        if (user.isEmpty()) {
+            return ResponseEntity.status(401).body("User not authenticated.");
         }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("token", jwtService.generateStreamToken(user.get(), streamTokenTtl),
+                        "expiresIn", streamTokenTtl.toSeconds()));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTask(@PathVariable Long id) {
-        Optional<Task> existing = taskService.findById(id);
-        if (existing.isEmpty()) {
+        // 🔹 Um único DELETE: 0 linhas = não existia
+        if (!taskService.delete(id)) {
             return ResponseEntity.status(404).body("Task not found");
         }
-        taskService.delete(id);
         return ResponseEntity.ok("Task deleted successfully.");
     }
+
+    // 🔹 Monta o TaskFilter a partir dos parâmetros (datas em ISO yyyy-MM-dd, status/situação em qualquer caixa)
+    private static TaskFilter buildFilter(String status, String situation, Long responsibleId,
+                                          String creationDate, String dueDate, Long id, String description,
+                                          String createdFrom, String createdTo,
+                                          String dueFrom, String dueTo, String overdueAsOf) {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(ExecutionStatus.from(status));
+        filter.setSituation(TaskSituation.from(situation));
+        filter.setResponsibleId(responsibleId);
+        filter.setId(id);
+        filter.setDescription(description);
+        filter.setCreationDate(parseDate(creationDate));
+        filter.setDueDate(parseDate(dueDate));
+        filter.setCreatedFrom(parseDate(createdFrom));
+        filter.setCreatedTo(parseDate(createdTo));
+        filter.setDueFrom(parseDate(dueFrom));
+        filter.setDueTo(parseDate(dueTo));
+        filter.setOverdueAsOf(parseDate(overdueAsOf));
+        return filter;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return (value != null && !value.isBlank()) ? LocalDate.parse(value) : null;
+    }
 }
@@ -1,11 +1,16 @@
 package com.edsonrego.taskmanager.controller;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.SlicePage;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.service.UserService;
 import org.springframework.data.domain.*;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -17,51 +22,73 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final ChangeStamps changeStamps;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ChangeStamps changeStamps) {
         this.userService = userService;
+        this.changeStamps = changeStamps;
     }
 
     // 🔹 Lista todos os usuários com suporte a paginação e ordenação
+    //   count=exact (Page com total) | none (só hasNext) | estimated (total aproximado)
     @GetMapping
     public ResponseEntity<?> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(defaultValue = "false") boolean paged
+            @RequestParam(defaultValue = "false") boolean paged,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest webRequest
     ) {
-        List<User> allUsers = userService.findAll();
-        if (allUsers.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
+        // 🏷️ 304 se nenhum usuário mudou desde o ETag enviado
+        if (changeStamps.collectionTagsEnabled() && webRequest.checkNotModified(changeStamps.usersTag())) return null;
 
         // 🔹 Caso o cliente não queira paginação (mantém compatibilidade)
         if (!paged) {
+            List<User> allUsers = userService.findAll();
+            if (allUsers.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
             return ResponseEntity.ok(allUsers);
         }
 
-        // 🔹 Caso contrário, aplica paginação e ordenação
-        Sort sort = direction.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-
-        Pageable pageable = PageRequest.of(page, size, sort);
-        int start = Math.min((int) pageable.getOffset(), allUsers.size());
-        int end = Math.min((start + pageable.getPageSize()), allUsers.size());
-        Page<User> userPage = new PageImpl<>(allUsers.subList(start, end), pageable, allUsers.size());
-
-        return ResponseEntity.ok(userPage);
+        // 🔹 Caso contrário, pagina e ordena no banco
+        try {
+            CountMode countMode = CountMode.from(count);
+            Sort sort = direction.equalsIgnoreCase("desc") ?
+                    Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            Pageable pageable = PageRequest.of(page, size, sort);
+
+            if (countMode == CountMode.EXACT) {
+                Page<User> userPage = userService.findPage(pageable);
+                if (userPage.isEmpty()) return ResponseEntity.noContent().build();
+                return ResponseEntity.ok(userPage);
+            }
+
+            SlicePage<User> slice = userService.findSlice(pageable, countMode);
+            if (slice.getContent().isEmpty()) return ResponseEntity.noContent().build();
+            return ResponseEntity.ok(slice);
+
+        } catch (PropertyReferenceException e) {
+            return ResponseEntity.badRequest().body("Invalid sort property: " + sortBy);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // 🔹 Busca usuário por ID
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, WebRequest webRequest) {
         Optional<User> userOpt = userService.findById(id);
         if (userOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("User not found");
         }
-        return ResponseEntity.ok(userOpt.get());
+        // 🏷️ Leitura vem do UserCache; o 304 economiza a serialização e a transferência
+        User user = userOpt.get();
+        if (webRequest.checkNotModified(ChangeStamps.userTag(user.getId(), user.getVersion()))) return null;
+        return ResponseEntity.ok(user);
     }
 
     // 🔹 Busca usuário por e-mail
@@ -94,7 +121,7 @@ public class UserController {
                     .body("User with this email already exists.");
         }
 
-        User saved = userService.save(user);
+        User saved = userService.create(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
@@ -106,33 +133,17 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
 
-        User existing = existingOpt.get();
-
-        if (updatedUser.getFirstName() != null)
-            existing.setFirstName(updatedUser.getFirstName());
-
-        if (updatedUser.getLastName() != null)
-            existing.setLastName(updatedUser.getLastName());
-
-        if (updatedUser.getEmail() != null)
-            existing.setEmail(updatedUser.getEmail());
-
-        if (updatedUser.getPassword() != null && !updatedUser.getPassword().isBlank())
-            existing.setPassword(updatedUser.getPassword());
-
-        User saved = userService.save(existing);
+        User saved = userService.update(existingOpt.get(), updatedUser);
         return ResponseEntity.ok(saved);
     }
 
     // 🔹 Exclui um usuário
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
-        Optional<User> userOpt = userService.findById(id);
-        if (userOpt.isEmpty()) {
+        // 🔹 Um único DELETE: 0 linhas = não existia
+        if (!userService.delete(id)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
-
-        userService.delete(id);
         return ResponseEntity.ok("User deleted successfully.");
     }
 }
@@ -0,0 +1,112 @@
+package com.edsonrego.taskmanager.count;
+
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🧮 Estimativas para bancos sem estatísticas acessíveis (H2 / desktop).
+ *
+ * - Sem filtro: contador de tarefas carregado uma vez (COUNT(*)) e mantido pelos
+ *   TaskChangedEvent após o commit (CREATED +1, DELETED -1)
+ * - Só o responsável (filtro do frontend): um contador por responsável, carregado na primeira
+ *   consulta dele e mantido pelos mesmos eventos (inclusive reatribuições)
+ * - Qualquer outro filtro: sem estimativa (null); contar a cada página seria o COUNT(*) do count=exact
+ * - Usuários: contador carregado uma vez e mantido pelo UserService (userCreated / userDeleted)
+ */
+public class MaintainedRowCountEstimator implements RowCountEstimator {
+
+    private static final long NOT_LOADED = -1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final AtomicLong taskCount = new AtomicLong(NOT_LOADED);
+    private final AtomicLong userCount = new AtomicLong(NOT_LOADED);
+    private final Map<Long, AtomicLong> responsibleCounts = new ConcurrentHashMap<>();
+
+    public MaintainedRowCountEstimator(JdbcTemplate jdbcTemplate, TaskJdbcRepository taskJdbcRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskJdbcRepository = taskJdbcRepository;
+    }
+
+    @Override
+    public Long estimateTasks(TaskFilter filter) {
+        if (filter == null || filter.isEmpty()) return loaded(taskCount, "tasks");
+        if (!filter.isEmptyExceptResponsible()) return null;
+
+        AtomicLong counter = responsibleCounts.get(filter.getResponsibleId());
+        if (counter == null) {
+            // 🔸 COUNT(*) pelo índice de responsible_id, uma vez por responsável
+            AtomicLong loaded = new AtomicLong(taskJdbcRepository.count(filter));
+            counter = responsibleCounts.putIfAbsent(filter.getResponsibleId(), loaded);
+            if (counter == null) counter = loaded;
+        }
+        return counter.get();
+    }
+
+    @Override
+    public long estimateUsers() {
+        return loaded(userCount, "users");
+    }
+
+    @Override
+    public void userCreated() {
+        increment(userCount, 1);
+    }
+
+    @Override
+    public void userDeleted(Long userId) {
+        increment(userCount, -1);
+        // 🔸 As tarefas dele ficam sem responsável (ON DELETE SET NULL)
+        if (userId != null) responsibleCounts.remove(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // 🔸 Antes da primeira leitura não há o que manter: a carga inicial já verá a alteração
+        switch (event.getType()) {
+            case CREATED -> {
+                increment(taskCount, 1);
+                incrementResponsible(event.getResponsibleId(), 1);
+            }
+            case DELETED -> {
+                increment(taskCount, -1);
+                // 🔸 Responsável desconhecido: recarrega todos na próxima consulta
+                if (event.getResponsibleId() == null) responsibleCounts.clear();
+                else incrementResponsible(event.getResponsibleId(), -1);
+            }
+            case UPDATED -> {
+                if (event.getPreviousResponsibleId() != null) {
+                    incrementResponsible(event.getPreviousResponsibleId(), -1);
+                    incrementResponsible(event.getResponsibleId(), 1);
+                }
+            }
+        }
+    }
+
+    private long loaded(AtomicLong counter, String table) {
+        long current = counter.get();
+        if (current != NOT_LOADED) return current;
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        counter.compareAndSet(NOT_LOADED, total != null ? total : 0L);
+        return counter.get();
+    }
+
+    private void incrementResponsible(Long responsibleId, long delta) {
+        if (responsibleId == null) return;
+        AtomicLong counter = responsibleCounts.get(responsibleId);
+        if (counter != null) increment(counter, delta);
+    }
+
+    private static void increment(AtomicLong counter, long delta) {
+        counter.updateAndGet(n -> n == NOT_LOADED ? n : Math.max(0, n + delta));
+    }
+}
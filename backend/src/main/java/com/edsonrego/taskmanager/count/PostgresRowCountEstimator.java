@@ -0,0 +1,43 @@
+package com.edsonrego.taskmanager.count;
+
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 🐘 Estimativas a partir das estatísticas do PostgreSQL (nenhuma linha é contada).
+ *
+ * - Sem filtro: pg_class.reltuples (atualizado por ANALYZE / autovacuum)
+ * - Com filtro: "Plan Rows" do EXPLAIN da consulta filtrada
+ * - Tabela ainda não analisada (reltuples = -1): cai no COUNT(*)
+ */
+public class PostgresRowCountEstimator implements RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskJdbcRepository taskJdbcRepository;
+
+    public PostgresRowCountEstimator(JdbcTemplate jdbcTemplate, TaskJdbcRepository taskJdbcRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskJdbcRepository = taskJdbcRepository;
+    }
+
+    @Override
+    public Long estimateTasks(TaskFilter filter) {
+        if (filter == null || filter.isEmpty()) return tableEstimate("tasks");
+        return taskJdbcRepository.planRowEstimate(filter);
+    }
+
+    @Override
+    public long estimateUsers() {
+        return tableEstimate("users");
+    }
+
+    private long tableEstimate(String table) {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        if (estimate != null && estimate >= 0) return estimate;
+
+        Long exact = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return exact != null ? exact : 0L;
+    }
+}
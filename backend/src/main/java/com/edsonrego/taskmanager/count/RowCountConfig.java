@@ -0,0 +1,41 @@
+package com.edsonrego.taskmanager.count;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * ⚙️ Escolhe a implementação de RowCountEstimator.
+ *
+ * app.count.estimator:
+ *   - auto (padrão): PostgreSQL → estatísticas do planejador; qualquer outro banco → contador mantido
+ *   - postgres | maintained: força a implementação
+ */
+@Configuration
+public class RowCountConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RowCountConfig.class);
+
+    @Bean
+    public RowCountEstimator rowCountEstimator(DataSource dataSource,
+                                               JdbcTemplate jdbcTemplate,
+                                               TaskJdbcRepository taskJdbcRepository,
+                                               @Value("${app.count.estimator:auto}") String estimator) {
+        boolean postgres = switch (estimator.toLowerCase()) {
+            case "postgres" -> true;
+            case "maintained" -> false;
+            default -> DatabaseProduct.isPostgres(dataSource);
+        };
+        log.info("📈 Totais estimados: {}", postgres ? "estatísticas do PostgreSQL" : "contador mantido");
+        return postgres
+                ? new PostgresRowCountEstimator(jdbcTemplate, taskJdbcRepository)
+                : new MaintainedRowCountEstimator(jdbcTemplate, taskJdbcRepository);
+    }
+}
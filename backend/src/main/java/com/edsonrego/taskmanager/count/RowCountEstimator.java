@@ -0,0 +1,32 @@
+package com.edsonrego.taskmanager.count;
+
+import com.edsonrego.taskmanager.dto.TaskFilter;
+
+/**
+ * 📈 Totais aproximados para listagens com count=estimated.
+ *
+ * Implementações:
+ * - PostgresRowCountEstimator: estatísticas do planejador (pg_class.reltuples / EXPLAIN)
+ * - MaintainedRowCountEstimator: contadores mantidos em memória (H2)
+ */
+public interface RowCountEstimator {
+
+    /**
+     * 🔹 Total aproximado de tarefas que atendem ao filtro (null/vazio = todas).
+     *
+     * @return null quando não há estimativa barata para o filtro (a listagem sai sem total)
+     */
+    Long estimateTasks(TaskFilter filter);
+
+    /**
+     * 🔹 Total aproximado de usuários.
+     */
+    long estimateUsers();
+
+    // 🔸 Escritas de usuários (no-op quando o banco mantém as estatísticas sozinho)
+    default void userCreated() {
+    }
+
+    default void userDeleted(Long userId) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.edsonrego.taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📦 Corpo de POST /api/tasks/bulk.
+ *
+ * - create: novas tarefas (responsible opcional → usuário autenticado)
+ * - update: alterações parciais; "id" obrigatório, campos nulos são mantidos
+ * - delete: IDs a remover
+ */
+public class BulkTaskRequest {
+
+    private List<Task> create = new ArrayList<>();
+    private List<Task> update = new ArrayList<>();
+    private List<Long> delete = new ArrayList<>();
+
+    public List<Task> getCreate() {
+        return create;
+    }
+
+    public void setCreate(List<Task> create) {
+        this.create = create != null ? create : new ArrayList<>();
+    }
+
+    public List<Task> getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(List<Task> update) {
+        this.update = update != null ? update : new ArrayList<>();
+    }
+
+    public List<Long> getDelete() {
+        return delete;
+    }
+
+    public void setDelete(List<Long> delete) {
+        this.delete = delete != null ? delete : new ArrayList<>();
+    }
+
+    public int totalItems() {
+        return create.size() + update.size() + delete.size();
+    }
+}
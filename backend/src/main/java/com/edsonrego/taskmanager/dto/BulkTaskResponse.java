@@ -0,0 +1,31 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * 📦 Resposta de POST /api/tasks/bulk: um resultado por item, mais totais.
+ */
+public class BulkTaskResponse {
+
+    private final List<BulkTaskResult> results;
+    private final long succeeded;
+    private final long failed;
+
+    public BulkTaskResponse(List<BulkTaskResult> results) {
+        this.results = results;
+        this.succeeded = results.stream().filter(BulkTaskResult::isSuccess).count();
+        this.failed = results.size() - succeeded;
+    }
+
+    public List<BulkTaskResult> getResults() {
+        return results;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
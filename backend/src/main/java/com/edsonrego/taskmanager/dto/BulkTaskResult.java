@@ -0,0 +1,57 @@
+package com.edsonrego.taskmanager.dto;
+
+/**
+ * 📦 Resultado de um item de POST /api/tasks/bulk.
+ *
+ * operation + index identificam o item no array enviado (create/update/delete).
+ */
+public class BulkTaskResult {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, FAILED }
+
+    private final String operation;
+    private final int index;
+    private final Long id;
+    private final Status status;
+    private final String error;
+
+    public BulkTaskResult(String operation, int index, Long id, Status status, String error) {
+        this.operation = operation;
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkTaskResult ok(String operation, int index, Long id, Status status) {
+        return new BulkTaskResult(operation, index, id, status, null);
+    }
+
+    public static BulkTaskResult error(String operation, int index, Long id, Status status, String error) {
+        return new BulkTaskResult(operation, index, id, status, error);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+}
@@ -0,0 +1,18 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * 🔄 Taxas de conclusão e atraso de um usuário (mesmas colunas de recalculate_completion_rate()):
+ * o resumo seguido de delay_rate.
+ */
+public record CompletionRateRow(TaskSummaryRow summary) implements ReportRow {
+
+    @Override
+    public void writeFields(JsonGenerator gen) throws IOException {
+        summary.writeFields(gen);
+        ReportRow.writeRate(gen, DELAY_RATE, summary.delayedTasks(), summary.totalTasks());
+    }
+}
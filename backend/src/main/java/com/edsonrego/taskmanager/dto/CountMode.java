@@ -0,0 +1,26 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.util.Locale;
+
+/**
+ * 🔢 Como calcular o total de uma listagem paginada (parâmetro "count").
+ *
+ * - EXACT: COUNT(*) com os mesmos filtros (Page tradicional)
+ * - NONE: sem total, apenas "hasNext" (scroll infinito / botão "próxima")
+ * - ESTIMATED: total aproximado (estatísticas do planejador no PostgreSQL, contadores mantidos no H2).
+ *   No H2 só há estimativa sem filtro ou filtrando apenas pelo responsável; com outros filtros
+ *   o total sai null (totalEstimated = false), como em NONE
+ */
+public enum CountMode {
+
+    EXACT, NONE, ESTIMATED;
+
+    public static CountMode from(String value) {
+        if (value == null || value.isBlank()) return EXACT;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count mode. Use 'exact', 'none' or 'estimated'.");
+        }
+    }
+}
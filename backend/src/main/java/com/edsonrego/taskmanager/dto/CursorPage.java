@@ -0,0 +1,51 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * 📜 Página de resultados em modo cursor (keyset).
+ *
+ * - nextCursor: token opaco para buscar a próxima página (null na última)
+ * - totalElements: null quando a contagem foi desligada (count=none) ou não há estimativa
+ *   para o filtro (ver CountMode); aproximado quando totalEstimated = true (count=estimated)
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final Long totalElements;
+    private final boolean totalEstimated;
+
+    public CursorPage(List<T> content, int size, String nextCursor, Long totalElements, boolean totalEstimated) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+        this.totalEstimated = totalEstimated;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+}
@@ -0,0 +1,96 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🧾 Job de relatório (POST /api/reports/recalculate → GET /api/reports/jobs/{id}).
+ *
+ * - engine: motor de relatório usado (sql | jvm)
+ * - status: QUEUED → RUNNING → DONE | FAILED
+ * - result: linhas do relatório (ReportRow), só quando DONE
+ * - error: mensagem da falha, só quando FAILED
+ *
+ * Atualizado pela thread do pool de relatórios e lido pelas requisições (campos volatile).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final String report;
+    private final String engine;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile List<?> result;
+    private volatile String error;
+
+    public ReportJob(String id, String report, String engine) {
+        this.id = id;
+        this.report = report;
+        this.engine = engine;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    public void complete(List<?> rows) {
+        result = rows != null ? rows : List.of();
+        finishedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        Status current = status;
+        return current == Status.DONE || current == Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public List<?> getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
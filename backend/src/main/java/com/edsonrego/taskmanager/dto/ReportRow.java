@@ -0,0 +1,82 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 📊 Linha de relatório (TaskSummaryRow, CompletionRateRow, TrendBucket).
+ *
+ * Escrita campo a campo direto no JsonGenerator (sem reflexão nem Map intermediário), com os
+ * nomes de coluna já codificados; os mesmos nomes snake_case que a view/função devolviam.
+ */
+@JsonSerialize(using = ReportRow.Serializer.class)
+public interface ReportRow {
+
+    SerializableString TOTAL_TASKS = new SerializedString("total_tasks");
+    SerializableString PENDING_TASKS = new SerializedString("pending_tasks");
+    SerializableString DONE_TASKS = new SerializedString("done_tasks");
+    SerializableString CANCELLED_TASKS = new SerializedString("cancelled_tasks");
+    SerializableString OPEN_SITUATIONS = new SerializedString("open_situations");
+    SerializableString CLOSED_SITUATIONS = new SerializedString("closed_situations");
+    SerializableString DELAYED_TASKS = new SerializedString("delayed_tasks");
+    SerializableString ONTIME_TASKS = new SerializedString("ontime_tasks");
+    SerializableString COMPLETION_RATE = new SerializedString("completion_rate");
+    SerializableString DELAY_RATE = new SerializedString("delay_rate");
+
+    /**
+     * ✍️ Escreve os campos da linha (o objeto JSON já foi aberto).
+     */
+    void writeFields(JsonGenerator gen) throws IOException;
+
+    // 🔸 Igual a ROUND(100.0 * parte / NULLIF(total, 0), 2)
+    static BigDecimal rate(long part, long total) {
+        if (total == 0) return null;
+        return BigDecimal.valueOf(part * 100).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP);
+    }
+
+    static void writeRate(JsonGenerator gen, SerializableString name, long part, long total) throws IOException {
+        gen.writeFieldName(name);
+        BigDecimal rate = rate(part, total);
+        if (rate != null) gen.writeNumber(rate);
+        else gen.writeNull();
+    }
+
+    static void writeCounters(JsonGenerator gen, long total, long pending, long done, long cancelled,
+                              long open, long closed, long delayed, long ontime) throws IOException {
+        writeCount(gen, TOTAL_TASKS, total);
+        writeCount(gen, PENDING_TASKS, pending);
+        writeCount(gen, DONE_TASKS, done);
+        writeCount(gen, CANCELLED_TASKS, cancelled);
+        writeCount(gen, OPEN_SITUATIONS, open);
+        writeCount(gen, CLOSED_SITUATIONS, closed);
+        writeCount(gen, DELAYED_TASKS, delayed);
+        writeCount(gen, ONTIME_TASKS, ontime);
+    }
+
+    private static void writeCount(JsonGenerator gen, SerializableString name, long value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    class Serializer extends StdSerializer<ReportRow> {
+
+        public Serializer() {
+            super(ReportRow.class);
+        }
+
+        @Override
+        public void serialize(ReportRow row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(row);
+            row.writeFields(gen);
+            gen.writeEndObject();
+        }
+    }
+}
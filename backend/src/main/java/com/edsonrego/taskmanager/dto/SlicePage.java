@@ -0,0 +1,54 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * 📄 Página por número sem COUNT(*) obrigatório (count=none | estimated).
+ *
+ * - hasNext: calculado buscando size + 1 linhas
+ * - totalElements: null com count=none (ou count=estimated sem estimativa para o filtro, ver CountMode);
+ *   aproximado quando totalEstimated = true
+ */
+public class SlicePage<T> {
+
+    private final List<T> content;
+    private final int number;
+    private final int size;
+    private final boolean hasNext;
+    private final Long totalElements;
+    private final boolean totalEstimated;
+
+    public SlicePage(List<T> content, int number, int size, boolean hasNext,
+                     Long totalElements, boolean totalEstimated) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalEstimated = totalEstimated;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+}
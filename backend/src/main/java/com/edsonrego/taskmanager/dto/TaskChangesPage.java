@@ -0,0 +1,53 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * 🔁 Alterações de tarefas depois de uma sequência (GET /api/tasks/changes).
+ *
+ * - changes: tarefas criadas/alteradas (estado atual)
+ * - deleted: IDs removidos (tombstones)
+ * - next: sequência a enviar como "since" na próxima chamada
+ * - hasMore: há mais alterações depois desta página
+ * - reset: "since" anterior ao histórico disponível; recarregar com since=0
+ */
+public class TaskChangesPage {
+
+    private final List<TaskDTO> changes;
+    private final List<Long> deleted;
+    private final long next;
+    private final boolean hasMore;
+    private final boolean reset;
+
+    public TaskChangesPage(List<TaskDTO> changes, List<Long> deleted, long next, boolean hasMore, boolean reset) {
+        this.changes = changes;
+        this.deleted = deleted;
+        this.next = next;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    public static TaskChangesPage resetRequired() {
+        return new TaskChangesPage(List.of(), List.of(), 0L, false, true);
+    }
+
+    public List<TaskDTO> getChanges() {
+        return changes;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+}
@@ -1,23 +1,36 @@
 package com.edsonrego.taskmanager.dto;
 
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+
 import java.time.LocalDate;
 
+/**
+ * 📋 Linha das listagens de tarefas (GET /api/tasks, /api/tasks/search, export, stream).
+ *
+ * "responsible" repete o responsável no formato aninhado da entidade (id, firstName, lastName),
+ * que o bundle da interface empacotado no backend ainda lê.
+ */
 public class TaskDTO {
     private Long id;
     private String plannedDescription;
     private String executedDescription;
     private LocalDate creationDate;
     private LocalDate dueDate;
-    private String executionStatus;
-    private String taskSituation;
+    private ExecutionStatus executionStatus;
+    private TaskSituation taskSituation;
     private Long responsibleId;
     private String responsibleName;
+    private Responsible responsible;
+
+    public record Responsible(Long id, String firstName, String lastName) {}
 
     public TaskDTO() {}
 
     public TaskDTO(Long id, String plannedDescription, String executedDescription,
-                   LocalDate creationDate, LocalDate dueDate, String executionStatus,
-                   String taskSituation, Long responsibleId, String responsibleName) {
+                   LocalDate creationDate, LocalDate dueDate, ExecutionStatus executionStatus,
+                   TaskSituation taskSituation, Long responsibleId,
+                   String responsibleFirstName, String responsibleLastName) {
         this.id = id;
         this.plannedDescription = plannedDescription;
         this.executedDescription = executedDescription;
@@ -26,7 +39,10 @@ public class TaskDTO {
         this.executionStatus = executionStatus;
         this.taskSituation = taskSituation;
         this.responsibleId = responsibleId;
-        this.responsibleName = responsibleName;
+        if (responsibleId != null) {
+            this.responsibleName = responsibleFirstName + " " + responsibleLastName;
+            this.responsible = new Responsible(responsibleId, responsibleFirstName, responsibleLastName);
+        }
     }
 
     public Long getId() {
@@ -69,19 +85,19 @@ public class TaskDTO {
         this.dueDate = dueDate;
     }
 
-    public String getExecutionStatus() {
+    public ExecutionStatus getExecutionStatus() {
         return executionStatus;
     }
 
-    public void setExecutionStatus(String executionStatus) {
+    public void setExecutionStatus(ExecutionStatus executionStatus) {
         this.executionStatus = executionStatus;
     }
 
-    public String getTaskSituation() {
+    public TaskSituation getTaskSituation() {
         return taskSituation;
     }
 
-    public void setTaskSituation(String taskSituation) {
+    public void setTaskSituation(TaskSituation taskSituation) {
         this.taskSituation = taskSituation;
     }
 
@@ -101,4 +117,12 @@ public class TaskDTO {
         this.responsibleName = responsibleName;
     }
 
+    public Responsible getResponsible() {
+        return responsible;
+    }
+
+    public void setResponsible(Responsible responsible) {
+        this.responsible = responsible;
+    }
+
 }
@@ -0,0 +1,145 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+
+import java.time.LocalDate;
+
+/**
+ * 🔎 Filtros de busca de tarefas (/api/tasks/search, modo cursor e /api/tasks/export).
+ *
+ * Datas são dias inteiros: "from"/"to" são inclusivos e viram faixas semiabertas
+ * [from, to + 1 dia) no banco, para que os índices de due_date/creation_date sejam usados.
+ */
+public class TaskFilter {
+
+    private Long id;
+    private ExecutionStatus status;
+    private TaskSituation situation;
+    private Long responsibleId;
+    private String description;
+
+    private LocalDate creationDate;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+
+    private LocalDate dueDate;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+
+    // 🔸 Vencidas até a data: due_date anterior ao dia e ainda não concluídas/canceladas
+    private LocalDate overdueAsOf;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ExecutionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExecutionStatus status) {
+        this.status = status;
+    }
+
+    public TaskSituation getSituation() {
+        return situation;
+    }
+
+    public void setSituation(TaskSituation situation) {
+        this.situation = situation;
+    }
+
+    public Long getResponsibleId() {
+        return responsibleId;
+    }
+
+    public void setResponsibleId(Long responsibleId) {
+        this.responsibleId = responsibleId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDate getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDate creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDate getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDate createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDate getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDate createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public LocalDate getOverdueAsOf() {
+        return overdueAsOf;
+    }
+
+    public void setOverdueAsOf(LocalDate overdueAsOf) {
+        this.overdueAsOf = overdueAsOf;
+    }
+
+    /**
+     * 🔹 Nenhum filtro informado (listagem completa).
+     */
+    public boolean isEmpty() {
+        return responsibleId == null && isEmptyExceptResponsible();
+    }
+
+    /**
+     * 🔹 Nenhum filtro além (talvez) do responsável.
+     */
+    public boolean isEmptyExceptResponsible() {
+        return id == null && status == null && situation == null
+                && (description == null || description.isBlank())
+                && creationDate == null && createdFrom == null && createdTo == null
+                && dueDate == null && dueFrom == null && dueTo == null && overdueAsOf == null;
+    }
+}
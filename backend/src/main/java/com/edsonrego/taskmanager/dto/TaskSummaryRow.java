@@ -0,0 +1,47 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * 📊 Resumo de tarefas de um usuário (GET /api/reports/summary; mesmas colunas da vw_tasks_summary).
+ *
+ * A taxa de conclusão é derivada dos contadores (ROUND(100.0 * done / total, 2); null sem tarefas).
+ */
+public record TaskSummaryRow(long userId,
+                             String responsibleName,
+                             long totalTasks,
+                             long pendingTasks,
+                             long doneTasks,
+                             long cancelledTasks,
+                             long openSituations,
+                             long closedSituations,
+                             long delayedTasks,
+                             long ontimeTasks) implements ReportRow {
+
+    private static final SerializableString USER_ID = new SerializedString("user_id");
+    private static final SerializableString RESPONSIBLE_NAME = new SerializedString("responsible_name");
+
+    public BigDecimal completionRate() {
+        return ReportRow.rate(doneTasks, totalTasks);
+    }
+
+    public BigDecimal delayRate() {
+        return ReportRow.rate(delayedTasks, totalTasks);
+    }
+
+    @Override
+    public void writeFields(JsonGenerator gen) throws IOException {
+        gen.writeFieldName(USER_ID);
+        gen.writeNumber(userId);
+        gen.writeFieldName(RESPONSIBLE_NAME);
+        gen.writeString(responsibleName);
+        ReportRow.writeCounters(gen, totalTasks, pendingTasks, doneTasks, cancelledTasks,
+                openSituations, closedSituations, delayedTasks, ontimeTasks);
+        ReportRow.writeRate(gen, COMPLETION_RATE, doneTasks, totalTasks);
+    }
+}
@@ -0,0 +1,50 @@
+package com.edsonrego.taskmanager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 📈 Um bucket de GET /api/reports/trends: contadores das tarefas com vencimento no bucket e taxas.
+ */
+public record TrendBucket(LocalDate bucketStart,
+                          long totalTasks,
+                          long pendingTasks,
+                          long doneTasks,
+                          long cancelledTasks,
+                          long openSituations,
+                          long closedSituations,
+                          long delayedTasks,
+                          long ontimeTasks) implements ReportRow {
+
+    private static final SerializableString BUCKET_START = new SerializedString("bucket_start");
+
+    /**
+     * 🔹 Bucket a partir dos contadores na ordem de TaskSummaryRepository.COUNTERS.
+     */
+    public static TrendBucket of(LocalDate bucketStart, long[] c) {
+        return new TrendBucket(bucketStart, c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7]);
+    }
+
+    public BigDecimal completionRate() {
+        return ReportRow.rate(doneTasks, totalTasks);
+    }
+
+    public BigDecimal delayRate() {
+        return ReportRow.rate(delayedTasks, totalTasks);
+    }
+
+    @Override
+    public void writeFields(JsonGenerator gen) throws IOException {
+        gen.writeFieldName(BUCKET_START);
+        gen.writeString(bucketStart.toString());
+        ReportRow.writeCounters(gen, totalTasks, pendingTasks, doneTasks, cancelledTasks,
+                openSituations, closedSituations, delayedTasks, ontimeTasks);
+        ReportRow.writeRate(gen, COMPLETION_RATE, doneTasks, totalTasks);
+        ReportRow.writeRate(gen, DELAY_RATE, delayedTasks, totalTasks);
+    }
+}
@@ -0,0 +1,61 @@
+package com.edsonrego.taskmanager.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * 📈 Tamanho do bucket das tendências (parâmetro "granularity" de /api/reports/trends).
+ *
+ * - DAY: um bucket por data de vencimento
+ * - WEEK: semana ISO (começa na segunda-feira, como date_trunc('week') no PostgreSQL)
+ * - MONTH: mês civil
+ *
+ * O código é o mesmo gravado em task_rollups.granularity.
+ */
+public enum TrendGranularity {
+
+    DAY('D'), WEEK('W'), MONTH('M');
+
+    private final char code;
+
+    TrendGranularity(char code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return String.valueOf(code);
+    }
+
+    /**
+     * 🔹 Início do bucket que contém a data.
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * 🔹 Início do bucket seguinte (a partir do início de um bucket).
+     */
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    public static TrendGranularity from(String value) {
+        if (value == null || value.isBlank()) return WEEK;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid granularity. Use 'day', 'week' or 'month'.");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.edsonrego.taskmanager.event;
+
+/**
+ * 📣 Evento de alteração de tarefa (publicado pelo TaskEntityListener e pelo TaskBulkService).
+ *
+ * Consumidores interessados apenas em dados confirmados devem usar
+ * @TransactionalEventListener (AFTER_COMMIT); um @EventListener comum roda dentro da
+ * transação da escrita (ex.: log de alterações do TaskSyncService).
+ */
+public class TaskChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long taskId;
+    private final String plannedDescription;
+    private final Long responsibleId;
+    private final Long previousResponsibleId;
+
+    public TaskChangedEvent(Type type, Long taskId, String plannedDescription) {
+        this(type, taskId, plannedDescription, null);
+    }
+
+    /**
+     * @param responsibleId responsável da tarefa (null = desconhecido, ex.: DELETE em JPQL)
+     */
+    public TaskChangedEvent(Type type, Long taskId, String plannedDescription, Long responsibleId) {
+        this(type, taskId, plannedDescription, responsibleId, null);
+    }
+
+    /**
+     * @param previousResponsibleId responsável antes da alteração, só quando a tarefa foi reatribuída
+     *                              (null = não mudou ou desconhecido)
+     */
+    public TaskChangedEvent(Type type, Long taskId, String plannedDescription, Long responsibleId,
+                            Long previousResponsibleId) {
+        this.type = type;
+        this.taskId = taskId;
+        this.plannedDescription = plannedDescription;
+        this.responsibleId = responsibleId;
+        this.previousResponsibleId = previousResponsibleId != null && !previousResponsibleId.equals(responsibleId)
+                ? previousResponsibleId : null;
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null);
+    }
+
+    /**
+     * @param responsibleId responsável da tarefa removida (ETags e stream só desse usuário)
+     */
+    public static TaskChangedEvent deleted(Long taskId, Long responsibleId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, responsibleId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getPlannedDescription() {
+        return plannedDescription;
+    }
+
+    public Long getResponsibleId() {
+        return responsibleId;
+    }
+
+    public Long getPreviousResponsibleId() {
+        return previousResponsibleId;
+    }
+}
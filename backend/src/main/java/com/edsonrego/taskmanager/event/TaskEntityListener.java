@@ -0,0 +1,57 @@
+package com.edsonrego.taskmanager.event;
+
+import com.edsonrego.taskmanager.model.Task;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 🛰️ Converte os callbacks JPA de Task em TaskChangedEvent.
+ *
+ * Instanciado pelo Hibernate via SpringBeanContainer (injeção por construtor).
+ * Cobre qualquer escrita via EntityManager/repositório; DELETE/UPDATE em JPQL
+ * não passam por aqui e publicam o evento explicitamente.
+ *
+ * O responsável lido do banco fica guardado na entidade (@PostLoad): numa reatribuição o evento
+ * leva também o anterior, para quem filtra por ele (ETags, stream) saber que a tarefa saiu.
+ */
+public class TaskEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public TaskEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostLoad
+    public void afterLoad(Task task) {
+        task.snapshotResponsible();
+    }
+
+    @PostPersist
+    public void afterInsert(Task task) {
+        publisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task.getId(), task.getPlannedDescription(),
+                responsibleId(task)));
+        task.snapshotResponsible();
+    }
+
+    @PostUpdate
+    public void afterUpdate(Task task) {
+        publisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, task.getId(), task.getPlannedDescription(),
+                responsibleId(task), task.getLoadedResponsibleId()));
+        // 🔸 Próximo flush na mesma sessão compara com o que acabou de ser gravado
+        task.snapshotResponsible();
+    }
+
+    @PostRemove
+    public void afterDelete(Task task) {
+        publisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, task.getId(), null,
+                responsibleId(task)));
+    }
+
+    private static Long responsibleId(Task task) {
+        return task.getResponsible() != null ? task.getResponsible().getId() : null;
+    }
+}
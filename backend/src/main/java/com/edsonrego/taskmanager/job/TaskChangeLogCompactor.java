@@ -0,0 +1,113 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.model.JobWatermark;
+import com.edsonrego.taskmanager.repository.JobWatermarkRepository;
+import com.edsonrego.taskmanager.repository.TaskChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧹 TaskChangeLogCompactor
+ *
+ * Mantém task_changes pequeno (≈ uma linha por tarefa):
+ *
+ * - Remove linhas substituídas por uma alteração mais nova da mesma tarefa,
+ *   em faixas de app.sync.compaction.chunk-size sequências (um commit por faixa)
+ * - Remove tombstones mais antigos que app.sync.compaction.tombstone-retention e avança o
+ *   horizonte (job_watermarks): clientes com "since" anterior recebem reset
+ */
+@Component
+public class TaskChangeLogCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeLogCompactor.class);
+
+    // 🔸 Mesmo nome lido pelo TaskSyncService para o horizonte
+    static final String JOB_NAME = "task-change-log-compaction";
+
+    private final TaskChangeLogRepository changeLog;
+    private final JobWatermarkRepository watermarks;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final Duration tombstoneRetention;
+
+    // 🔸 Lock explícito pelo mesmo motivo do TaskSituationClassifier (I/O sem synchronized)
+    private final ReentrantLock running = new ReentrantLock();
+
+    public TaskChangeLogCompactor(TaskChangeLogRepository changeLog,
+                                  JobWatermarkRepository watermarks,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.sync.compaction.enabled:true}") boolean enabled,
+                                  @Value("${app.sync.compaction.chunk-size:10000}") int chunkSize,
+                                  @Value("${app.sync.compaction.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.changeLog = changeLog;
+        this.watermarks = watermarks;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Scheduled(initialDelayString = "${app.sync.compaction.initial-delay:10m}",
+            fixedDelayString = "${app.sync.compaction.interval:1h}")
+    public void scheduledRun() {
+        if (!enabled) return;
+        try {
+            run(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Task change log compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 🧹 Compacta o log.
+     *
+     * @return linhas removidas
+     */
+    public int run(LocalDateTime now) {
+        running.lock();
+        try {
+            return compact(now);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int compact(LocalDateTime now) {
+        int removed = 0;
+
+        long min = changeLog.minSeq();
+        long max = changeLog.maxSeq();
+        for (long from = min - 1; from < max; from += chunkSize) {
+            long start = from;
+            long end = Math.min(from + chunkSize, max);
+            Integer rows = tx.execute(status -> changeLog.deleteSuperseded(start, end));
+            removed += rows != null ? rows : 0;
+        }
+
+        long tombstones = changeLog.maxTombstoneSeqBefore(now.minus(tombstoneRetention));
+        if (tombstones > 0) {
+            Integer rows = tx.execute(status -> {
+                JobWatermark watermark = watermarks.findById(JOB_NAME).orElseGet(() -> new JobWatermark(JOB_NAME, null));
+                long horizon = watermark.getWatermarkValue() != null ? watermark.getWatermarkValue() : 0L;
+                watermark.setWatermarkValue(Math.max(horizon, tombstones));
+                watermark.setUpdatedAt(LocalDateTime.now());
+                watermarks.save(watermark);
+                return changeLog.deleteTombstonesUpTo(tombstones);
+            });
+            removed += rows != null ? rows : 0;
+        }
+
+        if (removed > 0) log.info("🧹 {} linhas removidas do log de alterações de tarefas", removed);
+        return removed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.report.TrendReport;
+import com.edsonrego.taskmanager.repository.TaskRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧹 TaskRollupCompactor
+ *
+ * Mantém task_rollups pequena (a trigger da V20/V24 grava os três níveis de cada alteração):
+ *
+ * - Remove buckets diários/semanais anteriores ao horizonte de app.reports.trends.retention:
+ *   a semana/o mês que os contém continua com os mesmos totais
+ * - Remove linhas zeradas (tarefas que mudaram de bucket/responsável ou foram removidas)
+ * - Só roda agendado quando as tendências vêm da tabela (TrendReport.usesRollupTable)
+ */
+@Component
+public class TaskRollupCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRollupCompactor.class);
+
+    private final TaskRollupRepository rollups;
+    private final TrendReport trendReport;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+
+    // 🔸 Lock explícito pelo mesmo motivo do TaskSituationClassifier (I/O sem synchronized)
+    private final ReentrantLock running = new ReentrantLock();
+
+    public TaskRollupCompactor(TaskRollupRepository rollups,
+                               TrendReport trendReport,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.reports.trends.compaction.enabled:true}") boolean enabled) {
+        this.rollups = rollups;
+        this.trendReport = trendReport;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${app.reports.trends.compaction.initial-delay:20m}",
+            fixedDelayString = "${app.reports.trends.compaction.interval:6h}")
+    public void scheduledRun() {
+        if (!enabled || !trendReport.usesRollupTable()) return;
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Task rollup compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 🧹 Compacta os níveis.
+     *
+     * @return linhas removidas
+     */
+    public int run(LocalDate today) {
+        running.lock();
+        try {
+            return compact(today);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int compact(LocalDate today) {
+        int removed = 0;
+
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            LocalDate horizon = trendReport.horizon(granularity, today);
+            if (horizon == null) continue;
+            Integer rows = tx.execute(status -> rollups.deleteBefore(granularity, horizon));
+            removed += rows != null ? rows : 0;
+        }
+        Integer empty = tx.execute(status -> rollups.deleteEmpty());
+        removed += empty != null ? empty : 0;
+
+        if (removed > 0) log.info("🧹 {} buckets removidos das tendências de tarefas", removed);
+        return removed;
+    }
+}
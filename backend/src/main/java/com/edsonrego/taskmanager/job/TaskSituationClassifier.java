@@ -0,0 +1,297 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.JobWatermark;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.repository.JobWatermarkRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ⏰ TaskSituationClassifier
+ *
+ * Marca como DELAYED as tarefas pendentes (situação OPEN, NOT DELAYED ou vazia) cujo
+ * vencimento já passou — o que os relatórios contam em delayed_tasks.
+ *
+ * - Incremental: cada execução só percorre o vencimento entre a marca d'água da última
+ *   execução e hoje (job_watermarks), pela faixa de idx_tasks_due_date_id
+ * - Blocos de app.classifier.chunk-size tarefas, um commit por bloco (keyset em due_date, id)
+ * - Tarefas criadas/alteradas depois (ex.: vencimento movido para o passado) são
+ *   reverificadas pelo ID na execução seguinte; se a fila estourar, refaz tudo desde o início
+ * - A fila de IDs vive só em memória: a primeira execução após a inicialização ignora a marca
+ *   d'água e percorre todo o vencimento passado (o que foi escrito antes de um restart)
+ * - O UPDATE em JPQL não passa pelo TaskEntityListener: cada tarefa reclassificada publica seu
+ *   TaskChangedEvent (UPDATED) na transação do bloco, e os consumidores AFTER_COMMIT (ETags,
+ *   stream, índice de busca) o recebem quando o bloco confirma
+ * - Métricas: app.classifier.* (atraso da marca d'água, tarefas reclassificadas, vazão)
+ */
+@Component
+public class TaskSituationClassifier implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSituationClassifier.class);
+
+    static final String JOB_NAME = "task-situation-classifier";
+    private static final List<TaskSituation> RECLASSIFIABLE = List.of(TaskSituation.OPEN, TaskSituation.NOT_DELAYED);
+
+    private static final String CANDIDATE_FILTER =
+            " t.executionStatus = :pending" +
+            " AND (t.taskSituation IN :reclassifiable OR t.taskSituation IS NULL)" +
+            " AND t.dueDate < :today";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate tx;
+    private final JobWatermarkRepository watermarks;
+    private final ApplicationEventPublisher publisher;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxTouchedIds;
+
+    // 🔸 ReentrantLock (e não synchronized): a execução faz I/O no banco e não deve prender
+    //    a thread portadora quando rodar em virtual thread
+    private final ReentrantLock running = new ReentrantLock();
+
+    // 🔸 Tarefas escritas desde a última execução (reverificadas pelo ID)
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private volatile boolean touchedOverflow;
+    // 🔸 false até a primeira execução completa deste processo (a fila anterior se perdeu)
+    private volatile boolean startupScanDone;
+
+    private final LongAdder reclassified = new LongAdder();
+    private volatile LocalDate lastWatermark;
+    private volatile long lastRunMillis;
+    private volatile double lastRunThroughput;
+
+    public TaskSituationClassifier(EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   JobWatermarkRepository watermarks,
+                                   ApplicationEventPublisher publisher,
+                                   @Value("${app.classifier.enabled:true}") boolean enabled,
+                                   @Value("${app.classifier.chunk-size:1000}") int chunkSize,
+                                   @Value("${app.classifier.max-touched-ids:100000}") int maxTouchedIds) {
+        this.entityManager = entityManager;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.watermarks = watermarks;
+        this.publisher = publisher;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxTouchedIds = maxTouchedIds;
+    }
+
+    @Scheduled(initialDelayString = "${app.classifier.initial-delay:1m}", fixedDelayString = "${app.classifier.interval:5m}")
+    public void scheduledRun() {
+        if (!enabled) return;
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Task situation classifier failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 🔁 Reclassifica o que venceu desde a última execução até "today" (exclusivo).
+     *
+     * @return tarefas marcadas como DELAYED
+     */
+    public int run(LocalDate today) {
+        running.lock();
+        try {
+            return classify(today);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int classify(LocalDate today) {
+        long start = System.nanoTime();
+
+        LocalDate from = watermarks.findById(JOB_NAME).map(JobWatermark::getWatermarkDate).orElse(null);
+        List<Long> ids = drainTouched();
+        if (touchedOverflow || !startupScanDone) {
+            // 🔸 Fila de IDs estourou ou não cobre o período antes da inicialização: refaz a faixa
+            //    inteira (ainda em blocos)
+            touchedOverflow = false;
+            from = null;
+            ids = List.of();
+        }
+
+        int changed = 0;
+        if (from == null || from.isBefore(today)) {
+            changed += classifyDueWindow(from, today);
+        }
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            changed += classifyIds(ids.subList(i, Math.min(i + chunkSize, ids.size())), today);
+        }
+
+        if (from == null || !from.equals(today)) {
+            tx.executeWithoutResult(status -> watermarks.save(new JobWatermark(JOB_NAME, today)));
+        }
+        lastWatermark = today;
+        startupScanDone = true;
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        lastRunMillis = elapsedMillis;
+        lastRunThroughput = changed * 1000.0 / elapsedMillis;
+        if (changed > 0) {
+            log.info("⏰ {} tarefas marcadas como atrasadas em {} ms (vencimento desde {})",
+                    changed, elapsedMillis, from != null ? from : "o início");
+        }
+        return changed;
+    }
+
+    // 🔹 Faixa [from, today) por vencimento, em blocos com keyset (due_date, id)
+    private int classifyDueWindow(LocalDate from, LocalDate today) {
+        int changed = 0;
+        LocalDate lastDue = null;
+        Long lastId = null;
+
+        while (true) {
+            LocalDate afterDue = lastDue;
+            Long afterId = lastId;
+            ChunkResult chunk = tx.execute(status -> {
+                List<Object[]> rows = candidates(from, today, afterDue, afterId);
+                List<Long> ids = rows.stream().map(r -> (Long) r[0]).toList();
+                int updated = markDelayed(ids, today);
+                return new ChunkResult(rows, updated);
+            });
+
+            changed += chunk.updated();
+            afterChunk(chunk.updated());
+            if (chunk.rows().size() < chunkSize) return changed;
+
+            Object[] last = chunk.rows().get(chunk.rows().size() - 1);
+            lastId = (Long) last[0];
+            lastDue = (LocalDate) last[1];
+        }
+    }
+
+    private List<Object[]> candidates(LocalDate from, LocalDate today, LocalDate afterDue, Long afterId) {
+        StringBuilder jpql = new StringBuilder("SELECT t.id, t.dueDate FROM Task t WHERE").append(CANDIDATE_FILTER);
+        if (from != null) jpql.append(" AND t.dueDate >= :from");
+        if (afterId != null) jpql.append(" AND (t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId))");
+        jpql.append(" ORDER BY t.dueDate, t.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("pending", ExecutionStatus.PENDING)
+                .setParameter("reclassifiable", RECLASSIFIABLE)
+                .setParameter("today", today)
+                .setMaxResults(chunkSize);
+        if (from != null) query.setParameter("from", from);
+        if (afterId != null) query.setParameter("afterDue", afterDue).setParameter("afterId", afterId);
+        return query.getResultList();
+    }
+
+    private int classifyIds(List<Long> ids, LocalDate today) {
+        Integer updated = tx.execute(status -> markDelayed(ids, today));
+        int changed = updated != null ? updated : 0;
+        afterChunk(changed);
+        return changed;
+    }
+
+    // 🔸 As condições se repetem no UPDATE: uma escrita concorrente entre o SELECT e o UPDATE vence
+    private int markDelayed(List<Long> ids, LocalDate today) {
+        if (ids.isEmpty()) return 0;
+        // 🔹 Quem de fato muda (e o responsável de cada uma, para os eventos)
+        List<Object[]> affected = entityManager.createQuery(
+                        "SELECT t.id, t.responsible.id FROM Task t WHERE t.id IN :ids AND" + CANDIDATE_FILTER, Object[].class)
+                .setParameter("ids", ids)
+                .setParameter("pending", ExecutionStatus.PENDING)
+                .setParameter("reclassifiable", RECLASSIFIABLE)
+                .setParameter("today", today)
+                .getResultList();
+        if (affected.isEmpty()) return 0;
+
+        int updated = entityManager.createQuery(
+                        "UPDATE Task t SET t.taskSituation = :delayed, t.version = t.version + 1" +
+                        " WHERE t.id IN :ids AND" + CANDIDATE_FILTER)
+                .setParameter("delayed", TaskSituation.DELAYED)
+                .setParameter("ids", affected.stream().map(r -> (Long) r[0]).toList())
+                .setParameter("pending", ExecutionStatus.PENDING)
+                .setParameter("reclassifiable", RECLASSIFIABLE)
+                .setParameter("today", today)
+                .executeUpdate();
+        // 🔸 Log de alterações na mesma transação; ETags, stream e índice após o commit do bloco
+        for (Object[] row : affected) {
+            publisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, (Long) row[0], null, (Long) row[1]));
+        }
+        return updated;
+    }
+
+    private void afterChunk(int updated) {
+        if (updated > 0) reclassified.add(updated);
+    }
+
+    private List<Long> drainTouched() {
+        List<Long> ids = new ArrayList<>();
+        Iterator<Long> it = touched.iterator();
+        while (it.hasNext()) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled || event.getType() == TaskChangedEvent.Type.DELETED || event.getTaskId() == null) return;
+        // 🔸 Eventos da própria execução (mesma thread, após o commit de cada bloco)
+        if (running.isHeldByCurrentThread()) return;
+        if (touched.size() >= maxTouchedIds) {
+            touchedOverflow = true;
+            return;
+        }
+        touched.add(event.getTaskId());
+    }
+
+    // ============================================================
+    // 📈 Métricas
+    // ============================================================
+
+    /**
+     * 🔹 Dias entre a marca d'água e hoje (0 = em dia; -1 = ainda não executou).
+     */
+    public long lagDays() {
+        LocalDate watermark = lastWatermark;
+        return watermark == null ? -1 : Math.max(0, ChronoUnit.DAYS.between(watermark, LocalDate.now()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.classifier.lag.days", this, TaskSituationClassifier::lagDays)
+                .register(registry);
+        Gauge.builder("app.classifier.pending.ids", touched, Set::size)
+                .register(registry);
+        FunctionCounter.builder("app.classifier.reclassified", reclassified, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("app.classifier.last-run.duration", this, c -> c.lastRunMillis)
+                .baseUnit("milliseconds").register(registry);
+        Gauge.builder("app.classifier.last-run.throughput", this, c -> c.lastRunThroughput)
+                .baseUnit("tasks/s").register(registry);
+    }
+
+    private record ChunkResult(List<Object[]> rows, int updated) {}
+}
@@ -0,0 +1,118 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.report.SqlReportEngine;
+import com.edsonrego.taskmanager.repository.TaskSummaryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🔁 TaskSummaryReconciler
+ *
+ * Confere os contadores de task_summary (mantidos por trigger, V19/V23) com as tarefas:
+ *
+ * - Uma agregação completa lista os usuários divergentes (fora do horário de uso do resumo)
+ * - Cada divergente é recontado e corrigido em sua própria transação, com a linha bloqueada:
+ *   divergências momentâneas de escritas em andamento são reverificadas e não "corrigidas"
+ * - Correções mudam o ETag de /api/reports/summary (ChangeStamps.reportsChanged)
+ * - Só roda agendado quando o resumo vem da tabela (SqlReportEngine.usesSummaryTable)
+ * - Métricas: app.reports.summary.* (usuários divergentes na última execução, linhas corrigidas)
+ */
+@Component
+public class TaskSummaryReconciler implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSummaryReconciler.class);
+
+    private final TaskSummaryRepository summaryRepository;
+    private final SqlReportEngine sqlEngine;
+    private final ChangeStamps changeStamps;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+
+    // 🔸 Lock explícito pelo mesmo motivo do TaskSituationClassifier (I/O sem synchronized)
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final LongAdder repaired = new LongAdder();
+    private volatile int lastDrifted;
+    private volatile long lastRunMillis;
+
+    public TaskSummaryReconciler(TaskSummaryRepository summaryRepository,
+                                 SqlReportEngine sqlEngine,
+                                 ChangeStamps changeStamps,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.reports.summary.reconcile.enabled:true}") boolean enabled) {
+        this.summaryRepository = summaryRepository;
+        this.sqlEngine = sqlEngine;
+        this.changeStamps = changeStamps;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${app.reports.summary.reconcile.initial-delay:15m}",
+            fixedDelayString = "${app.reports.summary.reconcile.interval:1h}")
+    public void scheduledRun() {
+        if (!enabled || !sqlEngine.usesSummaryTable()) return;
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Task summary reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 🔧 Detecta e corrige divergências.
+     *
+     * @return linhas corrigidas
+     */
+    public int run() {
+        running.lock();
+        try {
+            return reconcile();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int reconcile() {
+        long start = System.nanoTime();
+
+        List<Long> drifted = summaryRepository.findDrifted();
+        int fixed = 0;
+        for (Long userId : drifted) {
+            if (Boolean.TRUE.equals(tx.execute(status -> summaryRepository.repair(userId)))) fixed++;
+        }
+
+        lastDrifted = drifted.size();
+        lastRunMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        repaired.add(fixed);
+        if (fixed > 0) {
+            // 🔸 Sem isso os painéis com If-None-Match continuariam recebendo 304 com os números errados
+            changeStamps.reportsChanged();
+            log.warn("🔁 Resumo de tarefas divergente corrigido para {} usuário(s) em {} ms", fixed, lastRunMillis);
+        }
+        return fixed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.reports.summary.drifted", this, r -> r.lastDrifted)
+                .register(registry);
+        FunctionCounter.builder("app.reports.summary.repaired", repaired, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("app.reports.summary.last-run.duration", this, r -> r.lastRunMillis)
+                .baseUnit("milliseconds").register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.edsonrego.taskmanager.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📨 CountingAsyncAppender
+ *
+ * AsyncAppender do Logback (ring buffer com thread própria de escrita) que
+ * contabiliza eventos aceitos e descartados. Configurado no logback-spring.xml
+ * com neverBlock=true: com a fila cheia o evento é descartado em vez de
+ * bloquear a thread da requisição.
+ *
+ * Os contadores são estáticos porque o appender é criado pelo Logback,
+ * fora do contexto Spring (expostos por LoggingMetrics).
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    static final LongAdder ACCEPTED = new LongAdder();
+    static final LongAdder DROPPED = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 🔸 Estimativa: a fila pode mudar entre a verificação e o offer
+        if (wouldDrop(event)) {
+            DROPPED.increment();
+        } else {
+            ACCEPTED.increment();
+        }
+        super.append(event);
+    }
+
+    private boolean wouldDrop(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (getDiscardingThreshold() > 0 && remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            return true;
+        }
+        return isNeverBlock() && remaining == 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.edsonrego.taskmanager.logging;
+
+/**
+ * 🙈 Evita que credenciais apareçam nos logs.
+ */
+public final class LogRedactor {
+
+    private LogRedactor() {
+    }
+
+    /**
+     * Mantém apenas o esquema e os 6 primeiros caracteres do token:
+     * "Bearer eyJhbG…(143 chars)".
+     */
+    public static String redactAuthorization(String header) {
+        if (header == null || header.isBlank()) return "-";
+        int space = header.indexOf(' ');
+        String scheme = space > 0 ? header.substring(0, space) : "";
+        String credential = space > 0 ? header.substring(space + 1) : header;
+        String prefix = credential.length() > 6 ? credential.substring(0, 6) : "";
+        return (scheme.isEmpty() ? "" : scheme + " ") + prefix + "…(" + credential.length() + " chars)";
+    }
+}
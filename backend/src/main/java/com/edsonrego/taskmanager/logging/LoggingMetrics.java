@@ -0,0 +1,26 @@
+package com.edsonrego.taskmanager.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📈 Expõe a vazão e os descartes do appender assíncrono
+ * (app.logging.events.accepted / app.logging.events.dropped).
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.logging.events.accepted", CountingAsyncAppender.ACCEPTED, LongAdder::sum)
+                .description("Log events queued by the async appender")
+                .register(registry);
+        FunctionCounter.builder("app.logging.events.dropped", CountingAsyncAppender.DROPPED, LongAdder::sum)
+                .description("Log events discarded because the async queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,163 @@
+package com.edsonrego.taskmanager.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 🧾 RequestLoggingFilter
+ *
+ * Registra uma única linha por requisição (método, URI, status, duração),
+ * substituindo os System.out espalhados pelo código.
+ *
+ * - Sucessos (INFO) são amostrados por padrão de URI:
+ *   app.request-logging.sample-rates=/api/tasks/**=0.1,/actuator/**=0
+ * - Erros (status >= 400, WARN) usam app.request-logging.error-sample-rate; uma exceção que
+ *   escapa da cadeia é registrada como 500 (o status da resposta ainda seria 200) e relançada
+ * - Nada é formatado quando o nível está desligado ou a requisição não foi sorteada
+ * - O header Authorization nunca é registrado
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<SampleRule> rules;
+    private final boolean enabled;
+    private final double defaultRate;
+    private final double errorRate;
+
+    public RequestLoggingFilter(@Value("${app.request-logging.enabled:true}") boolean enabled,
+                                @Value("${app.request-logging.default-sample-rate:1.0}") double defaultRate,
+                                @Value("${app.request-logging.error-sample-rate:1.0}") double errorRate,
+                                @Value("${app.request-logging.sample-rates:}") String sampleRates) {
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.errorRate = errorRate;
+        this.rules = parseRules(sampleRates);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        if (!enabled || !log.isWarnEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            // 🔸 O container transforma a exceção em 500 depois deste filtro
+            logFailure(request, e, start);
+            throw e;
+        }
+
+        if (isAsyncStarted(request)) {
+            // 🔸 SSE / respostas assíncronas: registra quando a resposta terminar
+            request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+        } else {
+            logRequest(request, response.getStatus(), start);
+        }
+    }
+
+    private void logFailure(HttpServletRequest request, Exception failure, long start) {
+        if (sampled(errorRate)) {
+            log.warn("{} {} -> {} ({} ms) {}", request.getMethod(), request.getRequestURI(),
+                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR, (System.nanoTime() - start) / 1_000_000,
+                    failure.getClass().getSimpleName());
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, int status, long start) {
+        boolean error = status >= 400;
+        if (error) {
+            if (sampled(errorRate)) {
+                log.warn("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), status,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        } else if (log.isInfoEnabled() && sampled(rateFor(request.getRequestURI()))) {
+            log.info("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), status,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private double rateFor(String uri) {
+        for (SampleRule rule : rules) {
+            if (matcher.match(rule.pattern(), uri)) return rule.rate();
+        }
+        return defaultRate;
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    // 🔹 Formato: "padrão=taxa,padrão=taxa" (primeira regra que casar vence)
+    static List<SampleRule> parseRules(String spec) {
+        List<SampleRule> parsed = new ArrayList<>();
+        if (spec == null || spec.isBlank()) return parsed;
+        for (String entry : spec.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid request-logging sample rule: " + entry);
+            }
+            parsed.add(new SampleRule(entry.substring(0, eq).trim(),
+                    Double.parseDouble(entry.substring(eq + 1).trim())));
+        }
+        return List.copyOf(parsed);
+    }
+
+    record SampleRule(String pattern, double rate) {}
+
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logRequest(request, response.getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.edsonrego.taskmanager.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 📌 VirtualThreadPinningMonitor
+ *
+ * Diagnóstico de virtual threads presas à thread portadora (synchronized com I/O, código nativo).
+ *
+ * - Assina o evento JFR jdk.VirtualThreadPinned (Java 21+) acima de app.virtual-threads.pinning.threshold
+ * - Cada local (primeiros frames da pilha) é registrado em WARN uma única vez; o total vai
+ *   para a métrica app.virtual-threads.pinned
+ * - Em Java anterior ao 21 (sem virtual threads) não faz nada
+ */
+@Component
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int FRAMES = 6;
+    private static final int MAX_LOCATIONS = 1000;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final LongAdder pinned = new LongAdder();
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.virtual-threads.pinning.enabled:true}") boolean enabled,
+                                       @Value("${app.virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        if (Runtime.version().feature() < 21) {
+            log.debug("📌 Diagnóstico de pinning desligado: Java {} não tem virtual threads", Runtime.version().feature());
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("📌 Diagnóstico de pinning de virtual threads ativo (limite {})", threshold);
+        } catch (RuntimeException e) {
+            // 🔸 JFR indisponível (ex.: imagem nativa ou JVM sem o módulo jdk.jfr)
+            log.warn("⚠️ Pinning diagnostics unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        String location = event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+                .limit(FRAMES)
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining(" ← "));
+        if (reported.size() < MAX_LOCATIONS && reported.add(location)) {
+            log.warn("📌 Virtual thread presa à portadora por {} ms: {}", event.getDuration().toMillis(), location);
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("app.virtual-threads.pinned", pinned, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+}
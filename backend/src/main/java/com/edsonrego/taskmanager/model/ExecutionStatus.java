@@ -0,0 +1,56 @@
+package com.edsonrego.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * ⚙️ Status de execução da tarefa.
+ *
+ * - Gravado no banco como código de 1 caractere (ExecutionStatusConverter)
+ * - Na API continua "PENDING" / "DONE" / "CANCELLED", aceitando qualquer caixa
+ */
+public enum ExecutionStatus {
+
+    PENDING("P"),
+    DONE("D"),
+    CANCELLED("C");
+
+    private final String code;
+
+    ExecutionStatus(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return name();
+    }
+
+    /**
+     * 🔹 Normaliza o valor recebido na API ("done", " Done " → DONE). Nulo/vazio → null.
+     */
+    @JsonCreator
+    public static ExecutionStatus from(String value) {
+        if (value == null || value.isBlank()) return null;
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (ExecutionStatus status : values()) {
+            if (status.name().equals(normalized)) return status;
+        }
+        throw new IllegalArgumentException("Invalid execution status: " + value + ". Use PENDING, DONE or CANCELLED.");
+    }
+
+    static ExecutionStatus fromCode(String code) {
+        if (code == null) return null;
+        for (ExecutionStatus status : values()) {
+            if (status.code.equals(code)) return status;
+        }
+        // 🔸 Linhas antigas ainda com o nome completo (ex.: banco H2 anterior à conversão)
+        return from(code);
+    }
+}
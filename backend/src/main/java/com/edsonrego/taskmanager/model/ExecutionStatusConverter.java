@@ -0,0 +1,21 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 🔁 ExecutionStatus ⇄ código de 1 caractere na coluna.
+ */
+@Converter
+public class ExecutionStatusConverter implements AttributeConverter<ExecutionStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ExecutionStatus attribute) {
+        return attribute != null ? attribute.getCode() : null;
+    }
+
+    @Override
+    public ExecutionStatus convertToEntityAttribute(String dbData) {
+        return ExecutionStatus.fromCode(dbData != null ? dbData.trim() : null);
+    }
+}
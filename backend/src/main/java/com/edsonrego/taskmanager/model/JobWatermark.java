@@ -0,0 +1,73 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 🔖 Ponto até onde um job incremental já processou (uma linha por job): data ou valor numérico.
+ */
+@Entity
+@Table(name = "job_watermarks")
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name", length = 60)
+    private String jobName;
+
+    // 🔹 Data já processada (exclusiva): a próxima execução começa nela
+    @Column(name = "watermark_date")
+    private LocalDate watermarkDate;
+
+    // 🔹 Marca d'água numérica (ex.: sequência do log de alterações)
+    @Column(name = "watermark_value")
+    private Long watermarkValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public JobWatermark() {
+    }
+
+    public JobWatermark(String jobName, LocalDate watermarkDate) {
+        this.jobName = jobName;
+        this.watermarkDate = watermarkDate;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDate getWatermarkDate() {
+        return watermarkDate;
+    }
+
+    public void setWatermarkDate(LocalDate watermarkDate) {
+        this.watermarkDate = watermarkDate;
+    }
+
+    public Long getWatermarkValue() {
+        return watermarkValue;
+    }
+
+    public void setWatermarkValue(Long watermarkValue) {
+        this.watermarkValue = watermarkValue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
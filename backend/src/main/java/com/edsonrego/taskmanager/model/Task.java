@@ -1,14 +1,24 @@
 package com.edsonrego.taskmanager.model;
 
+import com.edsonrego.taskmanager.event.TaskEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name="tasks")
+@Table(name = "tasks", indexes = {
+        // 🔸 Mesmos índices das migrações V12/V15 (para o DDL gerado no H2)
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_tasks_responsible_status_due", columnList = "responsible_id, execution_status, due_date")
+})
+@EntityListeners(TaskEntityListener.class)
 public class Task {
 
+    // 🔹 SEQUENCE com blocos de 50 IDs: permite batch de INSERT (IDENTITY desliga o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name="planned_description", nullable=false, length=40)
@@ -23,19 +33,32 @@ public class Task {
     @Column(name="due_date", nullable=false)
     private LocalDate dueDate;
 
-    @Column(name="execution_status", length=20)
-    private String executionStatus; // Pending, In Progress, Completed
+    // 🔹 Códigos de 1 caractere no banco (P/D/C e O/C/L/N), enums no código e na API
+    @Convert(converter = ExecutionStatusConverter.class)
+    @Column(name="execution_status", length=1, nullable=false)
+    private ExecutionStatus executionStatus;
 
-    @Column(name="task_situation", length=20)
-    private String taskSituation; // Not Delayed, Delayed, Completed
+    @Convert(converter = TaskSituationConverter.class)
+    @Column(name="task_situation", length=1)
+    private TaskSituation taskSituation;
 
     @ManyToOne
     @JoinColumn(name="responsible_id", nullable=false)
     private User responsible;
 
+    // 🔢 Versão da linha (lock otimista + ETag)
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // 🔹 Responsável como lido/gravado pela última vez (TaskEntityListener): detecta reatribuições
+    @Transient
+    @JsonIgnore
+    private Long loadedResponsibleId;
+
     public Task() {
         this.creationDate = LocalDate.now();
-        this.executionStatus = "Pending";
     }
 
     public Task(String plannedDescription, LocalDate dueDate, User responsible) {
@@ -43,7 +66,14 @@ public class Task {
         this.dueDate = dueDate;
         this.responsible = responsible;
         this.creationDate = LocalDate.now();
-        this.executionStatus = "Pending";
+        this.executionStatus = ExecutionStatus.PENDING;
+    }
+
+    // 🔸 O construtor vazio (usado pelo Jackson) não define status, para que um PUT sem
+    //    "executionStatus" não sobrescreva o atual; o padrão é aplicado só ao inserir.
+    @PrePersist
+    void prePersist() {
+        if (executionStatus == null) executionStatus = ExecutionStatus.PENDING;
     }
 
     // Getters and setters
@@ -88,19 +118,19 @@ public class Task {
         this.dueDate = dueDate;
     }
 
-    public String getExecutionStatus() {
+    public ExecutionStatus getExecutionStatus() {
         return executionStatus;
     }
 
-    public void setExecutionStatus(String executionStatus) {
+    public void setExecutionStatus(ExecutionStatus executionStatus) {
         this.executionStatus = executionStatus;
     }
 
-    public String getTaskSituation() {
+    public TaskSituation getTaskSituation() {
         return taskSituation;
     }
 
-    public void setTaskSituation(String taskSituation) {
+    public void setTaskSituation(TaskSituation taskSituation) {
         this.taskSituation = taskSituation;
     }
 
@@ -111,4 +141,21 @@ public class Task {
     public void setResponsible(User responsible) {
         this.responsible = responsible;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void snapshotResponsible() {
+        this.loadedResponsibleId = responsible != null ? responsible.getId() : null;
+    }
+
+    @JsonIgnore
+    public Long getLoadedResponsibleId() {
+        return loadedResponsibleId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🔁 Linha do log de alterações de tarefas (sincronização incremental).
+ *
+ * Escrito via JDBC (TaskChangeLogRepository); a entidade só descreve a tabela.
+ * IDENTITY (e não SEQUENCE em blocos): a sequência precisa crescer na ordem das escritas.
+ */
+@Entity
+@Table(name = "task_changes", indexes = @Index(name = "idx_task_changes_task_seq", columnList = "task_id, seq"))
+public class TaskChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,125 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 📈 Contadores de tarefas de um responsável em um bucket de vencimento (task_rollups).
+ *
+ * No PostgreSQL mantidos por trigger em tasks (V20; aplicados no commit, V24) e lidos/compactados via JDBC
+ * (TaskRollupRepository); a entidade só descreve a tabela.
+ */
+@Entity
+@Table(name = "task_rollups")
+@IdClass(TaskRollup.Key.class)
+public class TaskRollup {
+
+    // 🔹 D (dia), W (semana ISO) ou M (mês), ver TrendGranularity
+    @Id
+    @Column(length = 1)
+    private String granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "pending_tasks", nullable = false)
+    private long pendingTasks;
+
+    @Column(name = "done_tasks", nullable = false)
+    private long doneTasks;
+
+    @Column(name = "cancelled_tasks", nullable = false)
+    private long cancelledTasks;
+
+    @Column(name = "open_situations", nullable = false)
+    private long openSituations;
+
+    @Column(name = "closed_situations", nullable = false)
+    private long closedSituations;
+
+    @Column(name = "delayed_tasks", nullable = false)
+    private long delayedTasks;
+
+    @Column(name = "ontime_tasks", nullable = false)
+    private long ontimeTasks;
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public long getDoneTasks() {
+        return doneTasks;
+    }
+
+    public long getCancelledTasks() {
+        return cancelledTasks;
+    }
+
+    public long getOpenSituations() {
+        return openSituations;
+    }
+
+    public long getClosedSituations() {
+        return closedSituations;
+    }
+
+    public long getDelayedTasks() {
+        return delayedTasks;
+    }
+
+    public long getOntimeTasks() {
+        return ontimeTasks;
+    }
+
+    public static class Key implements Serializable {
+
+        private String granularity;
+        private LocalDate bucketStart;
+        private Long userId;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(granularity, key.granularity)
+                    && Objects.equals(bucketStart, key.bucketStart)
+                    && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart, userId);
+        }
+    }
+}
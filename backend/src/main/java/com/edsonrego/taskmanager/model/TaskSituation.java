@@ -0,0 +1,60 @@
+package com.edsonrego.taskmanager.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * 🧩 Situação da tarefa.
+ *
+ * - Gravada no banco como código de 1 caractere (TaskSituationConverter)
+ * - Na API: "OPEN", "CLOSED", "DELAYED" e "NOT DELAYED" (aceita "not_delayed", qualquer caixa)
+ */
+public enum TaskSituation {
+
+    OPEN("O", "OPEN"),
+    CLOSED("C", "CLOSED"),
+    DELAYED("L", "DELAYED"),
+    NOT_DELAYED("N", "NOT DELAYED");
+
+    private final String code;
+    private final String label;
+
+    TaskSituation(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 🔹 Normaliza o valor recebido na API ("open", "Not_Delayed" → NOT_DELAYED). Nulo/vazio → null.
+     */
+    @JsonCreator
+    public static TaskSituation from(String value) {
+        if (value == null || value.isBlank()) return null;
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('_', ' ');
+        for (TaskSituation situation : values()) {
+            if (situation.label.equals(normalized)) return situation;
+        }
+        throw new IllegalArgumentException(
+                "Invalid task situation: " + value + ". Use OPEN, CLOSED, DELAYED or NOT DELAYED.");
+    }
+
+    static TaskSituation fromCode(String code) {
+        if (code == null) return null;
+        for (TaskSituation situation : values()) {
+            if (situation.code.equals(code)) return situation;
+        }
+        // 🔸 Linhas antigas ainda com o nome completo (ex.: banco H2 anterior à conversão)
+        return from(code);
+    }
+}
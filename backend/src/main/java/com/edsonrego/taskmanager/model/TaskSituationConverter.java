@@ -0,0 +1,21 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 🔁 TaskSituation ⇄ código de 1 caractere na coluna.
+ */
+@Converter
+public class TaskSituationConverter implements AttributeConverter<TaskSituation, String> {
+
+    @Override
+    public String convertToDatabaseColumn(TaskSituation attribute) {
+        return attribute != null ? attribute.getCode() : null;
+    }
+
+    @Override
+    public TaskSituation convertToEntityAttribute(String dbData) {
+        return TaskSituation.fromCode(dbData != null ? dbData.trim() : null);
+    }
+}
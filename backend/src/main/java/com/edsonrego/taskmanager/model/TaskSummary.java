@@ -0,0 +1,81 @@
+package com.edsonrego.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * 📊 Contadores de tarefas de um responsável (task_summary).
+ *
+ * No PostgreSQL mantidos por trigger em tasks (V19; aplicados no commit, V23) e lidos/reparados via JDBC
+ * (TaskSummaryRepository); a entidade só descreve a tabela.
+ */
+@Entity
+@Table(name = "task_summary")
+public class TaskSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "pending_tasks", nullable = false)
+    private long pendingTasks;
+
+    @Column(name = "done_tasks", nullable = false)
+    private long doneTasks;
+
+    @Column(name = "cancelled_tasks", nullable = false)
+    private long cancelledTasks;
+
+    @Column(name = "open_situations", nullable = false)
+    private long openSituations;
+
+    @Column(name = "closed_situations", nullable = false)
+    private long closedSituations;
+
+    @Column(name = "delayed_tasks", nullable = false)
+    private long delayedTasks;
+
+    @Column(name = "ontime_tasks", nullable = false)
+    private long ontimeTasks;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public long getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public long getDoneTasks() {
+        return doneTasks;
+    }
+
+    public long getCancelledTasks() {
+        return cancelledTasks;
+    }
+
+    public long getOpenSituations() {
+        return openSituations;
+    }
+
+    public long getClosedSituations() {
+        return closedSituations;
+    }
+
+    public long getDelayedTasks() {
+        return delayedTasks;
+    }
+
+    public long getOntimeTasks() {
+        return ontimeTasks;
+    }
+}
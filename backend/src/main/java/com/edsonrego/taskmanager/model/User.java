@@ -1,11 +1,13 @@
 package com.edsonrego.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty; // ✅ importar
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+// 🗃️ Fora do cache de segundo nível: leituras de usuário passam pelo UserCache (por e-mail e por ID)
 public class User {
 
     @Id
@@ -29,6 +31,17 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 🔑 Incrementado a cada alteração/remoção: invalida tokens emitidos antes
+    @JsonIgnore
+    @Column(name = "token_epoch", nullable = false, columnDefinition = "integer default 0")
+    private int tokenEpoch;
+
+    // 🔢 Versão da linha (lock otimista + ETag)
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     public User() {
         this.createdAt = LocalDateTime.now();
     }
@@ -59,4 +72,10 @@ public class User {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getTokenEpoch() { return tokenEpoch; }
+    public void setTokenEpoch(int tokenEpoch) { this.tokenEpoch = tokenEpoch; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
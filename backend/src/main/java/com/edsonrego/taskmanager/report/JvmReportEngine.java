@@ -0,0 +1,242 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ☕ Relatórios calculados na JVM (qualquer banco; único caminho no H2, que não tem a view/função).
+ *
+ * - Uma leitura das tarefas com cursor forward-only (fetch size de app.export.fetch-size),
+ *   em transação somente leitura, trazendo só responsável + códigos
+ * - A thread leitora copia as linhas para lotes de arrays primitivos reaproveitados;
+ *   app.reports.jvm.parallelism workers somam os lotes em UserCounters próprios (sem locks)
+ *   e os parciais são somados no fim
+ * - Depois, uma leitura dos usuários (O(usuários)) monta as linhas (TaskSummaryRow) direto dos contadores
+ */
+@Component
+public class JvmReportEngine implements ReportEngine {
+
+    public static final String NAME = "jvm";
+
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final int parallelism;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    public JvmReportEngine(TaskJdbcRepository taskJdbcRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.reports.jvm.parallelism:0}") int parallelism,
+                           @Value("${app.reports.jvm.batch-size:4096}") int batchSize) {
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.parallelism = parallelism > 0 ? parallelism : Math.min(4, Runtime.getRuntime().availableProcessors());
+        this.batchSize = Math.max(64, batchSize);
+        this.workers = this.parallelism > 1 ? Executors.newFixedThreadPool(this.parallelism, new WorkerThreadFactory()) : null;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<TaskSummaryRow> summary() {
+        return rows(aggregate());
+    }
+
+    @Override
+    public List<CompletionRateRow> completionRates() {
+        return rows(aggregate()).stream().map(CompletionRateRow::new).toList();
+    }
+
+    // ============================================================
+    // 🔢 Agregação
+    // ============================================================
+
+    UserCounters aggregate() {
+        // 🔸 Transação: no PostgreSQL o fetch size só vale com autocommit desligado
+        return readOnlyTx.execute(status -> workers == null ? aggregateInline() : aggregateParallel());
+    }
+
+    private UserCounters aggregateInline() {
+        UserCounters counters = new UserCounters();
+        taskJdbcRepository.streamStatusCodes(counters::add);
+        return counters;
+    }
+
+    private UserCounters aggregateParallel() {
+        // 🔸 Lotes reaproveitados: a leitura espera quando os workers ficam para trás
+        int batches = parallelism * 2 + 1;
+        BlockingQueue<Batch> free = new ArrayBlockingQueue<>(batches);
+        BlockingQueue<Batch> full = new ArrayBlockingQueue<>(batches + parallelism);
+        for (int i = 0; i < batches; i++) free.add(new Batch(batchSize));
+
+        List<Future<UserCounters>> partials = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partials.add(workers.submit(() -> {
+                UserCounters counters = new UserCounters();
+                for (Batch batch = full.take(); batch != Batch.END; batch = full.take()) {
+                    batch.drainInto(counters);
+                    free.put(batch);
+                }
+                return counters;
+            }));
+        }
+
+        BatchWriter writer = new BatchWriter(free, full);
+        try {
+            taskJdbcRepository.streamStatusCodes(writer);
+            writer.flush();
+        } finally {
+            for (int i = 0; i < parallelism; i++) full.add(Batch.END);
+        }
+
+        UserCounters total = new UserCounters();
+        for (Future<UserCounters> partial : partials) total.merge(await(partial));
+        return total;
+    }
+
+    private static UserCounters await(Future<UserCounters> partial) {
+        try {
+            return partial.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Report aggregation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Report aggregation failed", e.getCause());
+        }
+    }
+
+    // ============================================================
+    // 📊 Linhas
+    // ============================================================
+
+    private List<TaskSummaryRow> rows(UserCounters counters) {
+        return jdbcTemplate.query("SELECT id, first_name, last_name FROM users ORDER BY id", (rs, i) -> {
+            long userId = rs.getLong(1);
+            return new TaskSummaryRow(userId,
+                    nz(rs.getString(2)) + " " + nz(rs.getString(3)),
+                    counters.get(userId, UserCounters.TOTAL),
+                    counters.get(userId, UserCounters.PENDING),
+                    counters.get(userId, UserCounters.DONE),
+                    counters.get(userId, UserCounters.CANCELLED),
+                    counters.get(userId, UserCounters.OPEN),
+                    counters.get(userId, UserCounters.CLOSED),
+                    counters.get(userId, UserCounters.DELAYED),
+                    counters.get(userId, UserCounters.ONTIME));
+        });
+    }
+
+    private static String nz(String value) {
+        return value != null ? value : "";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) workers.shutdownNow();
+    }
+
+    // ============================================================
+    // 📦 Lotes
+    // ============================================================
+
+    private static final class Batch {
+        static final Batch END = new Batch(0);
+
+        final long[] users;
+        final char[] statuses;
+        final char[] situations;
+        int size;
+
+        Batch(int capacity) {
+            users = new long[capacity];
+            statuses = new char[capacity];
+            situations = new char[capacity];
+        }
+
+        boolean isFull() {
+            return size == users.length;
+        }
+
+        void drainInto(UserCounters counters) {
+            for (int i = 0; i < size; i++) counters.add(users[i], statuses[i], situations[i]);
+            size = 0;
+        }
+    }
+
+    // 🔹 Lado da leitura: preenche o lote atual e entrega aos workers quando enche
+    private static final class BatchWriter implements TaskJdbcRepository.StatusCodeHandler {
+        private final BlockingQueue<Batch> free;
+        private final BlockingQueue<Batch> full;
+        private Batch current;
+
+        BatchWriter(BlockingQueue<Batch> free, BlockingQueue<Batch> full) {
+            this.free = free;
+            this.full = full;
+        }
+
+        @Override
+        public void accept(long responsibleId, char status, char situation) {
+            if (current == null) current = take();
+            current.users[current.size] = responsibleId;
+            current.statuses[current.size] = status;
+            current.situations[current.size] = situation;
+            current.size++;
+            if (current.isFull()) flush();
+        }
+
+        void flush() {
+            if (current == null || current.size == 0) return;
+            try {
+                full.put(current);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Report aggregation interrupted", e);
+            }
+            current = null;
+        }
+
+        private Batch take() {
+            try {
+                return free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Report aggregation interrupted", e);
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "report-jvm-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+
+import java.util.List;
+
+/**
+ * 📊 Cálculo dos relatórios por usuário (uma linha por usuário, em ordem de ID).
+ *
+ * - sql: agregação no banco (task_summary / recalculate_completion_rate() no PostgreSQL)
+ * - jvm: percorre as tarefas com cursor e agrega em memória (funciona em qualquer banco, ex.: H2)
+ *
+ * Linhas tipadas (TaskSummaryRow / CompletionRateRow) com as colunas da view e da função:
+ * user_id, responsible_name, contadores, completion_rate (+ delay_rate em completionRates).
+ */
+public interface ReportEngine {
+
+    /**
+     * 🏷️ Nome usado em app.reports.engine e no parâmetro ?engine=.
+     */
+    String name();
+
+    /**
+     * 📊 Mesmas colunas da vw_tasks_summary.
+     */
+    List<TaskSummaryRow> summary();
+
+    /**
+     * 🔄 Mesmas colunas de recalculate_completion_rate() (resumo + delay_rate).
+     */
+    List<CompletionRateRow> completionRates();
+}
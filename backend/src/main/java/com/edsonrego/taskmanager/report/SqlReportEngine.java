@@ -0,0 +1,69 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.repository.TaskSummaryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 🗄️ Relatórios agregados no banco.
+ *
+ * - Resumo: tabela task_summary (mantida por trigger, V19/V23) ou agregação na hora sobre tasks,
+ *   conforme app.reports.summary.source (auto: PostgreSQL → tabela; outro banco → agregação)
+ * - Taxas: função recalculate_completion_rate() no PostgreSQL; SQL portável nos demais
+ */
+@Component
+public class SqlReportEngine implements ReportEngine {
+
+    public static final String NAME = "sql";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskSummaryRepository summaryRepository;
+    private final boolean postgres;
+    private final boolean summaryTable;
+
+    public SqlReportEngine(JdbcTemplate jdbcTemplate,
+                           TaskSummaryRepository summaryRepository,
+                           DataSource dataSource,
+                           @Value("${app.reports.summary.source:auto}") String source) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaryRepository = summaryRepository;
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+        this.summaryTable = switch (source.toLowerCase()) {
+            case "table" -> true;
+            case "live" -> false;
+            default -> postgres;
+        };
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<TaskSummaryRow> summary() {
+        return summaryTable ? summaryRepository.findAll() : summaryRepository.aggregateAll();
+    }
+
+    @Override
+    public List<CompletionRateRow> completionRates() {
+        List<TaskSummaryRow> rows = postgres
+                ? jdbcTemplate.query("SELECT * FROM recalculate_completion_rate()", TaskSummaryRepository.SUMMARY_ROW)
+                : summaryRepository.aggregateAll();
+        return rows.stream().map(CompletionRateRow::new).toList();
+    }
+
+    /**
+     * 🔹 true quando o resumo vem de task_summary (e a reconciliação faz sentido).
+     */
+    public boolean usesSummaryTable() {
+        return summaryTable;
+    }
+}
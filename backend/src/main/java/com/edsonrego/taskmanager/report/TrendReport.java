@@ -0,0 +1,126 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import com.edsonrego.taskmanager.dto.TrendBucket;
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.repository.TaskRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 📈 Tendências por data de vencimento (GET /api/reports/trends).
+ *
+ * - Um bucket por dia, semana ISO ou mês, do início do bucket de "from" até o de "to"
+ *   (série contínua: buckets sem tarefas vêm zerados, com taxas nulas)
+ * - Fonte (app.reports.trends.source): task_rollups (mantida por trigger, V20/V24; uma leitura por
+ *   nível, sem tocar em tasks) ou agregação na hora por due_date (auto: PostgreSQL → tabela)
+ * - Níveis compactados (app.reports.trends.retention): "from" é limitado ao horizonte do nível
+ * - No máximo app.reports.trends.max-buckets buckets por consulta (acima disso → 400)
+ *
+ * Linhas: TrendBucket (bucket_start, contadores, completion_rate, delay_rate).
+ */
+@Component
+public class TrendReport {
+
+    private static final long[] EMPTY = new long[UserCounters.WIDTH];
+
+    private final TaskRollupRepository rollups;
+    private final boolean rollupTable;
+    private final int maxBuckets;
+    private final Map<TrendGranularity, Duration> retention = new EnumMap<>(TrendGranularity.class);
+
+    public TrendReport(TaskRollupRepository rollups,
+                       DataSource dataSource,
+                       @Value("${app.reports.trends.source:auto}") String source,
+                       @Value("${app.reports.trends.max-buckets:1000}") int maxBuckets,
+                       @Value("${app.reports.trends.retention.day:90d}") Duration dayRetention,
+                       @Value("${app.reports.trends.retention.week:730d}") Duration weekRetention,
+                       @Value("${app.reports.trends.retention.month:0d}") Duration monthRetention) {
+        this.rollups = rollups;
+        this.rollupTable = switch (source.toLowerCase()) {
+            case "table" -> true;
+            case "live" -> false;
+            default -> DatabaseProduct.isPostgres(dataSource);
+        };
+        this.maxBuckets = Math.max(1, maxBuckets);
+        retention.put(TrendGranularity.DAY, dayRetention);
+        retention.put(TrendGranularity.WEEK, weekRetention);
+        retention.put(TrendGranularity.MONTH, monthRetention);
+    }
+
+    /**
+     * 📈 Série de buckets em [from, to].
+     *
+     * @param from   padrão: um ano antes de "to"
+     * @param to     padrão: hoje
+     * @param userId null = todos os usuários
+     */
+    public List<TrendBucket> trends(TrendGranularity granularity, LocalDate from, LocalDate to, Long userId) {
+        LocalDate end = granularity.bucketStart(to != null ? to : LocalDate.now());
+        LocalDate start = granularity.bucketStart(from != null ? from : end.minusYears(1));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+
+        if (rollupTable) {
+            LocalDate horizon = horizon(granularity, LocalDate.now());
+            if (horizon != null && start.isBefore(horizon)) start = horizon;
+            if (start.isAfter(end)) return List.of();
+        }
+        int count = 0;
+        for (LocalDate bucket = start; !bucket.isAfter(end); bucket = granularity.next(bucket)) {
+            if (++count > maxBuckets) {
+                throw new IllegalArgumentException("Range too large: at most " + maxBuckets + " buckets per request.");
+            }
+        }
+
+        Map<LocalDate, long[]> buckets;
+        if (rollupTable) {
+            buckets = rollups.findBuckets(granularity, start, end, userId);
+        } else {
+            buckets = fold(granularity, rollups.aggregateDays(start, granularity.next(end).minusDays(1), userId));
+        }
+
+        List<TrendBucket> rows = new ArrayList<>(count);
+        for (LocalDate bucket = start; !bucket.isAfter(end); bucket = granularity.next(bucket)) {
+            rows.add(TrendBucket.of(bucket, buckets.getOrDefault(bucket, EMPTY)));
+        }
+        return rows;
+    }
+
+    /**
+     * 🧹 Início do bucket mais antigo mantido no nível (null = sem limite).
+     */
+    public LocalDate horizon(TrendGranularity granularity, LocalDate today) {
+        Duration keep = retention.get(granularity);
+        if (keep == null || keep.isZero() || keep.isNegative()) return null;
+        return granularity.bucketStart(today.minusDays(keep.toDays()));
+    }
+
+    /**
+     * 🔹 true quando as tendências vêm de task_rollups (e a compactação faz sentido).
+     */
+    public boolean usesRollupTable() {
+        return rollupTable;
+    }
+
+    // 🔸 Dias → buckets do nível pedido (a agregação na hora é sempre por dia)
+    private static Map<LocalDate, long[]> fold(TrendGranularity granularity, Map<LocalDate, long[]> days) {
+        if (granularity == TrendGranularity.DAY) return days;
+        Map<LocalDate, long[]> buckets = new TreeMap<>();
+        days.forEach((day, counters) -> {
+            long[] sum = buckets.computeIfAbsent(granularity.bucketStart(day), b -> new long[UserCounters.WIDTH]);
+            for (int i = 0; i < sum.length; i++) sum[i] += counters[i];
+        });
+        return buckets;
+    }
+}
@@ -0,0 +1,120 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+
+import java.util.Arrays;
+
+/**
+ * 🔢 Contadores de tarefas por usuário em arrays primitivos (acumulador do JvmReportEngine).
+ *
+ * - Tabela hash de endereçamento aberto: ID do usuário → bloco de WIDTH contadores
+ * - add() não aloca nada por linha (só ao crescer a tabela)
+ * - Não é thread-safe: cada worker tem o seu e os resultados são somados com merge()
+ */
+final class UserCounters {
+
+    static final int TOTAL = 0;
+    static final int PENDING = 1;
+    static final int DONE = 2;
+    static final int CANCELLED = 3;
+    static final int OPEN = 4;
+    static final int CLOSED = 5;
+    static final int DELAYED = 6;
+    static final int ONTIME = 7;
+    static final int WIDTH = 8;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int NONE = -1;
+
+    // 🔹 Código de 1 caractere → contador (NONE para códigos desconhecidos/vazios)
+    private static final int[] BY_STATUS = new int[128];
+    private static final int[] BY_SITUATION = new int[128];
+
+    static {
+        Arrays.fill(BY_STATUS, NONE);
+        Arrays.fill(BY_SITUATION, NONE);
+        BY_STATUS[ExecutionStatus.PENDING.getCode().charAt(0)] = PENDING;
+        BY_STATUS[ExecutionStatus.DONE.getCode().charAt(0)] = DONE;
+        BY_STATUS[ExecutionStatus.CANCELLED.getCode().charAt(0)] = CANCELLED;
+        BY_SITUATION[TaskSituation.OPEN.getCode().charAt(0)] = OPEN;
+        BY_SITUATION[TaskSituation.CLOSED.getCode().charAt(0)] = CLOSED;
+        BY_SITUATION[TaskSituation.DELAYED.getCode().charAt(0)] = DELAYED;
+        BY_SITUATION[TaskSituation.NOT_DELAYED.getCode().charAt(0)] = ONTIME;
+    }
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    UserCounters() {
+        allocate(64);
+    }
+
+    void add(long userId, char status, char situation) {
+        int base = slot(userId) * WIDTH;
+        counts[base + TOTAL]++;
+        if (status < 128 && BY_STATUS[status] != NONE) counts[base + BY_STATUS[status]]++;
+        if (situation < 128 && BY_SITUATION[situation] != NONE) counts[base + BY_SITUATION[situation]]++;
+    }
+
+    void merge(UserCounters other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] == EMPTY) continue;
+            int base = slot(other.keys[i]) * WIDTH;
+            for (int c = 0; c < WIDTH; c++) counts[base + c] += other.counts[i * WIDTH + c];
+        }
+    }
+
+    /**
+     * 🔎 Contador de um usuário (0 se o usuário não tem tarefas).
+     */
+    long get(long userId, int counter) {
+        int mask = keys.length - 1;
+        for (int i = hash(userId) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == userId) return counts[i * WIDTH + counter];
+        }
+        return 0L;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 🔸 Encontra ou cria o slot; cresce ao passar de 50% de ocupação
+    private int slot(long userId) {
+        if ((size + 1) * 2 > keys.length) grow();
+        int mask = keys.length - 1;
+        int i = hash(userId) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == userId) return i;
+            i = (i + 1) & mask;
+        }
+        keys[i] = userId;
+        size++;
+        return i;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(oldKeys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int base = slot(oldKeys[i]) * WIDTH;
+            System.arraycopy(oldCounts, i * WIDTH, counts, base, WIDTH);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        counts = new long[capacity * WIDTH];
+    }
+
+    private static int hash(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
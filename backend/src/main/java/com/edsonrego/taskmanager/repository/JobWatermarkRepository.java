@@ -0,0 +1,10 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.model.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * 🔖 Marcas d'água dos jobs incrementais (chave = nome do job).
+ */
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -0,0 +1,107 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🔁 TaskChangeLogRepository
+ *
+ * Log de alterações de tarefas (task_changes) em JDBC puro.
+ *
+ * - Escritas usam a conexão da transação corrente (mesmo commit da alteração)
+ * - PostgreSQL: a seq é reatribuída no commit, em ordem de commit (V21); o que está
+ *   visível é sempre um prefixo do log
+ * - Leitura agrupa por tarefa: várias alterações da mesma tarefa viram uma linha
+ * - Compactação remove linhas substituídas e tombstones antigos
+ */
+@Repository
+public class TaskChangeLogRepository {
+
+    private static final String INSERT = "INSERT INTO task_changes (task_id, deleted, changed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean commitOrdered;
+
+    public TaskChangeLogRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.commitOrdered = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    /**
+     * 🔹 true quando a seq segue a ordem de commit (nenhuma seq menor aparece depois).
+     */
+    public boolean isCommitOrdered() {
+        return commitOrdered;
+    }
+
+    /**
+     * 🔹 Alteração de uma tarefa, em sequência crescente dentro do agrupamento por tarefa.
+     */
+    public record ChangeRow(long taskId, long seq, LocalDateTime changedAt) {}
+
+    public void append(Long taskId, boolean deleted) {
+        jdbcTemplate.update(INSERT, taskId, deleted, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 🔎 Tarefas alteradas depois de "since", na ordem da última alteração de cada uma.
+     */
+    public List<ChangeRow> findChangedSince(long since, int limit) {
+        return jdbcTemplate.query("""
+                SELECT task_id, MAX(seq) AS seq, MAX(changed_at) AS changed_at
+                  FROM task_changes
+                 WHERE seq > ?
+                 GROUP BY task_id
+                 ORDER BY MAX(seq)
+                 LIMIT ?""",
+                (rs, i) -> new ChangeRow(rs.getLong("task_id"), rs.getLong("seq"),
+                        rs.getTimestamp("changed_at").toLocalDateTime()),
+                since, limit);
+    }
+
+    public long minSeq() {
+        Long min = jdbcTemplate.queryForObject("SELECT MIN(seq) FROM task_changes", Long.class);
+        return min != null ? min : 0L;
+    }
+
+    public long maxSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM task_changes", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    // ============================================================
+    // 🧹 Compactação
+    // ============================================================
+
+    /**
+     * 🧹 Remove, na faixa (fromSeq, toSeq], as linhas com alteração mais nova da mesma tarefa.
+     */
+    public int deleteSuperseded(long fromSeq, long toSeq) {
+        return jdbcTemplate.update("""
+                DELETE FROM task_changes
+                 WHERE seq > ? AND seq <= ?
+                   AND EXISTS (SELECT 1 FROM task_changes n
+                                WHERE n.task_id = task_changes.task_id AND n.seq > task_changes.seq)""",
+                fromSeq, toSeq);
+    }
+
+    /**
+     * 🔸 Maior sequência entre os tombstones anteriores a "before" (0 se não houver).
+     */
+    public long maxTombstoneSeqBefore(LocalDateTime before) {
+        Long max = jdbcTemplate.queryForObject(
+                "SELECT MAX(seq) FROM task_changes WHERE deleted = TRUE AND changed_at < ?",
+                Long.class, Timestamp.valueOf(before));
+        return max != null ? max : 0L;
+    }
+
+    public int deleteTombstonesUpTo(long seq) {
+        return jdbcTemplate.update("DELETE FROM task_changes WHERE deleted = TRUE AND seq <= ?", seq);
+    }
+}
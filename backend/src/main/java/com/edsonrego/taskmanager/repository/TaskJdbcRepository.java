@@ -0,0 +1,223 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.ExecutionStatusConverter;
+import com.edsonrego.taskmanager.model.TaskSituationConverter;
+import com.edsonrego.taskmanager.search.TaskTextSearch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 🚰 TaskJdbcRepository
+ *
+ * Leitura de tarefas em modo streaming (JDBC puro, sem entidades gerenciadas).
+ *
+ * - Cursor forward-only com fetch size configurável (app.export.fetch-size)
+ * - Cada linha é entregue ao consumidor e descartada: memória constante
+ * - No PostgreSQL o fetch size só vale dentro de transação (autocommit off)
+ * - Também fornece COUNT(*) e estimativa do planejador com os mesmos filtros
+ */
+@Repository
+public class TaskJdbcRepository {
+
+    private static final ObjectMapper PLAN_READER = new ObjectMapper();
+    private static final ExecutionStatusConverter STATUS_CONVERTER = new ExecutionStatusConverter();
+    private static final TaskSituationConverter SITUATION_CONVERTER = new TaskSituationConverter();
+
+    // 🔹 Campos de Task ordenáveis no streaming (o modo cursor só aceita os indexados, TaskCursor.SORTABLE)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "plannedDescription", "t.planned_description",
+            "executedDescription", "t.executed_description",
+            "dueDate", "t.due_date",
+            "creationDate", "t.creation_date",
+            "executionStatus", "t.execution_status",
+            "taskSituation", "t.task_situation"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskJdbcRepository(DataSource dataSource,
+                              @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public static boolean isSortable(String sortBy) {
+        return SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    /**
+     * 🔁 Percorre as tarefas filtradas, uma linha por vez (mesmos filtros de /api/tasks/search).
+     */
+    public void streamTasks(TaskFilter filter, String sortBy, boolean descending, Consumer<TaskDTO> consumer) {
+        String sortColumn = SORT_COLUMNS.get(sortBy);
+        if (sortColumn == null) {
+            throw new IllegalArgumentException("Export supports sortBy=" + SORT_COLUMNS.keySet());
+        }
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.id, t.planned_description, t.executed_description, t.creation_date, t.due_date,
+                       t.execution_status, t.task_situation, u.id AS responsible_id,
+                       u.first_name, u.last_name
+                  FROM tasks t
+                  LEFT JOIN users u ON u.id = t.responsible_id
+                 WHERE 1 = 1""");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, filter);
+
+        // 🔹 Mesma ordem do modo cursor: valores nulos por último nas duas direções, id como desempate
+        String dir = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(sortColumn).append(dir);
+        if (!"id".equals(sortBy)) sql.append(" NULLS LAST, t.id").append(dir);
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            consumer.accept(mapRow(rs));
+        }, args.toArray());
+    }
+
+    /**
+     * 📊 Linha mínima para relatórios: responsável e códigos de status/situação.
+     */
+    @FunctionalInterface
+    public interface StatusCodeHandler {
+        void accept(long responsibleId, char status, char situation);
+    }
+
+    /**
+     * 📊 Percorre todas as tarefas com responsável (cursor forward-only, sem montar objetos por linha).
+     * Vazio/nulo chega como ' '.
+     */
+    public void streamStatusCodes(StatusCodeHandler handler) {
+        jdbcTemplate.query("SELECT responsible_id, execution_status, task_situation FROM tasks WHERE responsible_id IS NOT NULL",
+                rs -> {
+                    handler.accept(rs.getLong(1), firstChar(rs.getString(2)), firstChar(rs.getString(3)));
+                });
+    }
+
+    private static char firstChar(String code) {
+        return code == null || code.isEmpty() ? ' ' : code.charAt(0);
+    }
+
+    /**
+     * 🔢 COUNT(*) exato com os mesmos filtros (sem o JOIN no usuário).
+     */
+    public long count(TaskFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM tasks t WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, filter);
+        Long total = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * 🔎 Existe ao menos uma tarefa com os filtros? (para o 204 antes de abrir o streaming)
+     */
+    public boolean exists(TaskFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM tasks t WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, filter);
+        sql.append(" LIMIT 1");
+        return !jdbcTemplate.queryForList(sql.toString(), Integer.class, args.toArray()).isEmpty();
+    }
+
+    /**
+     * 📈 Linhas estimadas pelo planejador do PostgreSQL para os filtros (EXPLAIN, a consulta não é executada).
+     */
+    public long planRowEstimate(TaskFilter filter) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM tasks t WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, filter);
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+        try {
+            return PLAN_READER.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output", e);
+        }
+    }
+
+    // 🔎 Mesmos filtros de /api/tasks/search (TaskService.buildSearchSpec) em SQL
+    private static void appendFilters(StringBuilder sql, List<Object> args, TaskFilter filter) {
+        if (filter == null) return;
+
+        if (filter.getId() != null) {
+            sql.append(" AND t.id = ?");
+            args.add(filter.getId());
+        }
+        // 🔹 Igualdade exata com o código gravado (usa os índices de execution_status)
+        if (filter.getStatus() != null) {
+            sql.append(" AND t.execution_status = ?");
+            args.add(filter.getStatus().getCode());
+        }
+        if (filter.getSituation() != null) {
+            sql.append(" AND t.task_situation = ?");
+            args.add(filter.getSituation().getCode());
+        }
+        if (filter.getResponsibleId() != null) {
+            sql.append(" AND t.responsible_id = ?");
+            args.add(filter.getResponsibleId());
+        }
+        // 📅 Faixas semiabertas sobre a coluna (mesma regra do TaskSpecifications.onDays)
+        appendDayRange(sql, args, "t.creation_date", filter.getCreationDate(), filter.getCreationDate());
+        appendDayRange(sql, args, "t.creation_date", filter.getCreatedFrom(), filter.getCreatedTo());
+        appendDayRange(sql, args, "t.due_date", filter.getDueDate(), filter.getDueDate());
+        appendDayRange(sql, args, "t.due_date", filter.getDueFrom(), filter.getDueTo());
+        if (filter.getOverdueAsOf() != null) {
+            sql.append(" AND t.due_date < ? AND t.execution_status = ?");
+            args.add(Date.valueOf(filter.getOverdueAsOf()));
+            args.add(ExecutionStatus.PENDING.getCode());
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+            sql.append(" AND LOWER(t.planned_description) LIKE ? ESCAPE '\\'");
+            args.add("%" + TaskTextSearch.escapeLike(filter.getDescription().toLowerCase()) + "%");
+        }
+    }
+
+    private static void appendDayRange(StringBuilder sql, List<Object> args, String column,
+                                       LocalDate from, LocalDate to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" < ?");
+            args.add(Date.valueOf(to.plusDays(1)));
+        }
+    }
+
+    private static TaskDTO mapRow(ResultSet rs) throws SQLException {
+        long responsibleId = rs.getLong("responsible_id");
+        boolean hasResponsible = !rs.wasNull();
+        return new TaskDTO(
+                rs.getLong("id"),
+                rs.getString("planned_description"),
+                rs.getString("executed_description"),
+                toLocalDate(rs.getDate("creation_date")),
+                toLocalDate(rs.getDate("due_date")),
+                STATUS_CONVERTER.convertToEntityAttribute(rs.getString("execution_status")),
+                SITUATION_CONVERTER.convertToEntityAttribute(rs.getString("task_situation")),
+                hasResponsible ? responsibleId : null,
+                hasResponsible ? rs.getString("first_name") : null,
+                hasResponsible ? rs.getString("last_name") : null
+        );
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
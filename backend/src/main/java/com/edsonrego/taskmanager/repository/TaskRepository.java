@@ -3,6 +3,12 @@ package com.edsonrego.taskmanager.repository;
 import com.edsonrego.taskmanager.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório de tarefas.
@@ -11,6 +17,22 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  *     - Filtros dinâmicos (WHERE condicional)
  *     - Paginação real via Pageable
  *     - Ordenação no banco de dados
+ *
+ * 🔹 Leituras de listagem projetam direto em TaskDTO (ver TaskRepositoryCustom)
  */
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
+
+    // 🔹 IDs existentes dentre os informados (sem carregar entidades)
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 🏷️ Versões da tarefa e do responsável (ETag sem carregar a entidade)
+    @Query("SELECT t.version AS version, r.version AS responsibleVersion " +
+           "FROM Task t LEFT JOIN t.responsible r WHERE t.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+
+    interface VersionView {
+        Long getVersion();
+        Long getResponsibleVersion();
+    }
 }
@@ -0,0 +1,48 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📋 Consultas de leitura que projetam direto em TaskDTO e alteração parcial em um único UPDATE.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * 🔹 Página de TaskDTO filtrada por Specification (uma única consulta com JOIN no usuário).
+     */
+    Page<TaskDTO> findAllAsDto(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * 🔹 Página de TaskDTO sem COUNT(*): busca size + 1 linhas só para saber se há próxima.
+     */
+    Slice<TaskDTO> findSliceAsDto(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * 🔹 Até "limit" TaskDTO na ordem informada (sem COUNT), usado pela paginação por cursor.
+     */
+    List<TaskDTO> findAllAsDto(Specification<Task> spec, Sort sort, int limit);
+
+    /**
+     * ✏️ UPDATE apenas das colunas não nulas de "changes" (sem SELECT prévio), incrementando a versão.
+     *
+     * @param expectedVersion se informado, só altera se a versão atual for esta (If-Match)
+     * @return linhas alteradas (0 = não existe ou versão diferente)
+     */
+    int updatePartial(Long id, Task changes, Long expectedVersion);
+
+    /**
+     * 🗑️ DELETE dos IDs informados devolvendo, das linhas removidas, ID → responsável (null sem responsável).
+     * No PostgreSQL é um único DELETE ... RETURNING; nos demais bancos, SELECT ... FOR UPDATE + DELETE.
+     */
+    Map<Long, Long> deleteReturningResponsibles(Collection<Long> ids);
+}
@@ -0,0 +1,206 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📋 Implementação das projeções de TaskDTO via Criteria API.
+ *
+ * - SELECT new TaskDTO(...) com LEFT JOIN apenas nas colunas do responsável
+ * - Nenhuma entidade entra no contexto de persistência (sem dirty checking,
+ *   sem SELECT extra por usuário, sem serializar o User inteiro)
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 🗃️ Resultados de listagem/busca no cache de consultas do Hibernate (SecondLevelCacheConfig)
+    private final boolean secondLevelEnabled;
+    private final boolean cacheQueries;
+    private final boolean postgres;
+
+    public TaskRepositoryCustomImpl(DataSource dataSource,
+                                    @Value("${app.cache.second-level.enabled:false}") boolean secondLevelEnabled,
+                                    @Value("${app.cache.second-level.queries.enabled:false}") boolean queriesEnabled) {
+        this.secondLevelEnabled = secondLevelEnabled;
+        this.cacheQueries = secondLevelEnabled && queriesEnabled;
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    @Override
+    public Page<TaskDTO> findAllAsDto(Specification<Task> spec, Pageable pageable) {
+        TypedQuery<TaskDTO> query = dtoQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<TaskDTO> findSliceAsDto(Specification<Task> spec, Pageable pageable) {
+        TypedQuery<TaskDTO> query = dtoQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) return new SliceImpl<>(query.getResultList());
+
+        List<TaskDTO> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<TaskDTO> findAllAsDto(Specification<Task> spec, Sort sort, int limit) {
+        return dtoQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int updatePartial(Long id, Task changes, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+
+        // 🔹 Mesmas regras de TaskService.applyChanges: só os campos enviados
+        if (changes.getPlannedDescription() != null)
+            update.set(root.get("plannedDescription"), changes.getPlannedDescription());
+        if (changes.getExecutedDescription() != null)
+            update.set(root.get("executedDescription"), changes.getExecutedDescription());
+        if (changes.getExecutionStatus() != null)
+            update.set(root.get("executionStatus"), changes.getExecutionStatus());
+        if (changes.getTaskSituation() != null)
+            update.set(root.get("taskSituation"), changes.getTaskSituation());
+        if (changes.getDueDate() != null)
+            update.set(root.get("dueDate"), changes.getDueDate());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate where = cb.equal(root.get("id"), id);
+        if (expectedVersion != null) where = cb.and(where, cb.equal(root.get("version"), expectedVersion));
+        update.where(where);
+
+        // 🔸 Como em @Modifying(flushAutomatically, clearAutomatically): nada pendente se perde e
+        //    nenhuma Task já carregada na sessão fica com os valores antigos
+        entityManager.flush();
+        int rows = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> deleteReturningResponsibles(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        entityManager.flush();
+
+        List<Object[]> rows;
+        if (postgres) {
+            // 🐘 Um único comando: remove e devolve o responsável de cada linha removida
+            rows = entityManager.createNativeQuery("DELETE FROM tasks WHERE id IN (:ids) RETURNING id, responsible_id")
+                    .setParameter("ids", ids)
+                    .getResultList();
+            // 🔸 SQL nativo não passa pela invalidação do cache de segundo nível (o DELETE em JPQL passa)
+            if (secondLevelEnabled) evict(rows);
+        } else {
+            // 🔸 Trava as linhas antes de ler o responsável: ninguém reatribui entre a leitura e o DELETE
+            rows = entityManager.createNativeQuery("SELECT id, responsible_id FROM tasks WHERE id IN (:ids) FOR UPDATE")
+                    .setParameter("ids", ids)
+                    .getResultList();
+            if (!rows.isEmpty()) {
+                entityManager.createQuery("DELETE FROM Task t WHERE t.id IN :ids")
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+            }
+        }
+        // 🔸 Como em @Modifying(clearAutomatically): nenhuma Task removida fica na sessão
+        entityManager.clear();
+
+        Map<Long, Long> deleted = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            deleted.put(((Number) row[0]).longValue(), row[1] != null ? ((Number) row[1]).longValue() : null);
+        }
+        return deleted;
+    }
+
+    private void evict(List<Object[]> rows) {
+        Cache cache = entityManager.unwrap(Session.class).getSessionFactory().getCache();
+        rows.forEach(row -> cache.evictEntityData(Task.class, ((Number) row[0]).longValue()));
+        if (cacheQueries) cache.evictQueryRegions();
+    }
+
+    private TypedQuery<TaskDTO> dtoQuery(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> cq = cb.createQuery(TaskDTO.class);
+        Root<Task> root = cq.from(Task.class);
+        Join<Task, User> responsible = root.join("responsible", JoinType.LEFT);
+
+        cq.select(cb.construct(TaskDTO.class,
+                root.get("id"),
+                root.get("plannedDescription"),
+                root.get("executedDescription"),
+                root.get("creationDate"),
+                root.get("dueDate"),
+                root.get("executionStatus"),
+                root.get("taskSituation"),
+                responsible.get("id"),
+                responsible.get("firstName"),
+                responsible.get("lastName")
+        ));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (predicate != null) cq.where(predicate);
+        if (sort.isSorted()) cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return cacheable(entityManager.createQuery(cq));
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Task> root = cq.from(Task.class);
+        cq.select(cb.count(root));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, cq, cb) : null;
+        if (predicate != null) cq.where(predicate);
+
+        return cacheable(entityManager.createQuery(cq)).getSingleResult();
+    }
+
+    // 🔸 Invalidado pelo Hibernate a cada escrita em tasks/users (inclusive UPDATE/DELETE em JPQL)
+    private <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        return cacheQueries ? query.setHint(HibernateHints.HINT_CACHEABLE, true) : query;
+    }
+}
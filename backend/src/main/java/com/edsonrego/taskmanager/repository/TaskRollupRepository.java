@@ -0,0 +1,105 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.edsonrego.taskmanager.repository.TaskSummaryRepository.COUNTERS;
+import static com.edsonrego.taskmanager.repository.TaskSummaryRepository.COUNTS;
+import static com.edsonrego.taskmanager.repository.TaskSummaryRepository.counters;
+import static com.edsonrego.taskmanager.repository.TaskSummaryRepository.join;
+
+/**
+ * 📈 TaskRollupRepository
+ *
+ * Contadores de tarefas por bucket de vencimento em JDBC puro (mesmos contadores de task_summary).
+ *
+ * - findBuckets: lê um nível de task_rollups (mantida por trigger, V20/V24), somando os usuários
+ * - aggregateDays: agrega tasks por due_date na hora (bancos sem as triggers)
+ * - deleteBefore / deleteEmpty: compactação (TaskRollupCompactor)
+ *
+ * Os arrays de contadores seguem a ordem de TaskSummaryRepository.COUNTERS.
+ */
+@Repository
+public class TaskRollupRepository {
+
+    private static final String SUMS = join("COALESCE(SUM(%1$s), 0) AS %1$s");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskRollupRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 📈 Buckets do nível com início em [from, to] (todos os usuários ou só userId), em ordem.
+     */
+    public Map<LocalDate, long[]> findBuckets(TrendGranularity granularity, LocalDate from, LocalDate to, Long userId) {
+        List<Object> args = new ArrayList<>(List.of(granularity.getCode(), from, to));
+        String sql = "SELECT bucket_start, " + SUMS + " FROM task_rollups" +
+                     " WHERE granularity = ? AND bucket_start BETWEEN ? AND ?";
+        if (userId != null) {
+            sql += " AND user_id = ?";
+            args.add(userId);
+        }
+        return buckets(sql + " GROUP BY bucket_start", args);
+    }
+
+    /**
+     * 🔄 Contadores por data de vencimento em [from, to], agregando tasks (idx_tasks_due_date_id).
+     */
+    public Map<LocalDate, long[]> aggregateDays(LocalDate from, LocalDate to, Long userId) {
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        String sql = "SELECT t.due_date AS bucket_start, " + COUNTS + " FROM tasks t" +
+                     " WHERE t.responsible_id IS NOT NULL AND t.due_date BETWEEN ? AND ?";
+        if (userId != null) {
+            sql += " AND t.responsible_id = ?";
+            args.add(userId);
+        }
+        return buckets(sql + " GROUP BY t.due_date", args);
+    }
+
+    // ============================================================
+    // 🧹 Compactação
+    // ============================================================
+
+    /**
+     * 🧹 Remove os buckets do nível que começam antes do horizonte (os níveis maiores mantêm o histórico).
+     */
+    public int deleteBefore(TrendGranularity granularity, LocalDate horizon) {
+        return delete("granularity = ? AND bucket_start < ?", granularity.getCode(), horizon);
+    }
+
+    /**
+     * 🧹 Remove linhas zeradas (tarefas movidas/removidas ou resíduos de buckets já compactados).
+     */
+    public int deleteEmpty() {
+        String zero = COUNTERS.stream()
+                .map(c -> c.column() + " = 0")
+                .collect(Collectors.joining(" AND "));
+        return delete(zero);
+    }
+
+    // 🔸 Trava as linhas em ordem de PK, a mesma do commit das escritas (V24): sem deadlock entre os dois
+    private int delete(String where, Object... args) {
+        return jdbcTemplate.update("DELETE FROM task_rollups WHERE (granularity, bucket_start, user_id) IN" +
+                " (SELECT granularity, bucket_start, user_id FROM task_rollups WHERE " + where +
+                " ORDER BY granularity, bucket_start, user_id FOR UPDATE)", args);
+    }
+
+    private Map<LocalDate, long[]> buckets(String sql, List<Object> args) {
+        Map<LocalDate, long[]> buckets = new TreeMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            buckets.put(rs.getDate("bucket_start").toLocalDate(), counters(rs));
+        }, args.toArray());
+        return buckets;
+    }
+}
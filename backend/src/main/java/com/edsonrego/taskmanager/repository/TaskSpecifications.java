@@ -0,0 +1,76 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * 🧩 Specifications reutilizáveis de Task.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * 📅 Dias inteiros [from, to] como faixa semiaberta: col >= from AND col < to + 1 dia.
+     * A coluna não é envolvida em função, então o índice (coluna, id) é usado.
+     * Qualquer extremo nulo fica em aberto; ambos nulos = sem filtro.
+     */
+    public static Specification<Task> onDays(String column, LocalDate from, LocalDate to) {
+        if (from == null && to == null) return null;
+        return (root, q, cb) -> {
+            Path<LocalDate> col = root.get(column);
+            if (from == null) return cb.lessThan(col, to.plusDays(1));
+            if (to == null) return cb.greaterThanOrEqualTo(col, from);
+            return cb.and(cb.greaterThanOrEqualTo(col, from), cb.lessThan(col, to.plusDays(1)));
+        };
+    }
+
+    /**
+     * ⏰ Vencidas até "asOf": due_date antes do dia e ainda PENDING (nem DONE nem CANCELLED).
+     */
+    public static Specification<Task> overdueAsOf(LocalDate asOf) {
+        if (asOf == null) return null;
+        return (root, q, cb) -> cb.and(
+                cb.lessThan(root.get("dueDate"), asOf),
+                cb.equal(root.get("executionStatus"), ExecutionStatus.PENDING));
+    }
+
+    /**
+     * 🔹 Modo cursor com NULLS LAST: as linhas com chave de ordenação são lidas primeiro
+     * (seek no índice) e as sem chave depois, por id (a posição de NULL varia entre bancos).
+     */
+    public static Specification<Task> hasSortKey(String column) {
+        return (root, q, cb) -> cb.isNotNull(root.get(column));
+    }
+
+    public static Specification<Task> lacksSortKey(String column) {
+        return (root, q, cb) -> cb.isNull(root.get(column));
+    }
+
+    /**
+     * ⏩ Predicado keyset: linhas estritamente depois de (lastValue, lastId) na ordem
+     * (coluna, id). Escrito como "col >= v AND (col > v OR id > lastId)" para que o
+     * banco faça um range scan direto no índice (coluna, id), sem OFFSET.
+     */
+    public static Specification<Task> keysetAfter(String column, boolean descending,
+                                                  LocalDate lastValue, long lastId) {
+        return (root, q, cb) -> {
+            Path<Long> id = root.get("id");
+            if ("id".equals(column)) {
+                return descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+            }
+
+            Path<LocalDate> col = root.get(column);
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(col, lastValue),
+                             cb.or(cb.lessThan(col, lastValue), cb.lessThan(id, lastId)))
+                    : cb.and(cb.greaterThanOrEqualTo(col, lastValue),
+                             cb.or(cb.greaterThan(col, lastValue), cb.greaterThan(id, lastId)));
+        };
+    }
+}
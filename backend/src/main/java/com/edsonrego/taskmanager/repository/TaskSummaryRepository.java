@@ -0,0 +1,159 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 📊 TaskSummaryRepository
+ *
+ * Resumo de tarefas por usuário em JDBC puro, com as mesmas colunas da vw_tasks_summary
+ * (TaskSummaryRow lida por índice de coluna; as taxas são derivadas dos contadores).
+ *
+ * - findAll: lê task_summary (uma linha por usuário, sem agregar tarefas)
+ * - aggregateAll: agrega tasks na hora (bancos sem a trigger e a função da V19/V15)
+ * - findDrifted/repair: reconciliação dos contadores com as tarefas
+ */
+@Repository
+public class TaskSummaryRepository {
+
+    /**
+     * 🔢 Contador da tabela e a condição (sobre tasks) que ele conta.
+     */
+    record Counter(String column, String condition) {}
+
+    // 🔸 Também usados por TaskRollupRepository (mesmas colunas em task_rollups)
+    static final List<Counter> COUNTERS = List.of(
+            new Counter("total_tasks", "1 = 1"),
+            status("pending_tasks", ExecutionStatus.PENDING),
+            status("done_tasks", ExecutionStatus.DONE),
+            status("cancelled_tasks", ExecutionStatus.CANCELLED),
+            situation("open_situations", TaskSituation.OPEN),
+            situation("closed_situations", TaskSituation.CLOSED),
+            situation("delayed_tasks", TaskSituation.DELAYED),
+            situation("ontime_tasks", TaskSituation.NOT_DELAYED));
+
+    private static final String COLUMNS = join("%1$s");
+
+    // 🔹 Contadores calculados a partir das tarefas
+    static final String COUNTS = COUNTERS.stream()
+            .map(c -> "COALESCE(SUM(CASE WHEN " + c.condition() + " THEN 1 ELSE 0 END), 0) AS " + c.column())
+            .collect(Collectors.joining(", "));
+
+    private static final String AGGREGATE =
+            "SELECT t.responsible_id AS user_id, " + COUNTS +
+            " FROM tasks t WHERE t.responsible_id IS NOT NULL GROUP BY t.responsible_id";
+
+    /**
+     * 🔢 user_id, responsible_name e os contadores, nesta ordem (também a de recalculate_completion_rate()).
+     */
+    public static final RowMapper<TaskSummaryRow> SUMMARY_ROW = (rs, i) -> new TaskSummaryRow(
+            rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6),
+            rs.getLong(7), rs.getLong(8), rs.getLong(9), rs.getLong(10));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskSummaryRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // ============================================================
+    // 📊 Leitura
+    // ============================================================
+
+    public List<TaskSummaryRow> findAll() {
+        return jdbcTemplate.query(summary("task_summary"), SUMMARY_ROW);
+    }
+
+    /**
+     * 🔄 Mesmos contadores agregando tasks (também o equivalente portável de recalculate_completion_rate()).
+     */
+    public List<TaskSummaryRow> aggregateAll() {
+        return jdbcTemplate.query(summary("(" + AGGREGATE + ")"), SUMMARY_ROW);
+    }
+
+    // 🔸 Usuários sem tarefas entram com zeros (LEFT JOIN), como na view
+    private static String summary(String source) {
+        return "SELECT u.id AS user_id, CONCAT(u.first_name, ' ', u.last_name) AS responsible_name, " +
+               join("COALESCE(s.%1$s, 0) AS %1$s") +
+               " FROM users u LEFT JOIN " + source + " s ON s.user_id = u.id ORDER BY u.id";
+    }
+
+    // ============================================================
+    // 🔁 Reconciliação
+    // ============================================================
+
+    /**
+     * 🔎 Usuários cujos contadores diferem das tarefas (uma agregação completa: uso pelo job).
+     */
+    public List<Long> findDrifted() {
+        String differs = COUNTERS.stream()
+                .map(c -> "COALESCE(a." + c.column() + ", 0) <> COALESCE(s." + c.column() + ", 0)")
+                .collect(Collectors.joining(" OR "));
+        return jdbcTemplate.queryForList(
+                "SELECT u.id FROM users u" +
+                " LEFT JOIN (" + AGGREGATE + ") a ON a.user_id = u.id" +
+                " LEFT JOIN task_summary s ON s.user_id = u.id" +
+                " WHERE " + differs + " ORDER BY u.id",
+                Long.class);
+    }
+
+    /**
+     * 🔧 Recalcula os contadores de um usuário pelas tarefas dele e corrige a linha se diferir.
+     *
+     * Deve rodar em transação: a linha fica bloqueada (FOR UPDATE) entre a contagem e a escrita,
+     * e escritas concorrentes do mesmo usuário aplicam seus deltas no próprio commit (V23), depois desta.
+     *
+     * @return true se a linha foi corrigida
+     */
+    public boolean repair(Long userId) {
+        List<long[]> current = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM task_summary WHERE user_id = ? FOR UPDATE",
+                (rs, i) -> counters(rs), userId);
+        long[] expected = jdbcTemplate.queryForObject(
+                "SELECT " + COUNTS + " FROM tasks t WHERE t.responsible_id = ?",
+                (rs, i) -> counters(rs), userId);
+
+        if (!current.isEmpty() && Arrays.equals(current.get(0), expected)) return false;
+
+        Object[] args = new Object[COUNTERS.size() + 1];
+        for (int i = 0; i < expected.length; i++) args[i] = expected[i];
+        args[COUNTERS.size()] = userId;
+
+        if (!current.isEmpty()) {
+            jdbcTemplate.update("UPDATE task_summary SET " + join("%1$s = ?") + " WHERE user_id = ?", args);
+        } else {
+            jdbcTemplate.update("INSERT INTO task_summary (" + COLUMNS + ", user_id) VALUES (" +
+                                join("?") + ", ?)", args);
+        }
+        return true;
+    }
+
+    static long[] counters(ResultSet rs) throws SQLException {
+        long[] values = new long[COUNTERS.size()];
+        for (int i = 0; i < values.length; i++) values[i] = rs.getLong(COUNTERS.get(i).column());
+        return values;
+    }
+
+    static String join(String format) {
+        return COUNTERS.stream().map(c -> String.format(format, c.column())).collect(Collectors.joining(", "));
+    }
+
+    private static Counter status(String column, ExecutionStatus status) {
+        return new Counter(column, "t.execution_status = '" + status.getCode() + "'");
+    }
+
+    private static Counter situation(String column, TaskSituation situation) {
+        return new Counter(column, "t.task_situation = '" + situation.getCode() + "'");
+    }
+}
@@ -1,10 +1,16 @@
 package com.edsonrego.taskmanager.repository;
 
 import com.edsonrego.taskmanager.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +18,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 🔹 Busca ignorando letras maiúsculas/minúsculas
     @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
     Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+
+    // 🔹 Página sem COUNT(*) (lê size + 1 linhas para saber se há próxima)
+    Slice<User> findAllBy(Pageable pageable);
+
+    // 🔹 IDs existentes dentre os informados (validação em lote)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // 🔹 Lê apenas o "token epoch" do usuário (sem carregar a entidade)
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+
+    // 🔹 DELETE direto por ID (sem carregar a linha antes); retorna as linhas removidas
+    //    Limpa o contexto de persistência para não devolver a entidade removida de um cache da sessão
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    // 🔹 Troca apenas o hash da senha (rehash no login), se ele não mudou nesse meio tempo
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,494 @@
+package com.edsonrego.taskmanager.search;
+
+import com.edsonrego.taskmanager.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🧠 Índice invertido de trigramas em memória (perfil H2 / desktop).
+ *
+ * - Cada descrição (minúscula) é quebrada em trigramas; cada trigrama aponta para uma lista
+ *   ordenada de int[] com o número interno do documento (não há Long/HashSet por ocorrência)
+ * - O texto das descrições não fica em memória: o índice só reduz os candidatos, e o banco
+ *   confirma (LIKE no filtro, descrições lidas por ID no ranking)
+ * - Alteração = documento novo com número maior (as listas só crescem no fim); o antigo fica
+ *   marcado como morto até a compactação
+ * - Mantido pelos TaskChangedEvent após o commit; reconstruído na inicialização
+ * - Enquanto não estiver pronto (ou para consultas com menos de 3 letras) cai no LIKE
+ *
+ * 📊 Custo: ~4 bytes por trigrama distinto da descrição + ~40 bytes por tarefa (números,
+ * impressão digital e mapa de IDs): ≈ 200 bytes para 40 letras, ~400 MB com 2M tarefas
+ * (com HashSet<Long> por trigrama eram mais de 1,5 KB por tarefa; ver InMemoryTrigramIndexTest).
+ */
+public class InMemoryTrigramIndex implements TaskTextSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTrigramIndex.class);
+
+    private static final int GRAM = 3;
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final long DEAD = -1L;
+    // 🧹 Compacta quando os documentos mortos passam dos vivos (e de um mínimo)
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxInIds;
+
+    // 🔑 Número do documento → ID da tarefa (DEAD quando substituído) e impressão digital do texto
+    private long[] taskIds = new long[1024];
+    private long[] fingerprints = new long[1024];
+    private int docCount;
+    private int dead;
+    private final DocIds docIds = new DocIds();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public InMemoryTrigramIndex(JdbcTemplate jdbcTemplate, int maxInIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxInIds = maxInIds;
+    }
+
+    // ============================================================
+    // 🔎 Consultas
+    // ============================================================
+
+    @Override
+    public Specification<Task> descriptionContains(String text) {
+        String q = text.toLowerCase();
+        if (!ready || q.length() < GRAM) return TaskTextSearch.likeContains(text);
+
+        Set<Long> ids = candidates(q);
+        // 🔸 Resultado muito grande: um IN gigante seria pior que o LIKE
+        if (ids.size() > maxInIds) return TaskTextSearch.likeContains(text);
+        if (ids.isEmpty()) return (root, query, cb) -> cb.disjunction();
+        // 🔸 Trigramas em comum não garantem o trecho contíguo: o LIKE confirma só nos candidatos
+        Specification<Task> inIds = (root, query, cb) -> root.get("id").in(ids);
+        return inIds.and(TaskTextSearch.likeContains(text));
+    }
+
+    @Override
+    public List<Long> rank(String text, int limit) {
+        String q = text.toLowerCase().trim();
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        Set<String> queryGrams = trigrams(q);
+        Map<Long, String> docs = (!ready || q.length() < GRAM)
+                ? loadContaining(q)
+                : load(similar(queryGrams));
+
+        List<Scored> scored = new ArrayList<>();
+        docs.forEach((id, doc) -> {
+            int tier = tier(doc, q);
+            double similarity = queryGrams.isEmpty() ? 0.0 : shared(doc, queryGrams) / (double) queryGrams.size();
+            if (tier > 0 || similarity >= MIN_SIMILARITY) {
+                scored.add(new Scored(id, tier, similarity));
+            }
+        });
+
+        return scored.stream()
+                .sorted(Comparator.comparingInt(Scored::tier).reversed()
+                        .thenComparing(Comparator.comparingDouble(Scored::similarity).reversed())
+                        .thenComparing(Scored::id))
+                .limit(limit)
+                .map(Scored::id)
+                .toList();
+    }
+
+    /**
+     * 🔹 IDs cujas descrições têm todos os trigramas do texto (já em minúsculas, 3+ letras).
+     * Superconjunto de "contém": quem confirma o trecho é o banco.
+     */
+    Set<Long> candidates(String q) {
+        lock.readLock().lock();
+        try {
+            // 🔸 Começa pela lista mais curta para manter a interseção pequena
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : trigrams(q)) {
+                Postings docs = postings.get(gram);
+                if (docs == null) return Set.of();
+                lists.add(docs);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size));
+
+            Set<Long> result = new LinkedHashSet<>();
+            Postings shortest = lists.get(0);
+            int[] from = new int[lists.size()];
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                if (taskIds[doc] == DEAD) continue;
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    // 🔸 Listas ordenadas: a busca seguinte recomeça de onde a anterior parou
+                    int at = lists.get(j).indexOf(doc, from[j]);
+                    inAll = at >= 0;
+                    from[j] = inAll ? at + 1 : -at - 1;
+                }
+                if (inAll) result.add(taskIds[doc]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 🔹 IDs com pelo menos MIN_SIMILARITY dos trigramas da consulta (inclui todos que a contêm)
+    private List<Long> similar(Set<String> queryGrams) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> sharedGrams = new HashMap<>();
+            for (String gram : queryGrams) {
+                Postings docs = postings.get(gram);
+                if (docs == null) continue;
+                for (int i = 0; i < docs.size; i++) sharedGrams.merge(docs.docs[i], 1, Integer::sum);
+            }
+
+            List<Long> ids = new ArrayList<>();
+            sharedGrams.forEach((doc, shared) -> {
+                if (taskIds[doc] != DEAD && shared >= MIN_SIMILARITY * queryGrams.size()) ids.add(taskIds[doc]);
+            });
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 🐘 Descrições dos candidatos, lidas do banco em blocos de até maxInIds
+    private Map<Long, String> load(List<Long> ids) {
+        Map<Long, String> docs = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += maxInIds) {
+            List<Long> chunk = ids.subList(from, Math.min(from + maxInIds, ids.size()));
+            jdbcTemplate.query("SELECT id, planned_description FROM tasks WHERE id IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        collect(docs, rs.getLong(1), rs.getString(2));
+                    },
+                    chunk.toArray());
+        }
+        return docs;
+    }
+
+    private Map<Long, String> loadContaining(String q) {
+        Map<Long, String> docs = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, planned_description FROM tasks WHERE LOWER(planned_description) LIKE ? ESCAPE '\\'",
+                rs -> {
+                    collect(docs, rs.getLong(1), rs.getString(2));
+                },
+                "%" + TaskTextSearch.escapeLike(q) + "%");
+        return docs;
+    }
+
+    private static void collect(Map<Long, String> docs, long id, String description) {
+        if (description != null) docs.put(id, description.toLowerCase());
+    }
+
+    // 3 = início da descrição, 2 = início de palavra, 1 = trecho, 0 = não contém
+    private static int tier(String doc, String q) {
+        int at = doc.indexOf(q);
+        if (at < 0) return 0;
+        if (at == 0) return 3;
+        return (doc.contains(" " + q)) ? 2 : 1;
+    }
+
+    private static int shared(String doc, Set<String> queryGrams) {
+        int shared = 0;
+        for (String gram : trigrams(doc)) {
+            if (queryGrams.contains(gram)) shared++;
+        }
+        return shared;
+    }
+
+    // ============================================================
+    // 🔧 Manutenção
+    // ============================================================
+
+    @Override
+    public void index(Long taskId, String description) {
+        if (taskId == null) return;
+        if (description == null) {
+            remove(taskId);
+            return;
+        }
+        String text = description.toLowerCase();
+        long fingerprint = fingerprint(text);
+
+        lock.writeLock().lock();
+        try {
+            int previous = docIds.get(taskId);
+            // 🔸 Alteração sem mudar a descrição (status, situação...): nada a fazer
+            if (previous >= 0 && fingerprints[previous] == fingerprint) return;
+            if (previous >= 0) kill(previous);
+
+            int doc = append(taskId, fingerprint);
+            for (String gram : trigrams(text)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+            }
+            docIds.put(taskId, doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        if (taskId == null) return;
+        lock.writeLock().lock();
+        try {
+            int previous = docIds.remove(taskId);
+            if (previous >= 0) {
+                kill(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 🔄 Recarrega todas as descrições do banco (linha a linha).
+     */
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            taskIds = new long[1024];
+            fingerprints = new long[1024];
+            docCount = 0;
+            dead = 0;
+            docIds.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        jdbcTemplate.query("SELECT id, planned_description FROM tasks",
+                rs -> {
+                    index(rs.getLong(1), rs.getString(2));
+                });
+
+        lock.writeLock().lock();
+        try {
+            // 🧹 Devolve a folga de crescimento das listas
+            postings.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("🧠 Índice de descrições carregado: {} tarefas em {} ms (~{} KB)",
+                size(), (System.nanoTime() - start) / 1_000_000, footprintBytes() / 1024);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 📊 Bytes ocupados pelos arrays do índice (listas, números de documento e mapa de IDs).
+     */
+    long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) taskIds.length * Long.BYTES + (long) fingerprints.length * Long.BYTES
+                    + (long) docIds.keys.length * (Long.BYTES + Integer.BYTES);
+            for (Postings docs : postings.values()) bytes += (long) docs.docs.length * Integer.BYTES;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(long taskId, long fingerprint) {
+        if (docCount == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, docCount * 2);
+            fingerprints = Arrays.copyOf(fingerprints, docCount * 2);
+        }
+        taskIds[docCount] = taskId;
+        fingerprints[docCount] = fingerprint;
+        return docCount++;
+    }
+
+    private void kill(int doc) {
+        taskIds[doc] = DEAD;
+        dead++;
+    }
+
+    // 🧹 Renumera os vivos em ordem (as listas continuam ordenadas) e descarta os mortos
+    private void compactIfNeeded() {
+        if (dead < MIN_DEAD_TO_COMPACT || dead <= docIds.size) return;
+
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (taskIds[doc] == DEAD) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            taskIds[next] = taskIds[doc];
+            fingerprints[next] = fingerprints[doc];
+            docIds.put(taskIds[next], next);
+            next++;
+        }
+        postings.values().removeIf(docs -> docs.renumber(renumbered) == 0);
+        docCount = next;
+        dead = 0;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // 🔑 FNV-1a de 64 bits: detecta descrição inalterada sem guardar o texto
+    private static long fingerprint(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private record Scored(Long id, int tier, double similarity) {}
+
+    /**
+     * 🔹 Lista de documentos de um trigrama: int[] ordenado (documentos novos entram no fim).
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            docs[size++] = doc;
+        }
+
+        int indexOf(int doc, int from) {
+            return Arrays.binarySearch(docs, Math.min(from, size), size, doc);
+        }
+
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) docs[kept++] = doc;
+            }
+            size = kept;
+            if (size < docs.length / 4) trim();
+            return size;
+        }
+
+        void trim() {
+            if (docs.length != size) docs = Arrays.copyOf(docs, Math.max(size, 1));
+        }
+    }
+
+    /**
+     * 🔹 Mapa ID da tarefa → número do documento com endereçamento aberto (long[]/int[], sem boxing).
+     */
+    private static final class DocIds {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        DocIds() {
+            clear();
+        }
+
+        void clear() {
+            keys = new long[16];
+            values = new int[16];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == EMPTY) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == EMPTY) return -1;
+            int value = values[i];
+
+            // 🔸 Puxa para a lacuna as chaves seguintes cuja posição ideal não fica entre ela e a atual
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            int hash = Long.hashCode(key * 0x9E3779B97F4A7C15L);
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
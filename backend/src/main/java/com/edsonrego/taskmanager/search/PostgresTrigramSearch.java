@@ -0,0 +1,54 @@
+package com.edsonrego.taskmanager.search;
+
+import com.edsonrego.taskmanager.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * 🐘 Busca textual no PostgreSQL com pg_trgm.
+ *
+ * O índice GIN (lower(planned_description) gin_trgm_ops), criado na V14, atende tanto
+ * o LIKE '%x%' do filtro quanto o operador de semelhança por palavra (<%) do ranking.
+ */
+public class PostgresTrigramSearch implements TaskTextSearch {
+
+    private static final String RANK_SQL = """
+            SELECT id
+              FROM tasks
+             WHERE lower(planned_description) LIKE ? ESCAPE '\\'
+                OR ? <% lower(planned_description)
+             ORDER BY CASE
+                        WHEN lower(planned_description) LIKE ? ESCAPE '\\' THEN 3
+                        WHEN lower(planned_description) LIKE ? ESCAPE '\\' THEN 2
+                        WHEN lower(planned_description) LIKE ? ESCAPE '\\' THEN 1
+                        ELSE 0
+                      END DESC,
+                      word_similarity(?, lower(planned_description)) DESC,
+                      id
+             LIMIT ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresTrigramSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Specification<Task> descriptionContains(String text) {
+        return TaskTextSearch.likeContains(text);
+    }
+
+    @Override
+    public List<Long> rank(String text, int limit) {
+        String q = text.toLowerCase().trim();
+        if (q.isEmpty()) return List.of();
+        String escaped = TaskTextSearch.escapeLike(q);
+        String contains = "%" + escaped + "%";
+        return jdbcTemplate.queryForList(RANK_SQL, Long.class,
+                contains, q,
+                escaped + "%", "% " + escaped + "%", contains,
+                q, limit);
+    }
+}
@@ -0,0 +1,40 @@
+package com.edsonrego.taskmanager.search;
+
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * ⚙️ Escolhe a implementação de TaskTextSearch.
+ *
+ * app.search.engine:
+ *   - auto (padrão): PostgreSQL → pg_trgm; qualquer outro banco → índice em memória
+ *   - postgres | memory: força a implementação
+ */
+@Configuration
+public class TaskSearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchConfig.class);
+
+    @Bean
+    public TaskTextSearch taskTextSearch(DataSource dataSource,
+                                         JdbcTemplate jdbcTemplate,
+                                         @Value("${app.search.engine:auto}") String engine,
+                                         @Value("${app.search.max-in-ids:5000}") int maxInIds) {
+        boolean postgres = switch (engine.toLowerCase()) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            default -> DatabaseProduct.isPostgres(dataSource);
+        };
+        log.info("🔎 Busca textual de tarefas: {}", postgres ? "pg_trgm" : "índice em memória");
+        return postgres
+                ? new PostgresTrigramSearch(jdbcTemplate)
+                : new InMemoryTrigramIndex(jdbcTemplate, maxInIds);
+    }
+}
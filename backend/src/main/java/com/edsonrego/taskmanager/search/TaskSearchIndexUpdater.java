@@ -0,0 +1,39 @@
+package com.edsonrego.taskmanager.search;
+
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 🔄 Mantém o índice de busca em dia com as tarefas.
+ *
+ * - Carga completa quando a aplicação fica pronta
+ * - Alterações aplicadas somente após o commit (rollback não suja o índice)
+ */
+@Component
+public class TaskSearchIndexUpdater {
+
+    private final TaskTextSearch textSearch;
+
+    public TaskSearchIndexUpdater(TaskTextSearch textSearch) {
+        this.textSearch = textSearch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        textSearch.rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            textSearch.remove(event.getTaskId());
+        } else if (event.getPlannedDescription() != null) {
+            // 🔸 Descrição nula = alteração parcial (PATCH) que não mexeu na descrição
+            textSearch.index(event.getTaskId(), event.getPlannedDescription());
+        }
+    }
+}
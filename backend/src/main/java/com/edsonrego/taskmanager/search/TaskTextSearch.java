@@ -0,0 +1,48 @@
+package com.edsonrego.taskmanager.search;
+
+import com.edsonrego.taskmanager.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * 🔎 Busca textual em plannedDescription.
+ *
+ * - PostgreSQL: índice GIN pg_trgm (PostgresTrigramSearch)
+ * - H2 / demais bancos: índice invertido de trigramas em memória (InMemoryTrigramIndex)
+ */
+public interface TaskTextSearch {
+
+    /**
+     * 🔹 Filtro "contém" (case-insensitive) para compor com as demais Specifications.
+     */
+    Specification<Task> descriptionContains(String text);
+
+    /**
+     * 🏅 IDs das tarefas mais relevantes para o texto, em ordem de relevância:
+     * início da descrição > início de palavra > trecho no meio > semelhança aproximada.
+     */
+    List<Long> rank(String text, int limit);
+
+    // 🔸 Manutenção do índice (no-op quando o banco mantém o índice sozinho)
+    default void index(Long taskId, String description) {
+    }
+
+    default void remove(Long taskId) {
+    }
+
+    default void rebuild() {
+    }
+
+    /**
+     * 🔹 LIKE '%texto%' com escape dos curingas digitados pelo usuário.
+     */
+    static Specification<Task> likeContains(String text) {
+        String pattern = "%" + escapeLike(text.toLowerCase()) + "%";
+        return (root, q, cb) -> cb.like(cb.lower(root.get("plannedDescription")), pattern, '\\');
+    }
+
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,32 @@
+package com.edsonrego.taskmanager.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🔐 BCrypt que sinaliza rehash sempre que o custo do hash salvo difere do configurado.
+ *
+ * O BCryptPasswordEncoder padrão só pede upgrade quando o custo salvo é menor;
+ * aqui o custo pode ser reduzido ou aumentado (app.security.bcrypt-strength) e as
+ * senhas migram de forma transparente no próximo login.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final int strength;
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher m = BCRYPT_HASH.matcher(encodedPassword);
+        return m.matches() && Integer.parseInt(m.group(1)) != strength;
+    }
+}
@@ -1,6 +1,7 @@
 package com.edsonrego.taskmanager.security;
 
 import com.edsonrego.taskmanager.model.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -18,6 +19,23 @@ public class CustomUserPrincipal implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * 🪪 Monta o principal a partir das claims do JWT (sem acesso ao banco).
+     * A senha não faz parte do token, portanto fica nula.
+     */
+    public static CustomUserPrincipal fromClaims(Claims claims) {
+        User user = new User(
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                claims.getSubject(),
+                null);
+        user.setId(claims.get("userId", Long.class));
+        Integer epoch = claims.get("epoch", Integer.class);
+        user.setTokenEpoch(epoch != null ? epoch : 0);
+        user.setCreatedAt(null);
+        return new CustomUserPrincipal(user);
+    }
+
     public User getUser() {
         return user;
     }
@@ -1,11 +1,16 @@
 package com.edsonrego.taskmanager.security;
 
+import com.edsonrego.taskmanager.logging.LogRedactor;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,22 +19,43 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * 🔐 JwtAuthenticationFilter
  *
  * Filtro executado uma vez por requisição para validar o token JWT.
  * Caso o token seja válido, o usuário é autenticado no SecurityContext.
+ *
+ * 🔹 Com jwt.stateless-principal=true o principal é montado a partir das claims,
+ *    sem consulta ao banco; tokens de usuários alterados/removidos são recusados
+ *    via TokenEpochRegistry.
+ * 🔹 GET /api/tasks/stream também aceita ?access_token= (EventSource não envia headers),
+ *    mas só com token de escopo "task-stream" (JwtService.generateStreamToken); tokens
+ *    com escopo não valem como Bearer nas demais rotas.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    static final String STREAM_PATH = "/api/tasks/stream";
+    static final String STREAM_TOKEN_PARAM = "access_token";
+
     private final JwtService jwtService;
     private final UserService userService;
+    private final TokenEpochRegistry epochRegistry;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserService userService,
+                                   TokenEpochRegistry epochRegistry,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.epochRegistry = epochRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -38,62 +64,90 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain chain)
             throws ServletException, IOException {
 
-        String uri = request.getRequestURI();
-        String method = request.getMethod();
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-        System.out.println("\n=============================");
-        System.out.println("🔍 Requisição recebida:");
-        System.out.println("URI: " + uri);
-        System.out.println("Método: " + method);
-        System.out.println("Authorization Header: " + header);
-        System.out.println("=============================");
+        if (log.isDebugEnabled()) {
+            log.debug("🔍 Requisição recebida: {} {} | Authorization: {}",
+                    request.getMethod(), request.getRequestURI(), LogRedactor.redactAuthorization(header));
+        }
+
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+        // 🔸 Token na URL só para o stream (e só de escopo "task-stream")
+        String requiredScope = null;
+        if (token == null && isStreamRequest(request)) {
+            token = request.getParameter(STREAM_TOKEN_PARAM);
+            requiredScope = JwtService.STREAM_SCOPE;
+        }
 
-        // 🔸 Se não houver header Authorization, segue sem autenticação
-        if (header == null || !header.startsWith("Bearer ")) {
+        // 🔸 Se não houver token, segue sem autenticação
+        if (token == null) {
             chain.doFilter(request, response);
             return;
         }
 
-        String token = header.substring(7);
-
         try {
-            // 🔸 Verifica se o token é válido
-            if (!jwtService.isTokenValid(token)) {
-                System.out.println("❌ Token inválido ou expirado para URI: " + uri);
+            // 🔸 Valida o token e extrai as claims em uma única chamada (com cache)
+            Optional<Claims> claims = jwtService.validateAndExtract(token);
+            if (claims.isEmpty()) {
+                log.debug("❌ Token inválido ou expirado para URI: {}", request.getRequestURI());
+                chain.doFilter(request, response);
+                return;
+            }
+            if (!Objects.equals(requiredScope, claims.get().get(JwtService.SCOPE_CLAIM, String.class))) {
+                log.debug("❌ Escopo do token não vale para URI: {}", request.getRequestURI());
                 chain.doFilter(request, response);
                 return;
             }
 
             // 🔸 Extrai o e-mail (subject) do token
-            String email = jwtService.extractEmail(token);
+            String email = claims.get().getSubject();
 
             // 🔸 Evita redefinir autenticação se já estiver autenticado
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                userService.findByEmail(email).ifPresentOrElse(user -> {
-                    // ✅ Usa CustomUserPrincipal (implementa UserDetails)
-                    CustomUserPrincipal principal = new CustomUserPrincipal(user);
-
-                    UsernamePasswordAuthenticationToken auth =
-                            new UsernamePasswordAuthenticationToken(
-                                    principal, null, principal.getAuthorities());
-
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // ✅ Registra autenticação no SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-
-                    System.out.println("✅ Usuário autenticado e registrado no SecurityContext: "
-                            + principal.getUsername() + " (id=" + user.getId() + ")");
-                }, () -> {
-                    System.out.println("❌ Usuário do token não encontrado no banco: " + email);
-                });
+                if (statelessPrincipal && claims.get().get("epoch") != null) {
+                    // 🔸 Modo stateless: principal montado a partir das claims (sem banco)
+                    CustomUserPrincipal principal = CustomUserPrincipal.fromClaims(claims.get());
+                    User user = principal.getUser();
+
+                    if (epochRegistry.isCurrent(user.getId(), user.getTokenEpoch())) {
+                        authenticate(principal, request);
+                        log.debug("✅ Usuário autenticado (stateless): {} (id={})",
+                                principal.getUsername(), user.getId());
+                    } else {
+                        log.debug("❌ Token revogado (epoch desatualizado) para: {}", email);
+                    }
+                } else {
+                    userService.findByEmail(email).ifPresentOrElse(user -> {
+                        // ✅ Usa CustomUserPrincipal (implementa UserDetails)
+                        CustomUserPrincipal principal = new CustomUserPrincipal(user);
+                        authenticate(principal, request);
+
+                        log.debug("✅ Usuário autenticado e registrado no SecurityContext: {} (id={})",
+                                principal.getUsername(), user.getId());
+                    }, () -> log.debug("❌ Usuário do token não encontrado no banco: {}", email));
+                }
             }
         } catch (Exception e) {
-            System.out.println("❌ Erro processando JWT: " + e.getMessage());
+            log.warn("❌ Erro processando JWT: {}", e.getMessage());
         }
 
         // 🔸 Continua a cadeia de filtros normalmente
         chain.doFilter(request, response);
     }
+
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private void authenticate(CustomUserPrincipal principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
+
+        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        // ✅ Registra autenticação no SecurityContext
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
 }
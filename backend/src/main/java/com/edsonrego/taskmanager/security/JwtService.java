@@ -1,28 +1,55 @@
 package com.edsonrego.taskmanager.security;
 
+import com.edsonrego.taskmanager.cache.ExpiringCache;
 import com.edsonrego.taskmanager.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 /**
  * Serviço responsável por gerar e validar tokens JWT.
+ *
+ * 🔹 Tokens já verificados ficam em cache (chave = SHA-256 do token) até o "exp",
+ *    evitando novo parse + HMAC a cada requisição do mesmo cliente.
  */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    private static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+
+    // 🔹 Claim "scope" dos tokens de uso restrito (ex.: abrir /api/tasks/stream)
+    public static final String SCOPE_CLAIM = "scope";
+    public static final String STREAM_SCOPE = "task-stream";
 
     private final Key key;
+    private final JwtParser parser;
+    private final ExpiringCache<String, Claims> verifiedTokens;
 
-    public JwtService(@Value("${jwt.secret:change-this-super-secret-key-at-least-32-bytes-long}") String secret) {
+    public JwtService(String secret) {
+        this(secret, DEFAULT_CACHE_MAX_SIZE);
+    }
+
+    @Autowired
+    public JwtService(@Value("${jwt.secret:change-this-super-secret-key-at-least-32-bytes-long}") String secret,
+                      @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
         byte[] bytes;
         try {
             // 🔹 Tenta decodificar como Base64
@@ -38,6 +65,9 @@ public class JwtService {
         }
 
         this.key = Keys.hmacShaKeyFor(bytes);
+        // 🔹 O parser é imutável e thread-safe: criado uma única vez
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = new ExpiringCache<>(cacheMaxSize);
     }
 
     /**
@@ -48,12 +78,49 @@ public class JwtService {
         return Jwts.builder()
                 .setSubject(user.getEmail())
                 .claim("userId", user.getId())
+                // 🔹 Dados do principal (modo stateless dispensa consulta ao banco)
+                .claim("firstName", user.getFirstName())
+                .claim("lastName", user.getLastName())
+                .claim("epoch", user.getTokenEpoch())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(86400))) // 24h
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * 📡 Token de curta duração que só abre GET /api/tasks/stream (?access_token=...).
+     * O EventSource do navegador não envia o header Authorization; o token vai na URL,
+     * por isso expira rápido e não serve para as demais rotas.
+     */
+    public String generateStreamToken(User user, Duration ttl) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim("userId", user.getId())
+                .claim("firstName", user.getFirstName())
+                .claim("lastName", user.getLastName())
+                .claim("epoch", user.getTokenEpoch())
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * ✅ Valida o token e retorna suas claims em uma única operação.
+     * Retorna vazio se o token for inválido ou estiver expirado.
+     */
+    public Optional<Claims> validateAndExtract(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        try {
+            return Optional.of(getAllClaims(token));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * 📬 Extrai o e-mail (subject) de um token JWT.
      */
@@ -65,22 +132,38 @@ public class JwtService {
      * ✅ Verifica se o token é válido e não expirou.
      */
     public boolean isTokenValid(String token) {
-        try {
-            getAllClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return validateAndExtract(token).isPresent();
+    }
+
+    public long getCacheHits() {
+        return verifiedTokens.hitCount();
+    }
+
+    public long getCacheMisses() {
+        return verifiedTokens.missCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verifiedTokens.bindTo(registry, "jwt.verified-tokens");
     }
 
     /**
-     * 🔍 Retorna todas as claims do token.
+     * 🔍 Retorna todas as claims do token (do cache quando já verificado).
      */
     private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifiedTokens.getOrLoad(digest(token),
+                k -> parser.parseClaimsJws(token).getBody(),
+                claims -> claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L);
+    }
+
+    // 🔸 Chave do cache: não guarda o token em claro na memória
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
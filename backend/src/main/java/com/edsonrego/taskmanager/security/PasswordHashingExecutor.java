@@ -0,0 +1,123 @@
+package com.edsonrego.taskmanager.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🧮 PasswordHashingExecutor
+ *
+ * Pool dedicado e limitado para BCrypt (login, cadastro e troca de senha).
+ *
+ * - Threads fixas (padrão: nº de CPUs) e fila limitada
+ * - Fila cheia → PasswordHashingRejectedException (503 + Retry-After) imediatamente,
+ *   em vez de ocupar todas as threads do Tomcat com BCrypt
+ * - No máximo threads + capacidade da fila requisições ficam aguardando um hash
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${app.security.password-hashing.threads:0}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.password-hashing.timeout:5s}") Duration timeout,
+                                   @Value("${app.security.password-hashing.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeout.toMillis();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * ⏳ Executa o hash no pool dedicado e aguarda o resultado (com timeout).
+     */
+    public <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing queue is full", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing interrupted", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * 🔥 Fire-and-forget (ex.: rehash após login). Descartado silenciosamente se a fila estiver cheia.
+     */
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.password-hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        Gauge.builder("app.password-hashing.queued", executor, e -> e.getQueue().size())
+                .register(registry);
+        FunctionCounter.builder("app.password-hashing.completed", executor, ThreadPoolExecutor::getCompletedTaskCount)
+                .register(registry);
+        FunctionCounter.builder("app.password-hashing.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "password-hashing-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
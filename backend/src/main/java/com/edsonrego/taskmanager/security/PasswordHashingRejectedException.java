@@ -0,0 +1,19 @@
+package com.edsonrego.taskmanager.security;
+
+/**
+ * ⛔ Lançada quando a fila de hashing de senhas está cheia (ou a espera expirou).
+ * Convertida em 503 + Retry-After pelo ApiExceptionHandler.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,72 @@
+package com.edsonrego.taskmanager.security;
+
+import com.edsonrego.taskmanager.cache.ExpiringCache;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 🔑 TokenEpochRegistry
+ *
+ * Mantém em memória o "token epoch" atual de cada usuário.
+ * Um token só é aceito no modo stateless se o epoch embutido nele for igual ao atual.
+ *
+ * - Lido do banco no primeiro acesso e relido a cada jwt.epoch.refresh: com várias
+ *   instâncias, uma senha/e-mail alterado em outra instância revoga os tokens daqui
+ *   em no máximo esse intervalo
+ * - Atualizado pelo UserService a cada alteração (write-through na própria instância)
+ * - Usuários removidos ficam marcados como revogados
+ */
+@Component
+public class TokenEpochRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<Long, Integer> epochs;
+    private final long refreshMillis;
+    private final LongSupplier clock;
+
+    public TokenEpochRegistry(UserRepository userRepository) {
+        this(userRepository, Duration.ofSeconds(30), 100_000);
+    }
+
+    @Autowired
+    public TokenEpochRegistry(UserRepository userRepository,
+                              @Value("${jwt.epoch.refresh:30s}") Duration refresh,
+                              @Value("${jwt.epoch.max-size:100000}") int maxSize) {
+        this(userRepository, refresh, maxSize, System::currentTimeMillis);
+    }
+
+    TokenEpochRegistry(UserRepository userRepository, Duration refresh, int maxSize, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.refreshMillis = Math.max(1, refresh.toMillis());
+        this.clock = clock;
+        this.epochs = new ExpiringCache<>(maxSize, clock);
+    }
+
+    /**
+     * ✅ Verifica se o epoch do token ainda é o epoch atual do usuário.
+     */
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        if (userId == null) return false;
+        int current = epochs.getOrLoad(userId,
+                id -> userRepository.findTokenEpochById(id).orElse(REVOKED),
+                epoch -> clock.getAsLong() + refreshMillis);
+        return current != REVOKED && current == tokenEpoch;
+    }
+
+    // 🔹 Chamado após salvar o usuário com o novo epoch
+    public void update(Long userId, int epoch) {
+        if (userId != null) epochs.put(userId, epoch, clock.getAsLong() + refreshMillis);
+    }
+
+    // 🔹 Chamado após remover o usuário
+    public void revoke(Long userId) {
+        if (userId != null) epochs.put(userId, REVOKED, clock.getAsLong() + refreshMillis);
+    }
+}
@@ -0,0 +1,19 @@
+package com.edsonrego.taskmanager.service;
+
+/**
+ * ⛔ Lançada quando a fila de jobs de relatório está cheia.
+ * Convertida em 503 + Retry-After pelo ApiExceptionHandler.
+ */
+public class ReportJobRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReportJobRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,170 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.cache.ExpiringCache;
+import com.edsonrego.taskmanager.dto.ReportJob;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 🧾 ReportJobService
+ *
+ * Relatórios pesados rodam como jobs, fora da thread da requisição:
+ *
+ * - Pool próprio e limitado (app.reports.jobs.threads, padrão 1): no máximo essa quantidade de
+ *   conexões do pool fica com relatórios; o restante segue livre para o CRUD de tarefas
+ * - Fila limitada: cheia → ReportJobRejectedException (503 + Retry-After)
+ * - Pedidos iguais enquanto um job está na fila/rodando recebem o mesmo job (uma execução só)
+ * - Jobs concluídos ficam disponíveis por app.reports.jobs.result-ttl (GET /api/reports/jobs/{id})
+ */
+@Service
+public class ReportJobService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final String COMPLETION_RATE = "completion-rate";
+
+    private final ReportService reportService;
+    private final ThreadPoolExecutor executor;
+    private final ExpiringCache<String, ReportJob> jobs;
+    private final long resultTtlMillis;
+    private final long retryAfterSeconds;
+
+    // 🔸 Job em andamento por relatório (deduplicação)
+    private final Map<String, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ReportJobService(ReportService reportService,
+                            @Value("${app.reports.jobs.threads:1}") int threads,
+                            @Value("${app.reports.jobs.queue-capacity:16}") int queueCapacity,
+                            @Value("${app.reports.jobs.result-ttl:10m}") Duration resultTtl,
+                            @Value("${app.reports.jobs.max-retained:1000}") int maxRetained,
+                            @Value("${app.reports.jobs.retry-after:5s}") Duration retryAfter) {
+        this.reportService = reportService;
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new ReportThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = new ExpiringCache<>(Math.max(1, maxRetained));
+        this.resultTtlMillis = resultTtl.toMillis();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * 🔄 Taxas de conclusão (recalculate_completion_rate() ou equivalente) como job.
+     *
+     * @param engine motor de relatório (null = padrão de app.reports.engine)
+     */
+    public ReportJob submitCompletionRecalculation(String engine) {
+        if (engine == null) {
+            return submit(COMPLETION_RATE, reportService.defaultEngineName(), reportService::recalculateCompletion);
+        }
+        String name = reportService.engine(engine).name();
+        return submit(COMPLETION_RATE, name, () -> reportService.recalculateCompletion(name));
+    }
+
+    /**
+     * 📥 Enfileira o relatório ou devolve o job igual (mesmo relatório e motor) que ainda não terminou.
+     */
+    public ReportJob submit(String report, String engine, Supplier<? extends List<?>> computation) {
+        ReportJob created = new ReportJob(UUID.randomUUID().toString(), report, engine);
+        String key = engine != null ? report + "/" + engine : report;
+        ReportJob existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            deduplicated.increment();
+            return existing;
+        }
+
+        // 🔸 Em andamento não expira; o TTL conta a partir do fim
+        jobs.put(created.getId(), created, Long.MAX_VALUE);
+        try {
+            executor.execute(() -> run(key, created, computation));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            jobs.invalidate(created.getId());
+            rejected.increment();
+            throw new ReportJobRejectedException("Report job queue is full", retryAfterSeconds);
+        }
+        return created;
+    }
+
+    public Optional<ReportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private void run(String key, ReportJob job, Supplier<? extends List<?>> computation) {
+        job.start();
+        try {
+            job.complete(computation.get());
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("⚠️ Report job {} ({}) failed: {}", job.getId(), job.getReport(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            inFlight.remove(key, job);
+            jobs.put(job.getId(), job, System.currentTimeMillis() + resultTtlMillis);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.reports.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        Gauge.builder("app.reports.jobs.queued", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("app.reports.jobs.retained", jobs, ExpiringCache::size)
+                .register(registry);
+        FunctionCounter.builder("app.reports.jobs.completed", executor, ThreadPoolExecutor::getCompletedTaskCount)
+                .register(registry);
+        FunctionCounter.builder("app.reports.jobs.deduplicated", deduplicated, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("app.reports.jobs.rejected", rejected, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("app.reports.jobs.failed", failed, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class ReportThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "report-job-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -1,30 +1,94 @@
 package com.edsonrego.taskmanager.service;
 
-import org.springframework.jdbc.core.JdbcTemplate;
+import com.edsonrego.taskmanager.config.DatabaseProduct;
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.dto.TrendBucket;
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.report.JvmReportEngine;
+import com.edsonrego.taskmanager.report.ReportEngine;
+import com.edsonrego.taskmanager.report.SqlReportEngine;
+import com.edsonrego.taskmanager.report.TrendReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class ReportService {
 
-    private final JdbcTemplate jdbcTemplate;
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private final Map<String, ReportEngine> engines = new LinkedHashMap<>();
+    private final ReportEngine defaultEngine;
+    private final TrendReport trendReport;
+
+    /**
+     * @param engine app.reports.engine: auto (padrão: PostgreSQL → sql; outro banco → jvm) | sql | jvm
+     */
+    public ReportService(List<ReportEngine> engines,
+                         TrendReport trendReport,
+                         DataSource dataSource,
+                         @Value("${app.reports.engine:auto}") String engine) {
+        this.trendReport = trendReport;
+        engines.forEach(e -> this.engines.put(e.name(), e));
+        String name = "auto".equalsIgnoreCase(engine)
+                ? (DatabaseProduct.isPostgres(dataSource) ? SqlReportEngine.NAME : JvmReportEngine.NAME)
+                : engine.toLowerCase();
+        this.defaultEngine = engine(name);
+        log.info("📊 Relatórios calculados pelo motor {}", name);
+    }
+
+    /**
+     * 📊 Resumo por usuário (mesmas colunas da view vw_tasks_summary), pelo motor padrão.
+     */
+    public List<TaskSummaryRow> getSummary() {
+        return defaultEngine.summary();
+    }
+
+    /**
+     * 📊 Resumo por um motor específico (?engine=sql|jvm, ex.: para comparar os dois).
+     */
+    public List<TaskSummaryRow> getSummary(String engine) {
+        return engine(engine).summary();
+    }
+
+    /**
+     * 🔄 Taxas de conclusão/atraso (mesmas colunas de recalculate_completion_rate()), pelo motor padrão.
+     */
+    public List<CompletionRateRow> recalculateCompletion() {
+        return defaultEngine.completionRates();
+    }
 
-    public ReportService(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public List<CompletionRateRow> recalculateCompletion(String engine) {
+        return engine(engine).completionRates();
     }
 
     /**
-     * 📊 Consulta a view vw_tasks_summary
+     * 📈 Tendências por data de vencimento (dia/semana/mês), de task_rollups ou agregadas na hora.
      */
-    public List<Map<String, Object>> getSummary() {
-        return jdbcTemplate.queryForList("SELECT * FROM vw_tasks_summary ORDER BY user_id");
+    public List<TrendBucket> getTrends(TrendGranularity granularity, LocalDate from, LocalDate to, Long userId) {
+        return trendReport.trends(granularity, from, to, userId);
+    }
+
+    public String defaultEngineName() {
+        return defaultEngine.name();
     }
 
     /**
-     * 🔄 Executa a procedure recalculate_completion_rate()
+     * 🔎 Motor pelo nome (IllegalArgumentException se não existir).
      */
-    public List<Map<String, Object>> recalculateCompletion() {
-        return jdbcTemplate.queryForList("SELECT * FROM recalculate_completion_rate()");
+    public ReportEngine engine(String name) {
+        ReportEngine engine = name != null ? engines.get(name.toLowerCase()) : null;
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown report engine '" + name + "'. Use one of " + engines.keySet());
+        }
+        return engine;
     }
 }
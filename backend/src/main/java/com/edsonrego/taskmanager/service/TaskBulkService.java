@@ -0,0 +1,291 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.BulkTaskRequest;
+import com.edsonrego.taskmanager.dto.BulkTaskResponse;
+import com.edsonrego.taskmanager.dto.BulkTaskResult;
+import com.edsonrego.taskmanager.dto.BulkTaskResult.Status;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 📦 TaskBulkService
+ *
+ * Criação, alteração parcial e remoção de tarefas em lote (POST /api/tasks/bulk).
+ *
+ * - Itens processados em blocos de app.bulk.chunk-size, uma transação por bloco
+ * - INSERT/UPDATE agrupados em batch JDBC (hibernate.jdbc.batch_size + SEQUENCE em Task.id)
+ * - DELETE de um bloco inteiro em um único comando
+ * - Se um bloco falhar no banco, seus itens são refeitos um a um para isolar o item inválido
+ * - Um resultado por item, na ordem enviada
+ */
+@Service
+public class TaskBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkService.class);
+
+    private static final String CREATE = "create";
+    private static final String UPDATE = "update";
+    private static final String DELETE = "delete";
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public TaskBulkService(TaskRepository taskRepository,
+                           UserRepository userRepository,
+                           EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.bulk.chunk-size:500}") int chunkSize,
+                           @Value("${app.bulk.max-items:100000}") int maxItems) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * ⚙️ Executa creates, depois updates e por fim deletes.
+     *
+     * @param defaultResponsible usado nos creates sem "responsible" (pode ser null)
+     */
+    public BulkTaskResponse execute(BulkTaskRequest request, User defaultResponsible) {
+        if (request.totalItems() > maxItems) {
+            throw new IllegalArgumentException("Bulk request exceeds the limit of " + maxItems + " items.");
+        }
+
+        List<BulkTaskResult> results = new ArrayList<>(request.totalItems());
+        Long defaultResponsibleId = defaultResponsible != null ? defaultResponsible.getId() : null;
+
+        forEachChunk(request.getCreate(), (chunk, offset) -> results.addAll(createChunk(chunk, offset, defaultResponsibleId)));
+        forEachChunk(request.getUpdate(), (chunk, offset) -> results.addAll(updateChunk(chunk, offset)));
+        forEachChunk(request.getDelete(), (chunk, offset) -> results.addAll(deleteChunk(chunk, offset)));
+
+        return new BulkTaskResponse(results);
+    }
+
+    // ============================================================
+    // ➕ CREATE
+    // ============================================================
+    private List<BulkTaskResult> createChunk(List<Task> chunk, int offset, Long defaultResponsibleId) {
+        BulkTaskResult[] results = new BulkTaskResult[chunk.size()];
+        Set<Long> knownUsers = existingUsers(chunk, defaultResponsibleId);
+
+        Map<Integer, Task> valid = new LinkedHashMap<>();
+        Map<Integer, Long> responsibleIds = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Task task = chunk.get(i);
+            Long responsibleId = task != null && task.getResponsible() != null && task.getResponsible().getId() != null
+                    ? task.getResponsible().getId()
+                    : defaultResponsibleId;
+
+            String error = validateCreate(task, responsibleId, knownUsers);
+            if (error != null) {
+                results[i] = BulkTaskResult.error(CREATE, offset + i, null, Status.INVALID, error);
+            } else {
+                valid.put(i, task);
+                responsibleIds.put(i, responsibleId);
+            }
+        }
+
+        runChunk(valid, results, CREATE, offset, null,
+                (i, task) -> {
+                    task.setId(null);
+                    task.setResponsible(entityManager.getReference(User.class, responsibleIds.get(i)));
+                    TaskService.applyDefaults(task);
+                    entityManager.persist(task);
+                    return task;
+                },
+                (i, task) -> BulkTaskResult.ok(CREATE, offset + i, task.getId(), Status.CREATED));
+
+        return List.of(results);
+    }
+
+    private static String validateCreate(Task task, Long responsibleId, Set<Long> knownUsers) {
+        if (task == null) return "Task is required.";
+        if (task.getPlannedDescription() == null || task.getPlannedDescription().isBlank())
+            return "Planned description is required.";
+        if (task.getDueDate() == null) return "Due date is required.";
+        if (responsibleId == null) return "Responsible user must be defined.";
+        if (!knownUsers.contains(responsibleId)) return "Responsible user not found: " + responsibleId;
+        return null;
+    }
+
+    private Set<Long> existingUsers(List<Task> chunk, Long defaultResponsibleId) {
+        Set<Long> ids = new HashSet<>();
+        if (defaultResponsibleId != null) ids.add(defaultResponsibleId);
+        for (Task task : chunk) {
+            if (task != null && task.getResponsible() != null && task.getResponsible().getId() != null) {
+                ids.add(task.getResponsible().getId());
+            }
+        }
+        return ids.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(ids));
+    }
+
+    // ============================================================
+    // ✏️ UPDATE (parcial)
+    // ============================================================
+    private List<BulkTaskResult> updateChunk(List<Task> chunk, int offset) {
+        BulkTaskResult[] results = new BulkTaskResult[chunk.size()];
+
+        Map<Integer, Task> valid = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Task changes = chunk.get(i);
+            if (changes == null || changes.getId() == null) {
+                results[i] = BulkTaskResult.error(UPDATE, offset + i, null, Status.INVALID, "Task id is required.");
+            } else {
+                valid.put(i, changes);
+            }
+        }
+
+        // 🔹 Um único SELECT ... WHERE id IN (...) por bloco
+        Map<Integer, Task> toApply = new LinkedHashMap<>();
+        Set<Long> found = valid.isEmpty() ? Set.of()
+                : new HashSet<>(taskRepository.findExistingIds(valid.values().stream().map(Task::getId).toList()));
+        valid.forEach((i, changes) -> {
+            if (found.contains(changes.getId())) {
+                toApply.put(i, changes);
+            } else {
+                results[i] = BulkTaskResult.error(UPDATE, offset + i, changes.getId(), Status.NOT_FOUND, "Task not found");
+            }
+        });
+
+        List<Long> ids = toApply.values().stream().map(Task::getId).distinct().toList();
+        runChunk(toApply, results, UPDATE, offset,
+                // 🔸 Carrega o bloco inteiro (com o responsável) antes de aplicar as alterações
+                () -> entityManager.createQuery(
+                                "SELECT t FROM Task t LEFT JOIN FETCH t.responsible WHERE t.id IN :ids", Task.class)
+                        .setParameter("ids", ids)
+                        .getResultList(),
+                (i, changes) -> {
+                    Task task = entityManager.find(Task.class, changes.getId());
+                    if (task == null) throw new IllegalStateException("Task not found");
+                    TaskService.applyChanges(task, changes);
+                    return task;
+                },
+                (i, task) -> BulkTaskResult.ok(UPDATE, offset + i, task.getId(), Status.UPDATED));
+
+        return List.of(results);
+    }
+
+    // ============================================================
+    // 🗑️ DELETE
+    // ============================================================
+    private List<BulkTaskResult> deleteChunk(List<Long> chunk, int offset) {
+        List<BulkTaskResult> results = new ArrayList<>(chunk.size());
+        List<Long> ids = chunk.stream().filter(id -> id != null).distinct().toList();
+
+        Map<Long, Long> deleted = ids.isEmpty() ? Map.of() : tx.execute(status -> {
+            Map<Long, Long> removed = taskRepository.deleteReturningResponsibles(ids);
+            // 🔸 DELETE em lote não dispara @PostRemove: publica o evento explicitamente, com o
+            //    responsável (sem ele, ETags e stream de todos os usuários seriam invalidados)
+            removed.forEach((id, responsibleId) ->
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(id, responsibleId)));
+            return removed;
+        });
+
+        Set<Long> reported = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Long id = chunk.get(i);
+            if (id == null) {
+                results.add(BulkTaskResult.error(DELETE, offset + i, null, Status.INVALID, "Task id is required."));
+            } else if (deleted.containsKey(id) && reported.add(id)) {
+                results.add(BulkTaskResult.ok(DELETE, offset + i, id, Status.DELETED));
+            } else {
+                results.add(BulkTaskResult.error(DELETE, offset + i, id, Status.NOT_FOUND, "Task not found"));
+            }
+        }
+        return results;
+    }
+
+    // ============================================================
+    // 🔧 Infra
+    // ============================================================
+
+    /**
+     * 🔁 Aplica a operação a todos os itens do bloco em uma transação (flush único → batch).
+     * Em caso de erro no banco, refaz item a item para apontar qual falhou.
+     */
+    private void runChunk(Map<Integer, Task> items, BulkTaskResult[] results, String operation, int offset,
+                          Runnable preload, ItemOperation operationFn, ItemResult resultFn) {
+        if (items.isEmpty()) return;
+
+        try {
+            Map<Integer, Task> done = tx.execute(status -> {
+                if (preload != null) preload.run();
+                Map<Integer, Task> applied = new LinkedHashMap<>();
+                items.forEach((i, item) -> applied.put(i, operationFn.apply(i, item)));
+                entityManager.flush();
+                entityManager.clear();
+                return applied;
+            });
+            done.forEach((i, task) -> results[i] = resultFn.apply(i, task));
+        } catch (RuntimeException chunkFailure) {
+            log.warn("⚠️ Bulk {} chunk at {} failed, retrying item by item: {}", operation, offset,
+                    NestedExceptionUtils.getMostSpecificCause(chunkFailure).getMessage());
+
+            items.forEach((i, item) -> {
+                try {
+                    Task task = tx.execute(status -> {
+                        Task applied = operationFn.apply(i, item);
+                        entityManager.flush();
+                        entityManager.clear();
+                        return applied;
+                    });
+                    results[i] = resultFn.apply(i, task);
+                } catch (RuntimeException itemFailure) {
+                    Long id = CREATE.equals(operation) ? null : item.getId();
+                    results[i] = BulkTaskResult.error(operation, offset + i, id, Status.FAILED,
+                            NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage());
+                }
+            });
+        }
+    }
+
+    private <T> void forEachChunk(List<T> items, ChunkConsumer<T> consumer) {
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            consumer.accept(items.subList(from, Math.min(from + chunkSize, items.size())), from);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer<T> {
+        void accept(List<T> chunk, int offset);
+    }
+
+    @FunctionalInterface
+    private interface ItemOperation {
+        Task apply(int index, Task item);
+    }
+
+    @FunctionalInterface
+    private interface ItemResult {
+        BulkTaskResult apply(int index, Task task);
+    }
+}
@@ -0,0 +1,62 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * 🔖 Posição de continuação da paginação por cursor.
+ *
+ * Guarda a coluna de ordenação, a direção e a chave (valor, id) da última linha
+ * entregue. Serializado como Base64 URL-safe: o cliente trata como token opaco.
+ */
+public record TaskCursor(String sortBy, boolean descending, LocalDate lastValue, long lastId) {
+
+    // 🔹 Colunas com índice (coluna, id) que permitem seek direto
+    public static final Set<String> SORTABLE = Set.of("id", "dueDate", "creationDate");
+
+    // 🔹 lastValue nulo fora de sortBy=id: a última linha não tinha chave (cauda NULLS LAST)
+    public TaskCursor {
+        requireSortable(sortBy);
+    }
+
+    public static void requireSortable(String sortBy) {
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sortBy=" + SORTABLE);
+        }
+    }
+
+    /**
+     * ➡️ Cursor que continua logo após a tarefa informada.
+     */
+    public static TaskCursor after(TaskDTO last, String sortBy, boolean descending) {
+        LocalDate value = switch (sortBy) {
+            case "dueDate" -> last.getDueDate();
+            case "creationDate" -> last.getCreationDate();
+            default -> null;
+        };
+        return new TaskCursor(sortBy, descending, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy + "|" + (descending ? "desc" : "asc") + "|"
+                + (lastValue != null ? lastValue : "") + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) throw new IllegalArgumentException("Invalid cursor");
+            LocalDate value = parts[2].isEmpty() ? null : LocalDate.parse(parts[2]);
+            return new TaskCursor(parts[0], "desc".equals(parts[1]), value, Long.parseLong(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
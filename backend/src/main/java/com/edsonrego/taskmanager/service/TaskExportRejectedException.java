@@ -0,0 +1,19 @@
+package com.edsonrego.taskmanager.service;
+
+/**
+ * ⛔ Lançada quando todas as vagas de leitura em streaming (exportação / listagem completa) estão ocupadas.
+ * Convertida em 503 + Retry-After pelo ApiExceptionHandler.
+ */
+public class TaskExportRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TaskExportRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
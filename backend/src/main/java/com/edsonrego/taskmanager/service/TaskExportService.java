@@ -0,0 +1,263 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 📤 TaskExportService
+ *
+ * Exporta tarefas filtradas em NDJSON ou CSV, escrevendo linha a linha
+ * direto no OutputStream da resposta (nada é acumulado em memória).
+ * Também serve as listagens completas (paged=false) de /api/tasks e /api/tasks/search em JSON.
+ *
+ * - Cada leitura segura uma conexão do pool enquanto escreve: no máximo
+ *   app.export.max-concurrent ao mesmo tempo (espera até app.export.queue-timeout → 503)
+ * - Duração limitada a app.export.max-duration (timeout da transação + prazo checado por linha)
+ */
+@Service
+public class TaskExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format from(String value) {
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(value)) return f;
+            }
+            throw new IllegalArgumentException("Invalid export format. Use 'ndjson' or 'csv'.");
+        }
+    }
+
+    private static final String CSV_HEADER =
+            "id,plannedDescription,executedDescription,creationDate,dueDate,"
+                    + "executionStatus,taskSituation,responsibleId,responsibleName";
+
+    private final TaskJdbcRepository taskJdbcRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+    private final long queueTimeoutNanos;
+    private final long maxDurationNanos;
+
+    public TaskExportService(TaskJdbcRepository taskJdbcRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+                             @Value("${app.export.queue-timeout:5s}") Duration queueTimeout,
+                             @Value("${app.export.max-duration:5m}") Duration maxDuration) {
+        this.taskJdbcRepository = taskJdbcRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // 🔸 O timeout da transação vira query timeout dos comandos JDBC dentro dela
+        this.readOnlyTx.setTimeout((int) Math.max(1, maxDuration.toSeconds()));
+        this.slots = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.maxDurationNanos = maxDuration.toNanos();
+        this.objectMapper = objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    /**
+     * 🚦 Reserva uma vaga de leitura em streaming; devolvida no close() da Slot.
+     * Deve ser pedida antes de responder, para que a recusa ainda vire 503.
+     */
+    public Slot reserve() {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new TaskExportRejectedException("No export slot available", 5);
+        }
+        return new Slot();
+    }
+
+    /**
+     * 🎟️ Vaga reservada por reserve(): liberada uma única vez.
+     */
+    public final class Slot implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) slots.release();
+        }
+    }
+
+    /**
+     * 🚰 Escreve as tarefas no stream. Executado em transação somente leitura
+     * para que o driver use cursor (fetch size) em vez de carregar tudo.
+     */
+    public void export(TaskFilter filter, String sortBy, boolean descending,
+                       Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        stream(filter, sortBy, descending, task -> writeRow(writer, task, format));
+        writer.flush();
+    }
+
+    /**
+     * 🔹 sortBy aceito pelo streaming (campos de Task) ou "id" quando desconhecido.
+     */
+    public static String sortableOrId(String sortBy) {
+        return TaskJdbcRepository.isSortable(sortBy) ? sortBy : "id";
+    }
+
+    /**
+     * 📋 Listagem completa como array JSON (GET /api/tasks?paged=false).
+     */
+    public void writeJsonArray(TaskFilter filter, String sortBy, boolean descending,
+                               OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartArray();
+            writeJsonRows(gen, filter, sortBy, descending);
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * 📋 Listagem completa no formato da Page não paginada (GET /api/tasks/search?paged=false):
+     * "content" primeiro, os totais no fim (contados durante a escrita, sem COUNT(*)).
+     */
+    public void writeJsonPage(TaskFilter filter, String sortBy, boolean descending,
+                              OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartObject();
+            gen.writeFieldName("content");
+            gen.writeStartArray();
+            long total = writeJsonRows(gen, filter, sortBy, descending);
+            gen.writeEndArray();
+            gen.writeStringField("pageable", "INSTANCE");
+            gen.writeBooleanField("last", true);
+            gen.writeNumberField("totalElements", total);
+            gen.writeNumberField("totalPages", 1);
+            gen.writeBooleanField("first", true);
+            gen.writeNumberField("size", total);
+            gen.writeNumberField("number", 0);
+            gen.writeNumberField("numberOfElements", total);
+            gen.writeBooleanField("empty", total == 0);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 🔎 Há tarefas com os filtros? (204 antes de abrir o streaming)
+     */
+    public boolean hasTasks(TaskFilter filter) {
+        return taskJdbcRepository.exists(filter);
+    }
+
+    private long writeJsonRows(JsonGenerator gen, TaskFilter filter, String sortBy, boolean descending)
+            throws IOException {
+        long[] count = {0};
+        stream(filter, sortBy, descending, task -> {
+            try {
+                objectMapper.writeValue(gen, task);
+                count[0]++;
+            } catch (IOException e) {
+                // 🔸 Cliente desconectou: interrompe a leitura do cursor
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    // ⏱️ Prazo checado a cada linha: o timeout da transação só cobre a execução do comando
+    private void stream(TaskFilter filter, String sortBy, boolean descending,
+                        Consumer<TaskDTO> consumer) throws IOException {
+        long deadline = System.nanoTime() + maxDurationNanos;
+        try {
+            readOnlyTx.executeWithoutResult(tx -> taskJdbcRepository.streamTasks(
+                    filter, sortBy, descending, task -> {
+                        if (System.nanoTime() - deadline > 0) {
+                            throw new QueryTimeoutException("Export exceeded app.export.max-duration");
+                        }
+                        consumer.accept(task);
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeRow(Writer writer, TaskDTO task, Format format) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(toCsv(task));
+            } else {
+                objectMapper.writeValue(writer, task);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            // 🔸 Cliente desconectou: interrompe a leitura do cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String toCsv(TaskDTO t) {
+        return String.join(",",
+                csv(t.getId()),
+                csv(t.getPlannedDescription()),
+                csv(t.getExecutedDescription()),
+                csv(t.getCreationDate()),
+                csv(t.getDueDate()),
+                csv(t.getExecutionStatus() != null ? t.getExecutionStatus().getLabel() : null),
+                csv(t.getTaskSituation() != null ? t.getTaskSituation().getLabel() : null),
+                csv(t.getResponsibleId()),
+                csv(t.getResponsibleName()));
+    }
+
+    // 🔹 RFC 4180: aspas quando houver vírgula, aspas ou quebra de linha
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,28 +1,57 @@
 package com.edsonrego.taskmanager.service;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.count.RowCountEstimator;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.CursorPage;
+import com.edsonrego.taskmanager.dto.SlicePage;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
 import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
 import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.TaskSpecifications;
+import com.edsonrego.taskmanager.search.TaskTextSearch;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskTextSearch textSearch;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository,
+                       TaskTextSearch textSearch,
+                       RowCountEstimator rowCountEstimator,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.textSearch = textSearch;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * 🔹 Busca paginada e filtrada de tarefas usando Specification.
-     *   Comparação de data ignora hora (usa DATE()).
+     *   Datas comparadas por faixa semiaberta [dia, dia + 1) — usa os índices das colunas.
+     *   Resultado projetado direto em TaskDTO (uma consulta, sem entidades gerenciadas).
      */
-    public Page<Task> searchTasksPaged(
+    public Page<TaskDTO> searchTasksPaged(
             String status,
             String situation,
             Long responsibleId,
@@ -32,66 +61,285 @@ public class TaskService {
             String description,
             Pageable pageable
     ) {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(ExecutionStatus.from(status));
+        filter.setSituation(TaskSituation.from(situation));
+        filter.setResponsibleId(responsibleId);
+        filter.setCreationDate(createDate);
+        filter.setDueDate(dueDate);
+        filter.setId(id);
+        filter.setDescription(description);
+        return searchTasksPaged(filter, pageable);
+    }
+
+    public Page<TaskDTO> searchTasksPaged(TaskFilter filter, Pageable pageable) {
+        return taskRepository.findAllAsDto(buildSearchSpec(filter), pageable);
+    }
+
+    /**
+     * 📄 Busca paginada sem o COUNT(*) obrigatório da Page.
+     *   count=none → só "hasNext"; count=estimated → total aproximado; count=exact → COUNT(*).
+     */
+    public SlicePage<TaskDTO> searchTasksSlice(TaskFilter filter, Pageable pageable, CountMode count) {
+        Specification<Task> spec = buildSearchSpec(filter);
+        Slice<TaskDTO> slice = taskRepository.findSliceAsDto(spec, pageable);
+
+        Long total = switch (count) {
+            case NONE -> null;
+            case EXACT -> taskRepository.count(spec);
+            case ESTIMATED -> {
+                Long estimate = rowCountEstimator.estimateTasks(filter);
+                // 🔸 Nunca menor do que o que o cliente já viu (null = filtro sem estimativa barata)
+                yield estimate == null ? null : Math.max(estimate,
+                        (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements()
+                                + (slice.hasNext() ? 1 : 0));
+            }
+        };
+
+        return new SlicePage<>(slice.getContent(),
+                pageable.isPaged() ? pageable.getPageNumber() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : slice.getNumberOfElements(),
+                slice.hasNext(), total, count == CountMode.ESTIMATED && total != null);
+    }
+
+    /**
+     * ⏩ Busca filtrada por cursor (keyset): sem OFFSET e, opcionalmente, sem COUNT(*) ou com total estimado.
+     *
+     * - cursor nulo/vazio = primeira página; caso contrário continua após a última linha entregue
+     * - A ordenação vem do cursor (id, dueDate ou creationDate; desempate por id; nulos por último)
+     * - Busca size + 1 linhas para saber se existe próxima página
+     */
+    public CursorPage<TaskDTO> searchTasksByCursor(
+            TaskFilter filter,
+            String sortBy,
+            boolean descending,
+            String cursor,
+            int size,
+            CountMode count
+    ) {
+        if (size <= 0) throw new IllegalArgumentException("Page size must be positive");
+
+        TaskCursor position = (cursor == null || cursor.isBlank()) ? null : TaskCursor.decode(cursor);
+        if (position != null) {
+            sortBy = position.sortBy();
+            descending = position.descending();
+        }
+        TaskCursor.requireSortable(sortBy);
+
+        Specification<Task> filters = buildSearchSpec(filter);
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort byId = Sort.by(direction, "id");
+
+        List<TaskDTO> rows;
+        if ("id".equals(sortBy)) {
+            Specification<Task> seek = position == null
+                    ? filters
+                    : filters.and(TaskSpecifications.keysetAfter("id", descending, null, position.lastId()));
+            rows = taskRepository.findAllAsDto(seek, byId, size + 1);
+        } else {
+            // 🔸 NULLS LAST nas duas direções: primeiro (coluna, id) com chave, depois as sem chave por id.
+            //    Cursor com lastValue nulo = já está na cauda sem chave.
+            rows = new ArrayList<>(size + 1);
+            boolean inNullTail = position != null && position.lastValue() == null;
+            if (!inNullTail) {
+                Specification<Task> keyed = filters.and(TaskSpecifications.hasSortKey(sortBy));
+                if (position != null) {
+                    keyed = keyed.and(TaskSpecifications.keysetAfter(
+                            sortBy, descending, position.lastValue(), position.lastId()));
+                }
+                rows.addAll(taskRepository.findAllAsDto(keyed, Sort.by(direction, sortBy).and(byId), size + 1));
+            }
+            if (rows.size() <= size) {
+                Specification<Task> unkeyed = filters.and(TaskSpecifications.lacksSortKey(sortBy));
+                if (inNullTail) {
+                    unkeyed = unkeyed.and(TaskSpecifications.keysetAfter("id", descending, null, position.lastId()));
+                }
+                rows.addAll(taskRepository.findAllAsDto(unkeyed, byId, size + 1 - rows.size()));
+            }
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<TaskDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? TaskCursor.after(content.get(content.size() - 1), sortBy, descending).encode()
+                : null;
+        Long total = switch (count) {
+            case NONE -> null;
+            case EXACT -> taskRepository.count(filters);
+            case ESTIMATED -> rowCountEstimator.estimateTasks(filter);
+        };
+
+        return new CursorPage<>(List.copyOf(content), size, nextCursor, total,
+                count == CountMode.ESTIMATED && total != null);
+    }
+
+    private Specification<Task> buildSearchSpec(TaskFilter filter) {
         Specification<Task> spec = Specification.where(null);
+        if (filter == null) return spec;
+
+        Long id = filter.getId();
+        ExecutionStatus status = filter.getStatus();
+        TaskSituation situation = filter.getSituation();
+        Long responsibleId = filter.getResponsibleId();
+        String description = filter.getDescription();
 
         if (id != null)
             spec = spec.and((root, q, cb) -> cb.equal(root.get("id"), id));
 
-        if (status != null && !status.isBlank())
-            spec = spec.and((root, q, cb) ->
-                    cb.equal(cb.lower(root.get("executionStatus")), status.toLowerCase()));
+        // 🔹 Igualdade exata com o código gravado (sem lower(), usa os índices de execution_status)
+        if (status != null)
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("executionStatus"), status));
 
-        if (situation != null && !situation.isBlank())
-            spec = spec.and((root, q, cb) ->
-                    cb.equal(cb.lower(root.get("taskSituation")), situation.toLowerCase()));
+        if (situation != null)
+            spec = spec.and((root, q, cb) -> cb.equal(root.get("taskSituation"), situation));
 
         if (responsibleId != null)
             spec = spec.and((root, q, cb) ->
                     cb.equal(root.get("responsible").get("id"), responsibleId));
 
-        // ✅ Corrigido: compara apenas a data, ignora hora
-        if (createDate != null)
-            spec = spec.and((root, q, cb) ->
-                    cb.equal(cb.function("DATE", LocalDate.class, root.get("creationDate")), createDate));
-
-        if (dueDate != null)
-            spec = spec.and((root, q, cb) ->
-                    cb.equal(cb.function("DATE", LocalDate.class, root.get("dueDate")), dueDate));
+        // ✅ Datas como faixas semiabertas sobre a coluna "crua" (sargable, sem DATE())
+        spec = spec.and(TaskSpecifications.onDays("creationDate", filter.getCreationDate(), filter.getCreationDate()))
+                .and(TaskSpecifications.onDays("creationDate", filter.getCreatedFrom(), filter.getCreatedTo()))
+                .and(TaskSpecifications.onDays("dueDate", filter.getDueDate(), filter.getDueDate()))
+                .and(TaskSpecifications.onDays("dueDate", filter.getDueFrom(), filter.getDueTo()))
+                .and(TaskSpecifications.overdueAsOf(filter.getOverdueAsOf()));
 
+        // 🔎 "Contém" servido por índice de trigramas (pg_trgm ou índice em memória)
         if (description != null && !description.isBlank())
-            spec = spec.and((root, q, cb) ->
-                    cb.like(cb.lower(root.get("plannedDescription")),
-                            "%" + description.toLowerCase() + "%"));
+            spec = spec.and(textSearch.descriptionContains(description));
+
+        return spec;
+    }
+
+    /**
+     * 🏅 Busca textual por relevância (início da descrição, início de palavra, trecho, semelhança).
+     */
+    public List<TaskDTO> searchByText(String text, int limit) {
+        List<Long> ranked = textSearch.rank(text, limit);
+        if (ranked.isEmpty()) return List.of();
 
-        return taskRepository.findAll(spec, pageable);
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) position.put(ranked.get(i), i);
+
+        return taskRepository.findAllAsDto((root, q, cb) -> root.get("id").in(ranked), Sort.unsorted(), ranked.size())
+                .stream()
+                .sorted(Comparator.comparing(dto -> position.get(dto.getId())))
+                .toList();
+    }
+
+    public Page<TaskDTO> findAllPaged(Pageable pageable) {
+        return taskRepository.findAllAsDto(null, pageable);
     }
 
-    public Page<Task> findAllPaged(Pageable pageable) {
-        return taskRepository.findAll(pageable);
+    public SlicePage<TaskDTO> findAllSlice(Pageable pageable, CountMode count) {
+        return searchTasksSlice(null, pageable, count);
     }
 
     public Optional<Task> findById(Long id) {
         return taskRepository.findById(id);
     }
 
+    /**
+     * 🔹 Uma tarefa já projetada em TaskDTO (usado pelo stream de alterações).
+     */
+    public Optional<TaskDTO> findDtoById(Long id) {
+        return taskRepository.findAllAsDto((root, query, cb) -> cb.equal(root.get("id"), id), Sort.unsorted(), 1)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * 🏷️ ETag atual da tarefa (vazio se não existir), lido sem carregar a entidade.
+     */
+    public Optional<String> findEntityTag(Long id) {
+        return taskRepository.findVersionById(id)
+                .map(v -> ChangeStamps.taskTag(id, v.getVersion(), v.getResponsibleVersion()));
+    }
+
+    public static String entityTag(Task task) {
+        return ChangeStamps.taskTag(task.getId(), task.getVersion(),
+                task.getResponsible() != null ? task.getResponsible().getVersion() : null);
+    }
+
     public Task save(Task task) {
         if (task.getResponsible() == null) {
             throw new IllegalArgumentException("Responsible user must be defined.");
         }
 
-        if (task.getExecutionStatus() == null || task.getExecutionStatus().isBlank())
-            task.setExecutionStatus("PENDING");
+        applyDefaults(task);
+        return taskRepository.save(task);
+    }
+
+    /**
+     * 🔹 Valores padrão de uma tarefa nova (também usados pelo TaskBulkService).
+     */
+    public static void applyDefaults(Task task) {
+        if (task.getExecutionStatus() == null)
+            task.setExecutionStatus(ExecutionStatus.PENDING);
 
-        if (task.getTaskSituation() == null || task.getTaskSituation().isBlank())
-            task.setTaskSituation("OPEN");
+        if (task.getTaskSituation() == null)
+            task.setTaskSituation(TaskSituation.OPEN);
 
         if (task.getCreationDate() == null)
             task.setCreationDate(LocalDate.now());
+    }
 
-        return taskRepository.save(task);
+    /**
+     * ✏️ Alteração parcial: copia para "target" apenas os campos não nulos de "changes".
+     */
+    public static void applyChanges(Task target, Task changes) {
+        if (changes.getPlannedDescription() != null)
+            target.setPlannedDescription(changes.getPlannedDescription());
+        if (changes.getExecutedDescription() != null)
+            target.setExecutedDescription(changes.getExecutedDescription());
+        if (changes.getExecutionStatus() != null)
+            target.setExecutionStatus(changes.getExecutionStatus());
+        if (changes.getTaskSituation() != null)
+            target.setTaskSituation(changes.getTaskSituation());
+        if (changes.getDueDate() != null)
+            target.setDueDate(changes.getDueDate());
     }
 
-    public void delete(Long id) {
-        taskRepository.deleteById(id);
+    /**
+     * ✏️ Alteração parcial em um único UPDATE, só com as colunas enviadas (PATCH /api/tasks/{id}).
+     *
+     * @param expectedVersion versão do If-Match (null = sem verificação)
+     * @return linhas alteradas (0 = não existe ou versão diferente)
+     */
+    @Transactional // 🔸 UPDATE e o evento (log de alterações) no mesmo commit
+    public int patch(Long id, Task changes, Long expectedVersion) {
+        if (!hasChanges(changes)) {
+            throw new IllegalArgumentException("No fields to update.");
+        }
+        int rows = taskRepository.updatePartial(id, changes, expectedVersion);
+        // 🔸 UPDATE/DELETE em JPQL não passam pelo TaskEntityListener: publica o evento explicitamente
+        if (rows > 0) {
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, id, changes.getPlannedDescription()));
+        }
+        return rows;
+    }
+
+    static boolean hasChanges(Task changes) {
+        return changes != null
+                && (changes.getPlannedDescription() != null || changes.getExecutedDescription() != null
+                || changes.getExecutionStatus() != null || changes.getTaskSituation() != null
+                || changes.getDueDate() != null);
+    }
+
+    public boolean existsById(Long id) {
+        return taskRepository.existsById(id);
+    }
+
+    /**
+     * 🗑️ DELETE direto (sem carregar a entidade); o evento leva o responsável devolvido pelo DELETE.
+     *
+     * @return false se a tarefa não existia
+     */
+    @Transactional
+    public boolean delete(Long id) {
+        Map<Long, Long> deleted = taskRepository.deleteReturningResponsibles(List.of(id));
+        if (deleted.isEmpty()) return false;
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, deleted.get(id)));
+        return true;
     }
 }
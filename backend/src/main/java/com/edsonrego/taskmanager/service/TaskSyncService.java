@@ -0,0 +1,121 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.TaskChangesPage;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.JobWatermark;
+import com.edsonrego.taskmanager.repository.JobWatermarkRepository;
+import com.edsonrego.taskmanager.repository.TaskChangeLogRepository;
+import com.edsonrego.taskmanager.repository.TaskChangeLogRepository.ChangeRow;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🔁 TaskSyncService
+ *
+ * Sincronização incremental de tarefas: "o que mudou depois da sequência N?"
+ *
+ * - Cada escrita de tarefa gera uma linha em task_changes na mesma transação
+ *   (@EventListener síncrono sobre TaskChangedEvent)
+ * - Uma página traz o estado atual das tarefas alteradas e os IDs removidos
+ * - PostgreSQL: a seq segue a ordem de commit (V21), então "next" avança até a última linha lida
+ * - Outros bancos (H2, desktop com um processo): "next" não avança sobre alterações com menos
+ *   de app.sync.settle, porque uma transação ainda aberta pode confirmar uma sequência menor
+ *   depois (elas voltam na próxima chamada)
+ * - "since" anterior ao horizonte da compactação (tombstones já removidos) → reset
+ */
+@Service
+public class TaskSyncService {
+
+    // 🔸 Marca d'água do TaskChangeLogCompactor (horizonte dos tombstones)
+    private static final String COMPACTION_JOB = "task-change-log-compaction";
+
+    private final TaskChangeLogRepository changeLog;
+    private final TaskRepository taskRepository;
+    private final JobWatermarkRepository watermarks;
+    private final Duration settle;
+    private final int maxLimit;
+
+    public TaskSyncService(TaskChangeLogRepository changeLog,
+                           TaskRepository taskRepository,
+                           JobWatermarkRepository watermarks,
+                           @Value("${app.sync.settle:5s}") Duration settle,
+                           @Value("${app.sync.max-limit:5000}") int maxLimit) {
+        this.changeLog = changeLog;
+        this.taskRepository = taskRepository;
+        this.watermarks = watermarks;
+        this.settle = settle;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * 📝 Registra a alteração na transação de quem a publicou.
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getTaskId() == null) return;
+        changeLog.append(event.getTaskId(), event.getType() == TaskChangedEvent.Type.DELETED);
+    }
+
+    /**
+     * 🔎 Página de alterações depois de "since" (0 = carga inicial completa, sem tombstones).
+     */
+    public TaskChangesPage changesSince(long since, int limit) {
+        if (since < 0) throw new IllegalArgumentException("since must be >= 0.");
+        if (since > 0 && since < horizon()) return TaskChangesPage.resetRequired();
+
+        int pageSize = Math.min(Math.max(limit, 1), maxLimit);
+        List<ChangeRow> rows = changeLog.findChangedSince(since, pageSize);
+        if (rows.isEmpty()) {
+            // 🔸 "since" à frente do log (ex.: banco recriado) → o cliente recomeça
+            return since > changeLog.maxSeq() ? TaskChangesPage.resetRequired()
+                    : new TaskChangesPage(List.of(), List.of(), since, false, false);
+        }
+
+        List<Long> ids = rows.stream().map(ChangeRow::taskId).toList();
+        Map<Long, TaskDTO> current = taskRepository
+                .findAllAsDto((root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), ids.size())
+                .stream()
+                .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+
+        List<TaskDTO> changes = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settle);
+        long next = since;
+        boolean settled = true;
+        for (ChangeRow row : rows) {
+            TaskDTO task = current.get(row.taskId());
+            if (task != null) {
+                changes.add(task);
+            } else if (since > 0) {
+                deleted.add(row.taskId());
+            }
+            // 🔹 "next" só avança enquanto as alterações estiverem assentadas
+            settled = settled && (changeLog.isCommitOrdered() || !row.changedAt().isAfter(settledBefore));
+            if (settled) next = row.seq();
+        }
+        // 🔸 Página cheia mas ainda não assentada: o resto é mais novo, a próxima chamada o traz
+        boolean hasMore = rows.size() == pageSize && next == rows.get(rows.size() - 1).seq();
+        return new TaskChangesPage(changes, deleted, next, hasMore, false);
+    }
+
+    /**
+     * 🔸 Sequências até o horizonte podem ter perdido tombstones na compactação.
+     */
+    public long horizon() {
+        return watermarks.findById(COMPACTION_JOB)
+                .map(JobWatermark::getWatermarkValue)
+                .orElse(0L);
+    }
+}
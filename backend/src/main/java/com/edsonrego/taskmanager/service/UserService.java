@@ -1,7 +1,18 @@
 package com.edsonrego.taskmanager.service;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.cache.SecondLevelCache;
+import com.edsonrego.taskmanager.cache.UserCache;
+import com.edsonrego.taskmanager.count.RowCountEstimator;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.SlicePage;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.repository.UserRepository;
+import com.edsonrego.taskmanager.security.PasswordHashingExecutor;
+import com.edsonrego.taskmanager.security.TokenEpochRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,10 +25,29 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenEpochRegistry epochRegistry;
+    private final UserCache userCache;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final RowCountEstimator rowCountEstimator;
+    private final ChangeStamps changeStamps;
+    private final SecondLevelCache secondLevelCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       TokenEpochRegistry epochRegistry,
+                       UserCache userCache,
+                       PasswordHashingExecutor hashingExecutor,
+                       RowCountEstimator rowCountEstimator,
+                       ChangeStamps changeStamps,
+                       SecondLevelCache secondLevelCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.epochRegistry = epochRegistry;
+        this.userCache = userCache;
+        this.hashingExecutor = hashingExecutor;
+        this.rowCountEstimator = rowCountEstimator;
+        this.changeStamps = changeStamps;
+        this.secondLevelCache = secondLevelCache;
     }
 
     // 🔹 Retorna todos os usuários
@@ -25,38 +55,120 @@ public class UserService {
         return userRepository.findAll();
     }
 
-    // 🔹 Busca sempre ignorando maiúsculas/minúsculas
+    // 🔹 Página paginada no banco (LIMIT/OFFSET + COUNT(*))
+    public Page<User> findPage(Pageable pageable) {
+        return userRepository.findAll(pageable);
+    }
+
+    // 🔹 Página sem COUNT(*): total nulo (count=none) ou estimado (count=estimated)
+    public SlicePage<User> findSlice(Pageable pageable, CountMode count) {
+        Slice<User> slice = userRepository.findAllBy(pageable);
+        Long total = switch (count) {
+            case NONE -> null;
+            case EXACT -> userRepository.count();
+            case ESTIMATED -> Math.max(rowCountEstimator.estimateUsers(),
+                    pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0));
+        };
+        return new SlicePage<>(slice.getContent(), pageable.getPageNumber(), pageable.getPageSize(),
+                slice.hasNext(), total, count == CountMode.ESTIMATED);
+    }
+
+    // 🔹 Busca sempre ignorando maiúsculas/minúsculas (com cache)
     public Optional<User> findByEmail(String email) {
         if (email == null) return Optional.empty();
-        return userRepository.findByEmailIgnoreCase(email.trim().toLowerCase());
+        return userCache.findByEmail(email.trim().toLowerCase(), userRepository::findByEmailIgnoreCase);
     }
 
-    // 🔹 Busca por ID (necessário para update e delete)
+    // 🔹 Busca por ID (necessário para update e delete, com cache)
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return userCache.findById(id, userRepository::findById);
+    }
+
+    // 🔹 Cria usuário: a senha recebida é sempre tratada como texto puro e vira hash
+    public User create(User user) {
+        hashPassword(user, user.getPassword());
+        if (user.getCreatedAt() == null) {
+            user.setCreatedAt(LocalDateTime.now());
+        }
+        return persist(user);
+    }
+
+    /**
+     * 🔹 Atualização parcial: só os campos não nulos de "changes" são aplicados.
+     * Gera hash só quando uma senha nova veio na requisição (nunca pelo formato do valor).
+     */
+    public User update(User user, User changes) {
+        boolean credentialsChanged = false;
+        if (changes.getFirstName() != null) user.setFirstName(changes.getFirstName());
+        if (changes.getLastName() != null) user.setLastName(changes.getLastName());
+        if (changes.getEmail() != null) {
+            String email = changes.getEmail().trim().toLowerCase();
+            credentialsChanged = !email.equals(user.getEmail());
+            user.setEmail(email);
+        }
+        String newPassword = changes.getPassword();
+        if (newPassword != null && !newPassword.isBlank()) {
+            hashPassword(user, newPassword);
+            credentialsChanged = true;
+        }
+        // 🔑 Nova senha ou novo e-mail (subject do token) invalidam os tokens já emitidos
+        if (credentialsChanged) {
+            user.setTokenEpoch(user.getTokenEpoch() + 1);
+        }
+        return persist(user);
+    }
+
+    // 🔐 Hash no pool limitado (PasswordHashingExecutor)
+    private void hashPassword(User user, String rawPassword) {
+        if (rawPassword != null && !rawPassword.isBlank()) {
+            user.setPassword(hashingExecutor.run(() -> passwordEncoder.encode(rawPassword)));
+        }
     }
 
     // 🔹 Garante persistência em minúsculas
-    public User save(User user) {
+    private User persist(User user) {
         if (user.getEmail() != null) {
             user.setEmail(user.getEmail().trim().toLowerCase());
         }
-        if (user.getPassword() != null && !user.getPassword().isBlank()) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-        }
-        if (user.getCreatedAt() == null) {
-            user.setCreatedAt(LocalDateTime.now());
-        }
-        return userRepository.save(user);
+        boolean created = user.getId() == null;
+        userCache.invalidate(user.getId(), user.getEmail());
+        User saved = userRepository.save(user);
+        if (created) rowCountEstimator.userCreated();
+        userCache.invalidate(saved.getId(), saved.getEmail());
+        epochRegistry.update(saved.getId(), saved.getTokenEpoch());
+        changeStamps.usersChanged();
+        return saved;
     }
 
     // 🔹 Valida senha informada com hash armazenado
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return hashingExecutor.run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 🔄 Após um login válido, refaz o hash se o custo do BCrypt configurado mudou.
+     * Executado em segundo plano no pool de hashing (não atrasa a resposta do login).
+     */
+    public void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (user.getId() == null || rawPassword == null || !passwordEncoder.upgradeEncoding(currentHash)) return;
+
+        hashingExecutor.submit(() -> {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordHash(user.getId(), currentHash, newHash) > 0) {
+                userCache.invalidate(user.getId(), user.getEmail());
+            }
+        });
     }
 
-    // 🔹 Deleta usuário por ID
-    public void delete(Long id) {
-        userRepository.deleteById(id);
+    // 🔹 Deleta usuário por ID em um único DELETE (false se não existia)
+    public boolean delete(Long id) {
+        if (userRepository.deleteByIdReturningCount(id) == 0) return false;
+        userCache.invalidate(id, null);
+        secondLevelCache.userDeleted(id);
+        epochRegistry.revoke(id);
+        rowCountEstimator.userDeleted(id);
+        changeStamps.usersChanged();
+        return true;
     }
 }
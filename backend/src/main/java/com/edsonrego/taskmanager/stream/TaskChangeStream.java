@@ -0,0 +1,401 @@
+package com.edsonrego.taskmanager.stream;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📡 TaskChangeStream
+ *
+ * Envia as alterações confirmadas de tarefas aos assinantes de GET /api/tasks/stream (SSE),
+ * no lugar do polling de GET /api/tasks.
+ *
+ * - Conexões ociosas não ocupam threads do Tomcat (SseEmitter = requisição assíncrona)
+ * - Uma thread de despacho carrega o TaskDTO uma vez por alteração e filtra por assinante
+ * - Fila limitada por conexão (app.stream.buffer-size): cliente lento com a fila cheia é
+ *   desconectado e retoma pelo Last-Event-ID
+ * - Histórico das últimas app.stream.history-size alterações para retomar do Last-Event-ID;
+ *   fora do histórico (ou após reinício) o cliente recebe "reset" e recarrega a lista
+ * - Heartbeat (comentário SSE) a cada app.stream.heartbeat mantém proxies e conexões abertos
+ *
+ * Eventos: ready, reset, task-created, task-updated, task-deleted e task-removed (a tarefa
+ * mudou e saiu do filtro do assinante, inclusive quando foi reatribuída a outro responsável).
+ */
+@Component
+public class TaskChangeStream implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeStream.class);
+
+    static final String READY = "ready";
+    static final String RESET = "reset";
+    static final String CREATED = "task-created";
+    static final String UPDATED = "task-updated";
+    static final String DELETED = "task-deleted";
+    static final String REMOVED = "task-removed";
+
+    private final TaskService taskService;
+    private final long timeoutMillis;
+    private final long retryMillis;
+    private final int bufferSize;
+    private final int historySize;
+    private final int maxSubscribers;
+
+    private final ThreadPoolExecutor dispatcher;
+    private final ThreadPoolExecutor senders;
+
+    // 🔸 O ID da inicialização entra no ID dos eventos: após reinício o Last-Event-ID antigo vira "reset"
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    // 🔑 Protege history/sequence/floor e a entrada de novos assinantes (replay sem perder eventos)
+    private final Object lock = new Object();
+    private final ArrayDeque<StreamEvent> history = new ArrayDeque<>();
+    private long sequence;
+    // 🔸 Eventos com sequência <= floor não estão mais no histórico
+    private long floor;
+    private volatile boolean gap;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TaskChangeStream(TaskService taskService,
+                            @Value("${app.stream.timeout:30m}") Duration timeout,
+                            @Value("${app.stream.retry:3s}") Duration retry,
+                            @Value("${app.stream.buffer-size:256}") int bufferSize,
+                            @Value("${app.stream.history-size:1000}") int historySize,
+                            @Value("${app.stream.max-subscribers:5000}") int maxSubscribers,
+                            @Value("${app.stream.dispatch-queue-size:10000}") int dispatchQueueSize,
+                            @Value("${app.stream.sender-threads:0}") int senderThreads) {
+        this.taskService = taskService;
+        this.timeoutMillis = timeout.toMillis();
+        this.retryMillis = retry.toMillis();
+        this.bufferSize = Math.max(1, bufferSize);
+        this.historySize = Math.max(0, historySize);
+        this.maxSubscribers = maxSubscribers;
+
+        // 🔹 Uma única thread de despacho: a ordem das sequências é a ordem dos commits recebidos
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, dispatchQueueSize)), new StreamThreadFactory("task-stream-dispatch"),
+                (task, executor) -> {
+                    // 🔸 Fila cheia: a alteração é perdida; os assinantes recebem "reset" no próximo despacho
+                    dropped.increment();
+                    gap = true;
+                });
+
+        // 🔹 No máximo uma tarefa de envio pendente por assinante
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+        this.senders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new StreamThreadFactory("task-stream-send"));
+    }
+
+    // ============================================================
+    // 📥 Assinatura
+    // ============================================================
+
+    /**
+     * 📡 Nova conexão. Com lastEventId, reenvia o que o cliente perdeu (ou "reset" se não for possível).
+     *
+     * @return vazio se o limite de conexões (app.stream.max-subscribers) foi atingido
+     */
+    public Optional<SseEmitter> subscribe(TaskStreamFilter filter, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) return Optional.empty();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(emitter, filter, lastEventId);
+        return Optional.of(emitter);
+    }
+
+    void subscribe(SseEmitter emitter, TaskStreamFilter filter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, filter != null ? filter : TaskStreamFilter.all());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (lock) {
+            Long resumeFrom = resumePoint(lastEventId);
+            // 🔸 Replay maior que a fila da conexão: mais barato recarregar a lista
+            if (resumeFrom != null && sequence - resumeFrom >= bufferSize) resumeFrom = null;
+            subscriber.offer(control(resumeFrom != null || lastEventId == null ? READY : RESET));
+            if (resumeFrom != null) {
+                for (StreamEvent event : history) {
+                    if (event.sequence() > resumeFrom) subscriber.offer(event);
+                }
+            }
+            subscribers.add(subscriber);
+            // 🔸 Fila estourada no replay ou conexão encerrada nesse meio tempo
+            if (subscriber.closed.get()) subscribers.remove(subscriber);
+        }
+    }
+
+    // 🔹 Sequência a partir da qual retomar (null = sem retomada possível)
+    private Long resumePoint(String lastEventId) {
+        if (lastEventId == null) return null;
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash <= 0 || !bootId.equals(lastEventId.substring(0, dash))) return null;
+        try {
+            long last = Long.parseLong(lastEventId.substring(dash + 1));
+            return last >= floor && last <= sequence ? last : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ============================================================
+    // 📣 Despacho
+    // ============================================================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getTaskId() == null) return;
+        synchronized (lock) {
+            // 🔸 Sem assinantes: não carrega nada, só invalida o histórico (retomadas viram "reset")
+            if (subscribers.isEmpty()) {
+                forget();
+                return;
+            }
+        }
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    private void dispatch(TaskChangedEvent event) {
+        try {
+            TaskDTO task = null;
+            if (event.getType() != TaskChangedEvent.Type.DELETED && !subscribers.isEmpty()) {
+                task = taskService.findDtoById(event.getTaskId()).orElse(null);
+            }
+
+            synchronized (lock) {
+                resetIfGap();
+                if (subscribers.isEmpty()) {
+                    forget();
+                    return;
+                }
+                // 🔸 Tarefa já removida quando o despacho chegou: vira um "task-deleted"
+                StreamEvent streamEvent = task != null
+                        ? new StreamEvent(++sequence, event.getType() == TaskChangedEvent.Type.CREATED ? CREATED : UPDATED,
+                                event.getTaskId(), task.getResponsibleId(), event.getPreviousResponsibleId(), task)
+                        : new StreamEvent(++sequence, DELETED, event.getTaskId(), event.getResponsibleId(), null, null);
+
+                if (historySize > 0) {
+                    history.addLast(streamEvent);
+                    while (history.size() > historySize) floor = history.removeFirst().sequence();
+                } else {
+                    floor = sequence;
+                }
+                published.increment();
+                subscribers.forEach(s -> s.offer(streamEvent));
+            }
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Task stream dispatch failed for task {}: {}", event.getTaskId(), e.getMessage());
+            gap = true;
+        }
+    }
+
+    // 🔑 Chamado com o lock
+    private void forget() {
+        history.clear();
+        floor = ++sequence;
+    }
+
+    // 🔑 Chamado com o lock: alterações perdidas → todos recarregam
+    private void resetIfGap() {
+        if (!gap) return;
+        gap = false;
+        forget();
+        subscribers.forEach(s -> s.offer(control(RESET)));
+    }
+
+    @Scheduled(initialDelayString = "${app.stream.heartbeat:15s}", fixedDelayString = "${app.stream.heartbeat:15s}")
+    public void heartbeat() {
+        synchronized (lock) {
+            resetIfGap();
+        }
+        subscribers.forEach(s -> s.offer(SseEmitter.event().comment("heartbeat")));
+    }
+
+    private SseEventBuilder control(String name) {
+        return SseEmitter.event()
+                .id(eventId(sequence))
+                .name(name)
+                .reconnectTime(retryMillis)
+                .data(Map.of(), MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long sequence) {
+        return bootId + "-" + sequence;
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        if (!subscriber.close()) return;
+        evicted.increment();
+        log.debug("📡 Task stream subscriber evicted: {}", reason);
+        // 🔸 complete() fora da thread de despacho: pode aguardar um envio bloqueado
+        try {
+            senders.execute(subscriber.emitter::complete);
+        } catch (RejectedExecutionException e) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.stream.subscribers", subscribers, Set::size)
+                .register(registry);
+        Gauge.builder("app.stream.dispatch.queued", dispatcher, e -> e.getQueue().size())
+                .register(registry);
+        FunctionCounter.builder("app.stream.events", published, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("app.stream.evicted", evicted, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("app.stream.dropped", dropped, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> {
+            s.close();
+            s.emitter.complete();
+        });
+        senders.shutdown();
+    }
+
+    // ============================================================
+    // 🔧 Infra
+    // ============================================================
+
+    /**
+     * 🔹 Alteração já numerada; o nome enviado depende do filtro de cada assinante.
+     */
+    record StreamEvent(long sequence, String name, Long taskId, Long responsibleId, Long previousResponsibleId,
+                       TaskDTO task) {
+
+        // 🔸 null = o assinante não recebe este evento
+        String nameFor(TaskStreamFilter filter) {
+            if (task == null) return filter.matchesResponsible(responsibleId) ? DELETED : null;
+            if (filter.matches(task)) return name;
+            // 🔸 Saiu do filtro: quem filtra pelo responsável anterior também precisa remover a tarefa
+            boolean wasVisible = filter.matchesResponsible(responsibleId)
+                    || (previousResponsibleId != null && filter.matchesResponsible(previousResponsibleId));
+            return UPDATED.equals(name) && wasVisible ? REMOVED : null;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final TaskStreamFilter filter;
+        private final BlockingQueue<SseEventBuilder> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, TaskStreamFilter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(StreamEvent event) {
+            String name = event.nameFor(filter);
+            if (name == null) return;
+            SseEventBuilder builder = SseEmitter.event().id(eventId(event.sequence())).name(name);
+            offer(DELETED.equals(name) || REMOVED.equals(name)
+                    ? builder.data(Map.of("id", event.taskId()), MediaType.APPLICATION_JSON)
+                    : builder.data(event.task(), MediaType.APPLICATION_JSON));
+        }
+
+        void offer(SseEventBuilder event) {
+            if (closed.get()) return;
+            if (!queue.offer(event)) {
+                evict(this, "buffer full");
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 🔸 Cliente desconectou (o SseEmitter conclui a requisição)
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty()) schedule();
+        }
+
+        boolean close() {
+            if (!closed.compareAndSet(false, true)) return false;
+            subscribers.remove(this);
+            queue.clear();
+            return true;
+        }
+    }
+
+    private static final class StreamThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        StreamThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
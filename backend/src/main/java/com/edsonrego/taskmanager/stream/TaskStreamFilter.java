@@ -0,0 +1,38 @@
+package com.edsonrego.taskmanager.stream;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+
+import java.util.Locale;
+
+/**
+ * 🔎 Filtro de um assinante de /api/tasks/stream (avaliado em memória sobre o TaskDTO).
+ *
+ * Critérios nulos não filtram. A descrição é um "contém" sem diferenciar maiúsculas.
+ */
+public record TaskStreamFilter(Long responsibleId, ExecutionStatus status, TaskSituation situation, String description) {
+
+    public TaskStreamFilter {
+        description = description != null && !description.isBlank() ? description.toLowerCase(Locale.ROOT) : null;
+    }
+
+    public static TaskStreamFilter all() {
+        return new TaskStreamFilter(null, null, null, null);
+    }
+
+    /**
+     * 🔸 Responsável desconhecido (ex.: DELETE em lote) atinge todos os assinantes.
+     */
+    public boolean matchesResponsible(Long taskResponsibleId) {
+        return responsibleId == null || taskResponsibleId == null || responsibleId.equals(taskResponsibleId);
+    }
+
+    public boolean matches(TaskDTO task) {
+        return (responsibleId == null || responsibleId.equals(task.getResponsibleId()))
+                && (status == null || status == task.getExecutionStatus())
+                && (situation == null || situation == task.getTaskSituation())
+                && (description == null || (task.getPlannedDescription() != null
+                    && task.getPlannedDescription().toLowerCase(Locale.ROOT).contains(description)));
+    }
+}
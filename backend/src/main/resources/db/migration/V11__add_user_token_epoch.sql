@@ -0,0 +1,10 @@
+-- ============================================================
+-- Flyway Migration: Add token epoch to users
+-- Author: Edson Rego
+-- Description: Per-user counter embedded in JWTs; incremented on
+--              update/delete so previously issued tokens are rejected
+--              in stateless principal mode (jwt.stateless-principal).
+-- ============================================================
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_epoch INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- ============================================================
+-- Flyway Migration: Keyset pagination indexes
+-- Author: Edson Rego
+-- Description: Composite (sort column, id) indexes used by cursor
+--              pagination on /api/tasks and /api/tasks/search
+-- ============================================================
+
+-- ⚡ Permitem seek direto "col >= v AND (col > v OR id > lastId)" já ordenado
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id      ON tasks (due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_creation_date_id ON tasks (creation_date, id);
+
+-- 🧹 Os índices simples ficam cobertos pelos compostos (prefixo)
+DROP INDEX IF EXISTS idx_tasks_due_date;
+DROP INDEX IF EXISTS idx_tasks_creation_date;
@@ -0,0 +1,12 @@
+-- ============================================================
+-- Flyway Migration: Pooled task id sequence
+-- Author: Edson Rego
+-- Description: Task.id now uses SEQUENCE with allocationSize = 50
+--              (Hibernate pooled optimizer) so inserts can be batched.
+--              The SERIAL sequence must advance in steps of 50.
+-- ============================================================
+
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+
+-- 🔹 Próximo bloco começa acima do maior ID existente
+SELECT setval('tasks_id_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 50, true);
@@ -0,0 +1,13 @@
+-- ============================================================
+-- Flyway Migration: Trigram index for task descriptions
+-- Author: Edson Rego
+-- Description: pg_trgm GIN index on lower(planned_description).
+--              Serves the "contains" filter (LIKE '%x%') used by
+--              /api/tasks/search and the relevance ranking
+--              (word_similarity / <%) used by /api/tasks/search/text.
+-- ============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_planned_description_trgm
+    ON tasks USING gin (lower(planned_description) gin_trgm_ops);
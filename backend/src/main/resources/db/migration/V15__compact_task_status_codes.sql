@@ -0,0 +1,145 @@
+-- ============================================================
+-- Flyway Migration: Compact status/situation codes
+-- Author: Edson Rego
+-- Description: Stores execution_status and task_situation as
+--              1-char codes (mapped to enums by JPA converters),
+--              rewrites existing rows, the summary view and the
+--              completion-rate function, and adds board indexes.
+--
+--   execution_status: P = PENDING, D = DONE, C = CANCELLED
+--   task_situation:   O = OPEN, C = CLOSED, L = DELAYED, N = NOT DELAYED
+-- ============================================================
+
+-- 🔄 A view depende das colunas: remove antes de alterar o tipo
+DROP VIEW IF EXISTS vw_tasks_summary;
+
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS chk_tasks_status;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS chk_tasks_situation;
+ALTER TABLE tasks
+    ALTER COLUMN execution_status DROP DEFAULT,
+    ALTER COLUMN task_situation DROP DEFAULT;
+
+-- 🧹 Reescreve os valores existentes (qualquer caixa / espaços)
+UPDATE tasks SET execution_status =
+    CASE UPPER(TRIM(execution_status))
+        WHEN 'DONE'      THEN 'D'
+        WHEN 'CANCELLED' THEN 'C'
+        ELSE 'P'
+    END;
+
+UPDATE tasks SET task_situation =
+    CASE UPPER(REPLACE(TRIM(task_situation), '_', ' '))
+        WHEN 'OPEN'        THEN 'O'
+        WHEN 'CLOSED'      THEN 'C'
+        WHEN 'DELAYED'     THEN 'L'
+        WHEN 'NOT DELAYED' THEN 'N'
+        ELSE NULL
+    END;
+
+-- 📦 Colunas compactas
+ALTER TABLE tasks
+    ALTER COLUMN execution_status TYPE CHAR(1),
+    ALTER COLUMN execution_status SET DEFAULT 'P',
+    ALTER COLUMN execution_status SET NOT NULL,
+    ALTER COLUMN task_situation TYPE CHAR(1),
+    ALTER COLUMN task_situation SET DEFAULT 'O';
+
+ALTER TABLE tasks
+    ADD CONSTRAINT chk_tasks_status CHECK (execution_status IN ('P', 'D', 'C')),
+    ADD CONSTRAINT chk_tasks_situation CHECK (task_situation IN ('O', 'C', 'L', 'N'));
+
+COMMENT ON CONSTRAINT chk_tasks_status ON tasks IS 'P = PENDING, D = DONE, C = CANCELLED';
+COMMENT ON CONSTRAINT chk_tasks_situation ON tasks IS 'O = OPEN, C = CLOSED, L = DELAYED, N = NOT DELAYED';
+
+-- ⚡ Quadro por responsável: responsável + status + vencimento
+--    (substitui idx_tasks_responsible_id, que é prefixo do novo índice)
+CREATE INDEX IF NOT EXISTS idx_tasks_responsible_status_due
+    ON tasks (responsible_id, execution_status, due_date);
+DROP INDEX IF EXISTS idx_tasks_responsible_id;
+
+-- 🧭 View com os mesmos nomes de colunas, agora sobre os códigos
+CREATE OR REPLACE VIEW vw_tasks_summary AS
+SELECT
+    u.id AS user_id,
+    CONCAT(u.first_name, ' ', u.last_name) AS responsible_name,
+
+    -- 📊 Totais
+    COUNT(t.id) AS total_tasks,
+
+    -- 📊 Status operacionais
+    SUM(CASE WHEN t.execution_status = 'P' THEN 1 ELSE 0 END) AS pending_tasks,
+    SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END) AS done_tasks,
+    SUM(CASE WHEN t.execution_status = 'C' THEN 1 ELSE 0 END) AS cancelled_tasks,
+
+    -- 🧩 Situação geral
+    SUM(CASE WHEN t.task_situation = 'O' THEN 1 ELSE 0 END)   AS open_situations,
+    SUM(CASE WHEN t.task_situation = 'C' THEN 1 ELSE 0 END)   AS closed_situations,
+
+    -- 🕒 Situação temporal
+    SUM(CASE WHEN t.task_situation = 'L' THEN 1 ELSE 0 END)   AS delayed_tasks,
+    SUM(CASE WHEN t.task_situation = 'N' THEN 1 ELSE 0 END)   AS ontime_tasks,
+
+    -- 📈 Taxa de conclusão
+    ROUND(100.0 *
+        SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END)
+        / NULLIF(COUNT(t.id), 0), 2
+    ) AS completion_rate
+
+FROM users u
+LEFT JOIN tasks t ON t.responsible_id = u.id
+GROUP BY u.id, u.first_name, u.last_name
+ORDER BY u.id;
+
+-- 🔄 Função de recálculo sobre os códigos (mesma assinatura da V10)
+CREATE OR REPLACE FUNCTION recalculate_completion_rate()
+RETURNS TABLE (
+    user_id INT,
+    responsible_name TEXT,
+    total_tasks INT,
+    pending_tasks INT,
+    done_tasks INT,
+    cancelled_tasks INT,
+    open_situations INT,
+    closed_situations INT,
+    delayed_tasks INT,
+    ontime_tasks INT,
+    completion_rate NUMERIC(5,2),
+    delay_rate NUMERIC(5,2)
+)
+AS $$
+BEGIN
+    RETURN QUERY
+    SELECT
+        u.id AS user_id,
+        CONCAT(u.first_name, ' ', u.last_name) AS responsible_name,
+
+        COUNT(t.id) AS total_tasks,
+
+        SUM(CASE WHEN t.execution_status = 'P' THEN 1 ELSE 0 END) AS pending_tasks,
+        SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END) AS done_tasks,
+        SUM(CASE WHEN t.execution_status = 'C' THEN 1 ELSE 0 END) AS cancelled_tasks,
+
+        SUM(CASE WHEN t.task_situation = 'O' THEN 1 ELSE 0 END)   AS open_situations,
+        SUM(CASE WHEN t.task_situation = 'C' THEN 1 ELSE 0 END)   AS closed_situations,
+        SUM(CASE WHEN t.task_situation = 'L' THEN 1 ELSE 0 END)   AS delayed_tasks,
+        SUM(CASE WHEN t.task_situation = 'N' THEN 1 ELSE 0 END)   AS ontime_tasks,
+
+        ROUND(
+            100.0 * SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END)
+            / NULLIF(COUNT(t.id), 0), 2
+        ) AS completion_rate,
+
+        ROUND(
+            100.0 * SUM(CASE WHEN t.task_situation = 'L' THEN 1 ELSE 0 END)
+            / NULLIF(COUNT(t.id), 0), 2
+        ) AS delay_rate
+
+    FROM users u
+    LEFT JOIN tasks t ON t.responsible_id = u.id
+    GROUP BY u.id, u.first_name, u.last_name
+    ORDER BY u.id;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION recalculate_completion_rate() IS
+'Calcula métricas de conclusão e atraso de tarefas a partir dos códigos de execution_status/task_situation.';
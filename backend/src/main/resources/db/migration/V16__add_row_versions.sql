@@ -0,0 +1,14 @@
+-- ============================================================
+-- Flyway Migration: Row versions for tasks and users
+-- Author: Edson Rego
+-- Description: Version column maintained by JPA (@Version).
+--              Used for optimistic locking (If-Match on
+--              PUT /api/tasks/{id}) and for the ETags of
+--              /api/tasks/{id} and /api/users/{id}.
+-- ============================================================
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN tasks.version IS 'Row version (optimistic locking / ETag)';
+COMMENT ON COLUMN users.version IS 'Row version (optimistic locking / ETag)';
@@ -0,0 +1,17 @@
+-- ============================================================
+-- Flyway Migration: Watermarks for incremental background jobs
+-- Author: Edson Rego
+-- Description: One row per job with the (exclusive) date already
+--              processed. Used by the overdue-task classifier,
+--              which only scans tasks whose due_date crossed
+--              since its last run (idx_tasks_due_date_id).
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS job_watermarks (
+    job_name       VARCHAR(60) PRIMARY KEY,
+    watermark_date DATE,
+    updated_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE job_watermarks IS 'Progress of incremental background jobs';
+COMMENT ON COLUMN job_watermarks.watermark_date IS 'Exclusive upper bound already processed';
@@ -0,0 +1,32 @@
+-- ============================================================
+-- Flyway Migration: Task change log for delta sync
+-- Author: Edson Rego
+-- Description: One row per task write (create/update/delete),
+--              written in the same transaction as the change.
+--              GET /api/tasks/changes?since=N returns the tasks
+--              changed after sequence N. Superseded rows and old
+--              tombstones are compacted by a scheduled job; the
+--              compaction horizon is kept in job_watermarks.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS task_changes (
+    seq        BIGSERIAL PRIMARY KEY,
+    task_id    BIGINT    NOT NULL,
+    deleted    BOOLEAN   NOT NULL DEFAULT FALSE,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 🔹 Compactação: "existe linha mais nova para a mesma tarefa?"
+CREATE INDEX IF NOT EXISTS idx_task_changes_task_seq ON task_changes (task_id, seq);
+
+COMMENT ON TABLE task_changes IS 'Monotonic change log of tasks (delta sync)';
+COMMENT ON COLUMN task_changes.deleted IS 'Tombstone: the task was deleted';
+
+-- 🔸 Tarefas existentes entram no log: since=0 devolve a carga inicial completa
+INSERT INTO task_changes (task_id, deleted, changed_at)
+SELECT id, FALSE, CURRENT_TIMESTAMP FROM tasks ORDER BY id;
+
+-- 🔹 Marca d'água numérica (sequência) para jobs que não trabalham por data
+ALTER TABLE job_watermarks ADD COLUMN IF NOT EXISTS watermark_value BIGINT;
+
+COMMENT ON COLUMN job_watermarks.watermark_value IS 'Numeric watermark (e.g. change-log sequence)';
@@ -0,0 +1,138 @@
+-- ============================================================
+-- Flyway Migration: Incrementally maintained task summary
+-- Author: Edson Rego
+-- Description: Per-user task counters kept up to date by triggers
+--              on tasks (same transaction as the write), so the
+--              reports summary reads one row per user instead of
+--              aggregating every task. Covers every write path:
+--              JPA, JPQL bulk updates/deletes and the FK
+--              ON DELETE SET NULL when a user is removed.
+--              Drift is detected and repaired by a scheduled
+--              reconciliation job (TaskSummaryReconciler).
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS task_summary (
+    user_id           INTEGER PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    total_tasks       BIGINT NOT NULL DEFAULT 0,
+    pending_tasks     BIGINT NOT NULL DEFAULT 0,
+    done_tasks        BIGINT NOT NULL DEFAULT 0,
+    cancelled_tasks   BIGINT NOT NULL DEFAULT 0,
+    open_situations   BIGINT NOT NULL DEFAULT 0,
+    closed_situations BIGINT NOT NULL DEFAULT 0,
+    delayed_tasks     BIGINT NOT NULL DEFAULT 0,
+    ontime_tasks      BIGINT NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE task_summary IS 'Per-user task counters maintained by trg_tasks_summary_* (see vw_tasks_summary)';
+
+-- 🔢 Aplica +1 / -1 aos contadores de um responsável
+CREATE OR REPLACE FUNCTION task_summary_apply(p_user BIGINT, p_status TEXT, p_situation TEXT, p_sign INT)
+RETURNS VOID
+AS $$
+BEGIN
+    IF p_user IS NULL THEN
+        RETURN;
+    END IF;
+
+    -- 🔸 Só decrementa linhas existentes: o usuário pode estar sendo removido (ON DELETE CASCADE)
+    IF p_sign < 0 THEN
+        UPDATE task_summary SET
+            total_tasks       = total_tasks - 1,
+            pending_tasks     = pending_tasks     - CASE WHEN p_status = 'P' THEN 1 ELSE 0 END,
+            done_tasks        = done_tasks        - CASE WHEN p_status = 'D' THEN 1 ELSE 0 END,
+            cancelled_tasks   = cancelled_tasks   - CASE WHEN p_status = 'C' THEN 1 ELSE 0 END,
+            open_situations   = open_situations   - CASE WHEN p_situation = 'O' THEN 1 ELSE 0 END,
+            closed_situations = closed_situations - CASE WHEN p_situation = 'C' THEN 1 ELSE 0 END,
+            delayed_tasks     = delayed_tasks     - CASE WHEN p_situation = 'L' THEN 1 ELSE 0 END,
+            ontime_tasks      = ontime_tasks      - CASE WHEN p_situation = 'N' THEN 1 ELSE 0 END
+        WHERE user_id = p_user;
+        RETURN;
+    END IF;
+
+    INSERT INTO task_summary AS s (user_id, total_tasks, pending_tasks, done_tasks, cancelled_tasks,
+                                   open_situations, closed_situations, delayed_tasks, ontime_tasks)
+    VALUES (p_user, 1,
+            CASE WHEN p_status = 'P' THEN 1 ELSE 0 END,
+            CASE WHEN p_status = 'D' THEN 1 ELSE 0 END,
+            CASE WHEN p_status = 'C' THEN 1 ELSE 0 END,
+            CASE WHEN p_situation = 'O' THEN 1 ELSE 0 END,
+            CASE WHEN p_situation = 'C' THEN 1 ELSE 0 END,
+            CASE WHEN p_situation = 'L' THEN 1 ELSE 0 END,
+            CASE WHEN p_situation = 'N' THEN 1 ELSE 0 END)
+    ON CONFLICT (user_id) DO UPDATE SET
+        total_tasks       = s.total_tasks       + EXCLUDED.total_tasks,
+        pending_tasks     = s.pending_tasks     + EXCLUDED.pending_tasks,
+        done_tasks        = s.done_tasks        + EXCLUDED.done_tasks,
+        cancelled_tasks   = s.cancelled_tasks   + EXCLUDED.cancelled_tasks,
+        open_situations   = s.open_situations   + EXCLUDED.open_situations,
+        closed_situations = s.closed_situations + EXCLUDED.closed_situations,
+        delayed_tasks     = s.delayed_tasks     + EXCLUDED.delayed_tasks,
+        ontime_tasks      = s.ontime_tasks      + EXCLUDED.ontime_tasks;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_task_summary()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM task_summary_apply(OLD.responsible_id, OLD.execution_status, OLD.task_situation, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM task_summary_apply(NEW.responsible_id, NEW.execution_status, NEW.task_situation, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tasks_summary_insert_delete ON tasks;
+CREATE TRIGGER trg_tasks_summary_insert_delete
+    AFTER INSERT OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION trg_task_summary();
+
+-- 🔸 O Hibernate regrava todas as colunas: só dispara quando status, situação ou responsável mudam
+DROP TRIGGER IF EXISTS trg_tasks_summary_update ON tasks;
+CREATE TRIGGER trg_tasks_summary_update
+    AFTER UPDATE OF execution_status, task_situation, responsible_id ON tasks
+    FOR EACH ROW
+    WHEN (OLD.execution_status IS DISTINCT FROM NEW.execution_status
+       OR OLD.task_situation IS DISTINCT FROM NEW.task_situation
+       OR OLD.responsible_id IS DISTINCT FROM NEW.responsible_id)
+    EXECUTE FUNCTION trg_task_summary();
+
+-- 📦 Carga inicial a partir das tarefas existentes
+INSERT INTO task_summary (user_id, total_tasks, pending_tasks, done_tasks, cancelled_tasks,
+                          open_situations, closed_situations, delayed_tasks, ontime_tasks)
+SELECT
+    t.responsible_id,
+    COUNT(*),
+    SUM(CASE WHEN t.execution_status = 'P' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.execution_status = 'C' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'O' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'C' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'L' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'N' THEN 1 ELSE 0 END)
+FROM tasks t
+WHERE t.responsible_id IS NOT NULL
+GROUP BY t.responsible_id
+ON CONFLICT (user_id) DO NOTHING;
+
+-- 🧭 View com os mesmos nomes de colunas, agora uma linha por usuário (sem GROUP BY sobre tasks)
+DROP VIEW IF EXISTS vw_tasks_summary;
+CREATE VIEW vw_tasks_summary AS
+SELECT
+    u.id AS user_id,
+    CONCAT(u.first_name, ' ', u.last_name) AS responsible_name,
+    COALESCE(s.total_tasks, 0)       AS total_tasks,
+    COALESCE(s.pending_tasks, 0)     AS pending_tasks,
+    COALESCE(s.done_tasks, 0)        AS done_tasks,
+    COALESCE(s.cancelled_tasks, 0)   AS cancelled_tasks,
+    COALESCE(s.open_situations, 0)   AS open_situations,
+    COALESCE(s.closed_situations, 0) AS closed_situations,
+    COALESCE(s.delayed_tasks, 0)     AS delayed_tasks,
+    COALESCE(s.ontime_tasks, 0)      AS ontime_tasks,
+    ROUND(100.0 * COALESCE(s.done_tasks, 0) / NULLIF(COALESCE(s.total_tasks, 0), 0), 2) AS completion_rate
+FROM users u
+LEFT JOIN task_summary s ON s.user_id = u.id
+ORDER BY u.id;
@@ -0,0 +1,123 @@
+-- ============================================================
+-- Flyway Migration: Time-bucketed task rollups for trend reports
+-- Author: Edson Rego
+-- Description: Task counters per (granularity, bucket, user),
+--              bucketed by due_date, in three tiers: daily ('D'),
+--              weekly ('W', ISO week starting on Monday) and
+--              monthly ('M'). Kept up to date by triggers on tasks
+--              (same transaction as the write, every write path),
+--              like task_summary (V19). Old daily/weekly buckets
+--              are dropped by TaskRollupCompactor; the coarser
+--              tiers keep the history.
+--              GET /api/reports/trends reads one tier only.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS task_rollups (
+    granularity       CHAR(1) NOT NULL,
+    bucket_start      DATE    NOT NULL,
+    user_id           INTEGER NOT NULL,
+    total_tasks       BIGINT  NOT NULL DEFAULT 0,
+    pending_tasks     BIGINT  NOT NULL DEFAULT 0,
+    done_tasks        BIGINT  NOT NULL DEFAULT 0,
+    cancelled_tasks   BIGINT  NOT NULL DEFAULT 0,
+    open_situations   BIGINT  NOT NULL DEFAULT 0,
+    closed_situations BIGINT  NOT NULL DEFAULT 0,
+    delayed_tasks     BIGINT  NOT NULL DEFAULT 0,
+    ontime_tasks      BIGINT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, bucket_start, user_id),
+    CONSTRAINT chk_task_rollups_granularity CHECK (granularity IN ('D', 'W', 'M'))
+);
+
+COMMENT ON TABLE task_rollups IS 'Task counters per due-date bucket and user, maintained by trg_tasks_rollup_*';
+COMMENT ON COLUMN task_rollups.granularity IS 'D = day, W = ISO week (Monday), M = month';
+
+-- 🔸 Sem FK para users: um bucket já removido pela compactação pode voltar como "resíduo"
+--    (ex.: -1 pendente / +1 concluída) e o usuário pode não existir mais; o job limpa essas linhas.
+
+-- 🔢 Aplica +1 / -1 ao bucket do dia, da semana e do mês da data de vencimento
+CREATE OR REPLACE FUNCTION task_rollup_apply(p_user BIGINT, p_due DATE, p_status TEXT, p_situation TEXT, p_sign INT)
+RETURNS VOID
+AS $$
+BEGIN
+    IF p_user IS NULL OR p_due IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO task_rollups AS r (granularity, bucket_start, user_id, total_tasks, pending_tasks, done_tasks,
+                                   cancelled_tasks, open_situations, closed_situations, delayed_tasks, ontime_tasks)
+    SELECT b.granularity, b.bucket_start, p_user, p_sign,
+           p_sign * CASE WHEN p_status = 'P' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_status = 'D' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_status = 'C' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_situation = 'O' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_situation = 'C' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_situation = 'L' THEN 1 ELSE 0 END,
+           p_sign * CASE WHEN p_situation = 'N' THEN 1 ELSE 0 END
+    FROM (VALUES ('D', p_due),
+                 ('W', CAST(date_trunc('week', p_due) AS DATE)),
+                 ('M', CAST(date_trunc('month', p_due) AS DATE))) AS b (granularity, bucket_start)
+    ON CONFLICT (granularity, bucket_start, user_id) DO UPDATE SET
+        total_tasks       = r.total_tasks       + EXCLUDED.total_tasks,
+        pending_tasks     = r.pending_tasks     + EXCLUDED.pending_tasks,
+        done_tasks        = r.done_tasks        + EXCLUDED.done_tasks,
+        cancelled_tasks   = r.cancelled_tasks   + EXCLUDED.cancelled_tasks,
+        open_situations   = r.open_situations   + EXCLUDED.open_situations,
+        closed_situations = r.closed_situations + EXCLUDED.closed_situations,
+        delayed_tasks     = r.delayed_tasks     + EXCLUDED.delayed_tasks,
+        ontime_tasks      = r.ontime_tasks      + EXCLUDED.ontime_tasks;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_task_rollup()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM task_rollup_apply(OLD.responsible_id, OLD.due_date, OLD.execution_status, OLD.task_situation, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM task_rollup_apply(NEW.responsible_id, NEW.due_date, NEW.execution_status, NEW.task_situation, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tasks_rollup_insert_delete ON tasks;
+CREATE TRIGGER trg_tasks_rollup_insert_delete
+    AFTER INSERT OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION trg_task_rollup();
+
+-- 🔸 Como em V19: só quando muda algo que os buckets contam
+DROP TRIGGER IF EXISTS trg_tasks_rollup_update ON tasks;
+CREATE TRIGGER trg_tasks_rollup_update
+    AFTER UPDATE OF execution_status, task_situation, responsible_id, due_date ON tasks
+    FOR EACH ROW
+    WHEN (OLD.execution_status IS DISTINCT FROM NEW.execution_status
+       OR OLD.task_situation IS DISTINCT FROM NEW.task_situation
+       OR OLD.responsible_id IS DISTINCT FROM NEW.responsible_id
+       OR OLD.due_date IS DISTINCT FROM NEW.due_date)
+    EXECUTE FUNCTION trg_task_rollup();
+
+-- 📦 Carga inicial dos três níveis a partir das tarefas existentes
+INSERT INTO task_rollups (granularity, bucket_start, user_id, total_tasks, pending_tasks, done_tasks,
+                          cancelled_tasks, open_situations, closed_situations, delayed_tasks, ontime_tasks)
+SELECT
+    b.granularity,
+    b.bucket_start,
+    t.responsible_id,
+    COUNT(*),
+    SUM(CASE WHEN t.execution_status = 'P' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.execution_status = 'D' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.execution_status = 'C' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'O' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'C' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'L' THEN 1 ELSE 0 END),
+    SUM(CASE WHEN t.task_situation = 'N' THEN 1 ELSE 0 END)
+FROM tasks t
+CROSS JOIN LATERAL (VALUES ('D', t.due_date),
+                           ('W', CAST(date_trunc('week', t.due_date) AS DATE)),
+                           ('M', CAST(date_trunc('month', t.due_date) AS DATE))) AS b (granularity, bucket_start)
+WHERE t.responsible_id IS NOT NULL
+  AND t.due_date IS NOT NULL
+GROUP BY b.granularity, b.bucket_start, t.responsible_id
+ON CONFLICT (granularity, bucket_start, user_id) DO NOTHING;
@@ -0,0 +1,35 @@
+-- ============================================================
+-- Flyway Migration: Commit-ordered sequences in task_changes
+-- Author: Edson Rego
+-- Description: The seq assigned on INSERT follows insert order,
+--              not commit order: a slow transaction could commit
+--              seq 10 after a reader had already advanced past
+--              seq 11 (GET /api/tasks/changes would skip it).
+--              A deferred trigger now re-assigns seq at commit
+--              time, under a transaction-level advisory lock held
+--              until the commit is visible, so task_changes only
+--              ever becomes visible as a prefix in seq order.
+--              Cost: one extra UPDATE per logged change, and the
+--              commit step of task-writing transactions is
+--              serialized (the rest of each transaction is not).
+-- ============================================================
+
+CREATE OR REPLACE FUNCTION trg_task_changes_commit_seq()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    -- 🔑 Uma transação por vez daqui até o commit (liberado só depois de visível)
+    PERFORM pg_advisory_xact_lock(hashtext('task_changes.seq'));
+    UPDATE task_changes
+       SET seq = nextval(pg_get_serial_sequence('task_changes', 'seq'))
+     WHERE seq = NEW.seq;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 🔸 Diferida: roda no commit, depois de todas as escritas (e locks de linha) da transação
+DROP TRIGGER IF EXISTS trg_task_changes_commit_seq ON task_changes;
+CREATE CONSTRAINT TRIGGER trg_task_changes_commit_seq
+    AFTER INSERT ON task_changes
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION trg_task_changes_commit_seq();
@@ -0,0 +1,26 @@
+-- ============================================================
+-- Flyway Migration: Rollup trigger with DATE due dates
+-- Author: Edson Rego
+-- Description: tasks.due_date is TIMESTAMP (V2) but
+--              task_rollup_apply (V20) takes a DATE and PostgreSQL
+--              has no implicit timestamp → date cast for function
+--              arguments: every INSERT/UPDATE/DELETE on tasks
+--              failed with "function task_rollup_apply(...) does
+--              not exist". The trigger now casts explicitly.
+-- ============================================================
+
+CREATE OR REPLACE FUNCTION trg_task_rollup()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM task_rollup_apply(OLD.responsible_id, CAST(OLD.due_date AS DATE),
+                                  OLD.execution_status, OLD.task_situation, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM task_rollup_apply(NEW.responsible_id, CAST(NEW.due_date AS DATE),
+                                  NEW.execution_status, NEW.task_situation, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,114 @@
+-- ============================================================
+-- Flyway Migration: Apply task_summary deltas at commit, in user order
+-- Author: Edson Rego
+-- Description: The V19 row triggers upserted task_summary once or
+--              twice per task write, so each user's (hot) row stayed
+--              locked from that write until commit, and two bulk
+--              chunks touching the same users in different orders
+--              could deadlock. The row triggers now only stage the
+--              delta in task_summary_deltas; a deferred trigger sums
+--              the transaction's deltas per user and upserts them at
+--              commit, in user_id order, under the same advisory
+--              lock as the task_changes seq (V21). Summary rows are
+--              locked only at the very end, always in one order.
+--              Cost per counted change: one staged row (instead of
+--              an upsert); per transaction: one upsert per user.
+-- ============================================================
+
+-- 🔸 UNLOGGED: as linhas nunca sobrevivem ao commit (são consumidas nele); num crash a
+--    transação se perde junto, então não há o que recuperar
+CREATE UNLOGGED TABLE IF NOT EXISTS task_summary_deltas (
+    tx_id            BIGINT   NOT NULL,
+    user_id          BIGINT   NOT NULL,
+    execution_status CHAR(1),
+    task_situation   CHAR(1),
+    sign             SMALLINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_summary_deltas_tx ON task_summary_deltas (tx_id);
+
+COMMENT ON TABLE task_summary_deltas IS 'Per-transaction task_summary deltas, applied and removed at commit (trg_task_summary_deltas_flush)';
+
+-- 🔢 Mesmas transições da V19, agora só registradas (mesmos gatilhos trg_tasks_summary_*)
+CREATE OR REPLACE FUNCTION trg_task_summary()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.responsible_id IS NOT NULL THEN
+        INSERT INTO task_summary_deltas (tx_id, user_id, execution_status, task_situation, sign)
+        VALUES (txid_current(), OLD.responsible_id, OLD.execution_status, OLD.task_situation, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.responsible_id IS NOT NULL THEN
+        INSERT INTO task_summary_deltas (tx_id, user_id, execution_status, task_situation, sign)
+        VALUES (txid_current(), NEW.responsible_id, NEW.execution_status, NEW.task_situation, 1);
+    END IF;
+    -- 🔸 Marca (só nesta transação) que há deltas a aplicar
+    PERFORM set_config('task_summary.pending', 'y', true);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION IF EXISTS task_summary_apply(BIGINT, TEXT, TEXT, INT);
+
+-- 🔑 No commit: consome os deltas da transação e aplica um upsert por usuário, em ordem de user_id
+CREATE OR REPLACE FUNCTION trg_task_summary_flush()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    -- 🔸 A trigger diferida dispara uma vez por delta: só a primeira consome; as demais nem
+    --    consultam a tabela (o índice ainda tem as entradas apagadas nesta transação)
+    IF current_setting('task_summary.pending', true) IS DISTINCT FROM 'y' THEN
+        RETURN NULL;
+    END IF;
+    PERFORM set_config('task_summary.pending', 'n', true);
+
+    -- 🔸 Mesmo lock da V21: commits de escrita já são serializados nele; pegá-lo antes das
+    --    linhas do resumo mantém uma única ordem de locks (advisory → task_summary)
+    PERFORM pg_advisory_xact_lock(hashtext('task_changes.seq'));
+
+    WITH staged AS (
+        DELETE FROM task_summary_deltas
+         WHERE tx_id = txid_current()
+        RETURNING user_id, execution_status, task_situation, sign
+    ), per_user AS (
+        SELECT user_id,
+               SUM(sign)                                                 AS total_tasks,
+               SUM(CASE WHEN execution_status = 'P' THEN sign ELSE 0 END) AS pending_tasks,
+               SUM(CASE WHEN execution_status = 'D' THEN sign ELSE 0 END) AS done_tasks,
+               SUM(CASE WHEN execution_status = 'C' THEN sign ELSE 0 END) AS cancelled_tasks,
+               SUM(CASE WHEN task_situation = 'O' THEN sign ELSE 0 END)   AS open_situations,
+               SUM(CASE WHEN task_situation = 'C' THEN sign ELSE 0 END)   AS closed_situations,
+               SUM(CASE WHEN task_situation = 'L' THEN sign ELSE 0 END)   AS delayed_tasks,
+               SUM(CASE WHEN task_situation = 'N' THEN sign ELSE 0 END)   AS ontime_tasks
+          FROM staged
+         GROUP BY user_id
+    )
+    INSERT INTO task_summary AS s (user_id, total_tasks, pending_tasks, done_tasks, cancelled_tasks,
+                                   open_situations, closed_situations, delayed_tasks, ontime_tasks)
+    SELECT p.user_id, p.total_tasks, p.pending_tasks, p.done_tasks, p.cancelled_tasks,
+           p.open_situations, p.closed_situations, p.delayed_tasks, p.ontime_tasks
+      FROM per_user p
+     -- 🔸 Usuário removido (ON DELETE SET NULL nas tarefas): a linha dele já saiu em cascata
+     WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = p.user_id)
+       AND (p.total_tasks <> 0 OR p.pending_tasks <> 0 OR p.done_tasks <> 0 OR p.cancelled_tasks <> 0
+            OR p.open_situations <> 0 OR p.closed_situations <> 0 OR p.delayed_tasks <> 0 OR p.ontime_tasks <> 0)
+     ORDER BY p.user_id
+    ON CONFLICT (user_id) DO UPDATE SET
+        total_tasks       = s.total_tasks       + EXCLUDED.total_tasks,
+        pending_tasks     = s.pending_tasks     + EXCLUDED.pending_tasks,
+        done_tasks        = s.done_tasks        + EXCLUDED.done_tasks,
+        cancelled_tasks   = s.cancelled_tasks   + EXCLUDED.cancelled_tasks,
+        open_situations   = s.open_situations   + EXCLUDED.open_situations,
+        closed_situations = s.closed_situations + EXCLUDED.closed_situations,
+        delayed_tasks     = s.delayed_tasks     + EXCLUDED.delayed_tasks,
+        ontime_tasks      = s.ontime_tasks      + EXCLUDED.ontime_tasks;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 🔸 Diferida: dispara no commit; a primeira execução consome tudo, as demais saem pela marca
+DROP TRIGGER IF EXISTS trg_task_summary_deltas_flush ON task_summary_deltas;
+CREATE CONSTRAINT TRIGGER trg_task_summary_deltas_flush
+    AFTER INSERT ON task_summary_deltas
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION trg_task_summary_flush();
@@ -0,0 +1,114 @@
+-- ============================================================
+-- Flyway Migration: Apply task_rollups deltas at commit, in key order
+-- Author: Edson Rego
+-- Description: Like task_summary (V23): the V20/V22 row triggers
+--              upserted the day, week and month bucket of the task's
+--              user on every counted write (3 upserts per side, 6 on
+--              an update), keeping those hot rows locked until commit
+--              in write order, so crossed transactions could deadlock.
+--              The row triggers now only stage the delta in
+--              task_rollup_deltas; a deferred trigger sums the
+--              transaction's deltas per (granularity, bucket, user)
+--              and upserts them at commit, in primary key order,
+--              under the V21 advisory lock. Cost per counted change:
+--              one staged row (instead of three upserts); per
+--              transaction: one upsert per touched bucket and user.
+-- ============================================================
+
+-- 🔸 UNLOGGED pelo mesmo motivo de task_summary_deltas (V23)
+CREATE UNLOGGED TABLE IF NOT EXISTS task_rollup_deltas (
+    tx_id            BIGINT   NOT NULL,
+    user_id          BIGINT   NOT NULL,
+    due_date         DATE     NOT NULL,
+    execution_status CHAR(1),
+    task_situation   CHAR(1),
+    sign             SMALLINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_rollup_deltas_tx ON task_rollup_deltas (tx_id);
+
+COMMENT ON TABLE task_rollup_deltas IS 'Per-transaction task_rollups deltas, applied and removed at commit (trg_task_rollup_deltas_flush)';
+
+-- 🔢 Mesmas transições da V20 (mesmos gatilhos trg_tasks_rollup_*), agora só registradas
+CREATE OR REPLACE FUNCTION trg_task_rollup()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.responsible_id IS NOT NULL AND OLD.due_date IS NOT NULL THEN
+        INSERT INTO task_rollup_deltas (tx_id, user_id, due_date, execution_status, task_situation, sign)
+        VALUES (txid_current(), OLD.responsible_id, CAST(OLD.due_date AS DATE),
+                OLD.execution_status, OLD.task_situation, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.responsible_id IS NOT NULL AND NEW.due_date IS NOT NULL THEN
+        INSERT INTO task_rollup_deltas (tx_id, user_id, due_date, execution_status, task_situation, sign)
+        VALUES (txid_current(), NEW.responsible_id, CAST(NEW.due_date AS DATE),
+                NEW.execution_status, NEW.task_situation, 1);
+    END IF;
+    PERFORM set_config('task_rollups.pending', 'y', true);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION IF EXISTS task_rollup_apply(BIGINT, DATE, TEXT, TEXT, INT);
+
+-- 🔑 No commit: consome os deltas da transação, um upsert por (nível, bucket, usuário) em ordem de PK
+CREATE OR REPLACE FUNCTION trg_task_rollup_flush()
+RETURNS TRIGGER
+AS $$
+BEGIN
+    -- 🔸 Uma vez por transação, como na V23 (a marca evita reconsultar a tabela a cada delta)
+    IF current_setting('task_rollups.pending', true) IS DISTINCT FROM 'y' THEN
+        RETURN NULL;
+    END IF;
+    PERFORM set_config('task_rollups.pending', 'n', true);
+
+    -- 🔸 Mesma ordem de locks da V23: advisory (V21) → linhas de task_rollups
+    PERFORM pg_advisory_xact_lock(hashtext('task_changes.seq'));
+
+    WITH staged AS (
+        DELETE FROM task_rollup_deltas
+         WHERE tx_id = txid_current()
+        RETURNING user_id, due_date, execution_status, task_situation, sign
+    ), per_bucket AS (
+        SELECT b.granularity, b.bucket_start, s.user_id,
+               SUM(s.sign)                                                   AS total_tasks,
+               SUM(CASE WHEN s.execution_status = 'P' THEN s.sign ELSE 0 END) AS pending_tasks,
+               SUM(CASE WHEN s.execution_status = 'D' THEN s.sign ELSE 0 END) AS done_tasks,
+               SUM(CASE WHEN s.execution_status = 'C' THEN s.sign ELSE 0 END) AS cancelled_tasks,
+               SUM(CASE WHEN s.task_situation = 'O' THEN s.sign ELSE 0 END)   AS open_situations,
+               SUM(CASE WHEN s.task_situation = 'C' THEN s.sign ELSE 0 END)   AS closed_situations,
+               SUM(CASE WHEN s.task_situation = 'L' THEN s.sign ELSE 0 END)   AS delayed_tasks,
+               SUM(CASE WHEN s.task_situation = 'N' THEN s.sign ELSE 0 END)   AS ontime_tasks
+          FROM staged s
+         CROSS JOIN LATERAL (VALUES ('D', s.due_date),
+                                    ('W', CAST(date_trunc('week', s.due_date) AS DATE)),
+                                    ('M', CAST(date_trunc('month', s.due_date) AS DATE))) AS b (granularity, bucket_start)
+         GROUP BY b.granularity, b.bucket_start, s.user_id
+    )
+    INSERT INTO task_rollups AS r (granularity, bucket_start, user_id, total_tasks, pending_tasks, done_tasks,
+                                   cancelled_tasks, open_situations, closed_situations, delayed_tasks, ontime_tasks)
+    SELECT p.granularity, p.bucket_start, p.user_id, p.total_tasks, p.pending_tasks, p.done_tasks,
+           p.cancelled_tasks, p.open_situations, p.closed_situations, p.delayed_tasks, p.ontime_tasks
+      FROM per_bucket p
+     WHERE p.total_tasks <> 0 OR p.pending_tasks <> 0 OR p.done_tasks <> 0 OR p.cancelled_tasks <> 0
+        OR p.open_situations <> 0 OR p.closed_situations <> 0 OR p.delayed_tasks <> 0 OR p.ontime_tasks <> 0
+     ORDER BY p.granularity, p.bucket_start, p.user_id
+    ON CONFLICT (granularity, bucket_start, user_id) DO UPDATE SET
+        total_tasks       = r.total_tasks       + EXCLUDED.total_tasks,
+        pending_tasks     = r.pending_tasks     + EXCLUDED.pending_tasks,
+        done_tasks        = r.done_tasks        + EXCLUDED.done_tasks,
+        cancelled_tasks   = r.cancelled_tasks   + EXCLUDED.cancelled_tasks,
+        open_situations   = r.open_situations   + EXCLUDED.open_situations,
+        closed_situations = r.closed_situations + EXCLUDED.closed_situations,
+        delayed_tasks     = r.delayed_tasks     + EXCLUDED.delayed_tasks,
+        ontime_tasks      = r.ontime_tasks      + EXCLUDED.ontime_tasks;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 🔸 Diferida: dispara no commit; a primeira execução consome tudo, as demais saem pela marca
+DROP TRIGGER IF EXISTS trg_task_rollup_deltas_flush ON task_rollup_deltas;
+CREATE CONSTRAINT TRIGGER trg_task_rollup_deltas_flush
+    AFTER INSERT ON task_rollup_deltas
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION trg_task_rollup_flush();
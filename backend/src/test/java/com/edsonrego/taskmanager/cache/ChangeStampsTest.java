@@ -0,0 +1,76 @@
+package com.edsonrego.taskmanager.cache;
+
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChangeStamps Unit Tests")
+class ChangeStampsTest {
+
+    private final ChangeStamps stamps = new ChangeStamps();
+
+    @Test
+    @DisplayName("Deve mudar só o ETag do responsável alterado")
+    void shouldChangeOnlyAffectedResponsibleTag() {
+        String global = stamps.tasksTag();
+        String mine = stamps.tasksTag(1L);
+        String others = stamps.tasksTag(2L);
+
+        stamps.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 10L, "Alterada", 1L));
+
+        assertThat(stamps.tasksTag()).isNotEqualTo(global);
+        assertThat(stamps.tasksTag(1L)).isNotEqualTo(mine);
+        assertThat(stamps.tasksTag(2L)).isEqualTo(others);
+        assertThat(stamps.tasksTag(null)).isEqualTo(stamps.tasksTag());
+    }
+
+    @Test
+    @DisplayName("Deve mudar o ETag do responsável anterior e do novo numa reatribuição")
+    void shouldChangePreviousAndNewResponsibleTagsOnReassignment() {
+        String previous = stamps.tasksTag(1L);
+        String current = stamps.tasksTag(2L);
+        String others = stamps.tasksTag(3L);
+
+        stamps.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 10L, "Reatribuída", 2L, 1L));
+
+        assertThat(stamps.tasksTag(1L)).isNotEqualTo(previous);
+        assertThat(stamps.tasksTag(2L)).isNotEqualTo(current);
+        assertThat(stamps.tasksTag(3L)).isEqualTo(others);
+    }
+
+    @Test
+    @DisplayName("Deve mudar todos os ETags de responsável quando ele é desconhecido")
+    void shouldChangeEveryResponsibleTagWhenUnknown() {
+        String mine = stamps.tasksTag(1L);
+        String reports = stamps.reportsTag();
+
+        stamps.onTaskChanged(TaskChangedEvent.deleted(10L));
+
+        assertThat(stamps.tasksTag(1L)).isNotEqualTo(mine);
+        assertThat(stamps.reportsTag()).isNotEqualTo(reports);
+    }
+
+    @Test
+    @DisplayName("Deve mudar só o ETag dos relatórios quando o resumo é corrigido")
+    void shouldChangeOnlyReportsTagOnReportsChanged() {
+        String tasks = stamps.tasksTag();
+        String reports = stamps.reportsTag();
+
+        stamps.reportsChanged();
+
+        assertThat(stamps.reportsTag()).isNotEqualTo(reports);
+        assertThat(stamps.tasksTag()).isEqualTo(tasks);
+    }
+
+    @Test
+    @DisplayName("Deve gerar ETags fortes e distintos por escopo")
+    void shouldBuildStrongTags() {
+        assertThat(stamps.tasksTag()).startsWith("\"tasks-").endsWith("\"");
+        assertThat(stamps.usersTag()).startsWith("\"users-");
+        assertThat(stamps.reportsTag()).isNotEqualTo(stamps.tasksTag());
+        assertThat(ChangeStamps.taskTag(5L, 2L, null)).isEqualTo("\"task-5-2.0\"");
+        assertThat(ChangeStamps.userTag(7L, 3L)).isEqualTo("\"user-7-3\"");
+    }
+}
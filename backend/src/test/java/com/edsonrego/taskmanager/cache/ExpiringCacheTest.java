@@ -0,0 +1,56 @@
+package com.edsonrego.taskmanager.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringCache Unit Tests")
+class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    @DisplayName("Deve expirar entradas no instante informado")
+    void shouldExpireEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, now::get);
+        cache.put("a", "A", 2_000);
+
+        assertThat(cache.get("a")).isEqualTo("A");
+
+        now.set(2_000);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo")
+    void shouldRespectMaxSize() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(20, now::get);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i, 5_000);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+        assertThat(cache.evictionCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve carregar apenas uma vez e não cachear resultados nulos")
+    void shouldLoadOnMiss() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, now::get);
+        AtomicLong calls = new AtomicLong();
+
+        cache.getOrLoad("k", k -> { calls.incrementAndGet(); return "v"; }, v -> 5_000);
+        cache.getOrLoad("k", k -> { calls.incrementAndGet(); return "v"; }, v -> 5_000);
+        cache.getOrLoad("none", k -> null, v -> 5_000);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.loadCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
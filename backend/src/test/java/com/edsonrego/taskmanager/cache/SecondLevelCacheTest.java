@@ -0,0 +1,118 @@
+package com.edsonrego.taskmanager.cache;
+
+import com.edsonrego.taskmanager.config.SecondLevelCacheConfig;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🗃️ Cache de segundo nível ligado (tasks + consultas), sem transação de teste:
+ *    cada chamada ao repositório usa um EntityManager novo, como em requisições distintas.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SecondLevelCacheConfig.class, SecondLevelCache.class})
+@TestPropertySource(properties = {
+        "app.cache.second-level.enabled=true",
+        "app.cache.second-level.tasks.enabled=true",
+        "app.cache.second-level.queries.enabled=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar User no cache de segundo nível (fica com o UserCache)")
+    void shouldLeaveUsersToUserCache() {
+        User user = userRepository.save(new User("Edson", "Rego", "l2-user@test.com", "123456"));
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isFalse();
+        assertThat(statistics.getSecondLevelCacheRegionNames()).doesNotContain("users");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o cache ao salvar e esvaziar as tarefas ao remover usuário")
+    void shouldInvalidateOnWrites() {
+        User user = userRepository.save(new User("Edson", "Rego", "l2-write@test.com", "123456"));
+        Task task = taskRepository.save(new Task("Original", LocalDate.now(), user));
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+
+        loaded.setPlannedDescription("Alterada");
+        taskRepository.save(loaded);
+        assertThat(taskRepository.findById(task.getId())).get()
+                .extracting(Task::getPlannedDescription).isEqualTo("Alterada");
+
+        // 🔸 No banco a FK anula o responsável sem passar pelo Hibernate: a região de tarefas é esvaziada
+        assertThat(entityManagerFactory.getCache().contains(Task.class, task.getId())).isTrue();
+        secondLevelCache.userDeleted(user.getId());
+        assertThat(entityManagerFactory.getCache().contains(Task.class, task.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve cachear Task (opcional) e os resultados da busca até a próxima escrita")
+    void shouldCacheTasksAndQueries() {
+        User user = userRepository.save(new User("Edson", "Rego", "l2-task@test.com", "123456"));
+        Task task = taskRepository.save(new Task("Cacheada", LocalDate.now(), user));
+
+        taskRepository.findById(task.getId());
+        assertThat(entityManagerFactory.getCache().contains(Task.class, task.getId())).isTrue();
+
+        taskRepository.findAllAsDto(null, Sort.by("id"), 10);
+        taskRepository.findAllAsDto(null, Sort.by("id"), 10);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        // 🔸 Escrita em tasks invalida os resultados em cache
+        taskRepository.save(new Task("Outra", LocalDate.now(), user));
+        assertThat(taskRepository.findAllAsDto(null, Sort.by("id"), 10)).hasSize(2);
+    }
+}
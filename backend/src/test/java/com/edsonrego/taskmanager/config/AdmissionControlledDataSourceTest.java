@@ -0,0 +1,63 @@
+package com.edsonrego.taskmanager.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AdmissionControlledDataSource Tests")
+class AdmissionControlledDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    @DisplayName("Deve limitar as conexões emprestadas e liberar a vaga no close")
+    void shouldLimitBorrowedConnections() throws Exception {
+        when(pool.getConnection()).thenAnswer(i -> mock(Connection.class));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DbAdmissionRejectedException.class);
+
+        first.close();
+        first.close(); // 🔸 close repetido não devolve a vaga duas vezes
+        assertThat(dataSource.getInUse()).isZero();
+
+        Connection second = dataSource.getConnection();
+        assertThat(second).isNotSameAs(first);
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga quando o pool falha")
+    void shouldReleasePermitWhenPoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new java.sql.SQLException("pool down"));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool down");
+        assertThat(dataSource.getInUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve repassar as demais chamadas à conexão do pool")
+    void shouldDelegateOtherCalls() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(pool.getConnection()).thenReturn(connection);
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 2, Duration.ofMillis(50));
+
+        try (Connection guarded = dataSource.getConnection()) {
+            assertThat(guarded.getAutoCommit()).isFalse();
+            assertThat(guarded).isEqualTo(guarded);
+        }
+        verify(connection).close();
+    }
+}
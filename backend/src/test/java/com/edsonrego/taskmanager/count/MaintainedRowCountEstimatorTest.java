@@ -0,0 +1,92 @@
+package com.edsonrego.taskmanager.count;
+
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MaintainedRowCountEstimator - contadores mantidos")
+class MaintainedRowCountEstimatorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskJdbcRepository taskJdbcRepository;
+    private MaintainedRowCountEstimator estimator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        taskJdbcRepository = mock(TaskJdbcRepository.class);
+        estimator = new MaintainedRowCountEstimator(jdbcTemplate, taskJdbcRepository);
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class)).thenReturn(10L);
+    }
+
+    @Test
+    @DisplayName("Deve contar uma vez e depois manter o total pelos eventos")
+    void shouldMaintainCounterFromEvents() {
+        assertThat(estimator.estimateTasks(null)).isEqualTo(10L);
+
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 11L, "Nova"));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 12L, "Outra"));
+        estimator.onTaskChanged(TaskChangedEvent.deleted(3L));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 4L, "Alterada"));
+
+        assertThat(estimator.estimateTasks(new TaskFilter())).isEqualTo(11L);
+        verify(jdbcTemplate, times(1)).queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+    }
+
+    @Test
+    @DisplayName("Só com o responsável deve contar uma vez e manter pelos eventos, inclusive reatribuições")
+    void shouldMaintainResponsibleCounter() {
+        TaskFilter filter = new TaskFilter();
+        filter.setResponsibleId(1L);
+        when(taskJdbcRepository.count(filter)).thenReturn(3L);
+
+        assertThat(estimator.estimateTasks(filter)).isEqualTo(3L);
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 11L, "Nova", 1L));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 12L, "De outro", 2L));
+        estimator.onTaskChanged(TaskChangedEvent.deleted(5L, 1L));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 6L, "Recebida", 1L, 2L));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 7L, "Repassada", 2L, 1L));
+        estimator.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 8L, "Alterada", 1L));
+
+        assertThat(estimator.estimateTasks(filter)).isEqualTo(3L);
+        verify(taskJdbcRepository, times(1)).count(filter);
+        verifyNoInteractions(jdbcTemplate);
+
+        // 🔸 DELETE sem responsável conhecido: recarrega na próxima consulta
+        estimator.onTaskChanged(TaskChangedEvent.deleted(9L));
+        assertThat(estimator.estimateTasks(filter)).isEqualTo(3L);
+        verify(taskJdbcRepository, times(2)).count(filter);
+    }
+
+    @Test
+    @DisplayName("Com outros filtros não deve contar: sem estimativa")
+    void shouldNotCountWhenFilteredByOtherFields() {
+        TaskFilter filter = new TaskFilter();
+        filter.setResponsibleId(1L);
+        filter.setDescription("relatório");
+
+        assertThat(estimator.estimateTasks(filter)).isNull();
+        verifyNoInteractions(jdbcTemplate, taskJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Deve contar os usuários uma vez e manter pelo UserService")
+    void shouldMaintainUserCounter() {
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).thenReturn(4L);
+
+        assertThat(estimator.estimateUsers()).isEqualTo(4L);
+        estimator.userCreated();
+        estimator.userCreated();
+        estimator.userDeleted(2L);
+
+        assertThat(estimator.estimateUsers()).isEqualTo(5L);
+        verify(jdbcTemplate, times(1)).queryForObject("SELECT COUNT(*) FROM users", Long.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.edsonrego.taskmanager.event;
+
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+// 🔸 Sem transação do teste: cada save carrega a tarefa de novo, como numa requisição
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TaskEntityListener Tests")
+class TaskEntityListenerTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve levar o responsável anterior no evento só quando a tarefa é reatribuída")
+    void shouldCarryPreviousResponsibleOnReassignment() {
+        User ana = userRepository.save(new User("Ana", "Lima", "listener-ana@test.com", "123456"));
+        User bruno = userRepository.save(new User("Bruno", "Melo", "listener-bruno@test.com", "123456"));
+        Task task = taskRepository.saveAndFlush(new Task("Tarefa", LocalDate.of(2025, 1, 10), ana));
+
+        Task renamed = taskRepository.findById(task.getId()).orElseThrow();
+        renamed.setPlannedDescription("Renomeada");
+        taskRepository.saveAndFlush(renamed);
+
+        Task moved = taskRepository.findById(task.getId()).orElseThrow();
+        moved.setResponsible(bruno);
+        taskRepository.saveAndFlush(moved);
+
+        assertThat(events.stream(TaskChangedEvent.class)
+                .filter(e -> e.getType() == TaskChangedEvent.Type.UPDATED))
+                .extracting(TaskChangedEvent::getResponsibleId, TaskChangedEvent::getPreviousResponsibleId)
+                .containsExactly(
+                        tuple(ana.getId(), null),
+                        tuple(bruno.getId(), ana.getId()));
+    }
+}
@@ -1,5 +1,11 @@
 package com.edsonrego.taskmanager.integration;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.controller.ReportController;
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.dto.TrendBucket;
+import com.edsonrego.taskmanager.dto.TrendGranularity;
 import com.edsonrego.taskmanager.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,10 +17,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,16 +42,15 @@ class ReportControllerIT {
     @MockBean
     private ReportService reportService;
 
+    private static final TaskSummaryRow EDSON = new TaskSummaryRow(1, "Edson Rego", 10, 1, 8, 1, 2, 6, 1, 7);
+    private static final TaskSummaryRow IDLE = new TaskSummaryRow(2, "Ana Lima", 0, 0, 0, 0, 0, 0, 0, 0);
+
     @BeforeEach
     void setup() {
         // Configura mocks para simular o comportamento do serviço
-        when(reportService.getSummary()).thenReturn(List.of(
-                Map.of("user", "Edson Rego", "totalTasks", 10, "completedTasks", 8)
-        ));
+        when(reportService.getSummary()).thenReturn(List.of(EDSON, IDLE));
 
-        when(reportService.recalculateCompletion()).thenReturn(List.of(
-                Map.of("user", "Edson Rego", "completionRate", 80.0)
-        ));
+        when(reportService.recalculateCompletion()).thenReturn(List.of(new CompletionRateRow(EDSON)));
     }
 
     @Test
@@ -48,9 +59,32 @@ class ReportControllerIT {
         mockMvc.perform(get("/api/reports/summary"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].user").value("Edson Rego"))
-                .andExpect(jsonPath("$[0].totalTasks").value(10))
-                .andExpect(jsonPath("$[0].completedTasks").value(8));
+                .andExpect(jsonPath("$[0].user_id").value(1))
+                .andExpect(jsonPath("$[0].responsible_name").value("Edson Rego"))
+                .andExpect(jsonPath("$[0].total_tasks").value(10))
+                .andExpect(jsonPath("$[0].done_tasks").value(8))
+                .andExpect(jsonPath("$[0].ontime_tasks").value(7))
+                .andExpect(jsonPath("$[0].completion_rate").value(80.0))
+                .andExpect(jsonPath("$[0].delay_rate").doesNotExist())
+                // 🔸 Sem tarefas: taxa nula, como ROUND(... / NULLIF(0, 0))
+                .andExpect(jsonPath("$[1].completion_rate").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/summary → deve responder 304 ao mesmo ETag e 200 sem ETag quando desligado")
+    void testSummaryEntityTag() throws Exception {
+        String etag = mockMvc.perform(get("/api/reports/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/reports/summary").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // 🔸 app.etag.collections.enabled=false (várias instâncias): nem emite nem confere o ETag
+        MockMvc withoutTags = MockMvcBuilders.standaloneSetup(
+                new ReportController(reportService, null, new ChangeStamps(false))).build();
+        withoutTags.perform(get("/api/reports/summary").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
     }
 
     @Test
@@ -63,23 +97,74 @@ class ReportControllerIT {
     }
 
     @Test
-    @DisplayName("POST /api/reports/recalculate → deve retornar métricas recalculadas com status 200")
+    @DisplayName("POST /api/reports/recalculate → deve aceitar o job e entregar as métricas em /jobs/{id}")
     void testRecalculateCompletion() throws Exception {
-        mockMvc.perform(post("/api/reports/recalculate"))
+        String location = mockMvc.perform(post("/api/reports/recalculate"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.report").value("completion-rate"))
+                .andReturn().getResponse().getHeader("Location");
+
+        awaitJobFinished(location);
+
+        mockMvc.perform(get(location))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].user").value("Edson Rego"))
-                .andExpect(jsonPath("$[0].completionRate").value(80.0));
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.result[0].responsible_name").value("Edson Rego"))
+                .andExpect(jsonPath("$.result[0].completion_rate").value(80.0))
+                .andExpect(jsonPath("$.result[0].delay_rate").value(10.0));
     }
 
     @Test
-    @DisplayName("POST /api/reports/recalculate → deve retornar 204 quando não houver dados")
+    @DisplayName("POST /api/reports/recalculate → job concluído sem linhas quando não houver dados")
     void testRecalculateCompletionNoContent() throws Exception {
         when(reportService.recalculateCompletion()).thenReturn(List.of());
 
-        mockMvc.perform(post("/api/reports/recalculate"))
-                .andExpect(status().isNoContent())
-                .andExpect(content().string("No data returned from recalculation."));
+        String location = mockMvc.perform(post("/api/reports/recalculate"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        awaitJobFinished(location);
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.result").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/jobs/{id} → deve retornar 404 para job desconhecido ou expirado")
+    void testJobNotFound() throws Exception {
+        mockMvc.perform(get("/api/reports/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/trends → deve repassar granularidade e período ao serviço")
+    void testGetTrends() throws Exception {
+        when(reportService.getTrends(TrendGranularity.MONTH, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), null))
+                .thenReturn(List.of(new TrendBucket(LocalDate.of(2025, 1, 1), 8, 4, 4, 0, 0, 0, 2, 0)));
+
+        mockMvc.perform(get("/api/reports/trends")
+                        .param("granularity", "month")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bucket_start").value("2025-01-01"))
+                .andExpect(jsonPath("$[0].completion_rate").value(50.0))
+                .andExpect(jsonPath("$[0].delay_rate").value(25.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/trends → deve retornar 400 para granularidade ou data inválida")
+    void testGetTrendsBadRequest() throws Exception {
+        when(reportService.getTrends(any(), any(), any(), isNull())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/reports/trends").param("granularity", "year"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/reports/trends").param("from", "01/01/2025"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -101,4 +186,11 @@ class ReportControllerIT {
                 .andExpect(jsonPath("$.status").value("ERROR"))
                 .andExpect(jsonPath("$.message").value("View not found"));
     }
+
+    private void awaitJobFinished(String location) {
+        await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            String body = mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString();
+            return body.contains("\"status\":\"DONE\"") || body.contains("\"status\":\"FAILED\"");
+        });
+    }
 }
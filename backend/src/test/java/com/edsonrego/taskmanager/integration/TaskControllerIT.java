@@ -1,6 +1,8 @@
 package com.edsonrego.taskmanager.integration;
 
+import com.edsonrego.taskmanager.model.ExecutionStatus;
 import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.repository.TaskRepository;
 import com.edsonrego.taskmanager.repository.UserRepository;
@@ -13,9 +15,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -52,8 +56,8 @@ class TaskControllerIT {
     void testCreateTask() throws Exception {
         Task task = new Task();
         task.setPlannedDescription("Preparar relatório de outubro");
-        task.setExecutionStatus("PENDING");
-        task.setTaskSituation("OPEN");
+        task.setExecutionStatus(ExecutionStatus.PENDING);
+        task.setTaskSituation(TaskSituation.OPEN);
         task.setDueDate(LocalDate.of(2025, 10, 31));
         task.setResponsible(user);
 
@@ -71,15 +75,22 @@ class TaskControllerIT {
     void testGetAllTasks() throws Exception {
         Task task = new Task();
         task.setPlannedDescription("Estudo de integração");
-        task.setExecutionStatus("PENDING");
-        task.setTaskSituation("OPEN");
+        task.setExecutionStatus(ExecutionStatus.PENDING);
+        task.setTaskSituation(TaskSituation.OPEN);
         task.setDueDate(LocalDate.now().plusDays(3));
         task.setResponsible(user);
         taskRepository.save(task);
 
-        mockMvc.perform(get("/api/tasks"))
+        // 🚰 paged=false responde em streaming (despacho assíncrono)
+        MvcResult result = mockMvc.perform(get("/api/tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].plannedDescription").value("Estudo de integração"));
+                .andExpect(jsonPath("$[0].plannedDescription").value("Estudo de integração"))
+                // 🔸 Formato aninhado que o bundle empacotado (static/assets) lê
+                .andExpect(jsonPath("$[0].responsible.firstName").value("Edson"))
+                .andExpect(jsonPath("$[0].responsibleName").value("Edson Rego"));
     }
 
     @Test
@@ -113,8 +124,8 @@ class TaskControllerIT {
         task = taskRepository.save(task);
 
         task.setExecutedDescription("Backup concluído com sucesso");
-        task.setExecutionStatus("DONE");
-        task.setTaskSituation("CLOSED");
+        task.setExecutionStatus(ExecutionStatus.DONE);
+        task.setTaskSituation(TaskSituation.CLOSED);
 
         mockMvc.perform(put("/api/tasks/{id}", task.getId())
                         .contentType("application/json")
@@ -142,17 +153,75 @@ class TaskControllerIT {
     void testSearchTasksWithFilters() throws Exception {
         Task task = new Task();
         task.setPlannedDescription("Verificar servidor");
-        task.setExecutionStatus("PENDING");
-        task.setTaskSituation("OPEN");
+        task.setExecutionStatus(ExecutionStatus.PENDING);
+        task.setTaskSituation(TaskSituation.OPEN);
         task.setDueDate(LocalDate.now().plusDays(4));
         task.setResponsible(user);
         taskRepository.save(task);
 
-        mockMvc.perform(get("/api/tasks/search")
+        MvcResult result = mockMvc.perform(get("/api/tasks/search")
                         .param("status", "PENDING")
                         .param("responsibleId", String.valueOf(user.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
                 .andExpect(jsonPath("$.content[0].plannedDescription").value("Verificar servidor"));
 
     }
+
+    @Test
+    @DisplayName("Deve aceitar qualquer campo de Task em sortBy sem paginação (desconhecido → id)")
+    void testUnpagedSortByAnyField() throws Exception {
+        Task alpha = new Task("Alpha", LocalDate.now().plusDays(1), user);
+        alpha.setExecutionStatus(ExecutionStatus.PENDING);
+        Task beta = new Task("Beta", LocalDate.now().plusDays(2), user);
+        beta.setExecutionStatus(ExecutionStatus.DONE);
+        taskRepository.save(alpha);
+        taskRepository.save(beta);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .param("paged", "false")
+                        .param("sortBy", "plannedDescription")
+                        .param("direction", "desc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].plannedDescription").value("Beta"))
+                .andExpect(jsonPath("$[1].plannedDescription").value("Alpha"));
+
+        // 🔸 Status gravado como código de uma letra: D (DONE) antes de P (PENDING)
+        result = mockMvc.perform(get("/api/tasks/search")
+                        .param("paged", "false")
+                        .param("sortBy", "executionStatus")
+                        .param("responsibleId", String.valueOf(user.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].executionStatus").value("DONE"));
+
+        result = mockMvc.perform(get("/api/tasks").param("sortBy", "naoExiste"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].plannedDescription").value("Alpha"));
+    }
+
+    @Test
+    @DisplayName("Deve exportar em streaming (NDJSON), e não o lambda serializado")
+    void testExportTasksStreaming() throws Exception {
+        taskRepository.save(new Task("Exportar tarefas", LocalDate.now().plusDays(2), user));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"plannedDescription\":\"Exportar tarefas\"")));
+    }
 }
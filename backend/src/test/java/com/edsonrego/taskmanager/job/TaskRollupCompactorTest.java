@@ -0,0 +1,75 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.report.TrendReport;
+import com.edsonrego.taskmanager.repository.TaskRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// 🔸 Sem transação do teste: cada remoção confirma na sua própria transação
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TaskRollupCompactor Tests")
+class TaskRollupCompactorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 18);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate().update("DELETE FROM task_rollups");
+    }
+
+    @Test
+    @DisplayName("Deve remover dias/semanas fora da retenção e linhas zeradas, mantendo os meses")
+    void shouldDropExpiredAndEmptyBuckets() {
+        // 🔸 Retenção: 30 dias (horizonte 2025-05-19) e 10 semanas (horizonte 2025-04-07)
+        rollup("D", LocalDate.of(2025, 5, 18), 1);
+        rollup("D", LocalDate.of(2025, 5, 19), 1);
+        rollup("D", LocalDate.of(2025, 6, 2), 0);
+        rollup("W", LocalDate.of(2025, 3, 31), 2);
+        rollup("W", LocalDate.of(2025, 4, 7), 2);
+        rollup("M", LocalDate.of(2020, 1, 1), 5);
+
+        TrendReport trendReport = new TrendReport(new TaskRollupRepository(dataSource), dataSource, "table", 1000,
+                Duration.ofDays(30), Duration.ofDays(70), Duration.ZERO);
+        TaskRollupCompactor compactor = new TaskRollupCompactor(new TaskRollupRepository(dataSource), trendReport,
+                transactionManager, true);
+
+        assertThat(compactor.run(TODAY)).isEqualTo(3);
+        assertThat(jdbcTemplate().queryForList(
+                "SELECT granularity, bucket_start FROM task_rollups ORDER BY granularity, bucket_start"))
+                .extracting(r -> r.get("GRANULARITY") + " " + r.get("BUCKET_START"))
+                .containsExactly("D 2025-05-19", "M 2020-01-01", "W 2025-04-07");
+        assertThat(compactor.run(TODAY)).isZero();
+    }
+
+    private void rollup(String granularity, LocalDate bucket, long total) {
+        jdbcTemplate().update("INSERT INTO task_rollups (granularity, bucket_start, user_id, total_tasks, pending_tasks," +
+                " done_tasks, cancelled_tasks, open_situations, closed_situations, delayed_tasks, ontime_tasks)" +
+                " VALUES (?, ?, 1, ?, ?, 0, 0, 0, 0, 0, 0)", granularity, bucket, total, total);
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+}
@@ -0,0 +1,189 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.JobWatermarkRepository;
+import com.edsonrego.taskmanager.repository.TaskChangeLogRepository;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import com.edsonrego.taskmanager.service.TaskSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// 🔸 Sem transação do teste: o job confirma um bloco por vez
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TaskSituationClassifier Tests")
+class TaskSituationClassifierTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 20);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ChangeStamps changeStamps = new ChangeStamps();
+    private final List<TaskChangedEvent> published = new CopyOnWriteArrayList<>();
+    private TaskSituationClassifier classifier;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        TaskSyncService syncService = new TaskSyncService(new TaskChangeLogRepository(dataSource), taskRepository,
+                watermarkRepository, Duration.ZERO, 5000);
+        // 🔸 Entrega aos consumidores como o contexto faria (log na transação, ETags sem transação de teste)
+        ApplicationEventPublisher publisher = event -> {
+            TaskChangedEvent changed = (TaskChangedEvent) event;
+            published.add(changed);
+            syncService.onTaskChanged(changed);
+            changeStamps.onTaskChanged(changed);
+            classifier.onTaskChanged(changed);
+        };
+        classifier = new TaskSituationClassifier(entityManager, transactionManager, watermarkRepository,
+                publisher, true, 2, 100);
+        user = userRepository.save(new User("Edson", "Rego", "classifier@test.com", "123456"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        watermarkRepository.deleteAllInBatch();
+        jdbcTemplate().update("DELETE FROM task_changes");
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve marcar como atrasadas só as pendentes vencidas, em blocos")
+    void shouldClassifyOverduePendingTasks() {
+        Task overdue1 = task("Vencida 1", TODAY.minusDays(3), ExecutionStatus.PENDING, TaskSituation.OPEN);
+        Task overdue2 = task("Vencida 2", TODAY.minusDays(2), ExecutionStatus.PENDING, TaskSituation.NOT_DELAYED);
+        Task overdue3 = task("Vencida 3", TODAY.minusDays(1), ExecutionStatus.PENDING, TaskSituation.OPEN);
+        Task done = task("Concluída", TODAY.minusDays(1), ExecutionStatus.DONE, TaskSituation.OPEN);
+        Task closed = task("Fechada", TODAY.minusDays(1), ExecutionStatus.PENDING, TaskSituation.CLOSED);
+        Task dueToday = task("Vence hoje", TODAY, ExecutionStatus.PENDING, TaskSituation.OPEN);
+        String tag = changeStamps.tasksTag();
+        String userTag = changeStamps.tasksTag(user.getId());
+
+        int changed = classifier.run(TODAY);
+
+        assertThat(changed).isEqualTo(3);
+        assertThat(situation(overdue1)).isEqualTo(TaskSituation.DELAYED);
+        assertThat(situation(overdue2)).isEqualTo(TaskSituation.DELAYED);
+        assertThat(situation(overdue3)).isEqualTo(TaskSituation.DELAYED);
+        assertThat(situation(done)).isEqualTo(TaskSituation.OPEN);
+        assertThat(situation(closed)).isEqualTo(TaskSituation.CLOSED);
+        assertThat(situation(dueToday)).isEqualTo(TaskSituation.OPEN);
+        assertThat(changeStamps.tasksTag()).isNotEqualTo(tag);
+        assertThat(changeStamps.tasksTag(user.getId())).isNotEqualTo(userTag);
+        // 🔸 Um UPDATED por tarefa reclassificada (stream, índice e ETags dependem dele)
+        assertThat(published).allMatch(e -> e.getType() == TaskChangedEvent.Type.UPDATED
+                        && user.getId().equals(e.getResponsibleId()))
+                .extracting(TaskChangedEvent::getTaskId)
+                .containsExactlyInAnyOrder(overdue1.getId(), overdue2.getId(), overdue3.getId());
+        // 🔸 Reclassificadas entram no log de alterações (sincronização incremental)
+        assertThat(jdbcTemplate().queryForObject("SELECT COUNT(*) FROM task_changes", Long.class)).isEqualTo(3);
+        assertThat(watermarkRepository.findById(TaskSituationClassifier.JOB_NAME)).get()
+                .extracting(w -> w.getWatermarkDate()).isEqualTo(TODAY);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer só a faixa vencida desde a última execução")
+    void shouldOnlyScanWindowSinceWatermark() {
+        classifier.run(TODAY);
+        // 🔸 Fora da janela [TODAY, TODAY + 1): só é vista se for reverificada pelo ID
+        Task old = task("Antiga", TODAY.minusDays(10), ExecutionStatus.PENDING, TaskSituation.OPEN);
+        Task crossed = task("Venceu hoje", TODAY, ExecutionStatus.PENDING, TaskSituation.OPEN);
+
+        int changed = classifier.run(TODAY.plusDays(1));
+
+        assertThat(changed).isEqualTo(1);
+        assertThat(situation(crossed)).isEqualTo(TaskSituation.DELAYED);
+        assertThat(situation(old)).isEqualTo(TaskSituation.OPEN);
+        assertThat(classifier.run(TODAY.plusDays(1))).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve reverificar tarefas alteradas depois da marca d'água")
+    void shouldRecheckTouchedTasks() {
+        classifier.run(TODAY);
+        Task moved = task("Vencimento movido", TODAY.minusDays(5), ExecutionStatus.PENDING, TaskSituation.OPEN);
+        classifier.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, moved.getId(), null));
+
+        int changed = classifier.run(TODAY);
+
+        assertThat(changed).isEqualTo(1);
+        assertThat(situation(moved)).isEqualTo(TaskSituation.DELAYED);
+        // 🔸 O evento da própria execução não volta para a fila de reverificação
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        classifier.bindTo(registry);
+        assertThat(registry.get("app.classifier.pending.ids").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todo o vencimento passado na primeira execução após reiniciar")
+    void shouldRescanAfterRestart() {
+        classifier.run(TODAY);
+        // 🔸 Gravada "antes do restart": a fila em memória da instância anterior se perde
+        Task backdated = task("Retroativa", TODAY.minusDays(10), ExecutionStatus.PENDING, TaskSituation.OPEN);
+        TaskSituationClassifier restarted = new TaskSituationClassifier(entityManager, transactionManager,
+                watermarkRepository, event -> { }, true, 2, 100);
+
+        assertThat(restarted.run(TODAY)).isEqualTo(1);
+        assertThat(situation(backdated)).isEqualTo(TaskSituation.DELAYED);
+        assertThat(restarted.run(TODAY)).isZero();
+    }
+
+    private Task task(String description, LocalDate dueDate, ExecutionStatus status, TaskSituation situation) {
+        Task task = new Task(description, dueDate, user);
+        task.setExecutionStatus(status);
+        task.setTaskSituation(situation);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    private TaskSituation situation(Task task) {
+        return taskRepository.findById(task.getId()).orElseThrow().getTaskSituation();
+    }
+}
@@ -0,0 +1,139 @@
+package com.edsonrego.taskmanager.job;
+
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.dto.TaskSummaryRow;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.report.SqlReportEngine;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.TaskSummaryRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// 🔸 Sem transação do teste: cada correção confirma na sua própria transação
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TaskSummaryReconciler Tests")
+class TaskSummaryReconcilerTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TaskSummaryRepository summaryRepository;
+    private SqlReportEngine sqlEngine;
+    private TaskSummaryReconciler reconciler;
+    private final ChangeStamps changeStamps = new ChangeStamps();
+
+    @BeforeEach
+    void setUp() {
+        // 🔸 H2 não tem a trigger da V19: a tabela começa vazia e só o job a preenche
+        summaryRepository = new TaskSummaryRepository(dataSource);
+        sqlEngine = new SqlReportEngine(jdbcTemplate(), summaryRepository, dataSource, "table");
+        reconciler = new TaskSummaryReconciler(summaryRepository, sqlEngine, changeStamps, transactionManager, true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate().update("DELETE FROM task_summary");
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve corrigir só os usuários divergentes e igualar o resumo à agregação")
+    void shouldRepairDriftedUsers() {
+        User missing = userRepository.save(new User("Ana", "Lima", "missing@test.com", "123456"));
+        User idle = userRepository.save(new User("Bruno", "Melo", "idle@test.com", "123456"));
+        User wrong = userRepository.save(new User("Carla", "Nunes", "wrong@test.com", "123456"));
+        task(missing, ExecutionStatus.PENDING, TaskSituation.OPEN);
+        task(missing, ExecutionStatus.DONE, TaskSituation.CLOSED);
+        task(wrong, ExecutionStatus.PENDING, TaskSituation.DELAYED);
+        jdbcTemplate().update("INSERT INTO task_summary (user_id, total_tasks, pending_tasks, done_tasks, cancelled_tasks," +
+                " open_situations, closed_situations, delayed_tasks, ontime_tasks) VALUES (?, 5, 5, 0, 0, 0, 0, 0, 0)",
+                wrong.getId());
+
+        assertThat(summaryRepository.findDrifted()).containsExactly(missing.getId(), wrong.getId());
+        String reportsTag = changeStamps.reportsTag();
+
+        int repaired = reconciler.run();
+
+        assertThat(repaired).isEqualTo(2);
+        assertThat(summaryRepository.findDrifted()).isEmpty();
+        // 🔸 Números corrigidos sem escrita em tarefas: o ETag dos relatórios precisa mudar
+        assertThat(changeStamps.reportsTag()).isNotEqualTo(reportsTag);
+        reportsTag = changeStamps.reportsTag();
+        assertThat(reconciler.run()).isZero();
+        assertThat(changeStamps.reportsTag()).isEqualTo(reportsTag);
+
+        List<TaskSummaryRow> summary = sqlEngine.summary();
+        assertThat(summary).isEqualTo(summaryRepository.aggregateAll());
+        assertThat(row(summary, missing).totalTasks()).isEqualTo(2);
+        assertThat(row(summary, missing).doneTasks()).isEqualTo(1);
+        assertThat(row(summary, missing).completionRate()).isEqualByComparingTo("50");
+        assertThat(row(summary, wrong).totalTasks()).isEqualTo(1);
+        assertThat(row(summary, wrong).delayedTasks()).isEqualTo(1);
+        // 🔸 Usuário sem tarefas aparece com zeros, como na view
+        assertThat(row(summary, idle).totalTasks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve recontar pelas tarefas atuais ao corrigir")
+    void shouldRecountOnRepair() {
+        User user = userRepository.save(new User("Edson", "Rego", "recount@test.com", "123456"));
+        Task task = task(user, ExecutionStatus.PENDING, TaskSituation.OPEN);
+        reconciler.run();
+
+        task.setExecutionStatus(ExecutionStatus.CANCELLED);
+        taskRepository.saveAndFlush(task);
+
+        assertThat(reconciler.run()).isEqualTo(1);
+        TaskSummaryRow row = row(sqlEngine.summary(), user);
+        assertThat(row.pendingTasks()).isZero();
+        assertThat(row.cancelledTasks()).isEqualTo(1);
+    }
+
+    private Task task(User responsible, ExecutionStatus status, TaskSituation situation) {
+        Task task = new Task("Tarefa de " + responsible.getFirstName(), LocalDate.now().plusDays(1), responsible);
+        task.setExecutionStatus(status);
+        task.setTaskSituation(situation);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private static TaskSummaryRow row(List<TaskSummaryRow> summary, User user) {
+        return summary.stream()
+                .filter(r -> r.userId() == user.getId())
+                .findFirst().orElseThrow();
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+}
@@ -0,0 +1,124 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.dto.CompletionRateRow;
+import com.edsonrego.taskmanager.dto.ReportRow;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.TaskSummaryRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// 🔸 Sem transação do teste: o motor lê em transação própria (somente leitura)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JvmReportEngine Tests")
+class JvmReportEngineTest {
+
+    private static final ExecutionStatus[] STATUSES = ExecutionStatus.values();
+    private static final TaskSituation[] SITUATIONS = {
+            TaskSituation.OPEN, TaskSituation.CLOSED, TaskSituation.DELAYED, TaskSituation.NOT_DELAYED, null};
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SqlReportEngine sqlEngine;
+    private final List<JvmReportEngine> engines = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sqlEngine = new SqlReportEngine(jdbcTemplate(), new TaskSummaryRepository(dataSource), dataSource, "live");
+
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < 5; u++) {
+            users.add(userRepository.save(new User("User", "N" + u, "report" + u + "@test.com", "123456")));
+        }
+        // 🔸 O último usuário fica sem tarefas (linha com zeros e taxas nulas)
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            Task task = new Task("Tarefa " + i, LocalDate.now().plusDays(i % 10), users.get(i % 4));
+            task.setExecutionStatus(STATUSES[i % STATUSES.length]);
+            task.setTaskSituation(SITUATIONS[(i / 3) % SITUATIONS.length]);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        engines.forEach(JvmReportEngine::shutdown);
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve calcular o mesmo resumo que a agregação em SQL (leitura única)")
+    void shouldMatchSqlSummaryInline() {
+        JvmReportEngine engine = engine(1);
+
+        assertThat(engine.summary()).isEqualTo(sqlEngine.summary());
+    }
+
+    @Test
+    @DisplayName("Deve calcular as mesmas taxas que a agregação em SQL (workers em paralelo)")
+    void shouldMatchSqlCompletionRatesInParallel() {
+        JvmReportEngine engine = engine(3);
+
+        List<CompletionRateRow> rates = engine.completionRates();
+
+        assertThat(rates).isEqualTo(sqlEngine.completionRates());
+        assertThat(rates).hasSize(5);
+        assertThat(rates.get(4).summary().totalTasks()).isZero();
+        assertThat(rates.get(4).summary().completionRate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve arredondar as taxas como ROUND(..., 2)")
+    void shouldRoundRatesLikeSql() {
+        assertThat(ReportRow.rate(1, 3)).isEqualByComparingTo("33.33");
+        assertThat(ReportRow.rate(2, 3)).isEqualByComparingTo("66.67");
+        assertThat(ReportRow.rate(0, 0)).isNull();
+    }
+
+    private JvmReportEngine engine(int parallelism) {
+        // 🔸 Lotes pequenos: várias trocas de lote entre a leitura e os workers
+        JvmReportEngine engine = new JvmReportEngine(new TaskJdbcRepository(dataSource, 100), jdbcTemplate(),
+                transactionManager, parallelism, 64);
+        engines.add(engine);
+        return engine;
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+}
@@ -0,0 +1,171 @@
+package com.edsonrego.taskmanager.report;
+
+import com.edsonrego.taskmanager.dto.TrendBucket;
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.TaskRollupRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// 🔸 Sem transação do teste: as consultas JDBC precisam enxergar os dados confirmados
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("TrendReport Tests")
+class TrendReportTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 8);
+    private static final LocalDate TO = LocalDate.of(2025, 2, 5);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User ana;
+    private User bruno;
+
+    @BeforeEach
+    void setUp() {
+        ana = userRepository.save(new User("Ana", "Lima", "trend-ana@test.com", "123456"));
+        bruno = userRepository.save(new User("Bruno", "Melo", "trend-bruno@test.com", "123456"));
+        task(ana, LocalDate.of(2025, 1, 6), ExecutionStatus.DONE, TaskSituation.CLOSED);
+        task(ana, LocalDate.of(2025, 1, 8), ExecutionStatus.PENDING, TaskSituation.DELAYED);
+        task(bruno, LocalDate.of(2025, 1, 12), ExecutionStatus.DONE, TaskSituation.NOT_DELAYED);
+        task(ana, LocalDate.of(2025, 1, 20), ExecutionStatus.CANCELLED, null);
+        task(bruno, LocalDate.of(2025, 2, 3), ExecutionStatus.PENDING, TaskSituation.OPEN);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate().update("DELETE FROM task_rollups");
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por semana ISO a partir das tarefas, com buckets vazios zerados")
+    void shouldBucketWeeksLive() {
+        List<TrendBucket> weeks = report("live", 1000, Duration.ZERO).trends(TrendGranularity.WEEK, FROM, TO, null);
+
+        assertThat(weeks).extracting(TrendBucket::bucketStart).containsExactly(
+                LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 20),
+                LocalDate.of(2025, 1, 27), LocalDate.of(2025, 2, 3));
+        assertThat(weeks.get(0)).isEqualTo(new TrendBucket(LocalDate.of(2025, 1, 6), 3, 1, 2, 0, 0, 1, 1, 1));
+        assertThat(weeks.get(0).completionRate()).isEqualTo(new BigDecimal("66.67"));
+        assertThat(weeks.get(0).delayRate()).isEqualTo(new BigDecimal("33.33"));
+        assertThat(weeks.get(1).totalTasks()).isZero();
+        assertThat(weeks.get(1).completionRate()).isNull();
+        assertThat(weeks.get(2).cancelledTasks()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por usuário e agrupar por mês")
+    void shouldFilterByUserAndMonth() {
+        TrendReport report = report("live", 1000, Duration.ZERO);
+
+        List<TrendBucket> months = report.trends(TrendGranularity.MONTH, FROM, TO, null);
+        assertThat(months).hasSize(2);
+        assertThat(months.get(0).bucketStart()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(months.get(0).totalTasks()).isEqualTo(4);
+        assertThat(months.get(1).totalTasks()).isEqualTo(1);
+        assertThat(months.get(1).pendingTasks()).isEqualTo(1);
+
+        List<TrendBucket> brunoWeeks = report.trends(TrendGranularity.WEEK, FROM, FROM, bruno.getId());
+        assertThat(brunoWeeks).singleElement()
+                .satisfies(b -> assertThat(b.totalTasks()).isEqualTo(1))
+                .satisfies(b -> assertThat(b.completionRate()).isEqualTo(new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Deve responder igual a partir de task_rollups")
+    void shouldMatchLiveFromRollupTable() {
+        rollup("W", LocalDate.of(2025, 1, 6), ana, 2, 1, 1, 0, 0, 1, 1, 0);
+        rollup("W", LocalDate.of(2025, 1, 6), bruno, 1, 0, 1, 0, 0, 0, 0, 1);
+        rollup("W", LocalDate.of(2025, 1, 20), ana, 1, 0, 0, 1, 0, 0, 0, 0);
+        rollup("W", LocalDate.of(2025, 2, 3), bruno, 1, 1, 0, 0, 1, 0, 0, 0);
+        rollup("M", LocalDate.of(2025, 1, 1), ana, 3, 1, 1, 1, 0, 1, 1, 0);
+        rollup("M", LocalDate.of(2025, 1, 1), bruno, 1, 0, 1, 0, 0, 0, 0, 1);
+        rollup("M", LocalDate.of(2025, 2, 1), bruno, 1, 1, 0, 0, 1, 0, 0, 0);
+
+        TrendReport live = report("live", 1000, Duration.ZERO);
+        TrendReport table = report("table", 1000, Duration.ZERO);
+
+        for (TrendGranularity granularity : List.of(TrendGranularity.WEEK, TrendGranularity.MONTH)) {
+            assertThat(table.trends(granularity, FROM, TO, null)).isEqualTo(live.trends(granularity, FROM, TO, null));
+            assertThat(table.trends(granularity, FROM, TO, ana.getId()))
+                    .isEqualTo(live.trends(granularity, FROM, TO, ana.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve limitar o início ao horizonte do nível e recusar períodos inválidos")
+    void shouldClampToHorizonAndValidateRange() {
+        LocalDate today = LocalDate.now();
+
+        List<TrendBucket> days = report("table", 1000, Duration.ofDays(90))
+                .trends(TrendGranularity.DAY, today.minusDays(200), today, null);
+        assertThat(days).hasSize(91);
+        assertThat(days.get(0).bucketStart()).isEqualTo(today.minusDays(90));
+
+        TrendReport live = report("live", 50, Duration.ZERO);
+        assertThatThrownBy(() -> live.trends(TrendGranularity.DAY, today.minusYears(1), today, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> live.trends(TrendGranularity.WEEK, TO, FROM, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TrendReport report(String source, int maxBuckets, Duration dayRetention) {
+        return new TrendReport(new TaskRollupRepository(dataSource), dataSource, source, maxBuckets,
+                dayRetention, Duration.ZERO, Duration.ZERO);
+    }
+
+    private void task(User responsible, LocalDate dueDate, ExecutionStatus status, TaskSituation situation) {
+        Task task = new Task("Tarefa de " + responsible.getFirstName(), dueDate, responsible);
+        task.setExecutionStatus(status);
+        task.setTaskSituation(situation);
+        taskRepository.saveAndFlush(task);
+    }
+
+    // 🔸 H2 não tem as triggers da V20/V24: as linhas são gravadas como elas gravariam
+    private void rollup(String granularity, LocalDate bucket, User user, long... counters) {
+        Object[] args = new Object[3 + counters.length];
+        args[0] = granularity;
+        args[1] = bucket;
+        args[2] = user.getId();
+        for (int i = 0; i < counters.length; i++) args[3 + i] = counters[i];
+        jdbcTemplate().update("INSERT INTO task_rollups (granularity, bucket_start, user_id, total_tasks, pending_tasks," +
+                " done_tasks, cancelled_tasks, open_situations, closed_situations, delayed_tasks, ontime_tasks)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", args);
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+}
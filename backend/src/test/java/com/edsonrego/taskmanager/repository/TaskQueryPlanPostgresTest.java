@@ -0,0 +1,66 @@
+package com.edsonrego.taskmanager.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * 🐘 Planos de consulta no PostgreSQL embarcado (índices das migrations, estatísticas reais).
+ *
+ * O EXPLAIN do H2 (TaskRepositoryTest) não garante o plano do PostgreSQL. Pulado quando roda como root.
+ */
+@DisplayName("Planos de consulta no PostgreSQL")
+class TaskQueryPlanPostgresTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL não roda como root");
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+
+        // 🔸 Linhas suficientes (vencimentos espalhados por ~5 anos) + ANALYZE: o planejador decide pelo custo
+        long userId = jdbc.queryForObject("INSERT INTO users (first_name, last_name, email, password)" +
+                " VALUES ('Plano', 'Teste', 'plano@pg.test', 'x') RETURNING id", Long.class);
+        jdbc.update("INSERT INTO tasks (planned_description, due_date, execution_status, task_situation, responsible_id)" +
+                " SELECT 'Tarefa ' || n, TIMESTAMP '2022-01-01' + n * INTERVAL '2 hours', 'P', 'O', ?" +
+                " FROM generate_series(1, 20000) AS n", userId);
+        jdbc.execute("ANALYZE tasks");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) postgres.close();
+    }
+
+    @Test
+    @DisplayName("Faixa semiaberta de vencimento deve usar o índice (due_date, id); CAST(due_date AS DATE) não")
+    void shouldUseDueDateIndexForHalfOpenRange() {
+        // Act
+        String range = explain("SELECT * FROM tasks WHERE due_date >= DATE '2023-10-01' AND due_date < DATE '2023-11-01'");
+        String wrapped = explain("SELECT * FROM tasks WHERE CAST(due_date AS DATE) = DATE '2023-10-01'");
+
+        // Assert
+        // 🔸 due_date é TIMESTAMP (V2): o CAST vira expressão sobre a coluna e o índice não serve
+        assertThat(range).contains("idx_tasks_due_date_id").contains("Index Cond: ((due_date >=");
+        assertThat(wrapped).doesNotContain("idx_tasks_due_date_id").doesNotContain("Index Cond");
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -1,6 +1,9 @@
 package com.edsonrego.taskmanager.repository;
 
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
 import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
 import com.edsonrego.taskmanager.model.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,10 +13,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,6 +32,9 @@ class TaskRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Deve salvar uma tarefa vinculada a um usuário")
     void shouldSaveTaskWithUser() {
@@ -36,8 +44,8 @@ class TaskRepositoryTest {
 
         Task task = new Task();
         task.setPlannedDescription("Testar persistência de tarefa");
-        task.setExecutionStatus("PENDING");
-        task.setTaskSituation("OPEN");
+        task.setExecutionStatus(ExecutionStatus.PENDING);
+        task.setTaskSituation(TaskSituation.OPEN);
         task.setCreationDate(LocalDate.now());
         task.setDueDate(LocalDate.now().plusDays(3));
         task.setResponsible(user);
@@ -59,16 +67,16 @@ class TaskRepositoryTest {
 
         Task task1 = new Task();
         task1.setPlannedDescription("Tarefa mais antiga");
-        task1.setExecutionStatus("PENDING");
-        task1.setTaskSituation("OPEN");
+        task1.setExecutionStatus(ExecutionStatus.PENDING);
+        task1.setTaskSituation(TaskSituation.OPEN);
         task1.setCreationDate(LocalDate.now());
         task1.setDueDate(LocalDate.now().plusDays(1));
         task1.setResponsible(user);
 
         Task task2 = new Task();
         task2.setPlannedDescription("Tarefa mais recente");
-        task2.setExecutionStatus("PENDING");
-        task2.setTaskSituation("OPEN");
+        task2.setExecutionStatus(ExecutionStatus.PENDING);
+        task2.setTaskSituation(TaskSituation.OPEN);
         task2.setCreationDate(LocalDate.now());
         task2.setDueDate(LocalDate.now().plusDays(5));
         task2.setResponsible(user);
@@ -94,8 +102,8 @@ class TaskRepositoryTest {
         for (int i = 1; i <= 7; i++) {
             Task task = new Task();
             task.setPlannedDescription("Tarefa " + i);
-            task.setExecutionStatus("PENDING");
-            task.setTaskSituation("OPEN");
+            task.setExecutionStatus(ExecutionStatus.PENDING);
+            task.setTaskSituation(TaskSituation.OPEN);
             task.setCreationDate(LocalDate.now());
             task.setDueDate(LocalDate.now().plusDays(i));
             task.setResponsible(user);
@@ -112,4 +120,119 @@ class TaskRepositoryTest {
         assertThat(page.getTotalElements()).isEqualTo(7);
         assertThat(page.getTotalPages()).isEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Deve projetar tarefas direto em TaskDTO com o nome do responsável")
+    void shouldProjectTasksIntoDto() {
+        // Arrange
+        User user = new User("Edson", "Rego", "edson4@test.com", "123456");
+        userRepository.save(user);
+
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Task("Projeção " + i, LocalDate.now().plusDays(i), user);
+            task.setTaskSituation(TaskSituation.OPEN);
+            taskRepository.save(task);
+        }
+
+        // Act
+        Page<TaskDTO> page = taskRepository.findAllAsDto(
+                (root, q, cb) -> cb.equal(root.get("responsible").get("id"), user.getId()),
+                PageRequest.of(0, 2, Sort.by("dueDate").descending()));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent().get(0).getPlannedDescription()).isEqualTo("Projeção 3");
+        assertThat(page.getContent().get(0).getResponsibleId()).isEqualTo(user.getId());
+        assertThat(page.getContent().get(0).getResponsibleName()).isEqualTo("Edson Rego");
+    }
+
+    @Test
+    @DisplayName("Faixa semiaberta de vencimento deve usar o índice (due_date, id); DATE(due_date) não")
+    void shouldUseDueDateIndexForHalfOpenRange() {
+        // Act
+        String range = explain("SELECT * FROM tasks WHERE due_date >= DATE '2025-10-01' AND due_date < DATE '2025-11-01'");
+        String wrapped = explain("SELECT * FROM tasks WHERE CAST(due_date AS DATE) = DATE '2025-10-01'");
+
+        // Assert
+        // 🔸 H2 anota o índice escolhido e a condição usada na busca: /* PUBLIC.IDX...: DUE_DATE >= ... */
+        //    (o mesmo plano no PostgreSQL: TaskQueryPlanPostgresTest)
+        assertThat(range).containsIgnoringCase("IDX_TASKS_DUE_DATE_ID: DUE_DATE >=");
+        assertThat(wrapped).doesNotContainIgnoringCase("IDX_TASKS_DUE_DATE_ID:");
+    }
+
+    @Test
+    @DisplayName("Deve gravar status e situação como códigos de 1 caractere")
+    void shouldStoreCompactStatusCodes() {
+        // Arrange
+        User user = userRepository.save(new User("Edson", "Rego", "edson5@test.com", "123456"));
+        Task task = new Task("Códigos compactos", LocalDate.now(), user);
+        task.setExecutionStatus(ExecutionStatus.from("done"));
+        task.setTaskSituation(TaskSituation.from("not_delayed"));
+        taskRepository.saveAndFlush(task);
+
+        // Act
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT execution_status, task_situation FROM tasks WHERE id = ?", task.getId());
+
+        // Assert
+        assertThat(row.get("EXECUTION_STATUS").toString().trim()).isEqualTo("D");
+        assertThat(row.get("TASK_SITUATION").toString().trim()).isEqualTo("N");
+        assertThat(taskRepository.findById(task.getId())).get()
+                .extracting(Task::getExecutionStatus, Task::getTaskSituation)
+                .containsExactly(ExecutionStatus.DONE, TaskSituation.NOT_DELAYED);
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão a cada alteração e expô-la sem carregar a tarefa")
+    void shouldIncrementRowVersion() {
+        // Arrange
+        User user = userRepository.save(new User("Edson", "Rego", "edson6@test.com", "123456"));
+        Task task = taskRepository.saveAndFlush(new Task("Versionada", LocalDate.now(), user));
+        Long initial = task.getVersion();
+
+        // Act
+        task.setExecutedDescription("Alterada");
+        taskRepository.saveAndFlush(task);
+
+        // Assert
+        assertThat(initial).isZero();
+        assertThat(task.getVersion()).isEqualTo(1L);
+        assertThat(taskRepository.findVersionById(task.getId())).get()
+                .extracting(TaskRepository.VersionView::getVersion, TaskRepository.VersionView::getResponsibleVersion)
+                .containsExactly(1L, 0L);
+        assertThat(taskRepository.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve alterar só as colunas enviadas e respeitar a versão esperada")
+    void shouldUpdatePartiallyWithExpectedVersion() {
+        // Arrange
+        User user = userRepository.save(new User("Edson", "Rego", "edson7@test.com", "123456"));
+        Task task = taskRepository.saveAndFlush(new Task("Parcial", LocalDate.now(), user));
+        Task changes = new Task();
+        changes.setExecutionStatus(ExecutionStatus.DONE);
+
+        // Act
+        int stale = taskRepository.updatePartial(task.getId(), changes, 5L);
+        int updated = taskRepository.updatePartial(task.getId(), changes, 0L);
+        int missing = taskRepository.updatePartial(-1L, changes, null);
+
+        // Assert
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT planned_description, execution_status, version FROM tasks WHERE id = ?", task.getId());
+        assertThat(row.get("PLANNED_DESCRIPTION")).isEqualTo("Parcial");
+        assertThat(row.get("EXECUTION_STATUS").toString().trim()).isEqualTo("D");
+        assertThat(((Number) row.get("VERSION")).longValue()).isEqualTo(1L);
+        assertThat(taskRepository.deleteReturningResponsibles(List.of(task.getId(), -1L)))
+                .containsExactly(Map.entry(task.getId(), user.getId()));
+        assertThat(taskRepository.deleteReturningResponsibles(List.of(task.getId()))).isEmpty();
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
 }
@@ -0,0 +1,222 @@
+package com.edsonrego.taskmanager.repository;
+
+import com.edsonrego.taskmanager.dto.TrendGranularity;
+import com.edsonrego.taskmanager.report.TrendReport;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * 🐘 Triggers das migrations (V19+) num PostgreSQL embarcado, com o Flyway aplicando V1..Vn.
+ *
+ * O H2 dos demais testes não tem as triggers. Pulado quando roda como root (o PostgreSQL recusa).
+ */
+@DisplayName("Triggers das migrations no PostgreSQL")
+class TaskTriggersPostgresTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL não roda como root");
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) postgres.close();
+    }
+
+    @BeforeEach
+    void cleanUp() {
+        // 🔸 TRUNCATE não dispara as triggers de linha: zera tarefas, usuários, resumo e rollups juntos
+        jdbc.execute("TRUNCATE tasks, users, task_summary, task_rollups, task_changes CASCADE");
+    }
+
+    @Test
+    @DisplayName("Deve manter task_summary igual às tarefas em inserções, mudanças, reatribuições e remoções")
+    void shouldKeepSummaryInSync() {
+        long ana = user("ana");
+        long bruno = user("bruno");
+        long t1 = task(ana, "P", "O");
+        long t2 = task(ana, "P", "O");
+        task(bruno, "D", "C");
+
+        jdbc.update("UPDATE tasks SET execution_status = 'D', task_situation = 'C' WHERE id = ?", t1);
+        jdbc.update("UPDATE tasks SET responsible_id = ? WHERE id = ?", bruno, t2);
+        jdbc.update("UPDATE tasks SET planned_description = 'só a descrição' WHERE id = ?", t1);
+
+        assertThat(summary(ana)).containsEntry("total_tasks", 1L).containsEntry("done_tasks", 1L)
+                .containsEntry("pending_tasks", 0L);
+        assertThat(summary(bruno)).containsEntry("total_tasks", 2L).containsEntry("pending_tasks", 1L);
+        assertThat(new TaskSummaryRepository(dataSource).findDrifted()).isEmpty();
+
+        jdbc.update("DELETE FROM tasks WHERE id = ?", t1);
+        jdbc.update("DELETE FROM users WHERE id = ?", bruno);
+
+        assertThat(summary(ana)).containsEntry("total_tasks", 0L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM task_summary WHERE user_id = ?", Long.class, bruno))
+                .isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM task_summary_deltas", Long.class)).isZero();
+        assertThat(new TaskSummaryRepository(dataSource).findDrifted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter task_rollups igual à agregação por vencimento em todos os níveis")
+    void shouldKeepRollupsInSync() {
+        long ana = user("ana");
+        long bruno = user("bruno");
+        long t1 = task(ana, LocalDate.of(2025, 1, 6), "P", "O");
+        long t2 = task(ana, LocalDate.of(2025, 1, 12), "P", "L");
+        long t3 = task(bruno, LocalDate.of(2025, 1, 31), "D", "C");
+        task(bruno, LocalDate.of(2025, 2, 3), "P", "N");
+        task(ana, null, "P", "O");
+
+        jdbc.update("UPDATE tasks SET execution_status = 'D', task_situation = 'C' WHERE id = ?", t1);
+        jdbc.update("UPDATE tasks SET due_date = ? WHERE id = ?", LocalDate.of(2025, 2, 10), t2);
+        jdbc.update("UPDATE tasks SET responsible_id = ? WHERE id = ?", ana, t3);
+        jdbc.update("DELETE FROM tasks WHERE id = ?", t1);
+
+        // 🔹 A compactação só remove as linhas que ficaram zeradas (t1 removida, t2 mudou de bucket)
+        assertThat(new TaskRollupRepository(dataSource).deleteEmpty()).isPositive();
+
+        TrendReport live = trends("live");
+        TrendReport table = trends("table");
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            assertThat(table.trends(granularity, from, to, null)).isEqualTo(live.trends(granularity, from, to, null));
+            assertThat(table.trends(granularity, from, to, ana)).isEqualTo(live.trends(granularity, from, to, ana));
+        }
+        assertThat(rollup("M", LocalDate.of(2025, 2, 1), ana)).containsEntry("total_tasks", 1L)
+                .containsEntry("delayed_tasks", 1L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM task_rollup_deltas", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve travar resumo nem rollups antes do commit: transações cruzadas não entram em deadlock")
+    void shouldNotDeadlockOnCrossedUsers() throws SQLException {
+        long ana = user("ana");
+        long bruno = user("bruno");
+        long a1 = task(ana, "P", "O");
+        long a2 = task(ana, "P", "O");
+        long b1 = task(bruno, "P", "O");
+        long b2 = task(bruno, "P", "O");
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            begin(first);
+            begin(second);
+
+            // 🔸 Com as triggers da V19/V20 o 4º comando esperaria o 1º e o 1º o 4º (deadlock)
+            markDone(first, a1);
+            markDone(second, b1);
+            markDone(first, b2);
+            markDone(second, a2);
+
+            // 🔹 Antes do commit nada foi aplicado (nem travado) no resumo e nos rollups
+            assertThat(summary(ana)).containsEntry("done_tasks", 0L);
+            assertThat(rollup("D", LocalDate.of(2025, 1, 8), ana)).containsEntry("done_tasks", 0L);
+
+            first.commit();
+            second.commit();
+        }
+
+        assertThat(summary(ana)).containsEntry("done_tasks", 2L).containsEntry("pending_tasks", 0L);
+        assertThat(summary(bruno)).containsEntry("done_tasks", 2L).containsEntry("pending_tasks", 0L);
+        assertThat(new TaskSummaryRepository(dataSource).findDrifted()).isEmpty();
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            LocalDate bucket = granularity.bucketStart(LocalDate.of(2025, 1, 8));
+            assertThat(rollup(granularity.getCode(), bucket, ana)).containsEntry("done_tasks", 2L).containsEntry("pending_tasks", 0L);
+            assertThat(rollup(granularity.getCode(), bucket, bruno)).containsEntry("done_tasks", 2L);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar os deltas de uma transação desfeita")
+    void shouldDiscardDeltasOnRollback() throws SQLException {
+        long ana = user("ana");
+        long t1 = task(ana, "P", "O");
+
+        try (Connection connection = dataSource.getConnection()) {
+            begin(connection);
+            markDone(connection, t1);
+            connection.rollback();
+        }
+
+        assertThat(summary(ana)).containsEntry("pending_tasks", 1L).containsEntry("done_tasks", 0L);
+        assertThat(rollup("D", LocalDate.of(2025, 1, 8), ana)).containsEntry("pending_tasks", 1L)
+                .containsEntry("done_tasks", 0L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM task_summary_deltas", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM task_rollup_deltas", Long.class)).isZero();
+    }
+
+    // 🔹 lock_timeout: uma espera por lock vira erro em vez de travar o teste
+    private static void begin(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement("SET LOCAL lock_timeout = '5s'")) {
+            ps.execute();
+        }
+    }
+
+    private static void markDone(Connection connection, long taskId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "UPDATE tasks SET execution_status = 'D', task_situation = 'C' WHERE id = ?")) {
+            ps.setLong(1, taskId);
+            ps.executeUpdate();
+        }
+    }
+
+    private Map<String, Object> summary(long userId) {
+        return jdbc.queryForMap("SELECT total_tasks, pending_tasks, done_tasks, cancelled_tasks, open_situations," +
+                " closed_situations, delayed_tasks, ontime_tasks FROM task_summary WHERE user_id = ?", userId);
+    }
+
+    private Map<String, Object> rollup(String granularity, LocalDate bucket, long userId) {
+        return jdbc.queryForMap("SELECT total_tasks, pending_tasks, done_tasks, cancelled_tasks, open_situations," +
+                " closed_situations, delayed_tasks, ontime_tasks FROM task_rollups" +
+                " WHERE granularity = ? AND bucket_start = ? AND user_id = ?", granularity, bucket, userId);
+    }
+
+    // 🔹 Sem compactação: "table" lê task_rollups, "live" agrega tasks na hora
+    private static TrendReport trends(String source) {
+        return new TrendReport(new TaskRollupRepository(dataSource), dataSource, source, 1000,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    }
+
+    private long user(String name) {
+        return jdbc.queryForObject("INSERT INTO users (first_name, last_name, email, password)" +
+                " VALUES (?, 'Teste', ?, 'x') RETURNING id", Long.class, name, name + "@pg.test");
+    }
+
+    private long task(long userId, String status, String situation) {
+        return task(userId, LocalDate.of(2025, 1, 8), status, situation);
+    }
+
+    private long task(long userId, LocalDate dueDate, String status, String situation) {
+        return jdbc.queryForObject("INSERT INTO tasks (planned_description, due_date, execution_status," +
+                        " task_situation, responsible_id) VALUES ('Tarefa', ?, ?, ?, ?) RETURNING id",
+                Long.class, dueDate, status, situation, userId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.edsonrego.taskmanager.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryTrigramIndex Unit Tests")
+class InMemoryTrigramIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private InMemoryTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 🔸 O índice não guarda o texto: confirma no banco (tabela mínima em H2)
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:trigram-index;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, planned_description VARCHAR(255))");
+        save(1L, "Preparar relatório mensal");
+        save(2L, "Relatório financeiro");
+        save(3L, "Revisar backlog");
+        save(4L, "Enviar correlatório");
+
+        index = new InMemoryTrigramIndex(jdbcTemplate, 100);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE tasks");
+    }
+
+    @Test
+    @DisplayName("Deve encontrar candidatos com todos os trigramas do texto (case-insensitive)")
+    void shouldFindSubstring() {
+        assertThat(index.candidates("latório")).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.candidates("backlog")).containsExactly(3L);
+        assertThat(index.candidates("inexistente")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância: início da descrição, início de palavra, trecho")
+    void shouldRankPrefixFirst() {
+        assertThat(index.rank("Relat", 10)).containsExactly(2L, 1L, 4L);
+        assertThat(index.rank("re", 10)).containsExactly(2L, 3L, 1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve considerar semelhança aproximada quando não há trecho exato")
+    void shouldRankSimilarDescriptions() {
+        assertThat(index.rank("backlogs", 10)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Deve refletir alterações e remoções")
+    void shouldApplyUpdatesAndRemovals() {
+        save(3L, "Revisar sprint");
+        index.index(3L, "Revisar sprint");
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = 2");
+        index.remove(2L);
+
+        assertThat(index.candidates("backlog")).isEmpty();
+        assertThat(index.candidates("sprint")).containsExactly(3L);
+        assertThat(index.candidates("financeiro")).isEmpty();
+        assertThat(index.rank("Relat", 10)).containsExactly(1L, 4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve ocupar poucos bytes por tarefa e não crescer com alterações repetidas")
+    void shouldStayCompact() {
+        String[] words = {"preparar", "relatório", "mensal", "revisar", "backlog", "enviar", "contrato",
+                "cliente", "reunião", "financeiro", "sprint", "servidor"};
+        int tasks = 100_000;
+        for (int i = 0; i < tasks; i++) {
+            index.index(10L + i, words[i % 12] + " " + words[(i / 12) % 12] + " " + words[(i / 144) % 12] + " " + i);
+        }
+        long bytes = index.footprintBytes();
+        // 📊 ~40 letras por descrição: HashSet<Long> por trigrama passava de 1,5 KB por tarefa
+        assertThat(bytes / tasks).isLessThan(300);
+
+        // 🔸 Reindexar com a mesma descrição não cria documento novo
+        for (int i = 0; i < tasks; i++) {
+            index.index(10L + i, words[i % 12] + " " + words[(i / 12) % 12] + " " + words[(i / 144) % 12] + " " + i);
+        }
+        assertThat(index.footprintBytes()).isEqualTo(bytes);
+
+        // 🧹 Descrições trocadas várias vezes: a compactação descarta os documentos antigos
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < tasks; i++) index.index(10L + i, "rodada " + round + " tarefa " + i);
+        }
+        assertThat(index.size()).isEqualTo(tasks + 4);
+        assertThat(index.candidates("rodada 2 tarefa 99999")).contains(10L + 99_999);
+        assertThat(index.candidates("rodada 1 tarefa")).isEmpty();
+        assertThat(index.footprintBytes() / tasks).isLessThan(600);
+    }
+
+    private void save(Long id, String description) {
+        jdbcTemplate.update("MERGE INTO tasks (id, planned_description) KEY (id) VALUES (?, ?)", id, description);
+    }
+}
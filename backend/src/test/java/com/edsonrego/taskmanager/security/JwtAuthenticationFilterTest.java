@@ -0,0 +1,81 @@
+package com.edsonrego.taskmanager.security;
+
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = new JwtService("test-secret-key-with-at-least-32-bytes!!");
+    private final UserService userService = mock(UserService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userService,
+            mock(TokenEpochRegistry.class), false);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Edson", "Rego", "edson@test.com", "hash");
+        user.setId(1L);
+        when(userService.findByEmail("edson@test.com")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar ?access_token= de escopo task-stream só em GET /api/tasks/stream")
+    void shouldAcceptStreamTokenOnlyOnStream() throws Exception {
+        String streamToken = jwtService.generateStreamToken(user, Duration.ofMinutes(1));
+
+        assertThat(authenticate(get("/api/tasks/stream", streamToken))).isNotNull();
+        assertThat(authenticate(get("/api/tasks", streamToken))).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve recusar token comum na URL e token de stream como Bearer")
+    void shouldNotMixTokenScopes() throws Exception {
+        String loginToken = jwtService.generateToken(user);
+        String streamToken = jwtService.generateStreamToken(user, Duration.ofMinutes(1));
+
+        assertThat(authenticate(get("/api/tasks/stream", loginToken))).isNull();
+
+        MockHttpServletRequest bearer = new MockHttpServletRequest("GET", "/api/tasks");
+        bearer.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + streamToken);
+        assertThat(authenticate(bearer)).isNull();
+
+        MockHttpServletRequest login = new MockHttpServletRequest("GET", "/api/tasks");
+        login.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + loginToken);
+        assertThat(authenticate(login)).isNotNull();
+    }
+
+    private static MockHttpServletRequest get(String uri, String accessToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setParameter("access_token", accessToken);
+        return request;
+    }
+
+    private Authentication authenticate(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
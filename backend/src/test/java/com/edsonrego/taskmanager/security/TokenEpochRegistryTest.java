@@ -0,0 +1,74 @@
+package com.edsonrego.taskmanager.security;
+
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenEpochRegistry Unit Tests")
+class TokenEpochRegistryTest {
+
+    private UserRepository userRepository;
+    private TokenEpochRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new TokenEpochRegistry(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas no primeiro acesso")
+    void shouldLoadEpochOnce() {
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.of(2));
+
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        verify(userRepository, times(1)).findTokenEpochById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens após alteração ou remoção do usuário")
+    void shouldRejectStaleTokens() {
+        registry.update(1L, 0);
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+
+        registry.update(1L, 1);
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+
+        registry.revoke(1L);
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve reler o epoch do banco após o intervalo (alteração feita em outra instância)")
+    void shouldRefreshEpochFromDatabase() {
+        AtomicLong now = new AtomicLong(1_000);
+        TokenEpochRegistry refreshing = new TokenEpochRegistry(userRepository, Duration.ofSeconds(30), 100, now::get);
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.of(2), Optional.of(3));
+
+        assertThat(refreshing.isCurrent(1L, 2)).isTrue();
+        now.addAndGet(29_000);
+        assertThat(refreshing.isCurrent(1L, 2)).isTrue();
+        now.addAndGet(2_000);
+        assertThat(refreshing.isCurrent(1L, 2)).isFalse();
+        assertThat(refreshing.isCurrent(1L, 3)).isTrue();
+        verify(userRepository, times(2)).findTokenEpochById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens de usuário inexistente")
+    void shouldRejectUnknownUser() {
+        when(userRepository.findTokenEpochById(99L)).thenReturn(Optional.empty());
+
+        assertThat(registry.isCurrent(99L, 0)).isFalse();
+    }
+}
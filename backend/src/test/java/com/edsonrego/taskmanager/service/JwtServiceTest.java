@@ -120,4 +120,33 @@ class JwtServiceTest {
 
         assertThat(valid).isFalse(); // método já trata internamente a exceção
     }
+
+    @Test
+    @DisplayName("Deve validar e extrair claims em uma única chamada")
+    void testValidateAndExtract() {
+        String token = jwtService.generateToken(user);
+
+        assertThat(jwtService.validateAndExtract(token))
+                .isPresent()
+                .get()
+                .satisfies(claims -> {
+                    assertThat(claims.getSubject()).isEqualTo("edsonxrego@gmail.com");
+                    assertThat(claims.get("userId", Long.class)).isEqualTo(1L);
+                });
+        assertThat(jwtService.validateAndExtract("abc.def.ghi")).isEmpty();
+        assertThat(jwtService.validateAndExtract(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar token já verificado a partir do cache")
+    void testVerifiedTokenCache() {
+        String token = jwtService.generateToken(user);
+
+        jwtService.validateAndExtract(token);
+        jwtService.validateAndExtract(token);
+        jwtService.extractEmail(token);
+
+        assertThat(jwtService.getCacheMisses()).isEqualTo(1);
+        assertThat(jwtService.getCacheHits()).isEqualTo(2);
+    }
 }
@@ -0,0 +1,106 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.ReportJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ReportJobService Tests")
+class ReportJobServiceTest {
+
+    private static final List<Map<String, Object>> ROWS = List.of(Map.of("user_id", 1, "completion_rate", 80.0));
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ReportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar uma execução entre pedidos iguais em andamento")
+    void shouldDeduplicateInFlightJobs() {
+        service = service(1, 4, Duration.ofMinutes(10));
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<List<Map<String, Object>>> computation = () -> {
+            runs.incrementAndGet();
+            return blocked();
+        };
+
+        ReportJob first = service.submit("completion-rate", "sql", computation);
+        ReportJob second = service.submit("completion-rate", "sql", computation);
+
+        assertThat(second).isSameAs(first);
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(first::isFinished);
+        assertThat(first.getStatus()).isEqualTo(ReportJob.Status.DONE);
+        assertThat(first.getResult()).isEqualTo(ROWS);
+        assertThat(runs).hasValue(1);
+        assertThat(service.find(first.getId())).containsSame(first);
+
+        // 🔸 Depois de concluído, um novo pedido recalcula
+        ReportJob third = service.submit("completion-rate", "sql", () -> ROWS);
+        assertThat(third.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando o pool e a fila estiverem ocupados")
+    void shouldRejectWhenQueueIsFull() {
+        service = service(1, 1, Duration.ofMinutes(10));
+        ReportJob running = service.submit("a", "sql", this::blocked);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> running.getStatus() == ReportJob.Status.RUNNING);
+        ReportJob queued = service.submit("b", "sql", () -> ROWS);
+
+        assertThatThrownBy(() -> service.submit("c", "sql", () -> ROWS))
+                .isInstanceOf(ReportJobRejectedException.class);
+        assertThat(queued.getStatus()).isEqualTo(ReportJob.Status.QUEUED);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(queued::isFinished);
+        // 🔸 O relatório recusado não fica preso como "em andamento"
+        assertThat(service.submit("c", "sql", () -> ROWS)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha e descartar o job após o TTL")
+    void shouldReportFailureAndExpire() {
+        service = service(1, 4, Duration.ofMillis(200));
+
+        ReportJob job = service.submit("completion-rate", "sql", () -> {
+            throw new IllegalStateException("function not found");
+        });
+
+        await().atMost(5, TimeUnit.SECONDS).until(job::isFinished);
+        assertThat(job.getStatus()).isEqualTo(ReportJob.Status.FAILED);
+        assertThat(job.getError()).isEqualTo("function not found");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> service.find(job.getId()).isEmpty());
+    }
+
+    private ReportJobService service(int threads, int queueCapacity, Duration ttl) {
+        return new ReportJobService(mock(ReportService.class), threads, queueCapacity, ttl, 100, Duration.ofSeconds(1));
+    }
+
+    private List<Map<String, Object>> blocked() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ROWS;
+    }
+}
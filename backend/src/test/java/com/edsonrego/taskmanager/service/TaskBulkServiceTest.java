@@ -0,0 +1,154 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.BulkTaskRequest;
+import com.edsonrego.taskmanager.dto.BulkTaskResponse;
+import com.edsonrego.taskmanager.dto.BulkTaskResult;
+import com.edsonrego.taskmanager.dto.BulkTaskResult.Status;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import com.edsonrego.taskmanager.search.TaskSearchConfig;
+import com.edsonrego.taskmanager.search.TaskSearchIndexUpdater;
+import com.edsonrego.taskmanager.search.TaskTextSearch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskBulkService.class, TaskSearchConfig.class, TaskSearchIndexUpdater.class})
+@TestPropertySource(properties = {"app.bulk.chunk-size=2", "app.bulk.max-items=10"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 🔸 cada bloco usa a própria transação
+@DisplayName("TaskBulkService - operações em lote")
+class TaskBulkServiceTest {
+
+    @Autowired
+    private TaskBulkService bulkService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskTextSearch textSearch;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Edson", "Rego", "bulk@test.com", "123456"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve criar em blocos e isolar o item que falha no banco")
+    void shouldCreateInChunksAndIsolateFailures() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setCreate(List.of(
+                newTask("Importada 1"),
+                newTask("x".repeat(60)),            // 🔸 excede a coluna (40) → falha só este item
+                newTask(" "),                        // inválida: sem descrição
+                newTask("Importada 2"),
+                newTask("Importada 3")));
+
+        BulkTaskResponse response = bulkService.execute(request, user);
+
+        assertThat(response.getResults()).extracting(BulkTaskResult::getStatus)
+                .containsExactly(Status.CREATED, Status.FAILED, Status.INVALID, Status.CREATED, Status.CREATED);
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(taskRepository.count()).isEqualTo(3);
+        assertThat(taskRepository.findAll()).allSatisfy(t -> {
+            assertThat(t.getExecutionStatus()).isEqualTo(ExecutionStatus.PENDING);
+            assertThat(t.getResponsible().getId()).isEqualTo(user.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Deve aplicar alterações parciais e remoções, reportando IDs inexistentes")
+    void shouldUpdateAndDelete() {
+        Task first = taskRepository.save(newTask("Primeira"));
+        Task second = taskRepository.save(newTask("Segunda"));
+
+        Task patch = new Task();
+        patch.setId(first.getId());
+        patch.setExecutedDescription("Feito");
+        patch.setExecutionStatus(ExecutionStatus.DONE);
+        patch.setPlannedDescription(null);
+
+        Task missing = new Task();
+        missing.setId(999_999L);
+
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setUpdate(List.of(patch, missing));
+        request.setDelete(List.of(second.getId(), 888_888L));
+
+        BulkTaskResponse response = bulkService.execute(request, null);
+
+        assertThat(response.getResults()).extracting(BulkTaskResult::getStatus)
+                .containsExactly(Status.UPDATED, Status.NOT_FOUND, Status.DELETED, Status.NOT_FOUND);
+
+        Task updated = taskRepository.findById(first.getId()).orElseThrow();
+        assertThat(updated.getPlannedDescription()).isEqualTo("Primeira");
+        assertThat(updated.getExecutedDescription()).isEqualTo("Feito");
+        assertThat(updated.getExecutionStatus()).isEqualTo(ExecutionStatus.DONE);
+        assertThat(taskRepository.existsById(second.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice de busca textual após criar e remover em lote")
+    void shouldKeepTextIndexInSync() {
+        BulkTaskRequest create = new BulkTaskRequest();
+        create.setCreate(List.of(newTask("Auditoria trimestral"), newTask("Auditar contratos")));
+        List<Long> ids = bulkService.execute(create, user).getResults().stream().map(BulkTaskResult::getId).toList();
+
+        assertThat(textSearch.rank("audit", 10)).containsExactlyElementsOf(ids);
+
+        BulkTaskRequest delete = new BulkTaskRequest();
+        delete.setDelete(List.of(ids.get(0)));
+        bulkService.execute(delete, user);
+
+        assertThat(textSearch.rank("audit", 10)).containsExactly(ids.get(1));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar requisições acima do limite de itens")
+    void shouldRejectOversizedRequest() {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setDelete(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L));
+
+        assertThatThrownBy(() -> bulkService.execute(request, user))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Task newTask(String description) {
+        Task task = new Task(description, LocalDate.now().plusDays(1), null);
+        task.setResponsible(user);
+        task.setTaskSituation(TaskSituation.OPEN);
+        return task;
+    }
+}
@@ -0,0 +1,154 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskJdbcRepository.class, TaskExportService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("TaskExportService - exportação em streaming")
+class TaskExportServiceTest {
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Edson", "Rego", "export@test.com", "123456"));
+        taskRepository.save(new Task("Relatório, mensal", LocalDate.of(2025, 10, 30), user));
+        taskRepository.save(new Task("Revisar \"backlog\"", LocalDate.of(2025, 10, 10), user));
+        taskRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Deve exportar NDJSON com uma tarefa por linha, na ordem pedida")
+    void shouldExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TaskFilter filter = new TaskFilter();
+        filter.setResponsibleId(user.getId());
+        exportService.export(filter, "dueDate", false, TaskExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"plannedDescription\":\"Revisar \\\"backlog\\\"\"")
+                .contains("\"dueDate\":\"2025-10-10\"")
+                .contains("\"responsibleName\":\"Edson Rego\"");
+        assertThat(lines[1]).contains("Relatório, mensal");
+    }
+
+    @Test
+    @DisplayName("Deve exportar CSV com cabeçalho e campos escapados")
+    void shouldExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TaskFilter filter = new TaskFilter();
+        filter.setDescription("relatório");
+        exportService.export(filter, "id", false, TaskExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,plannedDescription");
+        assertThat(lines[1]).contains("\"Relatório, mensal\"").endsWith("Edson Rego");
+    }
+
+    @Test
+    @DisplayName("Deve escrever a listagem completa no formato da Page, com os totais no fim")
+    void shouldWriteJsonPage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TaskFilter filter = new TaskFilter();
+        filter.setResponsibleId(user.getId());
+        exportService.writeJsonPage(filter, "dueDate", true, out);
+
+        JsonNode page = objectMapper.readTree(out.toByteArray());
+        assertThat(page.path("content")).hasSize(2);
+        assertThat(page.path("content").path(0).path("plannedDescription").asText()).isEqualTo("Relatório, mensal");
+        assertThat(page.path("totalElements").asLong()).isEqualTo(2);
+        assertThat(page.path("last").asBoolean()).isTrue();
+        assertThat(exportService.hasTasks(filter)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve recusar leituras acima de max-concurrent e liberar a vaga uma única vez")
+    void shouldLimitConcurrentExports() {
+        TaskExportService limited = new TaskExportService(taskJdbcRepository, transactionManager, objectMapper,
+                1, Duration.ZERO, Duration.ofMinutes(5));
+
+        TaskExportService.Slot slot = limited.reserve();
+        assertThatThrownBy(limited::reserve).isInstanceOf(TaskExportRejectedException.class);
+
+        slot.close();
+        slot.close();
+        TaskExportService.Slot next = limited.reserve();
+        assertThatThrownBy(limited::reserve).isInstanceOf(TaskExportRejectedException.class);
+        next.close();
+    }
+
+    @Test
+    @DisplayName("Deve abortar a leitura ao passar de max-duration")
+    void shouldAbortAfterMaxDuration() {
+        TaskExportService expired = new TaskExportService(taskJdbcRepository, transactionManager, objectMapper,
+                1, Duration.ZERO, Duration.ZERO);
+
+        assertThatThrownBy(() -> expired.export(new TaskFilter(), "id", false,
+                TaskExportService.Format.NDJSON, new ByteArrayOutputStream()))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("Deve escapar aspas no CSV")
+    void shouldEscapeQuotesInCsv() {
+        TaskDTO dto = new TaskDTO(1L, "Revisar \"backlog\"", null, null, LocalDate.of(2025, 1, 2),
+                ExecutionStatus.PENDING, TaskSituation.OPEN, 7L, "Edson", "Rego");
+
+        assertThat(TaskExportService.toCsv(dto))
+                .isEqualTo("1,\"Revisar \"\"backlog\"\"\",,,2025-01-02,PENDING,OPEN,7,Edson Rego");
+    }
+}
@@ -0,0 +1,221 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.count.RowCountConfig;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.CursorPage;
+import com.edsonrego.taskmanager.dto.SlicePage;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.dto.TaskFilter;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.TaskJdbcRepository;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import com.edsonrego.taskmanager.search.TaskSearchConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, TaskSearchConfig.class, TaskJdbcRepository.class, RowCountConfig.class})
+@DisplayName("TaskService - paginação por cursor")
+class TaskServiceCursorTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Edson", "Rego", "cursor@test.com", "123456"));
+
+        // 🔸 Datas repetidas para exercitar o desempate por id
+        int[] offsets = {1, 1, 2, 3, 3, 3, 5};
+        for (int i = 0; i < offsets.length; i++) {
+            Task task = new Task("Tarefa " + i, LocalDate.of(2025, 10, 1).plusDays(offsets[i]), user);
+            task.setTaskSituation(TaskSituation.OPEN);
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas por dueDate desc sem repetir nem pular linhas")
+    void shouldWalkAllPagesByDueDateDesc() {
+        List<TaskDTO> walked = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<TaskDTO> page = taskService.searchTasksByCursor(
+                    byResponsible(user.getId()), "dueDate", true, cursor, 3, CountMode.NONE);
+            walked.addAll(page.getContent());
+            assertThat(page.getTotalElements()).isNull();
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Task> expected = taskRepository.findAll().stream()
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId).reversed())
+                .toList();
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(walked).extracting(TaskDTO::getId).containsExactlyElementsOf(
+                expected.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve incluir as linhas sem chave de ordenação por último, nas duas direções")
+    void shouldWalkNullSortKeysLast() {
+        List<Task> all = taskRepository.findAll();
+        for (Task task : all.subList(0, 3)) {
+            task.setCreationDate(null);
+        }
+        taskRepository.saveAllAndFlush(all);
+
+        for (boolean descending : new boolean[]{false, true}) {
+            List<TaskDTO> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<TaskDTO> page = taskService.searchTasksByCursor(
+                        byResponsible(user.getId()), "creationDate", descending, cursor, 2, CountMode.NONE);
+                walked.addAll(page.getContent());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            Comparator<Task> byId = descending
+                    ? Comparator.comparing(Task::getId).reversed()
+                    : Comparator.comparing(Task::getId);
+            List<Long> expected = taskRepository.findAll().stream()
+                    .sorted(Comparator.comparing((Task t) -> t.getCreationDate() == null).thenComparing(byId))
+                    .map(Task::getId)
+                    .toList();
+
+            assertThat(walked).extracting(TaskDTO::getId).containsExactlyElementsOf(expected);
+            assertThat(walked.subList(4, 7)).extracting(TaskDTO::getCreationDate).containsOnlyNulls();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve informar o total quando count=exact")
+    void shouldReturnTotalWhenCounting() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSituation(TaskSituation.from("open"));
+        CursorPage<TaskDTO> page = taskService.searchTasksByCursor(filter, "id", false, null, 5, CountMode.EXACT);
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.getContent().get(0).getResponsibleName()).isEqualTo("Edson Rego");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido ou coluna de ordenação não suportada")
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> taskService.searchTasksByCursor(
+                new TaskFilter(), "id", false, "lixo", 5, CountMode.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.searchTasksByCursor(
+                new TaskFilter(), "plannedDescription", false, null, 5, CountMode.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por faixa de vencimento com limites inclusivos")
+    void shouldFilterByDueDateRange() {
+        TaskFilter filter = byResponsible(user.getId());
+        filter.setDueFrom(LocalDate.of(2025, 10, 3));
+        filter.setDueTo(LocalDate.of(2025, 10, 4));
+
+        CursorPage<TaskDTO> page = taskService.searchTasksByCursor(filter, "dueDate", false, null, 10, CountMode.EXACT);
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(TaskDTO::getDueDate)
+                .allMatch(d -> !d.isBefore(LocalDate.of(2025, 10, 3)) && !d.isAfter(LocalDate.of(2025, 10, 4)));
+    }
+
+    @Test
+    @DisplayName("Deve listar vencidas até a data ignorando concluídas")
+    void shouldFilterOverdueTasks() {
+        Task done = taskRepository.findAll().stream()
+                .filter(t -> t.getDueDate().equals(LocalDate.of(2025, 10, 2)))
+                .findFirst().orElseThrow();
+        done.setExecutionStatus(ExecutionStatus.DONE);
+        taskRepository.saveAndFlush(done);
+
+        TaskFilter filter = byResponsible(user.getId());
+        filter.setOverdueAsOf(LocalDate.of(2025, 10, 4));
+
+        CursorPage<TaskDTO> page = taskService.searchTasksByCursor(filter, "id", false, null, 10, CountMode.EXACT);
+
+        // 🔸 Vencem antes de 04/10: dois em 02/10 (um concluído) e um em 03/10
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(TaskDTO::getId).doesNotContain(done.getId());
+    }
+
+    @Test
+    @DisplayName("Modo slice (count=none) deve informar hasNext sem total")
+    void shouldPageWithoutCount() {
+        PageRequest first = PageRequest.of(0, 3, Sort.by("id"));
+
+        SlicePage<TaskDTO> page = taskService.searchTasksSlice(byResponsible(user.getId()), first, CountMode.NONE);
+        SlicePage<TaskDTO> last = taskService.searchTasksSlice(byResponsible(user.getId()), first.withPage(2), CountMode.NONE);
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("count=estimated deve devolver total aproximado (contadores mantidos no H2)")
+    void shouldEstimateTotals() {
+        TaskFilter range = byResponsible(user.getId());
+        range.setDueFrom(LocalDate.of(2025, 10, 3));
+        range.setDueTo(LocalDate.of(2025, 10, 4));
+
+        PageRequest firstPage = PageRequest.of(0, 2, Sort.by("id"));
+        SlicePage<TaskDTO> all = taskService.findAllSlice(firstPage, CountMode.ESTIMATED);
+        SlicePage<TaskDTO> mine = taskService.searchTasksSlice(byResponsible(user.getId()), firstPage, CountMode.ESTIMATED);
+        SlicePage<TaskDTO> filtered = taskService.searchTasksSlice(range, firstPage, CountMode.ESTIMATED);
+
+        assertThat(all.isTotalEstimated()).isTrue();
+        assertThat(all.getTotalElements()).isEqualTo(taskRepository.count());
+        assertThat(mine.isTotalEstimated()).isTrue();
+        assertThat(mine.getTotalElements()).isEqualTo(
+                taskService.searchTasksSlice(byResponsible(user.getId()), firstPage, CountMode.EXACT).getTotalElements());
+        // 🔸 Outros filtros no H2: sem estimativa (nada de COUNT(*) a cada página)
+        assertThat(filtered.getTotalElements()).isNull();
+        assertThat(filtered.isTotalEstimated()).isFalse();
+        assertThat(filtered.isHasNext()).isTrue();
+    }
+
+    private static TaskFilter byResponsible(Long responsibleId) {
+        TaskFilter filter = new TaskFilter();
+        filter.setResponsibleId(responsibleId);
+        return filter;
+    }
+}
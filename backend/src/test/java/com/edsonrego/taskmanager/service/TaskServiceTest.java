@@ -1,22 +1,33 @@
 package com.edsonrego.taskmanager.service;
 
+import com.edsonrego.taskmanager.count.RowCountEstimator;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.SlicePage;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
 import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.TaskSituation;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.search.TaskTextSearch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -30,10 +41,20 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskTextSearch textSearch;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
     private Task task;
+    private TaskDTO dto;
     private User responsible;
 
     @BeforeEach
@@ -47,24 +68,27 @@ class TaskServiceTest {
         task.setId(1L);
         task.setPlannedDescription("Preparar relatório mensal");
         task.setDueDate(LocalDate.of(2025, 10, 30));
-        task.setExecutionStatus("PENDING");
-        task.setTaskSituation("OPEN");
+        task.setExecutionStatus(ExecutionStatus.PENDING);
+        task.setTaskSituation(TaskSituation.OPEN);
         task.setResponsible(responsible);
+
+        dto = new TaskDTO(1L, "Preparar relatório mensal", null, LocalDate.now(), LocalDate.of(2025, 10, 30),
+                ExecutionStatus.PENDING, TaskSituation.OPEN, 1L, "Edson", "Rego");
     }
 
     @Test
     @DisplayName("Deve buscar tarefas paginadas sem filtros")
     void testFindAllPaged() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
-        Page<Task> page = new PageImpl<>(List.of(task), pageable, 1);
+        Page<TaskDTO> page = new PageImpl<>(List.of(dto), pageable, 1);
 
-        when(taskRepository.findAll(pageable)).thenReturn(page);
+        when(taskRepository.findAllAsDto(isNull(), eq(pageable))).thenReturn(page);
 
-        Page<Task> result = taskService.findAllPaged(pageable);
+        Page<TaskDTO> result = taskService.findAllPaged(pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(taskRepository, times(1)).findAll(pageable);
+        verify(taskRepository, times(1)).findAllAsDto(isNull(), eq(pageable));
     }
 
     @Test
@@ -95,8 +119,8 @@ class TaskServiceTest {
         Task saved = taskService.save(newTask);
 
         // Agora o service deve ter aplicado os defaults definidos nele
-        assertThat(saved.getExecutionStatus()).isEqualTo("PENDING");
-        assertThat(saved.getTaskSituation()).isEqualTo("OPEN");
+        assertThat(saved.getExecutionStatus()).isEqualTo(ExecutionStatus.PENDING);
+        assertThat(saved.getTaskSituation()).isEqualTo(TaskSituation.OPEN);
         assertThat(saved.getCreationDate()).isNotNull();
 
         verify(taskRepository, times(1)).save(any(Task.class));
@@ -106,22 +130,63 @@ class TaskServiceTest {
     @Test
     @DisplayName("Deve excluir tarefa pelo ID")
     void testDeleteById() {
-        doNothing().when(taskRepository).deleteById(1L);
+        when(taskRepository.deleteReturningResponsibles(List.of(1L))).thenReturn(Map.of(1L, 7L));
+
+        boolean deleted = taskService.delete(1L);
+
+        assertThat(deleted).isTrue();
+        verify(taskRepository, times(1)).deleteReturningResponsibles(List.of(1L));
+        verify(taskRepository, never()).findById(anyLong());
+        // 🔸 Com o responsável: só os ETags e assinantes dele são afetados
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TaskChangedEvent ev && ev.getType() == TaskChangedEvent.Type.DELETED
+                        && Long.valueOf(7L).equals(ev.getResponsibleId())));
+    }
+
+    @Test
+    @DisplayName("Deve informar quando a tarefa a excluir não existe")
+    void testDeleteById_NotFound() {
+        when(taskRepository.deleteReturningResponsibles(List.of(99L))).thenReturn(Map.of());
+
+        assertThat(taskService.delete(99L)).isFalse();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve alterar parcialmente em um único UPDATE e publicar o evento")
+    void testPatch() {
+        Task changes = new Task();
+        changes.setExecutionStatus(ExecutionStatus.DONE);
+        when(taskRepository.updatePartial(5L, changes, 2L)).thenReturn(1);
+
+        int rows = taskService.patch(5L, changes, 2L);
+
+        assertThat(rows).isEqualTo(1);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TaskChangedEvent ev && ev.getType() == TaskChangedEvent.Type.UPDATED
+                        && ev.getTaskId().equals(5L)));
+    }
 
-        taskService.delete(1L);
+    @Test
+    @DisplayName("Deve rejeitar alteração parcial sem campos")
+    void testPatch_NoChanges() {
+        Task changes = new Task();
 
-        verify(taskRepository, times(1)).deleteById(1L);
+        assertThatThrownBy(() -> taskService.patch(5L, changes, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("Deve buscar tarefas com filtros aplicados e paginação")
     void testSearchTasksPaged_WithFilters() {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("dueDate").descending());
-        Page<Task> page = new PageImpl<>(List.of(task), pageable, 1);
+        Page<TaskDTO> page = new PageImpl<>(List.of(dto), pageable, 1);
 
-        when(taskRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+        when(taskRepository.findAllAsDto(any(Specification.class), eq(pageable))).thenReturn(page);
 
-        Page<Task> result = taskService.searchTasksPaged(
+        Page<TaskDTO> result = taskService.searchTasksPaged(
                 "PENDING",
                 "OPEN",
                 1L,
@@ -133,23 +198,68 @@ class TaskServiceTest {
         );
 
         assertThat(result.getTotalElements()).isEqualTo(1);
-        assertThat(result.getContent().get(0).getResponsible().getId()).isEqualTo(1L);
-        verify(taskRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+        assertThat(result.getContent().get(0).getResponsibleId()).isEqualTo(1L);
+        verify(taskRepository, times(1)).findAllAsDto(any(Specification.class), eq(pageable));
     }
 
     @Test
     @DisplayName("Deve retornar página vazia quando nenhum filtro corresponder")
     void testSearchTasksPaged_NoResults() {
         Pageable pageable = PageRequest.of(0, 5);
-        Page<Task> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Page<TaskDTO> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-        when(taskRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
+        when(taskRepository.findAllAsDto(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
 
-        Page<Task> result = taskService.searchTasksPaged(
+        Page<TaskDTO> result = taskService.searchTasksPaged(
                 "DONE", "CLOSED", 99L, null, null, null, "inexistente", pageable
         );
 
         assertThat(result.getTotalElements()).isZero();
-        verify(taskRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+        verify(taskRepository, times(1)).findAllAsDto(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice de busca textual no filtro de descrição")
+    void testSearchTasksPaged_DescriptionUsesTextSearch() {
+        Pageable pageable = PageRequest.of(0, 5);
+        when(textSearch.descriptionContains("relatório")).thenReturn((root, q, cb) -> cb.conjunction());
+        when(taskRepository.findAllAsDto(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(dto), pageable, 1));
+
+        taskService.searchTasksPaged(null, null, null, null, null, null, "relatório", pageable);
+
+        verify(textSearch).descriptionContains("relatório");
+    }
+
+    @Test
+    @DisplayName("Deve devolver a busca textual na ordem de relevância")
+    void testSearchByText_KeepsRankOrder() {
+        TaskDTO other = new TaskDTO(2L, "Relatório anual", null, null, LocalDate.now(), ExecutionStatus.PENDING, TaskSituation.OPEN, 1L, "Edson", "Rego");
+        when(textSearch.rank("rel", 10)).thenReturn(List.of(2L, 1L));
+        when(taskRepository.findAllAsDto(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(List.of(dto, other));
+
+        List<TaskDTO> result = taskService.searchByText("rel", 10);
+
+        assertThat(result).extracting(TaskDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Modo slice não deve executar COUNT(*) e deve usar a estimativa quando pedida")
+    void testSearchTasksSlice_SkipsCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(taskRepository.findSliceAsDto(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(dto), pageable, true));
+        when(rowCountEstimator.estimateTasks(any())).thenReturn(40L);
+
+        SlicePage<TaskDTO> none = taskService.searchTasksSlice(null, pageable, CountMode.NONE);
+        SlicePage<TaskDTO> estimated = taskService.searchTasksSlice(null, pageable, CountMode.ESTIMATED);
+
+        assertThat(none.getTotalElements()).isNull();
+        assertThat(none.isHasNext()).isTrue();
+        assertThat(estimated.getTotalElements()).isEqualTo(40L);
+        assertThat(estimated.isTotalEstimated()).isTrue();
+        verify(taskRepository, never()).count(any(Specification.class));
+        verify(taskRepository, never()).findAllAsDto(any(Specification.class), any(Pageable.class));
     }
 }
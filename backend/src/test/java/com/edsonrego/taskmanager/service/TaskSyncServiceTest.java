@@ -0,0 +1,157 @@
+package com.edsonrego.taskmanager.service;
+
+import com.edsonrego.taskmanager.dto.TaskChangesPage;
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.job.TaskChangeLogCompactor;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.Task;
+import com.edsonrego.taskmanager.model.User;
+import com.edsonrego.taskmanager.repository.JobWatermarkRepository;
+import com.edsonrego.taskmanager.repository.TaskChangeLogRepository;
+import com.edsonrego.taskmanager.repository.TaskRepository;
+import com.edsonrego.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+@DataJpaTest(properties = "app.sync.settle=0s")
+@ActiveProfiles("test")
+@Import({TaskSyncService.class, TaskChangeLogRepository.class, TaskChangeLogCompactor.class})
+@DisplayName("TaskSyncService Tests")
+class TaskSyncServiceTest {
+
+    @Autowired
+    private TaskSyncService syncService;
+
+    @Autowired
+    private TaskChangeLogRepository changeLog;
+
+    @Autowired
+    private TaskChangeLogCompactor compactor;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Edson", "Rego", "sync@test.com", "123456"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver só as alterações depois da sequência informada")
+    void shouldReturnChangesSinceSequence() {
+        Task first = save("Primeira");
+        Task second = save("Segunda");
+        Task third = save("Terceira");
+
+        TaskChangesPage initial = syncService.changesSince(0, 100);
+        assertThat(initial.getChanges()).extracting(TaskDTO::getId)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(initial.isHasMore()).isFalse();
+
+        first.setExecutionStatus(ExecutionStatus.DONE);
+        taskRepository.saveAndFlush(first);
+        first.setPlannedDescription("Primeira (editada)");
+        taskRepository.saveAndFlush(first);
+        taskRepository.delete(second);
+        taskRepository.flush();
+
+        TaskChangesPage delta = syncService.changesSince(initial.getNext(), 100);
+        // 🔸 Duas alterações da mesma tarefa viram uma só, com o estado atual
+        assertThat(delta.getChanges()).singleElement().satisfies(task -> {
+            assertThat(task.getId()).isEqualTo(first.getId());
+            assertThat(task.getPlannedDescription()).isEqualTo("Primeira (editada)");
+        });
+        assertThat(delta.getDeleted()).containsExactly(second.getId());
+        assertThat(syncService.changesSince(delta.getNext(), 100).getChanges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve paginar as alterações em blocos")
+    void shouldPageChanges() {
+        save("A");
+        save("B");
+        save("C");
+
+        TaskChangesPage page = syncService.changesSince(0, 2);
+        assertThat(page.getChanges()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+
+        TaskChangesPage rest = syncService.changesSince(page.getNext(), 2);
+        assertThat(rest.getChanges()).hasSize(1);
+        assertThat(rest.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve avançar 'next' sobre alterações recentes")
+    void shouldHoldBackUnsettledChanges() {
+        save("Recente");
+        TaskSyncService slowSettle = new TaskSyncService(changeLog, taskRepository, watermarkRepository,
+                Duration.ofHours(1), 5000);
+
+        TaskChangesPage page = slowSettle.changesSince(0, 100);
+
+        assertThat(page.getChanges()).hasSize(1);
+        assertThat(page.getNext()).isZero();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve avançar 'next' até a última linha quando a seq segue a ordem de commit")
+    void shouldNotWaitForSettleWhenCommitOrdered() {
+        Task recent = save("Recente");
+        TaskChangeLogRepository commitOrdered = spy(changeLog);
+        doReturn(true).when(commitOrdered).isCommitOrdered();
+        TaskSyncService postgresLike = new TaskSyncService(commitOrdered, taskRepository, watermarkRepository,
+                Duration.ofHours(1), 5000);
+
+        TaskChangesPage page = postgresLike.changesSince(0, 100);
+
+        assertThat(page.getChanges()).extracting(TaskDTO::getId).containsExactly(recent.getId());
+        assertThat(page.getNext()).isEqualTo(changeLog.maxSeq());
+    }
+
+    @Test
+    @DisplayName("Deve compactar o log e pedir reset a clientes anteriores aos tombstones removidos")
+    void shouldCompactAndRequireReset() {
+        Task kept = save("Mantida");
+        Task removed = save("Removida");
+        long since = syncService.changesSince(0, 100).getNext();
+        kept.setExecutionStatus(ExecutionStatus.DONE);
+        taskRepository.saveAndFlush(kept);
+        taskRepository.delete(removed);
+        taskRepository.flush();
+
+        // 🔸 Linhas substituídas (2) + tombstone antigo (1)
+        assertThat(compactor.run(LocalDateTime.now().plusDays(31))).isEqualTo(3);
+
+        assertThat(syncService.horizon()).isGreaterThan(since);
+        assertThat(syncService.changesSince(since, 100).isReset()).isTrue();
+        assertThat(syncService.changesSince(0, 100).getChanges()).extracting(TaskDTO::getId)
+                .containsExactly(kept.getId());
+    }
+
+    private Task save(String description) {
+        return taskRepository.saveAndFlush(new Task(description, LocalDate.now().plusDays(1), user));
+    }
+}
@@ -1,7 +1,15 @@
 package com.edsonrego.taskmanager.service;
 
+import com.edsonrego.taskmanager.cache.ChangeStamps;
+import com.edsonrego.taskmanager.cache.SecondLevelCache;
+import com.edsonrego.taskmanager.cache.UserCache;
+import com.edsonrego.taskmanager.count.RowCountEstimator;
+import com.edsonrego.taskmanager.dto.CountMode;
+import com.edsonrego.taskmanager.dto.SlicePage;
 import com.edsonrego.taskmanager.model.User;
 import com.edsonrego.taskmanager.repository.UserRepository;
+import com.edsonrego.taskmanager.security.PasswordHashingExecutor;
+import com.edsonrego.taskmanager.security.TokenEpochRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,8 +17,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +41,25 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenEpochRegistry epochRegistry;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Spy
+    private UserCache userCache = new UserCache(true, 100, Duration.ofMinutes(5));
+
+    @Spy
+    private PasswordHashingExecutor hashingExecutor =
+            new PasswordHashingExecutor(1, 10, Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+    @Spy
+    private ChangeStamps changeStamps = new ChangeStamps();
+
     @InjectMocks
     private UserService userService;
 
@@ -51,6 +83,21 @@ class UserServiceTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Deve paginar usuários sem COUNT(*) usando o total estimado")
+    void testFindSlice_Estimated() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(userRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(sampleUser), pageable, true));
+        when(rowCountEstimator.estimateUsers()).thenReturn(25L);
+
+        SlicePage<User> slice = userService.findSlice(pageable, CountMode.ESTIMATED);
+
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(slice.getTotalElements()).isEqualTo(25L);
+        verify(userRepository, never()).count();
+    }
+
     @Test
     @DisplayName("Deve buscar usuário por e-mail (case-insensitive)")
     void testFindByEmail() {
@@ -71,7 +118,7 @@ class UserServiceTest {
         when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
 
         User userToSave = new User("Maria", "Silva", "MARIA.SILVA@EXAMPLE.COM", "123456");
-        User saved = userService.save(userToSave);
+        User saved = userService.create(userToSave);
 
         assertThat(saved.getPassword()).isEqualTo("hashed123");
         assertThat(saved.getEmail()).isEqualTo("maria.silva@example.com");
@@ -109,11 +156,23 @@ class UserServiceTest {
     @Test
     @DisplayName("Deve deletar usuário pelo ID")
     void testDeleteUserById() {
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.deleteByIdReturningCount(1L)).thenReturn(1);
 
-        userService.delete(1L);
+        boolean deleted = userService.delete(1L);
+
+        assertThat(deleted).isTrue();
+        verify(userRepository, times(1)).deleteByIdReturningCount(1L);
+        verify(secondLevelCache).userDeleted(1L);
+        verify(userRepository, never()).findById(anyLong());
+    }
 
-        verify(userRepository, times(1)).deleteById(1L);
+    @Test
+    @DisplayName("Deve informar quando o usuário a deletar não existe")
+    void testDeleteUserById_NotFound() {
+        when(userRepository.deleteByIdReturningCount(99L)).thenReturn(0);
+
+        assertThat(userService.delete(99L)).isFalse();
+        verify(epochRegistry, never()).revoke(anyLong());
     }
 
     @Test
@@ -125,7 +184,7 @@ class UserServiceTest {
         User user = new User("João", "Souza", "joao.souza@example.com", "123456");
         user.setCreatedAt(null);
 
-        User saved = userService.save(user);
+        User saved = userService.create(user);
 
         assertThat(saved.getCreatedAt()).isNotNull();
         verify(userRepository).save(any(User.class));
@@ -139,4 +198,155 @@ class UserServiceTest {
         assertThat(result).isEmpty();
         verify(userRepository, never()).findByEmailIgnoreCase(anyString());
     }
+
+    @Test
+    @DisplayName("Deve incrementar o token epoch só quando senha ou e-mail mudam")
+    void testUpdate_CredentialsChanged_ShouldBumpTokenEpoch() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        sampleUser.setId(1L);
+        sampleUser.setTokenEpoch(3);
+
+        User rename = new User();
+        rename.setFirstName("Edson X.");
+        User sameEmail = new User();
+        sameEmail.setEmail(" EdsonXRego@gmail.com ");
+        assertThat(userService.update(sampleUser, rename).getTokenEpoch()).isEqualTo(3);
+        assertThat(userService.update(sampleUser, sameEmail).getTokenEpoch()).isEqualTo(3);
+
+        User newPassword = new User();
+        newPassword.setPassword("nova-senha");
+        assertThat(userService.update(sampleUser, newPassword).getTokenEpoch()).isEqualTo(4);
+
+        User newEmail = new User();
+        newEmail.setEmail("edson.rego@example.com");
+        assertThat(userService.update(sampleUser, newEmail).getTokenEpoch()).isEqualTo(5);
+        verify(epochRegistry).update(1L, 5);
+    }
+
+    @Test
+    @DisplayName("Deve revogar tokens ao deletar usuário")
+    void testDelete_ShouldRevokeTokens() {
+        when(userRepository.deleteByIdReturningCount(1L)).thenReturn(1);
+
+        userService.delete(1L);
+
+        verify(epochRegistry).revoke(1L);
+    }
+
+    @Test
+    @DisplayName("Deve mudar o ETag das listagens ao salvar ou remover usuário")
+    void testSaveAndDelete_ShouldChangeListingTags() {
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        String beforeSave = changeStamps.usersTag();
+        String tasksBeforeSave = changeStamps.tasksTag(1L);
+        userService.create(sampleUser);
+        String afterSave = changeStamps.usersTag();
+        when(userRepository.deleteByIdReturningCount(1L)).thenReturn(1);
+        userService.delete(1L);
+
+        assertThat(afterSave).isNotEqualTo(beforeSave);
+        assertThat(changeStamps.tasksTag(1L)).isNotEqualTo(tasksBeforeSave);
+        assertThat(changeStamps.usersTag()).isNotEqualTo(afterSave);
+    }
+
+    @Test
+    @DisplayName("Deve servir leituras repetidas a partir do cache")
+    void testFindById_ShouldUseCache() {
+        sampleUser.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(sampleUser));
+
+        userService.findById(1L);
+        Optional<User> second = userService.findById(1L);
+
+        assertThat(second).isPresent();
+        assertThat(second.get()).isNotSameAs(sampleUser);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache ao salvar o usuário")
+    void testSave_ShouldInvalidateCache() {
+        sampleUser.setId(1L);
+        when(userRepository.findByEmailIgnoreCase("edsonxrego@gmail.com")).thenReturn(Optional.of(sampleUser));
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        userService.findByEmail("edsonxrego@gmail.com");
+        userService.update(sampleUser, new User());
+        userService.findByEmail("edsonxrego@gmail.com");
+
+        verify(userRepository, times(2)).findByEmailIgnoreCase("edsonxrego@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Não deve gerar novo hash quando a atualização não traz senha")
+    void testUpdate_WithoutPassword_ShouldKeepStoredHash() {
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        String hash = "$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234";
+        sampleUser.setId(1L);
+        sampleUser.setPassword(hash);
+        User changes = new User();
+        changes.setFirstName("Edson X.");
+
+        User saved = userService.update(sampleUser, changes);
+
+        assertThat(saved.getPassword()).isEqualTo(hash);
+        assertThat(saved.getFirstName()).isEqualTo("Edson X.");
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve gerar hash de senha recebida mesmo que ela tenha formato de hash BCrypt")
+    void testCreateAndUpdate_BcryptShapedPassword_ShouldBeHashed() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        String bcryptShaped = "$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234";
+        User created = userService.create(new User("Maria", "Silva", "maria@example.com", bcryptShaped));
+
+        sampleUser.setId(1L);
+        User changes = new User();
+        changes.setPassword(bcryptShaped);
+        User updated = userService.update(sampleUser, changes);
+
+        assertThat(created.getPassword()).isEqualTo("hashed");
+        assertThat(updated.getPassword()).isEqualTo("hashed");
+        verify(passwordEncoder, times(2)).encode(bcryptShaped);
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash no login quando o custo do BCrypt mudou")
+    void testUpgradePasswordHash_WhenCostChanged() {
+        doAnswer(i -> { i.<Runnable>getArgument(0).run(); return true; })
+                .when(hashingExecutor).submit(any(Runnable.class));
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("123456")).thenReturn("newHash");
+        when(userRepository.updatePasswordHash(1L, "oldHash", "newHash")).thenReturn(1);
+
+        sampleUser.setId(1L);
+        sampleUser.setPassword("oldHash");
+
+        userService.upgradePasswordHashIfNeeded(sampleUser, "123456");
+
+        verify(userRepository).updatePasswordHash(1L, "oldHash", "newHash");
+        verify(userCache).invalidate(1L, "edsonxrego@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Não deve refazer o hash quando o custo já é o configurado")
+    void testUpgradePasswordHash_WhenCostUnchanged() {
+        when(passwordEncoder.upgradeEncoding("currentHash")).thenReturn(false);
+
+        sampleUser.setId(1L);
+        sampleUser.setPassword("currentHash");
+
+        userService.upgradePasswordHashIfNeeded(sampleUser, "123456");
+
+        verify(hashingExecutor, never()).submit(any(Runnable.class));
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
 }
@@ -0,0 +1,191 @@
+package com.edsonrego.taskmanager.stream;
+
+import com.edsonrego.taskmanager.dto.TaskDTO;
+import com.edsonrego.taskmanager.event.TaskChangedEvent;
+import com.edsonrego.taskmanager.model.ExecutionStatus;
+import com.edsonrego.taskmanager.model.TaskSituation;
+import com.edsonrego.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TaskChangeStream Tests")
+class TaskChangeStreamTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private TaskChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = newStream(256);
+        when(taskService.findDtoById(1L)).thenReturn(Optional.of(dto(1L, 10L, ExecutionStatus.PENDING)));
+        when(taskService.findDtoById(2L)).thenReturn(Optional.of(dto(2L, 20L, ExecutionStatus.PENDING)));
+        when(taskService.findDtoById(3L)).thenReturn(Optional.of(dto(3L, 10L, ExecutionStatus.DONE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve enviar só as alterações que passam no filtro do assinante")
+    void shouldFilterPerSubscriber() {
+        CapturingEmitter all = subscribe(TaskStreamFilter.all(), null);
+        CapturingEmitter pendingOfUser10 = subscribe(new TaskStreamFilter(10L, ExecutionStatus.PENDING, null, null), null);
+
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 1L, "A", 10L));
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 2L, "B", 20L));
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 3L, "C", 10L));
+        stream.onTaskChanged(TaskChangedEvent.deleted(2L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> all.names().size() == 5);
+        assertThat(all.names()).containsExactly("ready", "task-created", "task-created", "task-updated", "task-deleted");
+        await().atMost(Duration.ofSeconds(5)).until(() -> pendingOfUser10.names().size() == 4);
+        // 🔸 Tarefa 3 mudou e não atende mais o filtro; o DELETE sem responsável chega a todos
+        assertThat(pendingOfUser10.names()).containsExactly("ready", "task-created", "task-removed", "task-deleted");
+    }
+
+    @Test
+    @DisplayName("Deve enviar task-removed a quem filtra pelo responsável anterior numa reatribuição")
+    void shouldRemoveFromPreviousResponsibleOnReassignment() {
+        CapturingEmitter user10 = subscribe(new TaskStreamFilter(10L, null, null, null), null);
+        CapturingEmitter user20 = subscribe(new TaskStreamFilter(20L, null, null, null), null);
+        CapturingEmitter user30 = subscribe(new TaskStreamFilter(30L, null, null, null), null);
+
+        // 🔸 Tarefa 2 passou do usuário 10 para o 20
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 2L, "B", 20L, 10L));
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 1L, "A", 10L));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> user10.names().size() == 3);
+        assertThat(user10.names()).containsExactly("ready", "task-removed", "task-created");
+        await().atMost(Duration.ofSeconds(5)).until(() -> user20.names().size() == 2);
+        assertThat(user20.names()).containsExactly("ready", "task-updated");
+        assertThat(user30.names()).containsExactly("ready");
+    }
+
+    @Test
+    @DisplayName("Deve retomar do Last-Event-ID ou pedir reset")
+    void shouldResumeFromLastEventId() {
+        CapturingEmitter first = subscribe(TaskStreamFilter.all(), null);
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 1L, "A", 10L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.names().size() == 2);
+        String lastEventId = first.ids().get(1);
+
+        stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 2L, "B", 20L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.names().size() == 3);
+
+        CapturingEmitter resumed = subscribe(TaskStreamFilter.all(), lastEventId);
+        await().atMost(Duration.ofSeconds(5)).until(() -> resumed.names().size() == 2);
+        assertThat(resumed.names()).containsExactly("ready", "task-created");
+        assertThat(resumed.ids().get(1)).isEqualTo(first.ids().get(2));
+
+        CapturingEmitter unknown = subscribe(TaskStreamFilter.all(), "old-boot-7");
+        await().atMost(Duration.ofSeconds(5)).until(() -> unknown.names().size() == 1);
+        assertThat(unknown.names()).containsExactly("reset");
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante cuja fila enche")
+    void shouldEvictSlowConsumer() {
+        stream.shutdown();
+        stream = newStream(2);
+        CapturingEmitter slow = new CapturingEmitter(true);
+        stream.subscribe(slow, TaskStreamFilter.all(), null);
+
+        for (int i = 0; i < 5; i++) {
+            stream.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, 1L, "A", 10L));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> stream.subscriberCount() == 0);
+        slow.release();
+        await().atMost(Duration.ofSeconds(5)).until(() -> slow.completed);
+    }
+
+    private TaskChangeStream newStream(int bufferSize) {
+        return new TaskChangeStream(taskService, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                bufferSize, 100, 100, 100, 2);
+    }
+
+    private CapturingEmitter subscribe(TaskStreamFilter filter, String lastEventId) {
+        CapturingEmitter emitter = new CapturingEmitter(false);
+        stream.subscribe(emitter, filter, lastEventId);
+        return emitter;
+    }
+
+    private static TaskDTO dto(Long id, Long responsibleId, ExecutionStatus status) {
+        return new TaskDTO(id, "Tarefa " + id, null, LocalDate.now(), LocalDate.now().plusDays(1),
+                status, TaskSituation.OPEN, responsibleId, "Edson", "Rego");
+    }
+
+    /**
+     * 🔹 Guarda o texto de cada evento enviado (opcionalmente travando o primeiro envio).
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final Object gate = new Object();
+        private boolean blocked;
+        private volatile boolean completed;
+
+        CapturingEmitter(boolean blocked) {
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            synchronized (gate) {
+                while (blocked) {
+                    try {
+                        gate.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        void release() {
+            synchronized (gate) {
+                blocked = false;
+                gate.notifyAll();
+            }
+        }
+
+        List<String> names() {
+            return field("event:");
+        }
+
+        List<String> ids() {
+            return field("id:");
+        }
+
+        private List<String> field(String prefix) {
+            return events.stream()
+                    .filter(e -> e.contains(prefix))
+                    .map(e -> e.lines().filter(l -> l.startsWith(prefix)).findFirst().orElseThrow().substring(prefix.length()))
+                    .toList();
+        }
+    }
+}
@@ -111,7 +111,7 @@ const TaskTable: React.FC<Props> = ({ tasks, onSelectTask, onDeleted }) => {
                   <td>{formatDate(t.dueDate)}</td>
                   <td>{t.executionStatus}</td>
                   <td>{t.taskSituation}</td>
-                  <td>{t.responsible?.firstName || "-"}</td>
+                  <td>{t.responsibleName || t.responsible?.firstName || "-"}</td>
                   <td>
                     <button className="btn btn-sm btn-outline-primary me-2" onClick={() => onSelectTask(t)}>
                       Edit
@@ -9,5 +9,8 @@ export interface Task {
   dueDate: string;
   executionStatus?: string;
   taskSituation?: string;
-  responsible: User;
+  responsible?: User;
+  // 🔹 Listagens (/api/tasks, /api/tasks/search) retornam TaskDTO
+  responsibleId?: number;
+  responsibleName?: string;
 }